@@ -0,0 +1,134 @@
+package com.example.railwaymanagementsystem.benchmarks;
+
+import com.example.railwaymanagementsystem.models.Booking;
+import com.example.railwaymanagementsystem.models.Train;
+import com.example.railwaymanagementsystem.models.User;
+import com.example.railwaymanagementsystem.persistence.DatabaseService;
+import com.example.railwaymanagementsystem.persistence.SyntheticDataGenerator;
+import com.example.railwaymanagementsystem.services.BackendService;
+import com.example.railwaymanagementsystem.services.LoginRateLimitedException;
+import com.example.railwaymanagementsystem.services.SignedQuote;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Passenger hot paths through BackendService against seeded databases of increasing size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BackendServiceBenchmark {
+    @Param({"10000", "1000000", "10000000"})
+    public int bookings;
+
+    private BackendService backend;
+    private SyntheticDataGenerator dataset;
+    private User passenger;
+    private Train train;
+    private String lastSeededBookingId;
+    private int users;
+    private int nextUser;
+    private long nextUnknown;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataset = BenchmarkDatabase.prepare(bookings);
+        // Measure the payment pipeline, not the simulated gateway's latency or failures
+        System.setProperty("railsafar.gateway.latencyMillis", "0");
+        System.setProperty("railsafar.gateway.declineRate", "0");
+        System.setProperty("railsafar.gateway.errorRate", "0");
+        System.setProperty("railsafar.gateway.hangRate", "0");
+        // A trial books far more than a class holds; measure booking, not refusals once it sells out
+        System.setProperty("railsafar.train.seatsPerClass", String.valueOf(Integer.MAX_VALUE / 2));
+        backend = BackendService.getInstance();
+        users = dataset.getSpec().users();
+        passenger = backend.authenticate(dataset.passengerEmail(0), SyntheticDataGenerator.PASSENGER_PASSWORD, "passenger")
+                .orElseThrow(() -> new IllegalStateException("Benchmark user missing"));
+        train = backend.getTrainByNumber("1UP").orElseThrow();
+        lastSeededBookingId = String.valueOf(Long.parseLong(DatabaseService.getInstance().getNextBookingId()) - 1);
+    }
+
+    /**
+     * Drop bookings written by {@link #bookTicket} and {@link UnpaidBooking}, with their payments,
+     * messages and seat counts, so later runs see the seeded database.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        BenchmarkDatabase.resetToSeeded(lastSeededBookingId);
+    }
+
+    @Benchmark
+    public Optional<User> authenticate() {
+        // Cycle through accounts so the per-account login limiter does not kick in
+        nextUser = (nextUser + 1) % users;
+        try {
+            return backend.authenticate(dataset.passengerEmail(nextUser), SyntheticDataGenerator.PASSENGER_PASSWORD,
+                    "passenger");
+        } catch (LoginRateLimitedException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Benchmark
+    public Optional<User> authenticateUnknownEmail() {
+        // Rejected by the Bloom filter before any query or hashing
+        return backend.authenticate("nobody" + nextUnknown++ + "@example.com",
+                SyntheticDataGenerator.PASSENGER_PASSWORD, "passenger");
+    }
+
+    @Benchmark
+    public List<Train> searchTrains() {
+        return backend.searchTrains("Karachi", "Lahore");
+    }
+
+    @Benchmark
+    public Booking bookTicket() {
+        return backend.bookTicket(passenger, train, "Karachi", "Lahore",
+                LocalDate.now().plusDays(7), 1, "Economy");
+    }
+
+    @Benchmark
+    public SignedQuote quoteFare() {
+        return backend.quoteFare(train, "Karachi", "Lahore", LocalDate.now().plusDays(7), "Economy", 2);
+    }
+
+    /** A booking can only be paid once, so every processPayment call gets a fresh one. */
+    @State(Scope.Thread)
+    public static class UnpaidBooking {
+        String id;
+
+        @Setup(Level.Invocation)
+        public void book(BackendServiceBenchmark benchmark) {
+            id = benchmark.bookTicket().getId();
+        }
+    }
+
+    @Benchmark
+    public boolean processPayment(UnpaidBooking unpaid) {
+        return backend.processPayment(unpaid.id, "Card");
+    }
+
+    @Benchmark
+    public List<Booking> getBookingsForUser() {
+        return backend.getBookingsForUser(passenger.getId());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.railwaymanagementsystem.benchmarks;
+
+import com.example.railwaymanagementsystem.persistence.SyntheticDataGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Generated SQLite files for benchmarks, cached under {@code bench-data/} and reused
+ * across runs. Must be prepared before anything touches BackendService, because the
+ * database location is read once per JVM (JMH forks a fresh JVM per trial).
+ */
+public final class BenchmarkDatabase {
+
+    /** Tables written only while the application runs. */
+    private static final List<String> RUN_TABLES = List.of("seat_inventory", "payments", "payment_idempotency_keys",
+            "refunds", "notifications", "message_outbox", "waitlist", "disruption_jobs");
+
+    private BenchmarkDatabase() {}
+
+    /**
+     * Point the application at a database holding {@code bookings} synthetic bookings,
+     * generating it first if no complete copy exists.
+     */
+    public static SyntheticDataGenerator prepare(int bookings) throws SQLException, IOException {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(SyntheticDataGenerator.Spec.forBookings(bookings));
+        Path dir = Path.of(System.getProperty("railsafar.bench.dataDir", "bench-data"));
+        Files.createDirectories(dir);
+        Path file = dir.resolve("railway-" + bookings + ".db").toAbsolutePath();
+
+        if (!Files.exists(file)) {
+            // Generate beside the target and move it into place, so an interrupted run is never reused
+            Path partial = dir.resolve(file.getFileName() + ".part").toAbsolutePath();
+            Files.deleteIfExists(partial);
+            try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + partial)) {
+                generator.generate(connection);
+            }
+            Files.move(partial, file, StandardCopyOption.ATOMIC_MOVE);
+        }
+        System.setProperty("railsafar.db.url", "jdbc:sqlite:" + file);
+        return generator;
+    }
+
+    /**
+     * Put the database back as generated: drop the bookings after {@code lastSeededBookingId}
+     * and every table a run writes beside them, none of which the generator fills. Seat counts
+     * are rebuilt from the bookings as each slot is next touched.
+     */
+    public static void resetToSeeded(String lastSeededBookingId) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(System.getProperty("railsafar.db.url"))) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement pstmt = connection.prepareStatement("DELETE FROM bookings WHERE CAST(id AS INTEGER) > ?")) {
+                pstmt.setLong(1, Long.parseLong(lastSeededBookingId));
+                pstmt.executeUpdate();
+            }
+            // The ledgers refuse deletes; DatabaseService puts the triggers back when it next opens the file
+            for (String trigger : List.of("payments_no_delete", "refunds_no_delete")) {
+                try (PreparedStatement pstmt = connection.prepareStatement("DROP TRIGGER IF EXISTS " + trigger)) {
+                    pstmt.executeUpdate();
+                }
+            }
+            for (String table : RUN_TABLES) {
+                try (PreparedStatement pstmt = connection.prepareStatement("DELETE FROM " + table)) {
+                    pstmt.executeUpdate();
+                }
+            }
+            connection.commit();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.railwaymanagementsystem.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the suite and writes JMH's JSON report so results can be diffed between commits.
+ *
+ * Usage: {@code java -jar benchmarks/target/benchmarks.jar [jmh options]}. Results go to
+ * {@code jmh-result.json} unless {@code -rff} is given; {@code -p bookings=10000} limits
+ * the run to the smallest dataset.
+ */
+public final class BenchmarkRunner {
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLine);
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include(BenchmarkRunner.class.getPackageName() + "\\..*Benchmark");
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.result("jmh-result.json");
+        }
+        options.resultFormat(commandLine.getResultFormat().orElse(ResultFormatType.JSON));
+        new Runner(options.build()).run();
+    }
+}
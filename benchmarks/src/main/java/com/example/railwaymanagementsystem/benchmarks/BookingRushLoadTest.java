@@ -0,0 +1,251 @@
+package com.example.railwaymanagementsystem.benchmarks;
+
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
+import com.example.railwaymanagementsystem.metrics.LatencyHistogram;
+import com.example.railwaymanagementsystem.models.Booking;
+import com.example.railwaymanagementsystem.models.SeatClasses;
+import com.example.railwaymanagementsystem.models.Train;
+import com.example.railwaymanagementsystem.persistence.DatabaseService;
+import com.example.railwaymanagementsystem.persistence.SyntheticDataGenerator;
+import com.example.railwaymanagementsystem.services.BackendService;
+import com.example.railwaymanagementsystem.services.SoldOutException;
+import com.example.railwaymanagementsystem.services.UserSession;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop booking rush against BackendService. Passengers arrive at a Poisson rate up to
+ * a fixed population; each runs on its own virtual thread, signs in once, then loops
+ * search, book, pay and history with exponential think times until the run ends.
+ *
+ * Latency is measured from when an operation was due to start rather than when it did, so
+ * stalls that delay the next request are counted instead of hidden (coordinated omission).
+ *
+ * Configure with system properties:
+ * <ul>
+ *   <li>{@code railsafar.load.bookings}: dataset size (default 100000)</li>
+ *   <li>{@code railsafar.load.passengers}: concurrent passengers (default 1000)</li>
+ *   <li>{@code railsafar.load.arrivalsPerSecond}: passenger arrival rate (default 100)</li>
+ *   <li>{@code railsafar.load.thinkMillis}: mean think time between steps (default 1000)</li>
+ *   <li>{@code railsafar.load.seconds}: run length after the first arrival (default 60)</li>
+ * </ul>
+ */
+public final class BookingRushLoadTest {
+    private static final Logger LOG = Log.getLogger(BookingRushLoadTest.class);
+    private static final long REPORT_INTERVAL_SECONDS = 10;
+
+    enum Operation { LOGIN, SEARCH, BOOK, PAY, HISTORY }
+
+    private final BackendService backend;
+    private final SyntheticDataGenerator dataset;
+    private final List<Train> trains;
+    private final long meanThinkNanos;
+    private final Map<Operation, LatencyHistogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> failures = new EnumMap<>(Operation.class);
+    private final AtomicInteger activePassengers = new AtomicInteger();
+    private volatile long deadline;
+
+    private BookingRushLoadTest(BackendService backend, SyntheticDataGenerator dataset, long meanThinkMillis) {
+        this.backend = backend;
+        this.dataset = dataset;
+        this.trains = backend.getTrains().stream().filter(train -> !"Freight".equals(train.getType())).toList();
+        this.meanThinkNanos = TimeUnit.MILLISECONDS.toNanos(meanThinkMillis);
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new LatencyHistogram());
+            failures.put(operation, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int bookings = Integer.getInteger("railsafar.load.bookings", 100_000);
+        int passengers = Integer.getInteger("railsafar.load.passengers", 1_000);
+        double arrivalsPerSecond = Double.parseDouble(System.getProperty("railsafar.load.arrivalsPerSecond", "100"));
+        long thinkMillis = Long.getLong("railsafar.load.thinkMillis", 1_000);
+        long seconds = Long.getLong("railsafar.load.seconds", 60);
+
+        SyntheticDataGenerator dataset = BenchmarkDatabase.prepare(bookings);
+        String lastSeededBookingId = String.valueOf(Long.parseLong(DatabaseService.getInstance().getNextBookingId()) - 1);
+        BookingRushLoadTest test = new BookingRushLoadTest(BackendService.getInstance(), dataset, thinkMillis);
+
+        System.out.printf("Booking rush: %,d passengers arriving at %.0f/s, %d ms mean think time, %d s, %,d bookings%n",
+                passengers, arrivalsPerSecond, thinkMillis, seconds, bookings);
+        try {
+            test.run(Math.min(passengers, dataset.getSpec().users()), arrivalsPerSecond, seconds);
+        } finally {
+            BenchmarkDatabase.resetToSeeded(lastSeededBookingId);
+        }
+    }
+
+    private void run(int passengers, double arrivalsPerSecond, long seconds) throws InterruptedException {
+        long start = System.nanoTime();
+        deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Thread reporter = Thread.ofPlatform().daemon().name("load-reporter").start(() -> reportPeriodically(start));
+            long nextArrival = start;
+            for (int i = 0; i < passengers && System.nanoTime() < deadline; i++) {
+                sleepUntil(nextArrival);
+                int passenger = i;
+                executor.submit(() -> runPassenger(passenger));
+                nextArrival += (long) (-Math.log(1 - random.nextDouble()) / arrivalsPerSecond * 1e9);
+            }
+            sleepUntil(deadline);
+            reporter.interrupt();
+        }
+        Log.flush();
+        printSummary(System.nanoTime() - start);
+    }
+
+    private void runPassenger(int index) {
+        activePassengers.incrementAndGet();
+        try {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long due = System.nanoTime();
+            Optional<UserSession> session = time(Operation.LOGIN, due, () -> backend.login(
+                    dataset.passengerEmail(index), SyntheticDataGenerator.PASSENGER_PASSWORD, "passenger", null));
+            if (session.isEmpty()) {
+                failures.get(Operation.LOGIN).increment();
+                return;
+            }
+
+            while (true) {
+                Train train = trains.get(random.nextInt(trains.size()));
+                String[] stops = train.getRoute().split(" - ");
+                int from = random.nextInt(stops.length - 1);
+                int to = from + 1 + random.nextInt(stops.length - from - 1);
+
+                if ((due = think(due, random)) < 0) {
+                    return;
+                }
+                List<Train> results = time(Operation.SEARCH, due, () -> backend.searchTrains(stops[from], stops[to]))
+                        .stream()
+                        // As the desktop app lists them: only trains selling seats in this direction
+                        .filter(result -> !SeatClasses.soldOn(result).isEmpty()
+                                && backend.servesJourney(result, stops[from], stops[to]))
+                        .toList();
+                if (results.isEmpty()) {
+                    failures.get(Operation.SEARCH).increment();
+                    continue;
+                }
+
+                if ((due = think(due, random)) < 0) {
+                    return;
+                }
+                Train chosen = results.get(random.nextInt(results.size()));
+                int seats = 1 + random.nextInt(3);
+                Booking booking = time(Operation.BOOK, due, () -> {
+                    try {
+                        return backend.bookTicket(session.get(), chosen, stops[from], stops[to],
+                                LocalDate.now().plusDays(1 + random.nextInt(30)), seats, "Economy");
+                    } catch (SoldOutException e) {
+                        return null;
+                    }
+                });
+                if (booking == null) {
+                    failures.get(Operation.BOOK).increment();
+                    continue;
+                }
+
+                if ((due = think(due, random)) < 0) {
+                    return;
+                }
+                if (!time(Operation.PAY, due, () -> backend.processPayment(session.get(), booking.getId(), "Card"))) {
+                    failures.get(Operation.PAY).increment();
+                }
+
+                if ((due = think(due, random)) < 0) {
+                    return;
+                }
+                time(Operation.HISTORY, due, () -> backend.getBookingsForUser(session.get()));
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Passenger stopped", e, "passenger", index);
+        } finally {
+            activePassengers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Sleep through an exponential think time measured from when the previous step was due,
+     * returning when the next step is due, or -1 once the run is over.
+     */
+    private long think(long previousDue, ThreadLocalRandom random) {
+        long due = Math.max(previousDue, System.nanoTime())
+                + (long) (-Math.log(1 - random.nextDouble()) * meanThinkNanos);
+        if (due >= deadline) {
+            return -1;
+        }
+        sleepUntil(due);
+        return due;
+    }
+
+    private <T> T time(Operation operation, long due, Supplier<T> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            failures.get(operation).increment();
+            throw e;
+        } finally {
+            latencies.get(operation).record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due));
+        }
+    }
+
+    private void reportPeriodically(long start) {
+        Map<Operation, Long> previous = new EnumMap<>(Operation.class);
+        try {
+            while (true) {
+                TimeUnit.SECONDS.sleep(REPORT_INTERVAL_SECONDS);
+                StringBuilder line = new StringBuilder(String.format("[%4ds] passengers=%,d",
+                        TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), activePassengers.get()));
+                for (Operation operation : Operation.values()) {
+                    long count = latencies.get(operation).count();
+                    line.append(String.format(" %s=%.0f/s", operation.name().toLowerCase(),
+                            (count - previous.getOrDefault(operation, 0L)) / (double) REPORT_INTERVAL_SECONDS));
+                    previous.put(operation, count);
+                }
+                System.out.println(line);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void printSummary(long elapsedNanos) {
+        double elapsedSeconds = elapsedNanos / 1e9;
+        System.out.printf("%n%-8s %10s %8s %10s %10s %10s %10s %10s%n",
+                "op", "count", "errors", "ops/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            LatencyHistogram histogram = latencies.get(operation);
+            System.out.printf("%-8s %,10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    operation.name().toLowerCase(), histogram.count(), failures.get(operation).sum(),
+                    histogram.count() / elapsedSeconds,
+                    histogram.percentile(50) / 1000.0, histogram.percentile(99) / 1000.0,
+                    histogram.percentile(99.9) / 1000.0, histogram.max() / 1000.0);
+        }
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.railwaymanagementsystem.benchmarks;
+
+import com.example.railwaymanagementsystem.models.Booking;
+import com.example.railwaymanagementsystem.models.Schedule;
+import com.example.railwaymanagementsystem.models.Train;
+import com.example.railwaymanagementsystem.models.User;
+import com.example.railwaymanagementsystem.persistence.DatabaseService;
+import com.example.railwaymanagementsystem.persistence.SyntheticDataGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point lookups and the ResultSet mappers in DatabaseService, bypassing the BackendService facade.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DatabaseServiceBenchmark {
+    @Param({"10000", "1000000", "10000000"})
+    public int bookings;
+
+    private DatabaseService db;
+    private String bookingId;
+    private String userId;
+    private String email;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        SyntheticDataGenerator dataset = BenchmarkDatabase.prepare(bookings);
+        db = DatabaseService.getInstance();
+        bookingId = dataset.bookingId(bookings / 2);
+        userId = dataset.passengerId(0);
+        email = dataset.passengerEmail(dataset.getSpec().users() - 1);
+    }
+
+    @Benchmark
+    public Optional<Booking> findBookingById() throws SQLException {
+        return db.findBookingById(bookingId);
+    }
+
+    @Benchmark
+    public Optional<User> findUserById() throws SQLException {
+        return db.findUserById(userId);
+    }
+
+    @Benchmark
+    public Optional<User> findUserByEmail() throws SQLException {
+        return db.findUserByEmail(email);
+    }
+
+    @Benchmark
+    public Optional<Train> findTrainByNumber() throws SQLException {
+        return db.findTrainByNumber("1UP");
+    }
+
+    @Benchmark
+    public List<Train> getAllTrains() throws SQLException {
+        return db.getAllTrains();
+    }
+
+    @Benchmark
+    public List<Schedule> getAllSchedules() throws SQLException {
+        return db.getAllSchedules();
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.railwaymanagementsystem.logging;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drains the ring buffer on a daemon thread and formats one line per event, so callers on
+ * the FX thread or a request thread only pay for an enqueue. WARN and above go to stderr,
+ * everything else to stdout. Events that find the buffer full are dropped and reported as
+ * a count on the next line written.
+ */
+final class AsyncLogWriter {
+    private static final int CAPACITY = 8192;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private static final AsyncLogWriter INSTANCE = new AsyncLogWriter(System.out, System.err);
+
+    private final LogRingBuffer buffer = new LogRingBuffer(CAPACITY);
+    private final AtomicLong dropped = new AtomicLong();
+    private final PrintStream out;
+    private final PrintStream err;
+    private final Thread thread;
+    private final StringBuilder line = new StringBuilder(256);
+    private long reportedDropped;
+
+    private AsyncLogWriter(PrintStream out, PrintStream err) {
+        this.out = out;
+        this.err = err;
+        this.thread = Thread.ofPlatform().daemon().name("log-writer").unstarted(this::run);
+        thread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "log-flush"));
+    }
+
+    static AsyncLogWriter getInstance() {
+        return INSTANCE;
+    }
+
+    void enqueue(LogEvent event) {
+        if (!buffer.offer(event)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Write everything queued so far from the calling thread. Used at shutdown and by
+     * command-line tools that exit straight after logging.
+     */
+    synchronized void flush() {
+        drain();
+        out.flush();
+        err.flush();
+    }
+
+    private void run() {
+        while (true) {
+            if (!drainSafely()) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private boolean drainSafely() {
+        try {
+            return drain();
+        } catch (RuntimeException e) {
+            // A broken toString() in a field must not kill the writer
+            err.println("log-writer: failed to format event: " + e);
+            return false;
+        }
+    }
+
+    private synchronized boolean drain() {
+        boolean wrote = false;
+        LogEvent event;
+        while ((event = buffer.poll()) != null) {
+            write(event);
+            wrote = true;
+        }
+        return wrote;
+    }
+
+    private void write(LogEvent event) {
+        line.setLength(0);
+        TIMESTAMP.formatTo(Instant.ofEpochMilli(event.timestampMillis()), line);
+        line.append(' ').append(String.format("%-5s", event.level()))
+                .append(" [").append(event.threadName()).append("] ")
+                .append(abbreviate(event.loggerName())).append(" - ").append(event.message());
+
+        Object[] fields = event.fields();
+        for (int i = 0; i + 1 < fields.length; i += 2) {
+            line.append(' ').append(fields[i]).append('=');
+            appendValue(String.valueOf(fields[i + 1]));
+        }
+        Throwable error = event.error();
+        if (error != null) {
+            line.append(" error=");
+            appendValue(error.toString());
+        }
+        if (event.suppressedRepeats() > 0) {
+            line.append(" repeatsSuppressed=").append(event.suppressedRepeats());
+        }
+        long totalDropped = dropped.get();
+        long lost = totalDropped - reportedDropped;
+        reportedDropped = totalDropped;
+        if (lost > 0) {
+            line.append(" logEventsDropped=").append(lost);
+        }
+
+        PrintStream target = event.level().compareTo(Level.WARN) >= 0 ? err : out;
+        target.println(line);
+        if (error != null) {
+            error.printStackTrace(target);
+        }
+    }
+
+    private void appendValue(String value) {
+        if (value.isEmpty() || value.indexOf(' ') >= 0 || value.indexOf('=') >= 0 || value.indexOf('"') >= 0) {
+            line.append('"').append(value.replace("\"", "\\\"").replace("\n", "\\n")).append('"');
+        } else {
+            line.append(value);
+        }
+    }
+
+    /** {@code com.example.railwaymanagementsystem.services.BackendRepository} becomes {@code c.e.r.services.BackendRepository}. */
+    private static String abbreviate(String loggerName) {
+        int last = loggerName.lastIndexOf('.');
+        int parent = last > 0 ? loggerName.lastIndexOf('.', last - 1) : -1;
+        if (parent <= 0) {
+            return loggerName;
+        }
+        StringBuilder result = new StringBuilder();
+        int start = 0;
+        while (start < parent) {
+            result.append(loggerName.charAt(start)).append('.');
+            int dot = loggerName.indexOf('.', start);
+            start = dot + 1;
+        }
+        return result.append(loggerName, parent + 1, loggerName.length()).toString();
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.railwaymanagementsystem.logging;
+
+/**
+ * Log severities, least to most severe.
+ */
+public enum Level {
+    TRACE, DEBUG, INFO, WARN, ERROR, OFF
+}
@@ -0,0 +1,75 @@
+package com.example.railwaymanagementsystem.logging;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Entry point for application logging. Levels come from system properties read once at
+ * startup: {@code -Drailsafar.log.level=DEBUG} sets the root level (default INFO) and
+ * {@code -Drailsafar.log.level.<package or class>=LEVEL} overrides it for that prefix, the
+ * longest matching prefix winning.
+ */
+public final class Log {
+    private static final String LEVEL_PROPERTY = "railsafar.log.level";
+
+    private static final Level ROOT_LEVEL = parse(System.getProperty(LEVEL_PROPERTY), Level.INFO);
+    private static final List<Map.Entry<String, Level>> OVERRIDES = readOverrides();
+    private static final Map<String, Logger> LOGGERS = new ConcurrentHashMap<>();
+
+    private Log() {}
+
+    public static Logger getLogger(Class<?> type) {
+        return getLogger(type.getName());
+    }
+
+    public static Logger getLogger(String name) {
+        return LOGGERS.computeIfAbsent(name, n -> new Logger(n, levelFor(n)));
+    }
+
+    /**
+     * Write out everything queued so far. Background writing needs no help; this is for
+     * tools that print a report straight after logging and want the two in order.
+     */
+    public static void flush() {
+        AsyncLogWriter.getInstance().flush();
+    }
+
+    /** Events dropped since startup because the queue was full. */
+    public static long getDroppedCount() {
+        return AsyncLogWriter.getInstance().getDroppedCount();
+    }
+
+    static Level levelFor(String name) {
+        for (Map.Entry<String, Level> override : OVERRIDES) {
+            String prefix = override.getKey();
+            if (name.equals(prefix) || (name.startsWith(prefix) && name.charAt(prefix.length()) == '.')) {
+                return override.getValue();
+            }
+        }
+        return ROOT_LEVEL;
+    }
+
+    private static List<Map.Entry<String, Level>> readOverrides() {
+        String prefix = LEVEL_PROPERTY + ".";
+        return System.getProperties().stringPropertyNames().stream()
+                .filter(key -> key.startsWith(prefix) && key.length() > prefix.length())
+                .map(key -> Map.entry(key.substring(prefix.length()), parse(System.getProperty(key), ROOT_LEVEL)))
+                .sorted(Comparator.comparingInt((Map.Entry<String, Level> entry) -> entry.getKey().length()).reversed())
+                .toList();
+    }
+
+    private static Level parse(String value, Level fallback) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        try {
+            return Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown log level '" + value + "', using " + fallback);
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.railwaymanagementsystem.logging;
+
+/**
+ * One queued log call. Fields alternate key and value; formatting happens on the writer thread.
+ */
+record LogEvent(long timestampMillis, Level level, String loggerName, String threadName,
+                String message, Object[] fields, Throwable error, long suppressedRepeats) {
+}
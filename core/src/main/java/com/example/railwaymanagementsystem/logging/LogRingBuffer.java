@@ -0,0 +1,62 @@
+package com.example.railwaymanagementsystem.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free multi-producer queue (Vyukov's sequence-numbered ring). Producers never
+ * block: when the ring is full {@link #offer} fails and the caller counts a dropped event.
+ */
+final class LogRingBuffer {
+    private final int mask;
+    private final AtomicReferenceArray<LogEvent> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    LogRingBuffer(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(LogEvent event) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, event);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Next event, or null when empty. Only the writer thread calls this.
+     */
+    LogEvent poll() {
+        long position = head.get();
+        int index = (int) position & mask;
+        if (sequences.get(index) - (position + 1) < 0) {
+            return null;
+        }
+        LogEvent event = slots.get(index);
+        slots.set(index, null);
+        head.set(position + 1);
+        sequences.set(index, position + mask + 1);
+        return event;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.railwaymanagementsystem.logging;
+
+/**
+ * Structured logger. Messages are fixed strings; variable data goes in key/value pairs
+ * after the message, e.g. {@code LOG.info("Booking created", "bookingId", id, "seats", seats)}.
+ * A disabled level returns before anything is formatted or queued; guard with
+ * {@link #isDebugEnabled()} when computing the fields is itself costly.
+ *
+ * Exceptions logged at WARN or ERROR are rate limited per throw site: the first occurrence
+ * is printed with its stack trace and repeats within the next minute are only counted.
+ */
+public final class Logger {
+    private static final Object[] NO_FIELDS = new Object[0];
+    private static final RepeatedErrorFilter REPEATED_ERRORS = new RepeatedErrorFilter(60_000);
+
+    private final String name;
+    private final Level threshold;
+
+    Logger(String name, Level threshold) {
+        this.name = name;
+        this.threshold = threshold;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled(Level level) {
+        return level.compareTo(threshold) >= 0 && level != Level.OFF;
+    }
+
+    public boolean isDebugEnabled() {
+        return isEnabled(Level.DEBUG);
+    }
+
+    public void trace(String message, Object... fields) {
+        if (isEnabled(Level.TRACE)) {
+            log(Level.TRACE, message, null, fields);
+        }
+    }
+
+    public void debug(String message) {
+        if (isEnabled(Level.DEBUG)) {
+            log(Level.DEBUG, message, null, NO_FIELDS);
+        }
+    }
+
+    public void debug(String message, Object... fields) {
+        if (isEnabled(Level.DEBUG)) {
+            log(Level.DEBUG, message, null, fields);
+        }
+    }
+
+    public void info(String message) {
+        if (isEnabled(Level.INFO)) {
+            log(Level.INFO, message, null, NO_FIELDS);
+        }
+    }
+
+    public void info(String message, Object... fields) {
+        if (isEnabled(Level.INFO)) {
+            log(Level.INFO, message, null, fields);
+        }
+    }
+
+    public void warn(String message, Object... fields) {
+        if (isEnabled(Level.WARN)) {
+            log(Level.WARN, message, null, fields);
+        }
+    }
+
+    public void warn(String message, Throwable error, Object... fields) {
+        if (isEnabled(Level.WARN)) {
+            log(Level.WARN, message, error, fields);
+        }
+    }
+
+    public void error(String message, Object... fields) {
+        if (isEnabled(Level.ERROR)) {
+            log(Level.ERROR, message, null, fields);
+        }
+    }
+
+    public void error(String message, Throwable error, Object... fields) {
+        if (isEnabled(Level.ERROR)) {
+            log(Level.ERROR, message, error, fields);
+        }
+    }
+
+    private void log(Level level, String message, Throwable error, Object[] fields) {
+        long now = System.currentTimeMillis();
+        long suppressedRepeats = 0;
+        if (error != null) {
+            suppressedRepeats = REPEATED_ERRORS.admit(name, error, now);
+            if (suppressedRepeats == RepeatedErrorFilter.SUPPRESSED) {
+                return;
+            }
+        }
+        AsyncLogWriter.getInstance().enqueue(new LogEvent(now, level, name, Thread.currentThread().getName(),
+                message, fields, error, suppressedRepeats));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.railwaymanagementsystem.logging;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lets the first occurrence of an exception through per logger, exception type and throw
+ * site, then suppresses repeats for a window. The next occurrence after the window is let
+ * through with the number it replaced, so a failing query in a loop logs once a minute.
+ */
+final class RepeatedErrorFilter {
+    static final long SUPPRESSED = -1;
+    private static final int MAX_TRACKED = 10_000;
+
+    private final long windowMillis;
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    private static final class Window {
+        long openedAt;
+        long suppressed;
+    }
+
+    RepeatedErrorFilter(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * The number of repeats suppressed since this error was last logged, or {@link #SUPPRESSED}
+     * when this occurrence should be dropped.
+     */
+    long admit(String loggerName, Throwable error, long now) {
+        if (windows.size() > MAX_TRACKED) {
+            windows.clear();
+        }
+        StackTraceElement[] trace = error.getStackTrace();
+        String key = loggerName + '|' + error.getClass().getName() + '|' + (trace.length > 0 ? trace[0] : "");
+        Window window = windows.computeIfAbsent(key, k -> new Window());
+        synchronized (window) {
+            if (window.openedAt != 0 && now - window.openedAt < windowMillis) {
+                window.suppressed++;
+                return SUPPRESSED;
+            }
+            long repeats = window.suppressed;
+            window.openedAt = now;
+            window.suppressed = 0;
+            return repeats;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.railwaymanagementsystem.metrics;
+
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Process-wide metrics: timed operations, counters and gauges, all published over JMX
+ * under the {@code com.example.railwaymanagementsystem} domain.
+ */
+public final class MetricsRegistry implements MetricsRegistryMXBean {
+    private static final Logger LOG = Log.getLogger(MetricsRegistry.class);
+    private static final String JMX_DOMAIN = "com.example.railwaymanagementsystem";
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    private final ConcurrentHashMap<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+        register(JMX_DOMAIN + ":type=Metrics", this);
+        gauge("log.droppedEvents", Log::getDroppedCount);
+    }
+
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * The metrics for an operation, created and published on first use. Look it up once and
+     * keep the reference; this is a map lookup, not meant for every call.
+     */
+    public OperationMetrics operation(String name) {
+        return operations.computeIfAbsent(name, key -> {
+            OperationMetrics metrics = new OperationMetrics(key);
+            register(JMX_DOMAIN + ":type=Operation,name=" + ObjectName.quote(key), metrics);
+            return metrics;
+        });
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    /**
+     * Register a value read on demand, such as a queue depth. Replaces any gauge of the same name.
+     */
+    public void gauge(String name, LongSupplier reading) {
+        gauges.put(name, reading);
+    }
+
+    public List<OperationSnapshot> operationSnapshots() {
+        List<OperationSnapshot> snapshots = new ArrayList<>(operations.size());
+        for (OperationMetrics metrics : operations.values()) {
+            snapshots.add(metrics.snapshot());
+        }
+        snapshots.sort(Comparator.comparing(OperationSnapshot::name));
+        return snapshots;
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.get()));
+        return values;
+    }
+
+    @Override
+    public Map<String, Long> getGauges() {
+        Map<String, Long> values = new TreeMap<>();
+        gauges.forEach((name, reading) -> values.put(name, reading.getAsLong()));
+        return values;
+    }
+
+    private static void register(String objectName, Object mbean) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(objectName);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(mbean, name);
+            }
+        } catch (JMException e) {
+            LOG.warn("Error registering metrics MBean", e, "objectName", objectName);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.railwaymanagementsystem.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the registry's counters and current gauge readings.
+ */
+public interface MetricsRegistryMXBean {
+    Map<String, Long> getCounters();
+
+    Map<String, Long> getGauges();
+}
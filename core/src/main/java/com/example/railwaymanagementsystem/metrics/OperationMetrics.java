@@ -0,0 +1,78 @@
+package com.example.railwaymanagementsystem.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Calls, failures and latency for one named operation. Recording allocates nothing, so
+ * callers look the instance up once and time every call:
+ * <pre>{@code
+ * long start = System.nanoTime();
+ * try {
+ *     T result = call();
+ *     metrics.recordSince(start);
+ *     return result;
+ * } catch (SQLException e) {
+ *     metrics.recordFailureSince(start);
+ *     throw e;
+ * }
+ * }</pre>
+ */
+public final class OperationMetrics implements OperationMetricsMXBean {
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    public void recordSince(long startNanos) {
+        latency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+    }
+
+    public void recordFailureSince(long startNanos) {
+        errors.increment();
+        recordSince(startNanos);
+    }
+
+    public OperationSnapshot snapshot() {
+        return new OperationSnapshot(name, latency.count(), errors.sum(),
+                latency.percentile(50), latency.percentile(99), latency.percentile(99.9), latency.max());
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCalls() {
+        return latency.count();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getP50Micros() {
+        return latency.percentile(50);
+    }
+
+    @Override
+    public long getP99Micros() {
+        return latency.percentile(99);
+    }
+
+    @Override
+    public long getP999Micros() {
+        return latency.percentile(99.9);
+    }
+
+    @Override
+    public long getMaxMicros() {
+        return latency.max();
+    }
+}
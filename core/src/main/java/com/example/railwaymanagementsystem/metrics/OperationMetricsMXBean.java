@@ -0,0 +1,20 @@
+package com.example.railwaymanagementsystem.metrics;
+
+/**
+ * JMX view of one operation's call count, errors and latency percentiles.
+ */
+public interface OperationMetricsMXBean {
+    String getName();
+
+    long getCalls();
+
+    long getErrors();
+
+    long getP50Micros();
+
+    long getP99Micros();
+
+    long getP999Micros();
+
+    long getMaxMicros();
+}
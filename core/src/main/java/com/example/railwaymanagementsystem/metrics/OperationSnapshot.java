@@ -0,0 +1,8 @@
+package com.example.railwaymanagementsystem.metrics;
+
+/**
+ * Point-in-time copy of an operation's metrics, with latencies in microseconds.
+ */
+public record OperationSnapshot(String name, long calls, long errors,
+                                long p50Micros, long p99Micros, long p999Micros, long maxMicros) {
+}
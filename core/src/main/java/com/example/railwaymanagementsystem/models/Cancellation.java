@@ -0,0 +1,9 @@
+package com.example.railwaymanagementsystem.models;
+
+/**
+ * A booking to cancel together with the refund owed for it, or a null refund when nothing
+ * was paid or nothing is returned. {@code paymentStatusBefore} is the payment status the
+ * refund was worked out from; the cancellation is only written while the booking still has it.
+ */
+public record Cancellation(Booking booking, Refund refund, String paymentStatusBefore) {
+}
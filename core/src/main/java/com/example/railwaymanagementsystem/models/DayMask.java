@@ -0,0 +1,112 @@
+package com.example.railwaymanagementsystem.models;
+
+import java.time.DayOfWeek;
+import java.time.format.TextStyle;
+import java.util.Locale;
+
+/**
+ * The days of the week a schedule runs, as a 7-bit mask with bit 0 for Monday through bit 6
+ * for Sunday. Converts to and from the text kept in {@code schedules.days}: "Daily",
+ * "Mon-Fri", "Sat-Sun", and lists or ranges of day names such as "Mon, Wed, Fri".
+ */
+public final class DayMask {
+    public static final int NONE = 0;
+    public static final int WEEKDAYS = 0b0011111;
+    public static final int WEEKENDS = 0b1100000;
+    public static final int DAILY = 0b1111111;
+
+    private DayMask() {
+    }
+
+    public static int of(DayOfWeek day) {
+        return 1 << (day.getValue() - 1);
+    }
+
+    public static boolean runsOn(int mask, DayOfWeek day) {
+        return (mask & of(day)) != 0;
+    }
+
+    /**
+     * @return the mask for the text, or {@link #NONE} if it names no day
+     */
+    public static int parse(String days) {
+        if (days == null) {
+            return NONE;
+        }
+        String text = days.trim().toLowerCase(Locale.ROOT);
+        switch (text) {
+            case "daily", "every day", "all days" -> {
+                return DAILY;
+            }
+            case "weekdays" -> {
+                return WEEKDAYS;
+            }
+            case "weekends" -> {
+                return WEEKENDS;
+            }
+            default -> {
+            }
+        }
+        int mask = NONE;
+        for (String part : text.split("\\s*,\\s*")) {
+            String[] range = part.split("\\s*-\\s*");
+            DayOfWeek first = day(range[0]);
+            DayOfWeek last = range.length == 2 ? day(range[1]) : first;
+            if (first == null || last == null || range.length > 2) {
+                return NONE;
+            }
+            // Ranges may wrap past Sunday, as in Fri-Mon
+            for (DayOfWeek day = first; ; day = day.plus(1)) {
+                mask |= of(day);
+                if (day == last) {
+                    break;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * The canonical text for the mask, as {@link #parse} reads it.
+     */
+    public static String format(int mask) {
+        switch (mask & DAILY) {
+            case DAILY -> {
+                return "Daily";
+            }
+            case WEEKDAYS -> {
+                return "Mon-Fri";
+            }
+            case WEEKENDS -> {
+                return "Sat-Sun";
+            }
+            case NONE -> {
+                return "";
+            }
+            default -> {
+            }
+        }
+        StringBuilder text = new StringBuilder();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (runsOn(mask, day)) {
+                if (!text.isEmpty()) {
+                    text.append(", ");
+                }
+                text.append(day.getDisplayName(TextStyle.SHORT, Locale.ENGLISH));
+            }
+        }
+        return text.toString();
+    }
+
+    private static DayOfWeek day(String name) {
+        if (name.length() < 3) {
+            return null;
+        }
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (day.name().toLowerCase(Locale.ROOT).startsWith(name)) {
+                return day;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.railwaymanagementsystem.models;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Progress through the bookings on one train and travel date after the train was
+ * cancelled or delayed. {@code cursor} is the data store's position just past the last
+ * booking handled, so an interrupted job resumes where its last chunk was saved.
+ */
+public record DisruptionJob(String jobId, String trainId, LocalDate travelDate, String trainStatus,
+                            boolean completed, long cursor, int bookingsProcessed, int reaccommodated,
+                            int cancelled, LocalDateTime updatedAt) {
+
+    public static DisruptionJob start(String jobId, String trainId, LocalDate travelDate, String trainStatus) {
+        return new DisruptionJob(jobId, trainId, travelDate, trainStatus, false, 0, 0, 0, 0, LocalDateTime.now());
+    }
+
+    /**
+     * This job after one more chunk, ending at {@code cursor}.
+     */
+    public DisruptionJob advance(long cursor, int processed, int reaccommodated, int cancelled, boolean last) {
+        return new DisruptionJob(jobId, trainId, travelDate, trainStatus, last, cursor,
+                bookingsProcessed + processed, this.reaccommodated + reaccommodated, this.cancelled + cancelled,
+                LocalDateTime.now());
+    }
+}
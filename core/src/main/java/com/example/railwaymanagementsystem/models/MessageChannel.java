@@ -0,0 +1,19 @@
+package com.example.railwaymanagementsystem.models;
+
+/**
+ * How an outbound message reaches a passenger.
+ */
+public enum MessageChannel {
+    EMAIL("Email"),
+    SMS("SMS");
+
+    private final String label;
+
+    MessageChannel(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
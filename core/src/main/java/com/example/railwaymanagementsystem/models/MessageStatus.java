@@ -0,0 +1,21 @@
+package com.example.railwaymanagementsystem.models;
+
+/**
+ * Where an outbound message is in the outbox. Pending messages are retried until they are
+ * sent or run out of attempts.
+ */
+public enum MessageStatus {
+    PENDING("Pending"),
+    SENT("Sent"),
+    FAILED("Failed");
+
+    private final String label;
+
+    MessageStatus(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.railwaymanagementsystem.models;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Times of day as minutes after midnight, converted to and from the 12-hour text kept in
+ * {@code schedules.departure_time} and {@code arrival_time}, such as "08:00 AM".
+ */
+public final class MinuteOfDay {
+    public static final int UNKNOWN = -1;
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("hh:mm a", Locale.ENGLISH);
+    private static final DateTimeFormatter LENIENT_FORMAT = DateTimeFormatter.ofPattern("h:mm[ ]a", Locale.ENGLISH);
+
+    private MinuteOfDay() {
+    }
+
+    /**
+     * @return the minute of the day, or {@link #UNKNOWN} if the text is not a time
+     */
+    public static int parse(String text) {
+        if (text == null || text.isBlank()) {
+            return UNKNOWN;
+        }
+        String time = text.trim().toUpperCase(Locale.ENGLISH);
+        try {
+            return of(LocalTime.parse(time, LENIENT_FORMAT));
+        } catch (DateTimeParseException e) {
+            try {
+                return of(LocalTime.parse(time));
+            } catch (DateTimeParseException e2) {
+                return UNKNOWN;
+            }
+        }
+    }
+
+    public static int of(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    /**
+     * The time for a minute count, wrapping past midnight.
+     */
+    public static LocalTime toTime(int minute) {
+        int wrapped = Math.floorMod(minute, MINUTES_PER_DAY);
+        return LocalTime.of(wrapped / 60, wrapped % 60);
+    }
+
+    public static String format(int minute) {
+        return toTime(minute).format(TIME_FORMAT);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.railwaymanagementsystem.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * A message for one user. {@code id} is assigned by the data store and is 0 until the
+ * notification has been saved.
+ */
+public record Notification(long id, String userId, NotificationType type, String title, String message,
+                           LocalDateTime createdAt, boolean read) {
+
+    public static Notification create(String userId, NotificationType type, String title, String message) {
+        return new Notification(0, userId, type, title, message, LocalDateTime.now(), false);
+    }
+}
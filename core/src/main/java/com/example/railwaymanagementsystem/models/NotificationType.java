@@ -0,0 +1,21 @@
+package com.example.railwaymanagementsystem.models;
+
+/**
+ * What a passenger notification is about.
+ */
+public enum NotificationType {
+    BOOKING("Booking"),
+    PAYMENT("Payment"),
+    REFUND("Refund"),
+    TRAIN_STATUS("Train Status");
+
+    private final String label;
+
+    NotificationType(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
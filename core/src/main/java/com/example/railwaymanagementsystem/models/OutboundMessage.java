@@ -0,0 +1,33 @@
+package com.example.railwaymanagementsystem.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * An email or SMS waiting in, or sent from, the outbox. {@code id} is assigned by the data
+ * store and is 0 until the message has been saved; providers may use it to drop repeats,
+ * since a message can be sent again if the process stops before its outcome is recorded.
+ */
+public record OutboundMessage(long id, MessageChannel channel, String recipient, String subject, String body,
+                              MessageStatus status, int attempts, LocalDateTime nextAttemptAt, String lastError,
+                              LocalDateTime createdAt) {
+
+    public static OutboundMessage create(MessageChannel channel, String recipient, String subject, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        return new OutboundMessage(0, channel, recipient, subject, body, MessageStatus.PENDING, 0, now, null, now);
+    }
+
+    public OutboundMessage sent() {
+        return new OutboundMessage(id, channel, recipient, subject, body, MessageStatus.SENT, attempts + 1,
+                nextAttemptAt, null, createdAt);
+    }
+
+    public OutboundMessage retryAt(LocalDateTime when, String error) {
+        return new OutboundMessage(id, channel, recipient, subject, body, MessageStatus.PENDING, attempts + 1,
+                when, error, createdAt);
+    }
+
+    public OutboundMessage failed(String error) {
+        return new OutboundMessage(id, channel, recipient, subject, body, MessageStatus.FAILED, attempts + 1,
+                nextAttemptAt, error, createdAt);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.railwaymanagementsystem.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry in the payments ledger. A payment attempt is a series of entries sharing a
+ * payment id, one per state it passed through; entries are never updated.
+ */
+public record Payment(String paymentId, String bookingId, String idempotencyKey, PaymentStatus status,
+                      double amount, String method, String detail, LocalDateTime createdAt) {
+
+    /**
+     * The next ledger entry for this payment.
+     *
+     * @throws IllegalStateException if the state machine does not allow the move
+     */
+    public Payment transitionTo(PaymentStatus next, String detail) {
+        if (!status.canTransitionTo(next)) {
+            throw new IllegalStateException("Payment " + paymentId + " cannot move from " + status + " to " + next);
+        }
+        return new Payment(paymentId, bookingId, idempotencyKey, next, amount, method, detail, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.railwaymanagementsystem.models;
+
+/**
+ * Lifecycle of a payment. Every payment starts Pending; Captured, Failed and Refunded
+ * are terminal for the attempt (only a captured payment can later be refunded).
+ */
+public enum PaymentStatus {
+    PENDING("Pending"),
+    AUTHORIZED("Authorized"),
+    CAPTURED("Captured"),
+    FAILED("Failed"),
+    REFUNDED("Refunded");
+
+    private final String label;
+
+    PaymentStatus(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public boolean canTransitionTo(PaymentStatus next) {
+        return switch (this) {
+            case PENDING -> next == AUTHORIZED || next == FAILED;
+            case AUTHORIZED -> next == CAPTURED || next == FAILED;
+            case CAPTURED -> next == REFUNDED;
+            case FAILED, REFUNDED -> false;
+        };
+    }
+
+    /**
+     * Whether the attempt has finished, so replaying its idempotency key returns this outcome.
+     */
+    public boolean isSettled() {
+        return this == CAPTURED || this == FAILED || this == REFUNDED;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.railwaymanagementsystem.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry in the refunds ledger. Like payments, a refund is a series of entries sharing a
+ * refund id, one per state it passed through. {@code paymentId} is the captured payment being
+ * refunded, or null when the fare was not collected through the ledger.
+ */
+public record Refund(String refundId, String bookingId, String paymentId, RefundStatus status, double amount,
+                     String reason, String reference, LocalDateTime createdAt) {
+
+    /**
+     * The entry settling a pending refund.
+     *
+     * @throws IllegalStateException if the refund is already settled
+     */
+    public Refund settle(RefundStatus outcome, String reference) {
+        if (status != RefundStatus.PENDING || outcome == RefundStatus.PENDING) {
+            throw new IllegalStateException("Refund " + refundId + " cannot move from " + status + " to " + outcome);
+        }
+        return new Refund(refundId, bookingId, paymentId, outcome, amount, reason, reference, LocalDateTime.now());
+    }
+}
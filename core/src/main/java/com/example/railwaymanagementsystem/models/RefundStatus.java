@@ -0,0 +1,21 @@
+package com.example.railwaymanagementsystem.models;
+
+/**
+ * Lifecycle of a refund. Refunds owed through the payment gateway start Pending and end
+ * Completed or Failed; refunds settled at the counter are recorded Completed straight away.
+ */
+public enum RefundStatus {
+    PENDING("Pending"),
+    COMPLETED("Completed"),
+    FAILED("Failed");
+
+    private final String label;
+
+    RefundStatus(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -14,6 +14,10 @@ public class Schedule {
     private final StringProperty route;
     private final StringProperty days;
     private final StringProperty status;
+    // Typed forms of the times and days, kept in step with the text
+    private int departureMinute;
+    private int arrivalMinute;
+    private int dayMask;
 
     public Schedule() {
         this("", "", "", "", "", "", "", "Active");
@@ -22,6 +26,16 @@ public class Schedule {
     public Schedule(String id, String trainNumber, String trainName,
                     String departureTime, String arrivalTime, String route,
                     String days, String status) {
+        this(id, trainNumber, trainName, departureTime, arrivalTime, route, days, status,
+                MinuteOfDay.parse(departureTime), MinuteOfDay.parse(arrivalTime), DayMask.parse(days));
+    }
+
+    /**
+     * A schedule whose times and days have already been read, as stored alongside the text.
+     */
+    public Schedule(String id, String trainNumber, String trainName,
+                    String departureTime, String arrivalTime, String route,
+                    String days, String status, int departureMinute, int arrivalMinute, int dayMask) {
         this.id = new SimpleStringProperty(id);
         this.trainNumber = new SimpleStringProperty(trainNumber);
         this.trainName = new SimpleStringProperty(trainName);
@@ -30,6 +44,12 @@ public class Schedule {
         this.route = new SimpleStringProperty(route);
         this.days = new SimpleStringProperty(days);
         this.status = new SimpleStringProperty(status);
+        this.departureMinute = departureMinute;
+        this.arrivalMinute = arrivalMinute;
+        this.dayMask = dayMask;
+        this.departureTime.addListener((observable, old, value) -> this.departureMinute = MinuteOfDay.parse(value));
+        this.arrivalTime.addListener((observable, old, value) -> this.arrivalMinute = MinuteOfDay.parse(value));
+        this.days.addListener((observable, old, value) -> this.dayMask = DayMask.parse(value));
     }
 
     // Getters and setters
@@ -64,4 +84,17 @@ public class Schedule {
     public String getStatus() { return status.get(); }
     public void setStatus(String value) { status.set(value); }
     public StringProperty statusProperty() { return status; }
+
+    // Typed forms of the text fields, for storage and schedule queries
+
+    /** Minutes after midnight, or {@link MinuteOfDay#UNKNOWN} if the time is unreadable. */
+    public int getDepartureMinute() { return departureMinute; }
+
+    /** Minutes after midnight, or {@link MinuteOfDay#UNKNOWN} if the time is unreadable. */
+    public int getArrivalMinute() { return arrivalMinute; }
+
+    /** The days of the week it runs; see {@link DayMask}. */
+    public int getDayMask() { return dayMask; }
+
+    public boolean isActive() { return "Active".equalsIgnoreCase(getStatus()); }
 }
@@ -0,0 +1,10 @@
+package com.example.railwaymanagementsystem.models;
+
+import java.time.LocalDate;
+
+/**
+ * A date on which a schedule departs differently from its days of the week: not at all on
+ * a day it normally runs, or as an extra service on a day it does not.
+ */
+public record ScheduleException(String scheduleId, LocalDate date, boolean runs) {
+}
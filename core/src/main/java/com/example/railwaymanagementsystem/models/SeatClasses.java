@@ -0,0 +1,48 @@
+package com.example.railwaymanagementsystem.models;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * The seat classes trains sell. Every passenger train sells Economy, Business and First
+ * Class; freight trains carry no passengers and sell none. Each class of a train has its
+ * own seats, so only these names may be booked, quoted or waitlisted.
+ *
+ * Configure with system properties:
+ * <ul>
+ *   <li>{@code railsafar.train.seatsPerClass}: seats in each class of a train, per day (default 500)</li>
+ * </ul>
+ */
+public final class SeatClasses {
+    public static final String ECONOMY = "Economy";
+    public static final String BUSINESS = "Business";
+    public static final String FIRST_CLASS = "First Class";
+
+    private static final List<String> PASSENGER_CLASSES = List.of(ECONOMY, BUSINESS, FIRST_CLASS);
+
+    private SeatClasses() {
+    }
+
+    /**
+     * Seats in each class of a train, per day, read from the system property on every call.
+     */
+    public static int seatsPerClass() {
+        return Integer.getInteger("railsafar.train.seatsPerClass", 500);
+    }
+
+    public static List<String> soldOn(Train train) {
+        return "Freight".equals(train.getType()) ? List.of() : PASSENGER_CLASSES;
+    }
+
+    /**
+     * The class the train sells under this name, ignoring case, or empty if it sells none by it.
+     */
+    public static Optional<String> find(Train train, String seatClass) {
+        if (seatClass == null) {
+            return Optional.empty();
+        }
+        String name = seatClass.trim().toLowerCase(Locale.ROOT);
+        return soldOn(train).stream().filter(sold -> sold.toLowerCase(Locale.ROOT).equals(name)).findFirst();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.railwaymanagementsystem.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * The latest reported state of a running train. The stations are null until a position
+ * has been reported, and {@code reportedAt} is null for a train nothing has been reported
+ * for yet.
+ */
+public record TrainPosition(String trainNumber, String status, int delayMinutes, String lastStation,
+                            String nextStation, LocalDateTime reportedAt) {
+
+    /**
+     * A train as last saved, before any report has come in for it.
+     */
+    public static TrainPosition unreported(Train train) {
+        return new TrainPosition(train.getTrainNumber(), train.getStatus(), 0, null, null, null);
+    }
+
+    public TrainPosition withStatus(String newStatus) {
+        return new TrainPosition(trainNumber, newStatus, delayMinutes, lastStation, nextStation, reportedAt);
+    }
+}
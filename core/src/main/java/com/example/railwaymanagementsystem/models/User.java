@@ -13,7 +13,7 @@ public class User {
     private final StringProperty email;
     private final StringProperty phone;
     private final StringProperty role; // "passenger" or "admin"
-    private final StringProperty password; // In production, this would be hashed
+    private final StringProperty password; // PBKDF2 hash, see PasswordHasher
     private final StringProperty cnic;
     private final ObjectProperty<LocalDate> dateOfBirth;
     private final StringProperty gender;
@@ -0,0 +1,26 @@
+package com.example.railwaymanagementsystem.models;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A passenger waiting for seats on a sold-out train, day and class. {@code id} is assigned
+ * by the data store, is 0 until the entry has been saved, and orders the queue.
+ * {@code bookingId} is set once the entry has been promoted.
+ */
+public record WaitlistEntry(long id, String userId, String trainId, String trainNumber, String trainName,
+                            String fromStation, String toStation, LocalDate travelDate, String seatClass,
+                            int seats, WaitlistStatus status, String bookingId, LocalDateTime createdAt) {
+
+    public static WaitlistEntry create(String userId, Train train, String fromStation, String toStation,
+                                       LocalDate travelDate, String seatClass, int seats) {
+        return new WaitlistEntry(0, userId, train.getId(), train.getTrainNumber(), train.getTrainName(),
+                fromStation, toStation, travelDate, seatClass == null ? "" : seatClass, seats,
+                WaitlistStatus.WAITING, null, LocalDateTime.now());
+    }
+
+    public WaitlistEntry withId(long id) {
+        return new WaitlistEntry(id, userId, trainId, trainNumber, trainName, fromStation, toStation, travelDate,
+                seatClass, seats, status, bookingId, createdAt);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.railwaymanagementsystem.models;
+
+/**
+ * Where a waitlist entry is. Waiting entries are promoted to bookings in order as seats
+ * come free.
+ */
+public enum WaitlistStatus {
+    WAITING("Waiting"),
+    PROMOTED("Promoted"),
+    CANCELLED("Cancelled");
+
+    private final String label;
+
+    WaitlistStatus(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
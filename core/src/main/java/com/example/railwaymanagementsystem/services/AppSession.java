@@ -0,0 +1,48 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.models.User;
+
+import java.util.Optional;
+
+/**
+ * Desktop adapter over SessionManager: remembers which session this window signed in with.
+ * Backend calls that act for a user should be given {@link #getCurrentSession()}.
+ */
+public final class AppSession {
+    private static final AppSession INSTANCE = new AppSession();
+    private final SessionManager sessions = SessionManager.getInstance();
+    private volatile String sessionId;
+
+    private AppSession() {}
+
+    public static AppSession getInstance() {
+        return INSTANCE;
+    }
+
+    public Optional<UserSession> getCurrentSession() {
+        return sessions.find(sessionId);
+    }
+
+    public Optional<User> getCurrentUser() {
+        return getCurrentSession().map(UserSession::getUser);
+    }
+
+    /**
+     * Sign in as the given user, or refresh the user held by the current session
+     * when it already belongs to that user.
+     */
+    public void setCurrentUser(User user) {
+        Optional<UserSession> current = getCurrentSession();
+        if (current.isPresent() && current.get().getUserId().equals(user.getId())) {
+            sessions.updateUser(user);
+            return;
+        }
+        current.ifPresent(session -> sessions.invalidate(session.getId()));
+        sessionId = sessions.create(user).getId();
+    }
+
+    public void clear() {
+        sessions.invalidate(sessionId);
+        sessionId = null;
+    }
+}
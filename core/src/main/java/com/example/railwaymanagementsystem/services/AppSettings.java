@@ -0,0 +1,75 @@
+package com.example.railwaymanagementsystem.services;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Administrator settings, persisted in the data store and cached after the first read.
+ */
+public final class AppSettings {
+    /** Hours before departure after which cancelling returns the reduced refund. */
+    public static final String CANCELLATION_DEADLINE_HOURS = "cancellation.deadlineHours";
+    /** Whether passenger notifications are also sent by email. */
+    public static final String EMAIL_NOTIFICATIONS = "notifications.email";
+    /** Whether passenger notifications are also sent by SMS. */
+    public static final String SMS_NOTIFICATIONS = "notifications.sms";
+
+    private static final AppSettings INSTANCE = new AppSettings();
+
+    private final BackendRepository repo = BackendRepository.getInstance();
+    private volatile Map<String, String> values;
+
+    private AppSettings() {}
+
+    public static AppSettings getInstance() {
+        return INSTANCE;
+    }
+
+    public String get(String key, String defaultValue) {
+        return values().getOrDefault(key, defaultValue);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        try {
+            return Integer.parseInt(get(key, Integer.toString(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        return Boolean.parseBoolean(get(key, Boolean.toString(defaultValue)));
+    }
+
+    /**
+     * Persist a setting; the cached value only changes once it is saved.
+     */
+    public boolean set(String key, String value) {
+        if (!repo.saveSetting(key, value)) {
+            return false;
+        }
+        values().put(key, value);
+        return true;
+    }
+
+    public boolean setInt(String key, int value) {
+        return set(key, Integer.toString(value));
+    }
+
+    public boolean setBoolean(String key, boolean value) {
+        return set(key, Boolean.toString(value));
+    }
+
+    private Map<String, String> values() {
+        Map<String, String> loaded = values;
+        if (loaded == null) {
+            synchronized (this) {
+                if (values == null) {
+                    values = new ConcurrentHashMap<>(repo.getSettings());
+                }
+                loaded = values;
+            }
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.models.User;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Login-path cache: normalised email to user id, fronted by a Bloom filter so
+ * known emails are found without touching the database.
+ *
+ * The map is loaded once from the users table and kept current by
+ * BackendService on registration and email changes. Other processes sharing
+ * the database register users too, so an email missing here is looked up
+ * there before it is taken as unknown, and cached if found.
+ */
+public final class AuthLookupCache {
+    private static final AuthLookupCache INSTANCE = new AuthLookupCache();
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_CAPACITY = 1_024;
+
+    private final BackendRepository repo = BackendRepository.getInstance();
+    private final ConcurrentHashMap<String, String> userIdByEmail = new ConcurrentHashMap<>();
+    private volatile BloomFilter knownEmails;
+
+    private AuthLookupCache() {}
+
+    public static AuthLookupCache getInstance() {
+        return INSTANCE;
+    }
+
+    public static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The id of the user registered with the email, matched ignoring case, from the cache or
+     * else the database.
+     */
+    public Optional<String> findUserId(String email) {
+        String normalized = normalize(email);
+        if (filter().mightContain(normalized)) {
+            String userId = userIdByEmail.get(normalized);
+            if (userId != null) {
+                return Optional.of(userId);
+            }
+        }
+        Optional<User> registered = repo.findUserByEmail(normalized);
+        registered.ifPresent(user -> put(user.getEmail(), user.getId()));
+        return registered.map(User::getId);
+    }
+
+    public void put(String email, String userId) {
+        String normalized = normalize(email);
+        filter();
+        userIdByEmail.put(normalized, userId);
+        BloomFilter current = knownEmails;
+        if (userIdByEmail.size() > current.getExpectedInsertions()) {
+            rebuild();
+        } else {
+            current.put(normalized);
+            BloomFilter latest = knownEmails;
+            if (latest != current) {
+                latest.put(normalized);
+            }
+        }
+    }
+
+    public void rename(String oldEmail, String newEmail, String userId) {
+        String oldKey = normalize(oldEmail);
+        if (!oldKey.equals(normalize(newEmail))) {
+            // The stale Bloom bit only costs a map miss; the map stays authoritative
+            userIdByEmail.remove(oldKey, userId);
+        }
+        put(newEmail, userId);
+    }
+
+    private BloomFilter filter() {
+        BloomFilter current = knownEmails;
+        if (current == null) {
+            synchronized (this) {
+                current = knownEmails;
+                if (current == null) {
+                    userIdByEmail.putAll(repo.getUserEmailIndex());
+                    current = rebuild();
+                }
+            }
+        }
+        return current;
+    }
+
+    private synchronized BloomFilter rebuild() {
+        // Double the headroom so steady registrations rarely trigger a rebuild
+        BloomFilter rebuilt = BloomFilter.create(
+                Math.max(MIN_CAPACITY, userIdByEmail.size() * 2L), FALSE_POSITIVE_RATE);
+        for (Map.Entry<String, String> entry : userIdByEmail.entrySet()) {
+            rebuilt.put(entry.getKey());
+        }
+        knownEmails = rebuilt;
+        return rebuilt;
+    }
+}
@@ -0,0 +1,678 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
+import com.example.railwaymanagementsystem.models.Booking;
+import com.example.railwaymanagementsystem.models.Cancellation;
+import com.example.railwaymanagementsystem.models.DisruptionJob;
+import com.example.railwaymanagementsystem.models.MessageChannel;
+import com.example.railwaymanagementsystem.models.Notification;
+import com.example.railwaymanagementsystem.models.NotificationType;
+import com.example.railwaymanagementsystem.models.OutboundMessage;
+import com.example.railwaymanagementsystem.models.Payment;
+import com.example.railwaymanagementsystem.models.Refund;
+import com.example.railwaymanagementsystem.models.Schedule;
+import com.example.railwaymanagementsystem.models.ScheduleException;
+import com.example.railwaymanagementsystem.models.Train;
+import com.example.railwaymanagementsystem.models.User;
+import com.example.railwaymanagementsystem.models.WaitlistEntry;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Repository layer that delegates to the DataStore for persistent storage
+ */
+public final class BackendRepository {
+    private static final Logger LOG = Log.getLogger(BackendRepository.class);
+    private final DataStore db;
+
+    private BackendRepository() {
+        this(new InstrumentedDataStore(DataStoreProvider.load()));
+    }
+
+    /**
+     * A repository over the given store rather than the persistence module's, for tests.
+     */
+    BackendRepository(DataStore db) {
+        this.db = db;
+    }
+
+    public static BackendRepository getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    // Opens the persistence module on first use rather than when the class loads
+    private static final class Holder {
+        static final BackendRepository INSTANCE = new BackendRepository();
+    }
+
+    // User operations
+    public Optional<User> findUserByEmail(String email) {
+        try {
+            return db.findUserByEmail(email);
+        } catch (SQLException e) {
+            LOG.error("Error finding user by email", e);
+            return Optional.empty();
+        }
+    }
+
+    public Optional<User> findUserById(String id) {
+        try {
+            return db.findUserById(id);
+        } catch (SQLException e) {
+            LOG.error("Error finding user by id", e);
+            return Optional.empty();
+        }
+    }
+
+    public Map<String, String> getUserEmailIndex() {
+        try {
+            return db.getUserEmailIndex();
+        } catch (SQLException e) {
+            LOG.error("Error loading user email index", e);
+            return Collections.emptyMap();
+        }
+    }
+
+    public Collection<User> getUsers() {
+        try {
+            return db.getAllUsers();
+        } catch (SQLException e) {
+            LOG.error("Error getting users", e);
+            return Collections.emptyList();
+        }
+    }
+
+    public User addUser(User user) {
+        try {
+            return db.addUser(user);
+        } catch (SQLException e) {
+            LOG.error("Error adding user", e);
+            return user;
+        }
+    }
+
+    public boolean updateUser(User user) {
+        try {
+            return db.updateUser(user);
+        } catch (SQLException e) {
+            LOG.error("Error updating user", e);
+            return false;
+        }
+    }
+
+    public boolean emailExists(String email, String excludeUserId) {
+        try {
+            return db.emailExists(email, excludeUserId);
+        } catch (SQLException e) {
+            LOG.error("Error checking email existence", e);
+            return false;
+        }
+    }
+
+    public String nextUserId() {
+        try {
+            return db.getNextUserId();
+        } catch (SQLException e) {
+            LOG.error("Error getting next user id", e);
+            return "1";
+        }
+    }
+
+    // Train operations
+    public List<Train> getTrains() {
+        try {
+            return db.getAllTrains();
+        } catch (SQLException e) {
+            LOG.error("Error getting trains", e);
+            return Collections.emptyList();
+        }
+    }
+
+    public Optional<Train> findTrainById(String id) {
+        try {
+            return db.findTrainById(id);
+        } catch (SQLException e) {
+            LOG.error("Error finding train by id", e);
+            return Optional.empty();
+        }
+    }
+
+    public Optional<Train> findTrainByNumber(String trainNumber) {
+        try {
+            return db.findTrainByNumber(trainNumber);
+        } catch (SQLException e) {
+            LOG.error("Error finding train by number", e);
+            return Optional.empty();
+        }
+    }
+
+    public Train addTrain(Train train) {
+        try {
+            return db.addTrain(train);
+        } catch (SQLException e) {
+            LOG.error("Error adding train", e);
+            return train;
+        }
+    }
+
+    public boolean updateTrain(Train train) {
+        try {
+            return db.updateTrain(train);
+        } catch (SQLException e) {
+            LOG.error("Error updating train", e);
+            return false;
+        }
+    }
+
+    public void removeTrain(String id) {
+        try {
+            db.removeTrain(id);
+        } catch (SQLException e) {
+            LOG.error("Error removing train", e);
+        }
+    }
+
+    public String nextTrainId() {
+        try {
+            return db.getNextTrainId();
+        } catch (SQLException e) {
+            LOG.error("Error getting next train id", e);
+            return "1";
+        }
+    }
+
+    // Schedule operations
+    public List<Schedule> getSchedules() {
+        try {
+            return db.getAllSchedules();
+        } catch (SQLException e) {
+            LOG.error("Error getting schedules", e);
+            return Collections.emptyList();
+        }
+    }
+
+    public Optional<Schedule> findScheduleByTrainNumber(String trainNumber) {
+        try {
+            return db.findScheduleByTrainNumber(trainNumber);
+        } catch (SQLException e) {
+            LOG.error("Error finding schedule", e);
+            return Optional.empty();
+        }
+    }
+
+    public Schedule addSchedule(Schedule schedule) {
+        try {
+            return db.addSchedule(schedule);
+        } catch (SQLException e) {
+            LOG.error("Error adding schedule", e);
+            return schedule;
+        }
+    }
+
+    public boolean updateSchedule(Schedule schedule) {
+        try {
+            return db.updateSchedule(schedule);
+        } catch (SQLException e) {
+            LOG.error("Error updating schedule", e);
+            return false;
+        }
+    }
+
+    public void removeSchedule(Schedule schedule) {
+        try {
+            db.removeSchedule(schedule.getId());
+        } catch (SQLException e) {
+            LOG.error("Error removing schedule", e);
+        }
+    }
+
+    public String nextScheduleId() {
+        try {
+            return db.getNextScheduleId();
+        } catch (SQLException e) {
+            LOG.error("Error getting next schedule id", e);
+            return "1";
+        }
+    }
+
+    public List<ScheduleException> getScheduleExceptions() {
+        try {
+            return db.getScheduleExceptions();
+        } catch (SQLException e) {
+            LOG.error("Error getting schedule exceptions", e);
+            return Collections.emptyList();
+        }
+    }
+
+    public boolean saveScheduleException(ScheduleException exception) {
+        try {
+            return db.saveScheduleException(exception);
+        } catch (SQLException e) {
+            LOG.error("Error saving schedule exception", e);
+            return false;
+        }
+    }
+
+    public boolean removeScheduleException(String scheduleId, LocalDate date) {
+        try {
+            return db.removeScheduleException(scheduleId, date);
+        } catch (SQLException e) {
+            LOG.error("Error removing schedule exception", e);
+            return false;
+        }
+    }
+
+    // Booking operations
+    public List<Booking> getBookings() {
+        try {
+            return db.getAllBookings();
+        } catch (SQLException e) {
+            LOG.error("Error getting bookings", e);
+            return Collections.emptyList();
+        }
+    }
+
+    public Optional<Booking> findBookingById(String id) {
+        try {
+            return db.findBookingById(id);
+        } catch (SQLException e) {
+            LOG.error("Error finding booking", e);
+            return Optional.empty();
+        }
+    }
+
+    public Booking addBooking(Booking booking) {
+        try {
+            return db.addBooking(booking);
+        } catch (SQLException e) {
+            LOG.error("Error adding booking", e);
+            return booking;
+        }
+    }
+
+    /**
+     * @return false if the class is full or waitlisted that day
+     * @throws BookingFailedException if the booking could not be saved
+     */
+    public boolean addBookingIfAvailable(Booking booking, int seatsPerClass) {
+        try {
+            return db.addBookingIfAvailable(booking, seatsPerClass);
+        } catch (SQLException e) {
+            LOG.error("Error adding booking", e, "trainId", booking.getTrainId());
+            throw new BookingFailedException("The booking could not be saved", e);
+        }
+    }
+
+    public boolean updateBooking(Booking booking) {
+        try {
+            return db.updateBooking(booking);
+        } catch (SQLException e) {
+            LOG.error("Error updating booking", e);
+            return false;
+        }
+    }
+
+    public String nextBookingId() {
+        try {
+            return db.getNextBookingId();
+        } catch (SQLException e) {
+            LOG.error("Error getting next booking id", e);
+            return "1";
+        }
+    }
+
+    public List<Booking> getActiveBookingsForTrain(String trainId, LocalDate fromDate) {
+        try {
+            return db.getActiveBookingsForTrain(trainId, fromDate);
+        } catch (SQLException e) {
+            LOG.error("Error getting bookings for train", e, "trainId", trainId);
+            return Collections.emptyList();
+        }
+    }
+
+    public List<LocalDate> getActiveTravelDates(String trainId, LocalDate fromDate) {
+        try {
+            return db.getActiveTravelDates(trainId, fromDate);
+        } catch (SQLException e) {
+            LOG.error("Error getting travel dates for train", e, "trainId", trainId);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * @return the next page, or null if it could not be read
+     */
+    public BookingChunk getActiveBookingChunk(String trainId, LocalDate travelDate, long afterCursor, int limit) {
+        try {
+            return db.getActiveBookingChunk(trainId, travelDate, afterCursor, limit);
+        } catch (SQLException e) {
+            LOG.error("Error reading booking chunk", e, "trainId", trainId, "travelDate", travelDate);
+            return null;
+        }
+    }
+
+    /**
+     * @return seats held, or -1 if they could not be counted
+     */
+    public int getSeatsBooked(String trainId, LocalDate travelDate, String seatClass) {
+        try {
+            return db.getSeatsBooked(trainId, travelDate, seatClass);
+        } catch (SQLException e) {
+            LOG.error("Error counting booked seats", e, "trainId", trainId);
+            return -1;
+        }
+    }
+
+    // Cancellation operations
+    /**
+     * @return ids of the bookings cancelled, or an empty list if the transaction failed
+     */
+    public List<String> cancelBookings(List<Cancellation> cancellations) {
+        try {
+            return db.cancelBookings(cancellations);
+        } catch (SQLException e) {
+            LOG.error("Error cancelling bookings", e, "count", cancellations.size());
+            return Collections.emptyList();
+        }
+    }
+
+    public boolean recordRefund(Refund entry, Payment paymentEntry, Booking booking) {
+        try {
+            return db.recordRefund(entry, paymentEntry, booking);
+        } catch (SQLException e) {
+            LOG.error("Error recording refund", e, "refundId", entry.refundId(), "status", entry.status());
+            return false;
+        }
+    }
+
+    public List<Refund> getPendingRefunds() {
+        try {
+            return db.getPendingRefunds();
+        } catch (SQLException e) {
+            LOG.error("Error getting pending refunds", e);
+            return Collections.emptyList();
+        }
+    }
+
+    public List<Refund> getRefundsForBooking(String bookingId) {
+        try {
+            return db.getRefundsForBooking(bookingId);
+        } catch (SQLException e) {
+            LOG.error("Error getting refunds for booking", e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * A fresh refund id, or null if none could be allocated, for the same reason as
+     * {@link #nextPaymentId}.
+     */
+    public String nextRefundId() {
+        try {
+            return db.getNextRefundId();
+        } catch (SQLException e) {
+            LOG.error("Error getting next refund id", e);
+            return null;
+        }
+    }
+
+    // Payment operations
+    public Optional<Payment> findPaymentByIdempotencyKey(String idempotencyKey) {
+        try {
+            return db.findPaymentByIdempotencyKey(idempotencyKey);
+        } catch (SQLException e) {
+            LOG.error("Error finding payment by idempotency key", e);
+            return Optional.empty();
+        }
+    }
+
+    public boolean claimIdempotencyKey(Payment pending) {
+        try {
+            return db.claimIdempotencyKey(pending);
+        } catch (SQLException e) {
+            LOG.error("Error claiming idempotency key", e, "bookingId", pending.bookingId());
+            return false;
+        }
+    }
+
+    public boolean recordPaymentTransition(Payment entry, Booking booking) {
+        try {
+            return db.recordPaymentTransition(entry, booking);
+        } catch (SQLException e) {
+            LOG.error("Error recording payment transition", e, "paymentId", entry.paymentId(), "status", entry.status());
+            return false;
+        }
+    }
+
+    public List<Payment> getPaymentsForBooking(String bookingId) {
+        try {
+            return db.getPaymentsForBooking(bookingId);
+        } catch (SQLException e) {
+            LOG.error("Error getting payments for booking", e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * A fresh payment id, or null if none could be allocated; unlike the other id
+     * helpers there is no safe default, since a reused id would merge two ledgers.
+     */
+    public String nextPaymentId() {
+        try {
+            return db.getNextPaymentId();
+        } catch (SQLException e) {
+            LOG.error("Error getting next payment id", e);
+            return null;
+        }
+    }
+
+    // Disruption operations
+    public boolean addDisruptionJobs(List<DisruptionJob> jobs) {
+        try {
+            db.addDisruptionJobs(jobs);
+            return true;
+        } catch (SQLException e) {
+            LOG.error("Error adding disruption jobs", e, "count", jobs.size());
+            return false;
+        }
+    }
+
+    public List<DisruptionJob> getUnfinishedDisruptionJobs() {
+        try {
+            return db.getUnfinishedDisruptionJobs();
+        } catch (SQLException e) {
+            LOG.error("Error getting unfinished disruption jobs", e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * The ids of transfers into classes without room, an empty list once the chunk is
+     * applied, or null if it could not be.
+     */
+    public List<String> applyDisruptionChunk(DisruptionJob progress, List<Cancellation> cancellations,
+                                             List<Booking> transfers, int seatsPerClass,
+                                             List<Notification> notifications, List<OutboundMessage> messages) {
+        try {
+            return db.applyDisruptionChunk(progress, cancellations, transfers, seatsPerClass, notifications, messages);
+        } catch (SQLException e) {
+            LOG.error("Error applying disruption chunk", e, "jobId", progress.jobId(), "cursor", progress.cursor());
+            return null;
+        }
+    }
+
+    /**
+     * A fresh job id, or null if none could be allocated.
+     */
+    public String nextDisruptionJobId() {
+        try {
+            return db.getNextDisruptionJobId();
+        } catch (SQLException e) {
+            LOG.error("Error getting next disruption job id", e);
+            return null;
+        }
+    }
+
+    // Waitlist operations
+    /**
+     * @return the saved entry, or null if it could not be saved
+     */
+    public WaitlistEntry addWaitlistEntry(WaitlistEntry entry) {
+        try {
+            return db.addWaitlistEntry(entry);
+        } catch (SQLException e) {
+            LOG.error("Error adding waitlist entry", e, "trainId", entry.trainId());
+            return null;
+        }
+    }
+
+    public Optional<WaitlistEntry> findWaitlistEntry(long id) {
+        try {
+            return db.findWaitlistEntry(id);
+        } catch (SQLException e) {
+            LOG.error("Error finding waitlist entry", e, "id", id);
+            return Optional.empty();
+        }
+    }
+
+    public List<WaitlistEntry> getWaitlist(String trainId, LocalDate travelDate, String seatClass) {
+        try {
+            return db.getWaitlist(trainId, travelDate, seatClass);
+        } catch (SQLException e) {
+            LOG.error("Error loading waitlist", e, "trainId", trainId);
+            return List.of();
+        }
+    }
+
+    public List<WaitlistEntry> getWaitingEntries(LocalDate fromDate) {
+        try {
+            return db.getWaitingEntries(fromDate);
+        } catch (SQLException e) {
+            LOG.error("Error loading waiting entries", e);
+            return List.of();
+        }
+    }
+
+    public List<WaitlistEntry> getWaitlistForUser(String userId) {
+        try {
+            return db.getWaitlistForUser(userId);
+        } catch (SQLException e) {
+            LOG.error("Error loading user's waitlist", e, "userId", userId);
+            return List.of();
+        }
+    }
+
+    public boolean cancelWaitlistEntry(long id) {
+        try {
+            return db.cancelWaitlistEntry(id);
+        } catch (SQLException e) {
+            LOG.error("Error cancelling waitlist entry", e, "id", id);
+            return false;
+        }
+    }
+
+    public boolean promoteWaitlistEntry(WaitlistEntry entry, Booking booking, int seatsPerClass) {
+        try {
+            return db.promoteWaitlistEntry(entry, booking, seatsPerClass);
+        } catch (SQLException e) {
+            LOG.error("Error promoting waitlist entry", e, "id", entry.id());
+            return false;
+        }
+    }
+
+    // Notification operations
+    public boolean addNotifications(List<Notification> notifications, List<OutboundMessage> messages) {
+        try {
+            db.addNotifications(notifications, messages);
+            return true;
+        } catch (SQLException e) {
+            LOG.error("Error adding notifications", e, "count", notifications.size());
+            return false;
+        }
+    }
+
+    public List<Notification> getNotifications(String userId, Set<NotificationType> types, boolean unreadOnly,
+                                               long beforeId, int limit) {
+        try {
+            return db.getNotifications(userId, types, unreadOnly, beforeId, limit);
+        } catch (SQLException e) {
+            LOG.error("Error getting notifications", e, "userId", userId);
+            return Collections.emptyList();
+        }
+    }
+
+    public int countUnreadNotifications(String userId) {
+        try {
+            return db.countUnreadNotifications(userId);
+        } catch (SQLException e) {
+            LOG.error("Error counting unread notifications", e, "userId", userId);
+            return 0;
+        }
+    }
+
+    public boolean markNotificationRead(String userId, long notificationId) {
+        try {
+            return db.markNotificationRead(userId, notificationId);
+        } catch (SQLException e) {
+            LOG.error("Error marking notification read", e, "notificationId", notificationId);
+            return false;
+        }
+    }
+
+    public int markAllNotificationsRead(String userId) {
+        try {
+            return db.markAllNotificationsRead(userId);
+        } catch (SQLException e) {
+            LOG.error("Error marking notifications read", e, "userId", userId);
+            return 0;
+        }
+    }
+
+    // Outbox operations
+    public List<OutboundMessage> getDueMessages(MessageChannel channel, LocalDateTime now, int limit) {
+        try {
+            return db.getDueMessages(channel, now, limit);
+        } catch (SQLException e) {
+            LOG.error("Error getting due messages", e, "channel", channel);
+            return Collections.emptyList();
+        }
+    }
+
+    public boolean recordMessageAttempts(List<OutboundMessage> messages) {
+        try {
+            db.recordMessageAttempts(messages);
+            return true;
+        } catch (SQLException e) {
+            LOG.error("Error recording message attempts", e, "count", messages.size());
+            return false;
+        }
+    }
+
+    // Settings operations
+    public Map<String, String> getSettings() {
+        try {
+            return db.getSettings();
+        } catch (SQLException e) {
+            LOG.error("Error getting settings", e);
+            return Collections.emptyMap();
+        }
+    }
+
+    public boolean saveSetting(String key, String value) {
+        try {
+            return db.saveSetting(key, value);
+        } catch (SQLException e) {
+            LOG.error("Error saving setting", e, "key", key);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,769 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.metrics.Counter;
+import com.example.railwaymanagementsystem.metrics.MetricsRegistry;
+import com.example.railwaymanagementsystem.metrics.OperationMetrics;
+import com.example.railwaymanagementsystem.models.Booking;
+import com.example.railwaymanagementsystem.models.DisruptionJob;
+import com.example.railwaymanagementsystem.models.Payment;
+import com.example.railwaymanagementsystem.models.Refund;
+import com.example.railwaymanagementsystem.models.MinuteOfDay;
+import com.example.railwaymanagementsystem.models.Schedule;
+import com.example.railwaymanagementsystem.models.ScheduleException;
+import com.example.railwaymanagementsystem.models.SeatClasses;
+import com.example.railwaymanagementsystem.models.Train;
+import com.example.railwaymanagementsystem.models.TrainPosition;
+import com.example.railwaymanagementsystem.models.User;
+import com.example.railwaymanagementsystem.models.WaitlistEntry;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Facade over the in-memory repository that provides business operations.
+ */
+public final class BackendService {
+    private static final BackendService INSTANCE = new BackendService();
+    private static final int AUTH_QUEUE_CAPACITY = 64;
+    private static final Set<String> TRAIN_STATUSES = Set.of("On-time", DisruptionProcessor.DELAYED, DisruptionProcessor.CANCELLED);
+
+    private final BackendRepository repo = BackendRepository.getInstance();
+    private final PasswordHasher passwordHasher = PasswordHasher.getInstance();
+    private final ThreadPoolExecutor authExecutor = createAuthExecutor();
+    private final PaymentGatewayClient gateway = PaymentGatewayClient.fromSystemProperties(PaymentGateway.load());
+    private final EventBus events = new EventBus();
+    private final MessageDispatcher messages =
+            new MessageDispatcher(repo, AppSettings.getInstance(), MessageProvider.load());
+    private final NotificationService notifications = new NotificationService(repo, events, messages);
+    private final PaymentProcessor payments = new PaymentProcessor(repo, gateway, events);
+    private final CancellationService cancellations =
+            new CancellationService(repo, gateway, payments, AppSettings.getInstance(), events, this::getScheduleOn);
+    private final DisruptionProcessor disruptions = new DisruptionProcessor(repo, cancellations, messages, this::isTrainRunning);
+    private final TrainStatusFeed trainStatusFeed = new TrainStatusFeed(repo, events);
+    private final DelayPropagationEngine delays = new DelayPropagationEngine(
+            date -> scheduleIndex().departing(date, 0, MinuteOfDay.MINUTES_PER_DAY));
+    private final FareEngine fares = new FareEngine(repo, events);
+    private final QuoteService quotes = new QuoteService(fares);
+    private final WaitlistService waitlist = new WaitlistService(repo, fares, events);
+    // Compiled on first use and dropped whenever schedules or their exceptions change
+    private volatile ScheduleIndex scheduleIndex;
+    private final AuthLookupCache authCache = AuthLookupCache.getInstance();
+    private final SessionManager sessions = SessionManager.getInstance();
+    // Bursts of 5 per account then one every 12 s; 20 per client then 2 per second
+    private final TokenBucketLimiter accountLoginLimiter = new TokenBucketLimiter(5, 1.0 / 12);
+    private final TokenBucketLimiter clientLoginLimiter = new TokenBucketLimiter(20, 2.0);
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private final OperationMetrics verifyMetrics = metrics.operation("auth.verifyCredentials");
+    private final Counter rateLimitedLogins = metrics.counter("login.rateLimited");
+    private final Counter unknownEmailLogins = metrics.counter("login.unknownEmail");
+    private final Counter rejectedLogins = metrics.counter("login.poolRejected");
+
+    private BackendService() {
+        metrics.gauge("sessions.active", sessions::activeCount);
+        metrics.gauge("auth.queueDepth", () -> authExecutor.getQueue().size());
+        metrics.gauge("auth.activeVerifications", authExecutor::getActiveCount);
+        disruptions.resume();
+        waitlist.resume();
+    }
+
+    public static BackendService getInstance() {
+        return INSTANCE;
+    }
+
+    public Optional<User> authenticate(String email, String password, String role) {
+        return authenticate(email, password, role, null);
+    }
+
+    /**
+     * Authenticate through the login cache. Unknown emails are rejected by the Bloom
+     * filter without a query, and known users are loaded by primary key.
+     *
+     * @param clientKey caller address for per-client rate limiting, or null when there is none
+     * @throws LoginRateLimitedException when the account or client is out of attempts
+     */
+    public Optional<User> authenticate(String email, String password, String role, String clientKey) {
+        checkLoginRate(email, clientKey);
+        return verifyCredentials(email, password, role);
+    }
+
+    private Optional<User> verifyCredentials(String email, String password, String role) {
+        long start = System.nanoTime();
+        Optional<User> user = authCache.findUserId(email)
+                .flatMap(repo::findUserById)
+                .filter(candidate -> passwordHasher.verify(password, candidate.getPassword()))
+                .filter(candidate -> candidate.getRole().equalsIgnoreCase(role))
+                .map(candidate -> upgradePasswordHash(candidate, password));
+        verifyMetrics.recordSince(start);
+        return user;
+    }
+
+    /**
+     * Runs {@link #authenticate} on the bounded password-verification pool so hashing never
+     * blocks the caller. When the pool and its queue are full the future fails with
+     * {@link RejectedExecutionException} instead of queueing without limit.
+     * Rate-limited and unknown-email attempts complete without using the pool; an email the
+     * cache does not know costs one indexed database lookup on the calling thread.
+     */
+    public CompletableFuture<Optional<User>> authenticateAsync(String email, String password, String role) {
+        return authenticateAsync(email, password, role, null);
+    }
+
+    public CompletableFuture<Optional<User>> authenticateAsync(String email, String password, String role,
+                                                               String clientKey) {
+        try {
+            checkLoginRate(email, clientKey);
+        } catch (LoginRateLimitedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (authCache.findUserId(email).isEmpty()) {
+            unknownEmailLogins.increment();
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> verifyCredentials(email, password, role), authExecutor);
+        } catch (RejectedExecutionException e) {
+            rejectedLogins.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Authenticate and open a session for the user.
+     */
+    public Optional<UserSession> login(String email, String password, String role, String clientKey) {
+        return authenticate(email, password, role, clientKey).map(sessions::create);
+    }
+
+    public Optional<UserSession> resolveSession(String sessionId) {
+        return sessions.find(sessionId);
+    }
+
+    public void logout(String sessionId) {
+        sessions.invalidate(sessionId);
+    }
+
+    public boolean verifyPassword(User user, String password) {
+        return passwordHasher.verify(password, user.getPassword());
+    }
+
+    public boolean changePassword(User user, String newPassword) {
+        user.setPassword(passwordHasher.hash(newPassword));
+        return repo.updateUser(user);
+    }
+
+    public Optional<User> register(User user) {
+        if (emailExists(user.getEmail())) {
+            return Optional.empty();
+        }
+        User copy = new User(repo.nextUserId(), user.getName(), user.getEmail(), user.getPhone(),
+                user.getRole(), passwordHasher.hash(user.getPassword()));
+        User added = repo.addUser(copy);
+        authCache.put(added.getEmail(), added.getId());
+        return Optional.of(added);
+    }
+
+    public boolean emailExists(String email) {
+        return authCache.findUserId(email).isPresent();
+    }
+
+    public Optional<User> getUserById(String userId) {
+        return repo.findUserById(userId);
+    }
+
+    public Optional<User> updateUser(User updatedUser) {
+        Optional<User> existing = repo.findUserById(updatedUser.getId());
+        if (existing.isEmpty()) {
+            return Optional.empty();
+        }
+        if (repo.emailExists(updatedUser.getEmail(), updatedUser.getId())) {
+            return Optional.empty();
+        }
+        if (repo.updateUser(updatedUser)) {
+            authCache.rename(existing.get().getEmail(), updatedUser.getEmail(), updatedUser.getId());
+            sessions.updateUser(updatedUser);
+            return Optional.of(updatedUser);
+        }
+        return Optional.empty();
+    }
+
+    public List<Train> getTrains() {
+        return repo.getTrains().stream().collect(Collectors.toList());
+    }
+
+    public List<Schedule> getSchedules() {
+        return repo.getSchedules().stream().collect(Collectors.toList());
+    }
+
+    public List<Train> searchTrains(String from, String to) {
+        String normalizedFrom = from.toLowerCase();
+        String normalizedTo = to.toLowerCase();
+        return repo.getTrains().stream()
+                .filter(train -> train.getRoute().toLowerCase().contains(normalizedFrom))
+                .filter(train -> train.getRoute().toLowerCase().contains(normalizedTo))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Trains between the stations that run on the date. Trains with no active schedule are
+     * kept, as nothing says they do not run.
+     */
+    public List<Train> searchTrains(String from, String to, LocalDate date) {
+        ScheduleIndex index = scheduleIndex();
+        return searchTrains(from, to).stream()
+                .filter(train -> !index.hasSchedule(train.getTrainNumber()) || index.runsOn(train.getTrainNumber(), date))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The active schedules departing on the date at or after {@code from} and before
+     * {@code to}, earliest first, allowing for exception dates.
+     */
+    public List<Schedule> getSchedulesDeparting(LocalDate date, LocalTime from, LocalTime to) {
+        return scheduleIndex().departing(date, MinuteOfDay.of(from), MinuteOfDay.of(to));
+    }
+
+    /**
+     * The train's earliest active schedule departing on the date, allowing for exception
+     * dates; a train may have several, such as for weekdays and weekends.
+     */
+    public Optional<Schedule> getScheduleOn(String trainNumber, LocalDate date) {
+        return scheduleIndex().scheduleOn(trainNumber, date);
+    }
+
+    /**
+     * Whether the train has an active schedule that departs on the date.
+     */
+    public boolean isTrainRunning(String trainNumber, LocalDate date) {
+        return scheduleIndex().runsOn(trainNumber, date);
+    }
+
+    /**
+     * Price a journey for {@code seats} passengers from the train's fare table for the date
+     * and class, which reflects how far ahead it is and how many seats are already sold.
+     * Booking with the quote's token before it expires charges this price.
+     *
+     * @throws IllegalArgumentException if the train does not sell the class, or does not run
+     *         from {@code from} to {@code to}
+     */
+    public SignedQuote quoteFare(Train train, String from, String to, LocalDate date, String seatClass, int seats) {
+        return quotes.quote(train, from, to, date, requireSeatClass(train, seatClass), seats);
+    }
+
+    /**
+     * The current fare per seat for one passenger on each train, keyed by train id, for
+     * listing search results off the FX thread. Trains that do not sell the class, or do not
+     * run from {@code from} to {@code to}, are left out. Unlike {@link #quoteFare} nothing is
+     * signed, so these fares are not held for booking.
+     */
+    public CompletableFuture<Map<String, Integer>> getFaresAsync(List<Train> trains, String from, String to,
+                                                                 LocalDate date, String seatClass) {
+        return CompletableFuture.supplyAsync(() -> {
+            Map<String, Integer> farePerSeat = new HashMap<>();
+            for (Train train : trains) {
+                SeatClasses.find(train, seatClass)
+                        .filter(sold -> servesJourney(train, from, to))
+                        .ifPresent(sold -> farePerSeat.put(train.getId(),
+                                fares.quote(train, from, to, date, sold, 1).farePerSeat()));
+            }
+            return farePerSeat;
+        }, Thread::startVirtualThread);
+    }
+
+    public Optional<Train> getTrainByNumber(String trainNumber) {
+        return repo.findTrainByNumber(trainNumber);
+    }
+
+    /**
+     * Book seats at the current fare, as {@link #quoteFare} prices it.
+     *
+     * @throws SoldOutException if the class has too few seats left that day, or has a waitlist
+     * @throws BookingFailedException if the booking could not be saved
+     * @throws IllegalArgumentException if the train does not sell the class, or does not run
+     *         from {@code from} to {@code to}
+     */
+    public Booking bookTicket(User user, Train train, String from, String to,
+                              LocalDate date, int seats, String seatClass) {
+        seatClass = requireSeatClass(train, seatClass);
+        return saveBooking(user, train, from, to, date, seats, seatClass,
+                fares.quote(train, from, to, date, seatClass, seats).total());
+    }
+
+    /**
+     * Book seats at the price held by a token from {@link #quoteFare}, for the same journey.
+     *
+     * @throws QuoteRejectedException if the token has expired, is not genuine, or is for another journey
+     * @throws SoldOutException if the class has too few seats left that day, or has a waitlist
+     * @throws BookingFailedException if the booking could not be saved
+     * @throws IllegalArgumentException if the train does not sell the class, or does not run
+     *         from {@code from} to {@code to}
+     */
+    public Booking bookTicket(UserSession session, Train train, String from, String to,
+                              LocalDate date, int seats, String seatClass, String quoteToken) {
+        seatClass = requireSeatClass(train, seatClass);
+        int farePerSeat = quotes.redeem(quoteToken, train, from, to, date, seatClass, seats);
+        return saveBooking(session.getUser(), train, from, to, date, seats, seatClass, farePerSeat * seats);
+    }
+
+    public Booking bookTicket(UserSession session, Train train, String from, String to,
+                              LocalDate date, int seats, String seatClass) {
+        return bookTicket(session.getUser(), train, from, to, date, seats, seatClass);
+    }
+
+    /**
+     * Whether the train calls at both stations, in that order, matching names ignoring case.
+     * Train search matches stations anywhere on the route, so it also finds trains running
+     * the other way.
+     */
+    public boolean servesJourney(Train train, String from, String to) {
+        return DisruptionProcessor.servesInOrder(train.getRoute(), from, to);
+    }
+
+    private static void requireJourney(Train train, String from, String to) {
+        if (!DisruptionProcessor.servesInOrder(train.getRoute(), from, to)) {
+            throw new IllegalArgumentException(train.getTrainNumber() + " does not run from " + from + " to " + to);
+        }
+    }
+
+    /**
+     * The class as the train sells it, matched ignoring case.
+     *
+     * @throws IllegalArgumentException if the train does not sell it
+     */
+    private static String requireSeatClass(Train train, String seatClass) {
+        return SeatClasses.find(train, seatClass).orElseThrow(() -> new IllegalArgumentException(
+                train.getTrainNumber() + " does not sell " + seatClass + " seats"));
+    }
+
+    private Booking saveBooking(User user, Train train, String from, String to,
+                                LocalDate date, int seats, String seatClass, int totalAmount) {
+        // Every class has its own seats, so an unsold class would be a slot outside capacity
+        seatClass = requireSeatClass(train, seatClass);
+        requireJourney(train, from, to);
+        Booking booking = new Booking(
+                generateBookingId(),
+                user.getId(),
+                train.getId(),
+                train.getTrainNumber(),
+                train.getTrainName(),
+                from,
+                to,
+                date,
+                seats,
+                seatClass,
+                totalAmount,
+                "Pending",
+                LocalDateTime.now(),
+                "",
+                "Pending"
+        );
+        if (!repo.addBookingIfAvailable(booking, SeatClasses.seatsPerClass())) {
+            throw new SoldOutException(train.getTrainNumber() + " has no " + seatClass + " seats left for "
+                    + seats + " on " + date);
+        }
+        fares.seatsChanged(booking);
+        events.publish(new DomainEvent.BookingCreated(booking));
+        return booking;
+    }
+
+    /**
+     * Queue for seats on a sold-out train, day and class. The entry is turned into a Pending
+     * booking, awaiting payment, when enough seats come free and everyone ahead is served.
+     *
+     * @return the saved entry, or empty if it could not be saved
+     * @throws IllegalArgumentException if the train does not sell the class, or does not run
+     *         from {@code from} to {@code to}
+     */
+    public Optional<WaitlistEntry> joinWaitlist(UserSession session, Train train, String from, String to,
+                                                LocalDate date, int seats, String seatClass) {
+        requireJourney(train, from, to);
+        return waitlist.join(WaitlistEntry.create(session.getUserId(), train, from, to, date,
+                requireSeatClass(train, seatClass), seats));
+    }
+
+    /**
+     * The session user's waitlist entries in every status, newest first.
+     */
+    public List<WaitlistEntry> getWaitlistForUser(UserSession session) {
+        return repo.getWaitlistForUser(session.getUserId());
+    }
+
+    /**
+     * The entry's place in its queue, counting from 1, or 0 if it is no longer waiting.
+     */
+    public int getWaitlistPosition(WaitlistEntry entry) {
+        return waitlist.position(entry);
+    }
+
+    /**
+     * Leave a waitlist on behalf of the session's user.
+     *
+     * @return false if the entry is not theirs or is no longer waiting
+     */
+    public boolean leaveWaitlist(UserSession session, long entryId) {
+        return repo.findWaitlistEntry(entryId)
+                .filter(entry -> session.isAdmin() || session.getUserId().equals(entry.userId()))
+                .map(waitlist::leave)
+                .orElse(false);
+    }
+
+    /**
+     * Pay for a booking on behalf of the session's user; passengers may only pay their own bookings.
+     * Each call is a new payment attempt; use the overload taking an idempotency key when the
+     * request may be retried.
+     */
+    public boolean processPayment(UserSession session, String bookingId, String paymentMethod) {
+        return processPayment(session, bookingId, paymentMethod, UUID.randomUUID().toString()).succeeded();
+    }
+
+    /**
+     * Pay for a booking once per idempotency key and wait for the outcome. Repeating a key
+     * returns the first request's outcome, flagged as replayed, instead of paying again.
+     *
+     * @throws IllegalArgumentException if the key was already used for a different booking
+     */
+    public PaymentResult processPayment(UserSession session, String bookingId, String paymentMethod,
+                                        String idempotencyKey) {
+        return processPaymentAsync(session, bookingId, paymentMethod, idempotencyKey).join();
+    }
+
+    /**
+     * As {@link #processPayment(UserSession, String, String, String)}, without blocking: card
+     * authorization runs on the payment gateway's own threads, so this is safe to call from
+     * the FX thread.
+     */
+    public CompletableFuture<PaymentResult> processPaymentAsync(UserSession session, String bookingId,
+                                                                String paymentMethod, String idempotencyKey) {
+        Optional<Booking> booking = repo.findBookingById(bookingId);
+        if (booking.isEmpty() || !canAccess(session, booking.get())) {
+            return CompletableFuture.completedFuture(PaymentResult.rejected("Booking not found"));
+        }
+        return payments.payAsync(booking.get(), paymentMethod, idempotencyKey);
+    }
+
+    public boolean processPayment(String bookingId, String paymentMethod) {
+        Optional<Booking> booking = repo.findBookingById(bookingId);
+        return booking.isPresent()
+                && payments.pay(booking.get(), paymentMethod, UUID.randomUUID().toString()).succeeded();
+    }
+
+    /**
+     * Payments ledger for a booking, oldest entry first.
+     */
+    public List<Payment> getPaymentHistory(UserSession session, String bookingId) {
+        Optional<Booking> booking = repo.findBookingById(bookingId);
+        if (booking.isEmpty() || !canAccess(session, booking.get())) {
+            return List.of();
+        }
+        return repo.getPaymentsForBooking(bookingId);
+    }
+
+    public List<Booking> getPendingPaymentsForUser(String userId) {
+        return repo.getBookings().stream()
+                .filter(booking -> booking.getUserId().equals(userId))
+                .filter(booking -> "Pending".equals(booking.getPaymentStatus()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Rewrites legacy plaintext or under-cost hashes after a successful login.
+     */
+    private User upgradePasswordHash(User user, String password) {
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHasher.hash(password));
+            repo.updateUser(user);
+        }
+        return user;
+    }
+
+    private void checkLoginRate(String email, String clientKey) {
+        if (clientKey != null && !clientLoginLimiter.tryAcquire(clientKey)) {
+            rateLimitedLogins.increment();
+            throw new LoginRateLimitedException("Too many sign-in attempts from this client");
+        }
+        if (!accountLoginLimiter.tryAcquire(AuthLookupCache.normalize(email))) {
+            rateLimitedLogins.increment();
+            throw new LoginRateLimitedException("Too many sign-in attempts for this account");
+        }
+    }
+
+    private static ThreadPoolExecutor createAuthExecutor() {
+        // Leave cores free for the FX thread and the booking path
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(AUTH_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-verify-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * What cancelling the booking now would refund, on behalf of the session's user.
+     */
+    public RefundQuote quoteCancellation(UserSession session, String bookingId) {
+        Optional<Booking> booking = repo.findBookingById(bookingId);
+        if (booking.isEmpty() || !canAccess(session, booking.get())) {
+            return RefundQuote.notAllowed("Booking not found");
+        }
+        return cancellations.quote(booking.get(), LocalDateTime.now());
+    }
+
+    /**
+     * Cancel a booking on behalf of the session's user, releasing its seats and refunding
+     * under the current cancellation policy.
+     */
+    public CancellationResult cancelBooking(UserSession session, String bookingId) {
+        Optional<Booking> booking = repo.findBookingById(bookingId);
+        if (booking.isEmpty() || !canAccess(session, booking.get())) {
+            return CancellationResult.rejected("Booking not found");
+        }
+        return cancellations.cancel(booking.get(), LocalDateTime.now());
+    }
+
+    /**
+     * Cancel every booking on a train from today onwards and refund each in full, as one
+     * batched operation.
+     */
+    public BulkCancellationResult cancelTrainBookings(Train train) {
+        return cancellations.cancelTrain(train, LocalDate.now());
+    }
+
+    /**
+     * A page of the session user's notifications, newest first. Pass 0 as {@code cursor}
+     * for the first page and the returned page's {@code nextCursor} for each one after it.
+     */
+    public NotificationPage getNotifications(UserSession session, NotificationFilter filter, long cursor, int limit) {
+        return notifications.page(session.getUserId(), filter, cursor, limit);
+    }
+
+    public int getUnreadNotificationCount(UserSession session) {
+        return repo.countUnreadNotifications(session.getUserId());
+    }
+
+    public boolean markNotificationRead(UserSession session, long notificationId) {
+        return repo.markNotificationRead(session.getUserId(), notificationId);
+    }
+
+    public int markAllNotificationsRead(UserSession session) {
+        return repo.markAllNotificationsRead(session.getUserId());
+    }
+
+    /**
+     * Refunds ledger for a booking, oldest entry first.
+     */
+    public List<Refund> getRefundHistory(UserSession session, String bookingId) {
+        Optional<Booking> booking = repo.findBookingById(bookingId);
+        if (booking.isEmpty() || !canAccess(session, booking.get())) {
+            return List.of();
+        }
+        return repo.getRefundsForBooking(bookingId);
+    }
+
+    public Optional<Booking> getBookingById(UserSession session, String bookingId) {
+        return repo.findBookingById(bookingId).filter(booking -> canAccess(session, booking));
+    }
+
+    public List<Booking> getPendingPaymentsForUser(UserSession session) {
+        return getPendingPaymentsForUser(session.getUserId());
+    }
+
+    public List<Booking> getBookingsForUser(UserSession session) {
+        return getBookingsForUser(session.getUserId());
+    }
+
+    private boolean canAccess(UserSession session, Booking booking) {
+        return session.isAdmin() || session.getUserId().equals(booking.getUserId());
+    }
+
+    private String generateBookingId() {
+        return repo.nextBookingId();
+    }
+
+    public List<Booking> getBookingsForUser(String userId) {
+        return repo.getBookings().stream()
+                .filter(booking -> booking.getUserId().equals(userId))
+                .collect(Collectors.toList());
+    }
+
+    public Optional<Schedule> getScheduleForTrain(String trainNumber) {
+        return repo.findScheduleByTrainNumber(trainNumber);
+    }
+
+    public Train createTrain(String trainNumber, String trainName, String type, String route, String status) {
+        Train train = repo.addTrain(new Train(repo.nextTrainId(), trainNumber, trainName, type, route, status));
+        if (train != null) {
+            trainStatusFeed.track(train);
+        }
+        return train;
+    }
+
+    /**
+     * Save a train's new status. Cancelling or delaying it starts processing the affected
+     * bookings in the background: passengers are rebooked or refunded and notified.
+     *
+     * @return the disruption jobs started, one per affected travel date
+     */
+    public List<DisruptionJob> updateTrainStatus(Train train, String status) {
+        String previous = train.getStatus();
+        train.setStatus(status);
+        if (!repo.updateTrain(train)) {
+            train.setStatus(previous);
+            throw new IllegalStateException("Train " + train.getTrainNumber() + " could not be updated");
+        }
+        if (status.equals(previous)) {
+            return List.of();
+        }
+        events.publish(new DomainEvent.TrainStatusChanged(train, previous, status));
+        if (DisruptionProcessor.DELAYED.equals(previous)) {
+            // Back on time or cancelled; connections now depend only on the other trains
+            delays.report(train.getTrainNumber(), null, 0);
+        }
+        if (!(DisruptionProcessor.CANCELLED.equals(status) || DisruptionProcessor.DELAYED.equals(status))) {
+            return List.of();
+        }
+        return disruptions.start(train, status);
+    }
+
+    public void deleteTrain(Train train) {
+        repo.removeTrain(train.getId());
+        trainStatusFeed.forget(train);
+        fares.forget(train);
+    }
+
+    /**
+     * The train's latest reported status and position, held in memory.
+     */
+    public Optional<TrainPosition> getTrainPosition(String trainNumber) {
+        return trainStatusFeed.latest(trainNumber);
+    }
+
+    /**
+     * Receive the train's status and position now and on every change, on a background
+     * thread. Close the subscription when the screen showing it goes away.
+     */
+    public Subscription subscribeTrainPosition(String trainNumber, Consumer<TrainPosition> listener) {
+        return trainStatusFeed.subscribe(trainNumber, listener);
+    }
+
+    /**
+     * Take a status and position report for a running train, e.g. from a signalling feed.
+     * Reports are pushed to subscribers without being saved; one that moves the train to
+     * another status saves it as {@link #updateTrainStatus} does.
+     *
+     * @return false if the train is unknown or a newer report is already held
+     */
+    public boolean reportTrainPosition(TrainPosition report) {
+        if (!TRAIN_STATUSES.contains(report.status())) {
+            throw new IllegalArgumentException("Unknown train status: " + report.status());
+        }
+        Optional<TrainPosition> previous = trainStatusFeed.hold(report);
+        if (previous.isEmpty()) {
+            return false;
+        }
+        if (!report.status().equals(previous.get().status())) {
+            repo.findTrainByNumber(report.trainNumber())
+                    .filter(train -> !report.status().equals(train.getStatus()))
+                    .ifPresent(train -> updateTrainStatus(train, report.status()));
+        }
+        if (!DisruptionProcessor.CANCELLED.equals(report.status())
+                && (report.delayMinutes() != previous.get().delayMinutes()
+                        || !Objects.equals(report.lastStation(), previous.get().lastStation()))) {
+            delays.report(report.trainNumber(), report.lastStation(), report.delayMinutes());
+        }
+        trainStatusFeed.publish(report);
+        return true;
+    }
+
+    /**
+     * The train's expected times at each stop and the connections it will miss, from the
+     * delays reported for it.
+     */
+    public Optional<DelayForecast> getDelayForecast(String trainNumber) {
+        return delays.forecast(trainNumber);
+    }
+
+    public Schedule createSchedule(String trainNumber, String trainName, String departureTime,
+                                   String arrivalTime, String route, String days, String status) {
+        Schedule schedule = repo.addSchedule(new Schedule(repo.nextScheduleId(), trainNumber, trainName,
+                departureTime, arrivalTime, route, days, status));
+        schedulesChanged();
+        return schedule;
+    }
+
+    public boolean updateSchedule(Schedule schedule) {
+        boolean updated = repo.updateSchedule(schedule);
+        schedulesChanged();
+        return updated;
+    }
+
+    public void removeSchedule(Schedule schedule) {
+        repo.removeSchedule(schedule);
+        schedulesChanged();
+    }
+
+    /**
+     * Cancel the schedule's departure on a day it normally runs ({@code runs} false), or add
+     * one on a day it does not ({@code runs} true).
+     */
+    public boolean addScheduleException(Schedule schedule, LocalDate date, boolean runs) {
+        boolean saved = repo.saveScheduleException(new ScheduleException(schedule.getId(), date, runs));
+        schedulesChanged();
+        return saved;
+    }
+
+    public boolean removeScheduleException(Schedule schedule, LocalDate date) {
+        boolean removed = repo.removeScheduleException(schedule.getId(), date);
+        schedulesChanged();
+        return removed;
+    }
+
+    private ScheduleIndex scheduleIndex() {
+        ScheduleIndex index = scheduleIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = scheduleIndex;
+                if (index == null) {
+                    index = ScheduleIndex.compile(repo.getSchedules(), repo.getScheduleExceptions());
+                    scheduleIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    private void schedulesChanged() {
+        // After any compile in progress, so it cannot put back an index from before the change
+        synchronized (this) {
+            scheduleIndex = null;
+        }
+        delays.invalidate();
+    }
+
+    public List<Booking> getAllBookings() {
+        return repo.getBookings();
+    }
+
+    public Optional<Booking> getBookingById(String bookingId) {
+        return repo.findBookingById(bookingId);
+    }
+}
+
@@ -0,0 +1,11 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.models.Booking;
+
+import java.util.List;
+
+/**
+ * One page of bookings read in storage order, with the cursor to pass for the next page.
+ */
+public record BookingChunk(List<Booking> bookings, long nextCursor) {
+}
@@ -0,0 +1,13 @@
+package com.example.railwaymanagementsystem.services;
+
+/**
+ * Thrown when a booking could not be saved for a reason other than its class being full,
+ * such as the database failing. Nothing was booked, and trying again may succeed.
+ */
+public class BookingFailedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public BookingFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.railwaymanagementsystem.services;
+
+/**
+ * Outcome of cancelling every booking on a train: how many were cancelled by this call and
+ * the total owed back to their passengers.
+ */
+public record BulkCancellationResult(int bookingsCancelled, double refundTotal) {
+}
@@ -0,0 +1,14 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.models.RefundStatus;
+
+/**
+ * Outcome of cancelling a booking. {@code refundStatus} is null when nothing is refunded;
+ * a Pending refund is still being returned through the payment gateway.
+ */
+public record CancellationResult(boolean cancelled, double refundAmount, RefundStatus refundStatus, String detail) {
+
+    static CancellationResult rejected(String detail) {
+        return new CancellationResult(false, 0, null, detail);
+    }
+}
@@ -0,0 +1,332 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
+import com.example.railwaymanagementsystem.metrics.Counter;
+import com.example.railwaymanagementsystem.metrics.MetricsRegistry;
+import com.example.railwaymanagementsystem.models.Booking;
+import com.example.railwaymanagementsystem.models.MinuteOfDay;
+import com.example.railwaymanagementsystem.models.Cancellation;
+import com.example.railwaymanagementsystem.models.Payment;
+import com.example.railwaymanagementsystem.models.PaymentStatus;
+import com.example.railwaymanagementsystem.models.Refund;
+import com.example.railwaymanagementsystem.models.RefundStatus;
+import com.example.railwaymanagementsystem.models.Schedule;
+import com.example.railwaymanagementsystem.models.Train;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiFunction;
+
+/**
+ * Cancels bookings and works out what each passenger gets back. The booking's status, its
+ * seats and its refunds ledger entry are written in one transaction; refunds of captured
+ * card payments are then returned through the PaymentGateway in the background and settled
+ * as Completed or Failed, while anything else is refunded at the counter and recorded
+ * Completed straight away.
+ *
+ * Passenger cancellations follow the {@link RefundPolicy} set by
+ * {@link AppSettings#CANCELLATION_DEADLINE_HOURS}; cancelling a whole train refunds in full.
+ * A passenger cancellation holds the booking's payment lock and is refused while a payment
+ * for it is in flight. Every cancellation is written only if the booking's payment status
+ * is still the one its refund was worked out from, so a capture that lands first is never
+ * overwritten.
+ * Cancellations and settled refunds are published on the {@link EventBus}.
+ */
+final class CancellationService {
+    private static final Logger LOG = Log.getLogger(CancellationService.class);
+    // Below the gateway's own concurrency, so a train's worth of refunds never crowds out payments
+    private static final int REFUND_CONCURRENCY = 8;
+
+    /** A refund and the captured payment it returns, or a null payment when it is refunded offline. */
+    record PreparedCancellation(Cancellation cancellation, Payment captured) {}
+
+    private final BackendRepository repo;
+    private final PaymentGatewayClient gateway;
+    private final PaymentProcessor payments;
+    private final AppSettings settings;
+    private final EventBus events;
+    private final BiFunction<String, LocalDate, Optional<Schedule>> scheduleOn;
+    private final Semaphore refundPermits = new Semaphore(REFUND_CONCURRENCY);
+    private final ExecutorService dispatch = daemonExecutor("refund-dispatch");
+    private final ExecutorService settlement = daemonExecutor("refund-settlement");
+    private final Counter cancelled = MetricsRegistry.getInstance().counter("bookings.cancelled");
+    private final Counter failedRefunds = MetricsRegistry.getInstance().counter("refunds.failed");
+
+    /**
+     * @param scheduleOn the train with a number's schedule departing on a date, if any
+     */
+    CancellationService(BackendRepository repo, PaymentGatewayClient gateway, PaymentProcessor payments,
+                        AppSettings settings, EventBus events,
+                        BiFunction<String, LocalDate, Optional<Schedule>> scheduleOn) {
+        this.repo = repo;
+        this.scheduleOn = scheduleOn;
+        this.gateway = gateway;
+        this.payments = payments;
+        this.settings = settings;
+        this.events = events;
+        MetricsRegistry.getInstance().gauge("refunds.inFlight", () -> REFUND_CONCURRENCY - refundPermits.availablePermits());
+    }
+
+    RefundQuote quote(Booking booking, LocalDateTime now) {
+        if ("Cancelled".equals(booking.getStatus())) {
+            return RefundQuote.notAllowed("Booking is already cancelled");
+        }
+        LocalDateTime departure = departureOf(booking);
+        if (!now.isBefore(departure)) {
+            return RefundQuote.notAllowed("Train has already departed");
+        }
+        if (!"Paid".equals(booking.getPaymentStatus())) {
+            return new RefundQuote(true, 0, 0, "Nothing has been paid, so there is nothing to refund");
+        }
+        RefundPolicy policy = RefundPolicy.withDeadline(
+                settings.getInt(AppSettings.CANCELLATION_DEADLINE_HOURS, RefundPolicy.DEFAULT_DEADLINE_HOURS));
+        int percent = policy.refundPercent(Duration.between(now, departure));
+        String detail = percent == policy.earlyPercent()
+                ? percent + "% refund when cancelled at least " + policy.deadlineHours() + " hours before departure"
+                : percent + "% refund when cancelled within " + policy.deadlineHours() + " hours of departure";
+        return new RefundQuote(true, percentOf(booking.getTotalAmount(), percent), percent, detail);
+    }
+
+    CancellationResult cancel(Booking booking, LocalDateTime now) {
+        return payments.withBookingLock(booking.getId(), () -> {
+            if (payments.isInFlight(booking.getId())) {
+                return CancellationResult.rejected("A payment for this booking is in progress; try again once it completes");
+            }
+            // Re-read under the lock: a payment may have settled since the caller looked
+            return repo.findBookingById(booking.getId())
+                    .map(current -> cancelLocked(current, now))
+                    .orElseGet(() -> CancellationResult.rejected("Booking not found"));
+        });
+    }
+
+    private CancellationResult cancelLocked(Booking booking, LocalDateTime now) {
+        RefundQuote quote = quote(booking, now);
+        if (!quote.allowed()) {
+            return CancellationResult.rejected(quote.detail());
+        }
+        PreparedCancellation prepared = prepare(booking, quote.amount(), "Cancelled by passenger: " + quote.detail());
+        if (prepared == null || repo.cancelBookings(List.of(prepared.cancellation())).isEmpty()) {
+            return CancellationResult.rejected("Booking could not be cancelled");
+        }
+        cancelled.increment();
+        Refund refund = prepared.cancellation().refund();
+        dispatch(prepared);
+        events.publish(new DomainEvent.BookingCancelled(booking, refund));
+        return new CancellationResult(true, quote.amount(), refund == null ? null : refund.status(), quote.detail());
+    }
+
+    /**
+     * Cancel every booking on the train travelling on or after {@code fromDate}, refunding
+     * paid fares in full, in one batched transaction.
+     */
+    BulkCancellationResult cancelTrain(Train train, LocalDate fromDate) {
+        List<Booking> bookings = repo.getActiveBookingsForTrain(train.getId(), fromDate);
+        String reason = "Train " + train.getTrainNumber() + " cancelled";
+        Map<String, PreparedCancellation> prepared = new LinkedHashMap<>();
+        for (Booking booking : bookings) {
+            PreparedCancellation cancellation = prepareFullRefund(booking, reason);
+            if (cancellation == null) {
+                return new BulkCancellationResult(0, 0);
+            }
+            prepared.put(booking.getId(), cancellation);
+        }
+        if (prepared.isEmpty()) {
+            return new BulkCancellationResult(0, 0);
+        }
+
+        List<String> cancelledIds = repo.cancelBookings(
+                prepared.values().stream().map(PreparedCancellation::cancellation).toList());
+        double refundTotal = 0;
+        for (String bookingId : cancelledIds) {
+            PreparedCancellation cancellation = prepared.get(bookingId);
+            Refund refund = cancellation.cancellation().refund();
+            if (refund != null) {
+                refundTotal += refund.amount();
+            }
+            dispatch(cancellation);
+            events.publish(new DomainEvent.BookingCancelled(cancellation.cancellation().booking(), refund));
+        }
+        cancelled.add(cancelledIds.size());
+        LOG.info("Train bookings cancelled", "train", train.getTrainNumber(), "bookings", cancelledIds.size(),
+                "refundTotal", refundTotal);
+        return new BulkCancellationResult(cancelledIds.size(), refundTotal);
+    }
+
+    /**
+     * As {@link #prepare}, returning the whole fare if it was paid; for cancellations the
+     * railway made.
+     */
+    PreparedCancellation prepareFullRefund(Booking booking, String reason) {
+        return prepare(booking, "Paid".equals(booking.getPaymentStatus()) ? booking.getTotalAmount() : 0, reason);
+    }
+
+    /**
+     * Send a committed cancellation's refund to the gateway if it is owed through one.
+     */
+    void dispatch(PreparedCancellation prepared) {
+        if (prepared.captured() != null) {
+            dispatchRefund(prepared.cancellation().refund(), prepared.captured());
+        }
+    }
+
+    /**
+     * Send every refund still Pending to the gateway again, for refunds whose process
+     * stopped after recording them. Returns how many were resent.
+     */
+    int resumePendingRefunds() {
+        int resumed = 0;
+        for (Refund pending : repo.getPendingRefunds()) {
+            Payment captured = repo.getPaymentsForBooking(pending.bookingId()).stream()
+                    .filter(entry -> entry.paymentId().equals(pending.paymentId()))
+                    .reduce((first, second) -> second)
+                    .filter(entry -> entry.status() == PaymentStatus.CAPTURED)
+                    .orElse(null);
+            if (captured == null) {
+                LOG.warn("Pending refund has no captured payment", "refundId", pending.refundId());
+                continue;
+            }
+            dispatchRefund(pending, captured);
+            resumed++;
+        }
+        return resumed;
+    }
+
+    /**
+     * Mark the booking cancelled and build its refund, or return null if no refund id could
+     * be allocated. Nothing is written here.
+     */
+    private PreparedCancellation prepare(Booking booking, double amount, String reason) {
+        String paymentStatus = booking.getPaymentStatus();
+        booking.setStatus("Cancelled");
+        if (amount <= 0) {
+            return new PreparedCancellation(new Cancellation(booking, null, paymentStatus), null);
+        }
+        String refundId = repo.nextRefundId();
+        if (refundId == null) {
+            return null;
+        }
+        Payment captured = capturedPayment(booking);
+        LocalDateTime now = LocalDateTime.now();
+        if (captured == null || PaymentProcessor.CASH_ON_DELIVERY.equals(captured.method())) {
+            booking.setPaymentStatus("Refunded");
+            Refund refund = new Refund(refundId, booking.getId(), captured == null ? null : captured.paymentId(),
+                    RefundStatus.COMPLETED, amount, reason, "Refund at counter", now);
+            return new PreparedCancellation(new Cancellation(booking, refund, paymentStatus), null);
+        }
+        booking.setPaymentStatus("Refund Pending");
+        Refund refund = new Refund(refundId, booking.getId(), captured.paymentId(), RefundStatus.PENDING, amount,
+                reason, "", now);
+        return new PreparedCancellation(new Cancellation(booking, refund, paymentStatus), captured);
+    }
+
+    /**
+     * The booking's payment that is captured and not yet refunded, read from the ledger.
+     */
+    private Payment capturedPayment(Booking booking) {
+        Map<String, Payment> latest = new LinkedHashMap<>();
+        for (Payment entry : repo.getPaymentsForBooking(booking.getId())) {
+            latest.put(entry.paymentId(), entry);
+        }
+        return latest.values().stream()
+                .filter(payment -> payment.status() == PaymentStatus.CAPTURED)
+                .reduce((first, second) -> second)
+                .orElse(null);
+    }
+
+    /**
+     * Queue a refund for the gateway. The dispatch thread waits for a permit, so a bulk
+     * cancellation feeds the gateway at a steady rate rather than overflowing its queue.
+     */
+    private void dispatchRefund(Refund pending, Payment captured) {
+        dispatch.execute(() -> {
+            refundPermits.acquireUninterruptibly();
+            GatewayRequest request = new GatewayRequest(captured.paymentId(), captured.bookingId(), pending.amount(),
+                    captured.method(), captured.detail());
+            gateway.refund(request)
+                    .whenComplete((response, error) -> refundPermits.release())
+                    .handleAsync((response, error) -> {
+                        if (error != null) {
+                            settleRefund(pending, captured, null, reason(error));
+                        } else if (!response.approved()) {
+                            settleRefund(pending, captured, null, response.message());
+                        } else {
+                            settleRefund(pending, captured, response.reference(), null);
+                        }
+                        return null;
+                    }, settlement);
+        });
+    }
+
+    private void settleRefund(Refund pending, Payment captured, String reference, String failure) {
+        Booking booking = repo.findBookingById(pending.bookingId()).orElse(null);
+        if (failure == null) {
+            if (booking != null) {
+                booking.setPaymentStatus("Refunded");
+            }
+            Refund completed = pending.settle(RefundStatus.COMPLETED, reference);
+            if (repo.recordRefund(completed, captured.transitionTo(PaymentStatus.REFUNDED, reference), booking)) {
+                events.publish(new DomainEvent.RefundSettled(completed));
+            } else {
+                LOG.warn("Refund left unsettled", "refundId", pending.refundId(), "reference", reference);
+            }
+            return;
+        }
+        failedRefunds.increment();
+        LOG.warn("Refund failed", "refundId", pending.refundId(), "bookingId", pending.bookingId(), "reason", failure);
+        if (booking != null) {
+            booking.setPaymentStatus("Refund Failed");
+        }
+        Refund failed = pending.settle(RefundStatus.FAILED, failure);
+        if (repo.recordRefund(failed, null, booking)) {
+            events.publish(new DomainEvent.RefundSettled(failed));
+        } else {
+            LOG.warn("Refund left unsettled", "refundId", pending.refundId());
+        }
+    }
+
+    /**
+     * When the train leaves on the booking's travel date, from its schedule for that day, or
+     * any of its schedules if none departs then; the start of that day if it has none or the
+     * time is unreadable, which errs towards refusing late cancellations.
+     */
+    private LocalDateTime departureOf(Booking booking) {
+        LocalTime time = scheduleOn.apply(booking.getTrainNumber(), booking.getTravelDate())
+                .or(() -> repo.findScheduleByTrainNumber(booking.getTrainNumber()))
+                .map(schedule -> parseTime(schedule.getDepartureTime()))
+                .orElse(LocalTime.MIDNIGHT);
+        return booking.getTravelDate().atTime(time);
+    }
+
+    private static LocalTime parseTime(String text) {
+        int minute = MinuteOfDay.parse(text);
+        return minute == MinuteOfDay.UNKNOWN ? LocalTime.MIDNIGHT : MinuteOfDay.toTime(minute);
+    }
+
+    private static double percentOf(double amount, int percent) {
+        return Math.round(amount * percent) / 100.0;
+    }
+
+    private static String reason(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof PaymentGatewayException ? cause.getMessage() : "Payment gateway error";
+    }
+
+    private static ExecutorService daemonExecutor(String name) {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.models.Booking;
+import com.example.railwaymanagementsystem.models.Cancellation;
+import com.example.railwaymanagementsystem.models.DisruptionJob;
+import com.example.railwaymanagementsystem.models.MessageChannel;
+import com.example.railwaymanagementsystem.models.Notification;
+import com.example.railwaymanagementsystem.models.NotificationType;
+import com.example.railwaymanagementsystem.models.OutboundMessage;
+import com.example.railwaymanagementsystem.models.Payment;
+import com.example.railwaymanagementsystem.models.Refund;
+import com.example.railwaymanagementsystem.models.Schedule;
+import com.example.railwaymanagementsystem.models.ScheduleException;
+import com.example.railwaymanagementsystem.models.Train;
+import com.example.railwaymanagementsystem.models.User;
+import com.example.railwaymanagementsystem.models.WaitlistEntry;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Persistent storage used by BackendRepository. Implementations live in a
+ * persistence module and are found through {@link DataStoreProvider}.
+ */
+public interface DataStore {
+
+    // User operations
+    Optional<User> findUserByEmail(String email) throws SQLException;
+
+    Optional<User> findUserById(String id) throws SQLException;
+
+    List<User> getAllUsers() throws SQLException;
+
+    /**
+     * Lowercased email to user id for every user, used to warm the login cache.
+     */
+    Map<String, String> getUserEmailIndex() throws SQLException;
+
+    User addUser(User user) throws SQLException;
+
+    boolean updateUser(User user) throws SQLException;
+
+    boolean emailExists(String email, String excludeUserId) throws SQLException;
+
+    String getNextUserId() throws SQLException;
+
+    // Train operations
+    List<Train> getAllTrains() throws SQLException;
+
+    Optional<Train> findTrainById(String id) throws SQLException;
+
+    Optional<Train> findTrainByNumber(String trainNumber) throws SQLException;
+
+    Train addTrain(Train train) throws SQLException;
+
+    boolean updateTrain(Train train) throws SQLException;
+
+    boolean removeTrain(String id) throws SQLException;
+
+    String getNextTrainId() throws SQLException;
+
+    // Schedule operations
+    List<Schedule> getAllSchedules() throws SQLException;
+
+    Optional<Schedule> findScheduleByTrainNumber(String trainNumber) throws SQLException;
+
+    Schedule addSchedule(Schedule schedule) throws SQLException;
+
+    boolean updateSchedule(Schedule schedule) throws SQLException;
+
+    boolean removeSchedule(String id) throws SQLException;
+
+    String getNextScheduleId() throws SQLException;
+
+    List<ScheduleException> getScheduleExceptions() throws SQLException;
+
+    /**
+     * Add the exception, replacing any the schedule already has on that date.
+     */
+    boolean saveScheduleException(ScheduleException exception) throws SQLException;
+
+    boolean removeScheduleException(String scheduleId, LocalDate date) throws SQLException;
+
+    // Booking operations
+    List<Booking> getAllBookings() throws SQLException;
+
+    Optional<Booking> findBookingById(String id) throws SQLException;
+
+    Booking addBooking(Booking booking) throws SQLException;
+
+    /**
+     * Insert the booking and hold its seats in one transaction, if its class has room for it
+     * that day and nobody is waitlisted there.
+     *
+     * @return false, writing nothing, otherwise
+     */
+    boolean addBookingIfAvailable(Booking booking, int seatsPerClass) throws SQLException;
+
+    boolean updateBooking(Booking booking) throws SQLException;
+
+    String getNextBookingId() throws SQLException;
+
+    /**
+     * Bookings on a train travelling on or after {@code fromDate} that are not cancelled.
+     */
+    List<Booking> getActiveBookingsForTrain(String trainId, LocalDate fromDate) throws SQLException;
+
+    /**
+     * Distinct travel dates on or after {@code fromDate} with bookings on the train that are
+     * not cancelled.
+     */
+    List<LocalDate> getActiveTravelDates(String trainId, LocalDate fromDate) throws SQLException;
+
+    /**
+     * Up to {@code limit} bookings on a train and date that are not cancelled, in storage
+     * order, starting after {@code afterCursor} (0 for the first page).
+     */
+    BookingChunk getActiveBookingChunk(String trainId, LocalDate travelDate, long afterCursor, int limit)
+            throws SQLException;
+
+    /**
+     * Seats held on a train, day and class.
+     */
+    int getSeatsBooked(String trainId, LocalDate travelDate, String seatClass) throws SQLException;
+
+    // Cancellation operations
+    /**
+     * Save each booking's status and payment status, release its seats and append its
+     * refund, all in one batched transaction. Bookings already cancelled are left alone.
+     *
+     * @return ids of the bookings this call cancelled
+     */
+    List<String> cancelBookings(List<Cancellation> cancellations) throws SQLException;
+
+    /**
+     * Append a refunds ledger entry in one transaction with {@code paymentEntry} (appended and
+     * its key moved, as in {@link #recordPaymentTransition}) and {@code booking} (saved), each
+     * when not null.
+     */
+    boolean recordRefund(Refund entry, Payment paymentEntry, Booking booking) throws SQLException;
+
+    /**
+     * Latest entry of every refund still Pending.
+     */
+    List<Refund> getPendingRefunds() throws SQLException;
+
+    /**
+     * Refunds ledger entries for a booking, oldest first.
+     */
+    List<Refund> getRefundsForBooking(String bookingId) throws SQLException;
+
+    String getNextRefundId() throws SQLException;
+
+    // Payment operations
+    /**
+     * The latest state of the payment started under an idempotency key, read from the key
+     * table by primary key rather than from the ledger.
+     */
+    Optional<Payment> findPaymentByIdempotencyKey(String idempotencyKey) throws SQLException;
+
+    /**
+     * Record the key and the payment's first, Pending ledger entry in one transaction.
+     *
+     * @return false, writing nothing, if the key was already claimed
+     */
+    boolean claimIdempotencyKey(Payment pending) throws SQLException;
+
+    /**
+     * Append a ledger entry and move the key to its status in one transaction, also
+     * saving the status, payment method and payment status of {@code booking} when it is
+     * not null.
+     *
+     * @return false, writing nothing, if {@code booking} has been cancelled meanwhile
+     */
+    boolean recordPaymentTransition(Payment entry, Booking booking) throws SQLException;
+
+    /**
+     * Ledger entries for a booking, oldest first.
+     */
+    List<Payment> getPaymentsForBooking(String bookingId) throws SQLException;
+
+    String getNextPaymentId() throws SQLException;
+
+    // Disruption operations
+    void addDisruptionJobs(List<DisruptionJob> jobs) throws SQLException;
+
+    List<DisruptionJob> getUnfinishedDisruptionJobs() throws SQLException;
+
+    /**
+     * Apply one chunk of a disruption in a single transaction: cancel {@code cancellations}
+     * as {@link #cancelBookings} does, save {@code transfers} (bookings moved off the job's
+     * train onto the train they now carry, seats moving with them), add
+     * {@code notifications} and {@code messages} and save the job's progress. The transfers
+     * are only made if every class they move into still has room for them within
+     * {@code seatsPerClass}.
+     *
+     * @return the ids of the transfers into classes without room, applying nothing, or an
+     *         empty list once the chunk is applied
+     */
+    List<String> applyDisruptionChunk(DisruptionJob progress, List<Cancellation> cancellations, List<Booking> transfers,
+                                      int seatsPerClass, List<Notification> notifications,
+                                      List<OutboundMessage> messages) throws SQLException;
+
+    String getNextDisruptionJobId() throws SQLException;
+
+    // Waitlist operations
+    /**
+     * @return the entry with the id it was saved under
+     */
+    WaitlistEntry addWaitlistEntry(WaitlistEntry entry) throws SQLException;
+
+    Optional<WaitlistEntry> findWaitlistEntry(long id) throws SQLException;
+
+    /**
+     * Waiting entries for a train, day and class, first in line first.
+     */
+    List<WaitlistEntry> getWaitlist(String trainId, LocalDate travelDate, String seatClass) throws SQLException;
+
+    /**
+     * Waiting entries travelling on or after {@code fromDate}, first in line first.
+     */
+    List<WaitlistEntry> getWaitingEntries(LocalDate fromDate) throws SQLException;
+
+    /**
+     * A user's entries in every status, newest first.
+     */
+    List<WaitlistEntry> getWaitlistForUser(String userId) throws SQLException;
+
+    /**
+     * @return false if the entry is no longer waiting
+     */
+    boolean cancelWaitlistEntry(long id) throws SQLException;
+
+    /**
+     * Insert {@code booking} for a waiting entry, hold its seats and mark the entry promoted,
+     * in one transaction, if the entry is still waiting and its class has room.
+     *
+     * @return false, writing nothing, otherwise
+     */
+    boolean promoteWaitlistEntry(WaitlistEntry entry, Booking booking, int seatsPerClass) throws SQLException;
+
+    // Notification operations
+    /**
+     * Add notifications and the outbound messages that carry them, in one transaction.
+     */
+    void addNotifications(List<Notification> notifications, List<OutboundMessage> messages) throws SQLException;
+
+    /**
+     * A user's notifications with ids below {@code beforeId}, newest first, limited to
+     * {@code types} unless it is empty and to unread ones if {@code unreadOnly} is set.
+     */
+    List<Notification> getNotifications(String userId, Set<NotificationType> types, boolean unreadOnly,
+                                        long beforeId, int limit) throws SQLException;
+
+    int countUnreadNotifications(String userId) throws SQLException;
+
+    boolean markNotificationRead(String userId, long notificationId) throws SQLException;
+
+    /**
+     * @return how many notifications were newly marked read
+     */
+    int markAllNotificationsRead(String userId) throws SQLException;
+
+    // Outbox operations
+    /**
+     * Pending messages on the channel due by {@code now}, the longest waiting first.
+     */
+    List<OutboundMessage> getDueMessages(MessageChannel channel, LocalDateTime now, int limit) throws SQLException;
+
+    /**
+     * Save the outcome of a send attempt for each message, in one transaction.
+     */
+    void recordMessageAttempts(List<OutboundMessage> messages) throws SQLException;
+
+    // Settings operations
+    Map<String, String> getSettings() throws SQLException;
+
+    boolean saveSetting(String key, String value) throws SQLException;
+
+    void close() throws SQLException;
+}
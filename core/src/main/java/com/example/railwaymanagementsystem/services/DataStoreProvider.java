@@ -0,0 +1,24 @@
+package com.example.railwaymanagementsystem.services;
+
+import java.util.ServiceLoader;
+
+/**
+ * Service interface a persistence module registers to supply the DataStore.
+ */
+public interface DataStoreProvider {
+
+    DataStore open();
+
+    /**
+     * The first provider on the module path (or class path).
+     *
+     * @throws IllegalStateException when no persistence module is present
+     */
+    static DataStore load() {
+        return ServiceLoader.load(DataStoreProvider.class)
+                .findFirst()
+                .map(DataStoreProvider::open)
+                .orElseThrow(() -> new IllegalStateException(
+                        "No DataStoreProvider found; add a persistence module such as persistence-sqlite"));
+    }
+}
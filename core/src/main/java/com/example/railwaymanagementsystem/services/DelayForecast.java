@@ -0,0 +1,29 @@
+package com.example.railwaymanagementsystem.services;
+
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Where a delayed train is expected to be, and the connections it will miss. Times are
+ * times of day; a journey running past midnight carries on into the next day's times.
+ */
+public record DelayForecast(String trainNumber, int delayMinutes, List<StopEstimate> stops,
+                            List<MissedConnection> missedConnections) {
+
+    /** The train's call at one station, as timetabled and as now expected. */
+    public record StopEstimate(String station, LocalTime scheduledArrival, LocalTime scheduledDeparture,
+                               LocalTime expectedArrival, LocalTime expectedDeparture) {
+    }
+
+    /**
+     * A change at {@code station} from {@code arrivingTrain} to {@code departingTrain} that no
+     * longer leaves the minimum transfer time.
+     */
+    public record MissedConnection(String station, String arrivingTrain, String departingTrain,
+                                   LocalTime expectedArrival, LocalTime expectedDeparture) {
+    }
+
+    public LocalTime expectedArrival() {
+        return stops.isEmpty() ? null : stops.get(stops.size() - 1).expectedArrival();
+    }
+}
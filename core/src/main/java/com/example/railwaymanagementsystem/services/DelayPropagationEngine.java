@@ -0,0 +1,253 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
+import com.example.railwaymanagementsystem.metrics.Counter;
+import com.example.railwaymanagementsystem.metrics.MetricsRegistry;
+import com.example.railwaymanagementsystem.metrics.OperationMetrics;
+import com.example.railwaymanagementsystem.models.MinuteOfDay;
+import com.example.railwaymanagementsystem.models.Schedule;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Carries a train's delay down its remaining stops and across its connections, over the
+ * {@link TimetableGraph}. Each report replaces the train's delay and re-checks only the
+ * connections at the stops it moves, so it costs a few microseconds however large the
+ * timetable. A delay reported at a station applies from the train's departure there; one
+ * with no station applies from its first departure. Trains are not held for connections,
+ * and a delay is carried unchanged to the end of the journey. The timetable repeats daily,
+ * so a delay holds for the day it was reported on and is dropped at midnight.
+ *
+ * The timetable is compiled from the schedules departing today on first use, and again
+ * after they change and at midnight.
+ * Configure with system properties:
+ * <ul>
+ *   <li>{@code railsafar.connections.minTransferMinutes}: the shortest change between trains (default 10)</li>
+ *   <li>{@code railsafar.connections.maxWaitMinutes}: the longest wait that still counts as a connection (default 120)</li>
+ * </ul>
+ */
+final class DelayPropagationEngine {
+    private static final Logger LOG = Log.getLogger(DelayPropagationEngine.class);
+
+    /**
+     * The last delay reported for a train on a service date, kept so it survives the
+     * timetable being recompiled.
+     */
+    private record ReportedDelay(String trainNumber, String station, int minutes, LocalDate serviceDate) {}
+
+    private final Function<LocalDate, List<Schedule>> schedulesOn;
+    private final int minTransferMinutes = Integer.getInteger("railsafar.connections.minTransferMinutes", 10);
+    private final int maxWaitMinutes = Integer.getInteger("railsafar.connections.maxWaitMinutes", 120);
+    private final Map<String, ReportedDelay> reported = new HashMap<>();
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private final OperationMetrics propagateMetrics = metrics.operation("delays.propagate");
+    private final Counter connectionsMissed = metrics.counter("delays.connectionsMissed");
+
+    private TimetableGraph graph;
+    /** Per trip: its delay in minutes and the stop it applies from. */
+    private int[] tripDelay;
+    private int[] tripDelayFrom;
+    /** Per connection: whether it is currently missed. */
+    private boolean[] missed;
+    private int missedCount;
+    /** The day the delays kept are for. */
+    private LocalDate today = LocalDate.now();
+
+    /**
+     * @param schedulesOn the active schedules departing on a date, earliest first
+     */
+    DelayPropagationEngine(Function<LocalDate, List<Schedule>> schedulesOn) {
+        this.schedulesOn = schedulesOn;
+        metrics.gauge("delays.missedConnections", this::missedConnections);
+    }
+
+    /**
+     * Record the train's delay and update the connections it affects.
+     *
+     * @return the connections missed because of this report that were not missed before it
+     */
+    synchronized List<DelayForecast.MissedConnection> report(String trainNumber, String station, int delayMinutes) {
+        long start = System.nanoTime();
+        dropPastDelays();
+        int minutes = Math.max(0, delayMinutes);
+        if (minutes == 0 && station == null) {
+            reported.remove(key(trainNumber));
+        } else {
+            reported.put(key(trainNumber), new ReportedDelay(trainNumber, station, minutes, today));
+        }
+        TimetableGraph timetable = compiled();
+        int trip = timetable.trip(trainNumber);
+        if (trip < 0) {
+            return List.of();
+        }
+        List<Integer> newlyMissed = new ArrayList<>();
+        propagate(timetable, trip, fromStop(timetable, trip, station), minutes, newlyMissed);
+        propagateMetrics.recordSince(start);
+        if (newlyMissed.isEmpty()) {
+            return List.of();
+        }
+        connectionsMissed.add(newlyMissed.size());
+        List<DelayForecast.MissedConnection> connections = new ArrayList<>(newlyMissed.size());
+        for (int connection : newlyMissed) {
+            connections.add(missedConnection(timetable, connection));
+        }
+        LOG.debug("Connections missed", "train", trainNumber, "delayMinutes", minutes, "connections", connections.size());
+        return connections;
+    }
+
+    /**
+     * The train's expected times at each stop and the connections it is missing, from the
+     * delays reported so far.
+     *
+     * @return empty if the train has no schedule
+     */
+    synchronized Optional<DelayForecast> forecast(String trainNumber) {
+        dropPastDelays();
+        TimetableGraph timetable = compiled();
+        int trip = timetable.trip(trainNumber);
+        if (trip < 0) {
+            return Optional.empty();
+        }
+        List<DelayForecast.StopEstimate> stops = new ArrayList<>();
+        List<DelayForecast.MissedConnection> missedConnections = new ArrayList<>();
+        for (int stop = timetable.tripFirstStop[trip]; stop < timetable.tripFirstStop[trip + 1]; stop++) {
+            int arrival = timetable.stopArrival[stop];
+            int departure = timetable.stopDeparture[stop];
+            stops.add(new DelayForecast.StopEstimate(timetable.stations[timetable.stopStation[stop]],
+                    MinuteOfDay.toTime(arrival), MinuteOfDay.toTime(departure),
+                    MinuteOfDay.toTime(arrival + arrivalDelay(timetable, stop)),
+                    MinuteOfDay.toTime(departure + departureDelay(timetable, stop))));
+            for (int i = timetable.outgoingFrom(stop); i < timetable.outgoingTo(stop); i++) {
+                if (missed[timetable.outgoing(i)]) {
+                    missedConnections.add(missedConnection(timetable, timetable.outgoing(i)));
+                }
+            }
+            for (int i = timetable.incomingFrom(stop); i < timetable.incomingTo(stop); i++) {
+                if (missed[timetable.incoming(i)]) {
+                    missedConnections.add(missedConnection(timetable, timetable.incoming(i)));
+                }
+            }
+        }
+        return Optional.of(new DelayForecast(timetable.tripTrainNumbers[trip], tripDelay[trip], stops, missedConnections));
+    }
+
+    /**
+     * Recompile the timetable on next use, after the schedules change.
+     */
+    synchronized void invalidate() {
+        graph = null;
+    }
+
+    synchronized int missedConnections() {
+        dropPastDelays();
+        return missedCount;
+    }
+
+    /**
+     * Once the date has moved on, forget delays reported on earlier days and recompile for
+     * the trains running today on next use.
+     */
+    private void dropPastDelays() {
+        LocalDate now = LocalDate.now();
+        if (now.equals(today)) {
+            return;
+        }
+        today = now;
+        reported.values().removeIf(delay -> delay.serviceDate().isBefore(now));
+        graph = null;
+        // Nothing reported today yet, so nothing is missed until the next report
+        missedCount = 0;
+    }
+
+    private TimetableGraph compiled() {
+        if (graph != null) {
+            return graph;
+        }
+        long start = System.nanoTime();
+        TimetableGraph timetable = TimetableGraph.compile(schedulesOn.apply(today), minTransferMinutes, maxWaitMinutes);
+        tripDelay = new int[timetable.tripCount()];
+        tripDelayFrom = new int[timetable.tripCount()];
+        for (int trip = 0; trip < timetable.tripCount(); trip++) {
+            tripDelayFrom[trip] = timetable.tripFirstStop[trip];
+        }
+        missed = new boolean[timetable.connectionCount()];
+        missedCount = 0;
+        graph = timetable;
+        for (ReportedDelay delay : reported.values()) {
+            int trip = timetable.trip(delay.trainNumber());
+            if (trip >= 0) {
+                propagate(timetable, trip, fromStop(timetable, trip, delay.station()), delay.minutes(), null);
+            }
+        }
+        LOG.info("Timetable compiled", "trips", timetable.tripCount(), "stops", timetable.stopCount(),
+                "connections", timetable.connectionCount(), "missed", missedCount,
+                "millis", (System.nanoTime() - start) / 1_000_000);
+        return timetable;
+    }
+
+    private void propagate(TimetableGraph timetable, int trip, int from, int minutes, List<Integer> newlyMissed) {
+        int firstChanged = tripDelay[trip] == 0 ? from : Math.min(from, tripDelayFrom[trip]);
+        tripDelay[trip] = minutes;
+        tripDelayFrom[trip] = from;
+        for (int stop = firstChanged; stop < timetable.tripFirstStop[trip + 1]; stop++) {
+            for (int i = timetable.outgoingFrom(stop); i < timetable.outgoingTo(stop); i++) {
+                recheck(timetable, timetable.outgoing(i), newlyMissed);
+            }
+            for (int i = timetable.incomingFrom(stop); i < timetable.incomingTo(stop); i++) {
+                recheck(timetable, timetable.incoming(i), newlyMissed);
+            }
+        }
+    }
+
+    private void recheck(TimetableGraph timetable, int connection, List<Integer> newlyMissed) {
+        int slack = timetable.connectionSlack[connection]
+                + departureDelay(timetable, timetable.connectionTo[connection])
+                - arrivalDelay(timetable, timetable.connectionFrom[connection]);
+        boolean nowMissed = slack < minTransferMinutes;
+        if (nowMissed == missed[connection]) {
+            return;
+        }
+        missed[connection] = nowMissed;
+        missedCount += nowMissed ? 1 : -1;
+        if (nowMissed && newlyMissed != null) {
+            newlyMissed.add(connection);
+        }
+    }
+
+    private int arrivalDelay(TimetableGraph timetable, int stop) {
+        int trip = timetable.stopTrip[stop];
+        return stop > tripDelayFrom[trip] ? tripDelay[trip] : 0;
+    }
+
+    private int departureDelay(TimetableGraph timetable, int stop) {
+        int trip = timetable.stopTrip[stop];
+        return stop >= tripDelayFrom[trip] ? tripDelay[trip] : 0;
+    }
+
+    private DelayForecast.MissedConnection missedConnection(TimetableGraph timetable, int connection) {
+        int arriving = timetable.connectionFrom[connection];
+        int departing = timetable.connectionTo[connection];
+        return new DelayForecast.MissedConnection(timetable.stations[timetable.stopStation[arriving]],
+                timetable.tripTrainNumbers[timetable.stopTrip[arriving]],
+                timetable.tripTrainNumbers[timetable.stopTrip[departing]],
+                MinuteOfDay.toTime(timetable.stopArrival[arriving] + arrivalDelay(timetable, arriving)),
+                MinuteOfDay.toTime(timetable.stopDeparture[departing] + departureDelay(timetable, departing)));
+    }
+
+    private static int fromStop(TimetableGraph timetable, int trip, String station) {
+        int stop = station == null ? -1 : timetable.stopAt(trip, station);
+        return stop < 0 ? timetable.tripFirstStop[trip] : stop;
+    }
+
+    private static String key(String trainNumber) {
+        return trainNumber.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.railwaymanagementsystem.services;
+
+/**
+ * What a provider did with one message. A refused message is retried only if
+ * {@code retryable}, e.g. a full mailbox rather than an unknown number.
+ */
+public record DeliveryResult(boolean delivered, boolean retryable, String detail) {
+
+    public static DeliveryResult accepted() {
+        return new DeliveryResult(true, false, null);
+    }
+
+    public static DeliveryResult retry(String detail) {
+        return new DeliveryResult(false, true, detail);
+    }
+
+    public static DeliveryResult rejected(String detail) {
+        return new DeliveryResult(false, false, detail);
+    }
+}
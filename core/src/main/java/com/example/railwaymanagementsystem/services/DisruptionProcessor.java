@@ -0,0 +1,326 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
+import com.example.railwaymanagementsystem.metrics.Counter;
+import com.example.railwaymanagementsystem.metrics.MetricsRegistry;
+import com.example.railwaymanagementsystem.models.Booking;
+import com.example.railwaymanagementsystem.models.Cancellation;
+import com.example.railwaymanagementsystem.models.DisruptionJob;
+import com.example.railwaymanagementsystem.models.Notification;
+import com.example.railwaymanagementsystem.models.NotificationType;
+import com.example.railwaymanagementsystem.models.OutboundMessage;
+import com.example.railwaymanagementsystem.models.SeatClasses;
+import com.example.railwaymanagementsystem.models.Train;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiPredicate;
+
+/**
+ * Works through the bookings affected when a train is cancelled or delayed. Each travel
+ * date is a {@link DisruptionJob} run on a small worker pool; a job reads its bookings in
+ * chunks and applies each chunk, together with the job's new cursor, in one transaction,
+ * so after a crash {@link #resume} carries on from the last chunk saved.
+ *
+ * On a cancelled train each passenger is moved to another running train that runs on the
+ * travel date, calls at both of their stations, in order, and sells their class with seats
+ * left in it, so never to a freight train; anyone who cannot be moved is cancelled with a
+ * full refund. Seats are counted again in the transaction that saves a chunk: if bookings,
+ * or other jobs, took them meanwhile, the chunk is worked out again from the new counts. On
+ * a delayed train passengers are only told. Every affected passenger gets a notification,
+ * and an email and SMS when they are switched on.
+ * Configure with system properties:
+ * <ul>
+ *   <li>{@code railsafar.disruption.workers}: jobs run at once (default 4)</li>
+ *   <li>{@code railsafar.disruption.chunkSize}: bookings per chunk (default 500)</li>
+ * </ul>
+ */
+final class DisruptionProcessor {
+    private static final Logger LOG = Log.getLogger(DisruptionProcessor.class);
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy");
+    static final String CANCELLED = "Cancelled";
+    static final String DELAYED = "Delayed";
+
+    // A chunk beaten to its seats this many times moves nobody into the contended classes
+    private static final int MAX_CHUNK_ATTEMPTS = 3;
+
+    /** Seats left on an alternative train for one class, as last counted by the job. */
+    private record Slot(String trainId, String seatClass) {}
+
+    /** A chunk worked out: who is cancelled, who is moved and what they are told. */
+    private record ChunkPlan(List<CancellationService.PreparedCancellation> cancellations, List<Booking> transfers,
+                             List<Notification> notifications) {}
+
+    private final BackendRepository repo;
+    private final CancellationService cancellations;
+    private final MessageDispatcher messages;
+    private final BiPredicate<String, LocalDate> runsOn;
+    private final int chunkSize = Integer.getInteger("railsafar.disruption.chunkSize", 500);
+    private final int seatsPerClass = SeatClasses.seatsPerClass();
+    private final ThreadPoolExecutor workers = createWorkers(Integer.getInteger("railsafar.disruption.workers", 4));
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private final Counter processed = metrics.counter("disruptions.bookingsProcessed");
+    private final Counter reaccommodated = metrics.counter("disruptions.reaccommodated");
+    private final Counter cancelled = metrics.counter("disruptions.cancelled");
+
+    /**
+     * @param runsOn whether the train with a number departs on a date, by its schedule
+     */
+    DisruptionProcessor(BackendRepository repo, CancellationService cancellations, MessageDispatcher messages,
+                        BiPredicate<String, LocalDate> runsOn) {
+        this.repo = repo;
+        this.cancellations = cancellations;
+        this.messages = messages;
+        this.runsOn = runsOn;
+        metrics.gauge("disruptions.activeJobs", () -> workers.getActiveCount() + workers.getQueue().size());
+    }
+
+    /**
+     * Record and start the jobs for a train that has just become Cancelled or Delayed:
+     * every travel date from today with bookings for a cancellation, today for a delay.
+     *
+     * @return the jobs started, empty if nothing is affected or they could not be recorded
+     */
+    List<DisruptionJob> start(Train train, String trainStatus) {
+        LocalDate today = LocalDate.now();
+        List<LocalDate> dates = CANCELLED.equals(trainStatus)
+                ? repo.getActiveTravelDates(train.getId(), today)
+                : List.of(today);
+        List<DisruptionJob> jobs = new ArrayList<>();
+        for (LocalDate date : dates) {
+            String jobId = repo.nextDisruptionJobId();
+            if (jobId == null) {
+                return List.of();
+            }
+            jobs.add(DisruptionJob.start(jobId, train.getId(), date, trainStatus));
+        }
+        if (jobs.isEmpty() || !repo.addDisruptionJobs(jobs)) {
+            return List.of();
+        }
+        LOG.info("Disruption started", "train", train.getTrainNumber(), "status", trainStatus, "dates", jobs.size());
+        jobs.forEach(this::submit);
+        return jobs;
+    }
+
+    /**
+     * Restart jobs left unfinished by an earlier run, and resend refunds it recorded but
+     * never settled.
+     */
+    void resume() {
+        List<DisruptionJob> unfinished = repo.getUnfinishedDisruptionJobs();
+        int refunds = cancellations.resumePendingRefunds();
+        if (!unfinished.isEmpty() || refunds > 0) {
+            LOG.info("Resuming disruptions", "jobs", unfinished.size(), "pendingRefunds", refunds);
+        }
+        unfinished.forEach(this::submit);
+    }
+
+    private void submit(DisruptionJob job) {
+        workers.execute(() -> {
+            try {
+                run(job);
+            } catch (RuntimeException e) {
+                // Left unfinished in the table; the next resume picks it up
+                LOG.error("Disruption job failed", e, "jobId", job.jobId());
+            }
+        });
+    }
+
+    private void run(DisruptionJob job) {
+        Optional<Train> train = repo.findTrainById(job.trainId());
+        if (train.isEmpty()) {
+            LOG.warn("Disruption job for a missing train", "jobId", job.jobId(), "trainId", job.trainId());
+            return;
+        }
+        List<Train> alternatives = CANCELLED.equals(job.trainStatus())
+                ? repo.getTrains().stream()
+                        .filter(candidate -> !candidate.getId().equals(job.trainId()))
+                        .filter(candidate -> !CANCELLED.equals(candidate.getStatus()))
+                        .filter(candidate -> !SeatClasses.soldOn(candidate).isEmpty())
+                        .filter(candidate -> runsOn.test(candidate.getTrainNumber(), job.travelDate()))
+                        .toList()
+                : List.of();
+        Map<Slot, Integer> seatsLeft = new HashMap<>();
+
+        DisruptionJob progress = job;
+        while (!progress.completed()) {
+            BookingChunk chunk = repo.getActiveBookingChunk(job.trainId(), job.travelDate(), progress.cursor(), chunkSize);
+            if (chunk == null) {
+                return;
+            }
+            progress = applyChunk(progress, train.get(), alternatives, seatsLeft, chunk);
+            if (progress == null) {
+                return;
+            }
+        }
+        LOG.info("Disruption job finished", "jobId", job.jobId(), "train", train.get().getTrainNumber(),
+                "travelDate", job.travelDate(), "bookings", progress.bookingsProcessed(),
+                "reaccommodated", progress.reaccommodated(), "cancelled", progress.cancelled());
+    }
+
+    /**
+     * @return the job's progress after the chunk, or null if the chunk could not be saved
+     */
+    private DisruptionJob applyChunk(DisruptionJob job, Train train, List<Train> alternatives,
+                                     Map<Slot, Integer> seatsLeft, BookingChunk chunk) {
+        for (int attempt = 1; ; attempt++) {
+            Map<Slot, Integer> counted = new HashMap<>(seatsLeft);
+            ChunkPlan plan = plan(job, train, alternatives, seatsLeft, chunk);
+            if (plan == null) {
+                return null;
+            }
+            boolean last = chunk.bookings().size() < chunkSize;
+            DisruptionJob progress = job.advance(chunk.nextCursor(), chunk.bookings().size(), plan.transfers().size(),
+                    plan.cancellations().size(), last);
+            List<Cancellation> toCancel =
+                    plan.cancellations().stream().map(CancellationService.PreparedCancellation::cancellation).toList();
+            List<OutboundMessage> outbound = messages.compose(plan.notifications());
+            List<String> overCapacity = repo.applyDisruptionChunk(progress, toCancel, plan.transfers(), seatsPerClass,
+                    plan.notifications(), outbound);
+            if (overCapacity == null) {
+                return null;
+            }
+            if (overCapacity.isEmpty()) {
+                if (!outbound.isEmpty()) {
+                    messages.wake();
+                }
+                // Refunds go to the gateway only once the chunk that records them has committed
+                plan.cancellations().forEach(cancellations::dispatch);
+                processed.add(chunk.bookings().size());
+                reaccommodated.add(plan.transfers().size());
+                cancelled.add(plan.cancellations().size());
+                return progress;
+            }
+
+            // Seats were taken since they were counted: count those classes again, or give up on them
+            seatsLeft.clear();
+            seatsLeft.putAll(counted);
+            for (Booking transfer : plan.transfers()) {
+                if (overCapacity.contains(transfer.getId())) {
+                    Train target = alternatives.stream()
+                            .filter(candidate -> candidate.getId().equals(transfer.getTrainId()))
+                            .findFirst().orElseThrow();
+                    Slot slot = new Slot(target.getId(), SeatClasses.find(target, transfer.getSeatClass()).orElseThrow());
+                    if (attempt < MAX_CHUNK_ATTEMPTS) {
+                        seatsLeft.remove(slot);
+                    } else {
+                        seatsLeft.put(slot, 0);
+                    }
+                }
+            }
+            LOG.debug("Disruption chunk over capacity, replanning", "jobId", job.jobId(), "attempt", attempt,
+                    "transfers", overCapacity.size());
+            // Read afresh, as planning changed the bookings in hand
+            chunk = repo.getActiveBookingChunk(job.trainId(), job.travelDate(), job.cursor(), chunkSize);
+            if (chunk == null) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Decide what happens to each booking in the chunk, or return null if a refund id could
+     * not be allocated. Nothing is written here.
+     */
+    private ChunkPlan plan(DisruptionJob job, Train train, List<Train> alternatives, Map<Slot, Integer> seatsLeft,
+                           BookingChunk chunk) {
+        List<CancellationService.PreparedCancellation> prepared = new ArrayList<>();
+        List<Booking> transfers = new ArrayList<>();
+        List<Notification> notifications = new ArrayList<>();
+        String date = job.travelDate().format(DATE_FORMAT);
+        String trainLabel = train.getTrainNumber() + " (" + train.getTrainName() + ")";
+
+        for (Booking booking : chunk.bookings()) {
+            if (DELAYED.equals(job.trainStatus())) {
+                notifications.add(Notification.create(booking.getUserId(), NotificationType.TRAIN_STATUS,
+                        "Train Delay Alert", "Train " + trainLabel + " on " + date + " is running late. "
+                                + "Booking " + booking.getId() + " is unchanged."));
+                continue;
+            }
+            Train alternative = findAlternative(booking, alternatives, seatsLeft);
+            if (alternative != null) {
+                booking.setTrainId(alternative.getId());
+                booking.setTrainNumber(alternative.getTrainNumber());
+                booking.setTrainName(alternative.getTrainName());
+                transfers.add(booking);
+                notifications.add(Notification.create(booking.getUserId(), NotificationType.TRAIN_STATUS,
+                        "Train Cancelled - Rebooked", "Train " + trainLabel + " on " + date + " is cancelled. "
+                                + "Booking " + booking.getId() + " has been moved to " + alternative.getTrainNumber()
+                                + " (" + alternative.getTrainName() + ") at no extra cost."));
+                continue;
+            }
+            CancellationService.PreparedCancellation cancellation =
+                    cancellations.prepareFullRefund(booking, "Train " + train.getTrainNumber() + " cancelled");
+            if (cancellation == null) {
+                return null;
+            }
+            prepared.add(cancellation);
+            double refund = cancellation.cancellation().refund() == null ? 0 : cancellation.cancellation().refund().amount();
+            notifications.add(Notification.create(booking.getUserId(), NotificationType.REFUND,
+                    "Train Cancelled - Refund Issued", "Train " + trainLabel + " on " + date + " is cancelled. "
+                            + "Booking " + booking.getId() + " has been cancelled"
+                            + (refund > 0 ? " with a full refund of PKR " + String.format("%,.0f", refund) + "." : ".")));
+        }
+        return new ChunkPlan(prepared, transfers, notifications);
+    }
+
+    /**
+     * A train calling at the booking's stations in the same order that sells its class, with
+     * enough seats left in it, as the job last counted them, taking the seats if one is found.
+     */
+    private Train findAlternative(Booking booking, List<Train> alternatives, Map<Slot, Integer> seatsLeft) {
+        for (Train candidate : alternatives) {
+            Optional<String> seatClass = SeatClasses.find(candidate, booking.getSeatClass());
+            if (seatClass.isEmpty()
+                    || !servesInOrder(candidate.getRoute(), booking.getFromStation(), booking.getToStation())) {
+                continue;
+            }
+            Slot slot = new Slot(candidate.getId(), seatClass.get());
+            int left = seatsLeft.computeIfAbsent(slot, key -> {
+                int booked = repo.getSeatsBooked(key.trainId(), booking.getTravelDate(), key.seatClass());
+                return booked < 0 ? 0 : seatsPerClass - booked;
+            });
+            if (left >= booking.getNumberOfSeats()) {
+                seatsLeft.put(slot, left - booking.getNumberOfSeats());
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    static boolean servesInOrder(String route, String from, String to) {
+        if (route == null || from == null || to == null) {
+            return false;
+        }
+        List<String> stops = List.of(route.split("\\s*-\\s*"));
+        int fromIndex = -1;
+        for (int i = 0; i < stops.size(); i++) {
+            if (stops.get(i).equalsIgnoreCase(from.trim())) {
+                fromIndex = i;
+            } else if (fromIndex >= 0 && stops.get(i).equalsIgnoreCase(to.trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ThreadPoolExecutor createWorkers(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "disruption-worker-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.models.Booking;
+import com.example.railwaymanagementsystem.models.Payment;
+import com.example.railwaymanagementsystem.models.Refund;
+import com.example.railwaymanagementsystem.models.Train;
+
+/**
+ * Something that happened to a booking, payment or train, published on the {@link EventBus}
+ * once it has been saved.
+ */
+sealed interface DomainEvent {
+
+    record BookingCreated(Booking booking) implements DomainEvent {}
+
+    /** A payment reached Captured or Failed. */
+    record PaymentSettled(Payment payment) implements DomainEvent {}
+
+    /** {@code refund} is null when nothing was paid. */
+    record BookingCancelled(Booking booking, Refund refund) implements DomainEvent {}
+
+    /** A card refund was returned by the gateway, or failed. */
+    record RefundSettled(Refund refund) implements DomainEvent {}
+
+    record TrainStatusChanged(Train train, String previousStatus, String status) implements DomainEvent {}
+}
@@ -0,0 +1,59 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
+import com.example.railwaymanagementsystem.metrics.Counter;
+import com.example.railwaymanagementsystem.metrics.MetricsRegistry;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Delivers {@link DomainEvent}s to their subscribers on a single background thread, in the
+ * order they were published, so publishing never waits on what subscribers do with an event.
+ * A subscriber that throws is logged and does not stop delivery to the others.
+ */
+final class EventBus {
+    private static final Logger LOG = Log.getLogger(EventBus.class);
+
+    private final Map<Class<? extends DomainEvent>, List<Consumer<DomainEvent>>> subscribers = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor delivery = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "domain-events");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private final Counter published = MetricsRegistry.getInstance().counter("events.published");
+
+    EventBus() {
+        MetricsRegistry.getInstance().gauge("events.queueDepth", () -> delivery.getQueue().size());
+    }
+
+    <E extends DomainEvent> void subscribe(Class<E> type, Consumer<? super E> handler) {
+        subscribers.computeIfAbsent(type, key -> new CopyOnWriteArrayList<>())
+                .add(event -> handler.accept(type.cast(event)));
+    }
+
+    void publish(DomainEvent event) {
+        List<Consumer<DomainEvent>> handlers = subscribers.get(event.getClass());
+        if (handlers == null) {
+            return;
+        }
+        published.increment();
+        delivery.execute(() -> {
+            for (Consumer<DomainEvent> handler : handlers) {
+                try {
+                    handler.accept(event);
+                } catch (RuntimeException e) {
+                    LOG.error("Event handler failed", e, "event", event.getClass().getSimpleName());
+                }
+            }
+        });
+    }
+}
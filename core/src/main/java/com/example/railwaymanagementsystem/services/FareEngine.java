@@ -0,0 +1,242 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
+import com.example.railwaymanagementsystem.metrics.Counter;
+import com.example.railwaymanagementsystem.metrics.MetricsRegistry;
+import com.example.railwaymanagementsystem.metrics.OperationMetrics;
+import com.example.railwaymanagementsystem.models.Booking;
+import com.example.railwaymanagementsystem.models.SeatClasses;
+import com.example.railwaymanagementsystem.models.Train;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prices journeys from fare tables built per train, travel date and class. A table holds
+ * the fare between every pair of stops on the train's route, so a quote is two station
+ * lookups and an array read; the database is only read to build a table.
+ *
+ * A train type's end-to-end fare is split evenly over the segments of its route, and the
+ * fare for a journey is the sum of its segments, multiplied by:
+ * <ul>
+ *   <li>the class: Business 1.5, First Class 2.0, any other class 1.0;</li>
+ *   <li>how far ahead it is bought: 0.85 from 30 days before travel, 0.95 from 7 days,
+ *       1.15 on the day before and the day itself;</li>
+ *   <li>how full the class is: 1.1 from half the seats sold, 1.25 from three quarters,
+ *       1.4 from nine tenths.</li>
+ * </ul>
+ * Fares are rounded to the nearest 10 PKR. A table is dropped when seats on its train, day
+ * and class are booked or released here, at midnight, when its advance-purchase band may
+ * change, and after a maximum age, which covers seats moved by disruptions and by other
+ * processes.
+ *
+ * Configure with system properties:
+ * <ul>
+ *   <li>{@code railsafar.fares.maxAgeSeconds}: the longest a fare table is used (default 300)</li>
+ *   <li>{@code railsafar.fares.maxTables}: fare tables kept before the cache is emptied (default 10000)</li>
+ * </ul>
+ */
+final class FareEngine {
+    private static final Logger LOG = Log.getLogger(FareEngine.class);
+    private static final Map<String, Double> CLASS_MULTIPLIERS = Map.of("business", 1.5, "first class", 2.0);
+
+    /** A train's stops in route order, keyed by lower-case name. */
+    private record Route(String[] stops, Map<String, Integer> stopIndex, int endToEndFare) {}
+
+    private record TableKey(String trainId, LocalDate date, String seatClass) {}
+
+    /**
+     * Fares between every pair of stops, {@code fares[from * stops + to]}, for one train, day
+     * and class. Every table built gets a new version.
+     */
+    private record FareTable(Route route, int[] fares, long expiresAtMillis, long version) {
+
+        int fare(int from, int to) {
+            return fares[from * route.stops().length + to];
+        }
+    }
+
+    private final BackendRepository repo;
+    private final int seatsPerClass = SeatClasses.seatsPerClass();
+    private final long maxAgeMillis = Long.getLong("railsafar.fares.maxAgeSeconds", 300) * 1000;
+    private final int maxTables = Integer.getInteger("railsafar.fares.maxTables", 10_000);
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+    private final Map<TableKey, FareTable> tables = new ConcurrentHashMap<>();
+    // Bumped on every seat change, so a table built across one is not kept
+    private final AtomicLong seatChanges = new AtomicLong();
+    private final AtomicLong tableVersions = new AtomicLong();
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private final OperationMetrics quoteMetrics = metrics.operation("fares.quote");
+    private final Counter tablesBuilt = metrics.counter("fares.tablesBuilt");
+
+    FareEngine(BackendRepository repo, EventBus events) {
+        this.repo = repo;
+        events.subscribe(DomainEvent.BookingCancelled.class, event -> seatsChanged(event.booking()));
+        metrics.gauge("fares.tables", tables::size);
+    }
+
+    /**
+     * Price the journey between two stops of the train.
+     *
+     * @throws IllegalArgumentException if the train does not call at both stations, in that order
+     */
+    FareQuote quote(Train train, String from, String to, LocalDate date, String seatClass, int seats) {
+        if (!DisruptionProcessor.servesInOrder(train.getRoute(), from, to)) {
+            throw new IllegalArgumentException(train.getTrainNumber() + " does not run from " + from + " to " + to);
+        }
+        long start = System.nanoTime();
+        FareTable table = table(train, date, seatClass);
+        String[] stops = table.route().stops();
+        int fromStop = table.route().stopIndex().get(stationKey(from));
+        int toStop = stopAfter(table.route(), fromStop, to);
+        FareQuote quote = new FareQuote(train.getTrainNumber(), stops[fromStop], stops[toStop], date,
+                seatClass, seats, table.fare(fromStop, toStop));
+        quoteMetrics.recordSince(start);
+        return quote;
+    }
+
+    /**
+     * The version of the fare table the train, day and class are priced from now. It changes
+     * whenever the table is rebuilt, after seats are booked or released, at midnight or with
+     * age, so a fare priced under an older version may no longer be current.
+     */
+    long tableVersion(Train train, LocalDate date, String seatClass) {
+        return table(train, date, seatClass).version();
+    }
+
+    /**
+     * Drop the fare table for the booking's train, day and class, after seats on it were
+     * booked or released.
+     */
+    void seatsChanged(Booking booking) {
+        seatChanges.incrementAndGet();
+        tables.remove(new TableKey(booking.getTrainId(), booking.getTravelDate(), classKey(booking.getSeatClass())));
+    }
+
+    void forget(Train train) {
+        routes.remove(train.getId());
+        tables.keySet().removeIf(key -> key.trainId().equals(train.getId()));
+    }
+
+    private FareTable table(Train train, LocalDate date, String seatClass) {
+        TableKey key = new TableKey(train.getId(), date, classKey(seatClass));
+        FareTable table = tables.get(key);
+        if (table != null && System.currentTimeMillis() < table.expiresAtMillis()) {
+            return table;
+        }
+        long changesSeen = seatChanges.get();
+        table = build(route(train), key);
+        if (tables.size() >= maxTables) {
+            long now = System.currentTimeMillis();
+            tables.values().removeIf(old -> old.expiresAtMillis() <= now);
+            if (tables.size() >= maxTables) {
+                tables.clear();
+            }
+        }
+        tables.put(key, table);
+        if (seatChanges.get() != changesSeen) {
+            tables.remove(key, table);
+        }
+        return table;
+    }
+
+    private FareTable build(Route route, TableKey key) {
+        LocalDate today = LocalDate.now();
+        int booked = Math.max(0, repo.getSeatsBooked(key.trainId(), key.date(), key.seatClass()));
+        double multiplier = CLASS_MULTIPLIERS.getOrDefault(key.seatClass().toLowerCase(Locale.ROOT), 1.0)
+                * advancePurchaseMultiplier(ChronoUnit.DAYS.between(today, key.date()))
+                * loadFactorMultiplier((double) booked / seatsPerClass);
+
+        int stops = route.stops().length;
+        double segmentFare = (double) route.endToEndFare() / Math.max(1, stops - 1);
+        int[] fares = new int[stops * stops];
+        for (int from = 0; from < stops; from++) {
+            for (int to = from + 1; to < stops; to++) {
+                fares[from * stops + to] = roundFare(segmentFare * (to - from) * multiplier);
+            }
+        }
+        if (stops == 1) {
+            // A route with no segments is priced as one
+            fares[0] = roundFare(route.endToEndFare() * multiplier);
+        }
+        long midnight = today.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        tablesBuilt.increment();
+        LOG.debug("Fare table built", "train", key.trainId(), "date", key.date(), "class", key.seatClass(),
+                "seatsBooked", booked, "multiplier", multiplier);
+        return new FareTable(route, fares, Math.min(midnight, System.currentTimeMillis() + maxAgeMillis),
+                tableVersions.incrementAndGet());
+    }
+
+    private Route route(Train train) {
+        return routes.computeIfAbsent(train.getId(), id -> {
+            String route = train.getRoute() == null ? "" : train.getRoute().trim();
+            String[] stops = route.isEmpty() ? new String[] {""} : route.split("\\s*-\\s*");
+            Map<String, Integer> stopIndex = new HashMap<>();
+            for (int i = 0; i < stops.length; i++) {
+                stopIndex.putIfAbsent(stationKey(stops[i]), i);
+            }
+            return new Route(stops, stopIndex, endToEndFare(train.getType()));
+        });
+    }
+
+    /**
+     * The first call at the station after the stop, for a journey the route is known to serve.
+     */
+    private static int stopAfter(Route route, int stop, String station) {
+        String key = stationKey(station);
+        for (int i = stop + 1; i < route.stops().length; i++) {
+            if (stationKey(route.stops()[i]).equals(key)) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("No call at " + station + " after stop " + stop);
+    }
+
+    private static int endToEndFare(String type) {
+        return switch (type == null ? "" : type) {
+            case "Express" -> 3500;
+            case "Passenger" -> 2200;
+            case "Freight" -> 1500;
+            default -> 2500;
+        };
+    }
+
+    private static int roundFare(double fare) {
+        return (int) Math.max(10, Math.round(fare / 10) * 10);
+    }
+
+    private static double advancePurchaseMultiplier(long daysAhead) {
+        if (daysAhead >= 30) {
+            return 0.85;
+        }
+        if (daysAhead >= 7) {
+            return 0.95;
+        }
+        return daysAhead >= 2 ? 1.0 : 1.15;
+    }
+
+    private static double loadFactorMultiplier(double loadFactor) {
+        if (loadFactor >= 0.9) {
+            return 1.4;
+        }
+        if (loadFactor >= 0.75) {
+            return 1.25;
+        }
+        return loadFactor >= 0.5 ? 1.1 : 1.0;
+    }
+
+    private static String classKey(String seatClass) {
+        return seatClass == null ? "" : seatClass;
+    }
+
+    private static String stationKey(String station) {
+        return station.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.railwaymanagementsystem.services;
+
+import java.time.LocalDate;
+
+/**
+ * The price of a journey for {@code seats} passengers in PKR, as the fare tables stand now.
+ * {@code fromStation} and {@code toStation} are the stops on the train's route that were
+ * priced, which may differ from the ones asked for when those are not on its route.
+ */
+public record FareQuote(String trainNumber, String fromStation, String toStation, LocalDate travelDate,
+                        String seatClass, int seats, int farePerSeat) {
+
+    public int total() {
+        return farePerSeat * seats;
+    }
+}
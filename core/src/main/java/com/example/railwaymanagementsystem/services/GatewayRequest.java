@@ -0,0 +1,9 @@
+package com.example.railwaymanagementsystem.services;
+
+/**
+ * What is sent to a PaymentGateway. {@code authorization} is null when authorizing and the
+ * gateway's reference for the authorization afterwards.
+ */
+public record GatewayRequest(String paymentId, String bookingId, double amount, String method,
+                             String authorization) {
+}
@@ -0,0 +1,15 @@
+package com.example.railwaymanagementsystem.services;
+
+/**
+ * A gateway's answer: approved with its reference for the transaction, or declined with a reason.
+ */
+public record GatewayResponse(boolean approved, String reference, String message) {
+
+    public static GatewayResponse approved(String reference) {
+        return new GatewayResponse(true, reference, "Approved");
+    }
+
+    public static GatewayResponse declined(String message) {
+        return new GatewayResponse(false, null, message);
+    }
+}
@@ -0,0 +1,944 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.metrics.MetricsRegistry;
+import com.example.railwaymanagementsystem.metrics.OperationMetrics;
+import com.example.railwaymanagementsystem.models.Booking;
+import com.example.railwaymanagementsystem.models.Cancellation;
+import com.example.railwaymanagementsystem.models.DisruptionJob;
+import com.example.railwaymanagementsystem.models.MessageChannel;
+import com.example.railwaymanagementsystem.models.Notification;
+import com.example.railwaymanagementsystem.models.NotificationType;
+import com.example.railwaymanagementsystem.models.OutboundMessage;
+import com.example.railwaymanagementsystem.models.Payment;
+import com.example.railwaymanagementsystem.models.Refund;
+import com.example.railwaymanagementsystem.models.Schedule;
+import com.example.railwaymanagementsystem.models.ScheduleException;
+import com.example.railwaymanagementsystem.models.Train;
+import com.example.railwaymanagementsystem.models.User;
+import com.example.railwaymanagementsystem.models.WaitlistEntry;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * DataStore decorator that records rate, latency and failures for every call under
+ * {@code db.<method>} in the MetricsRegistry.
+ */
+final class InstrumentedDataStore implements DataStore {
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private final DataStore delegate;
+
+    private final OperationMetrics findUserByEmail = metrics.operation("db.findUserByEmail");
+    private final OperationMetrics findUserById = metrics.operation("db.findUserById");
+    private final OperationMetrics getAllUsers = metrics.operation("db.getAllUsers");
+    private final OperationMetrics getUserEmailIndex = metrics.operation("db.getUserEmailIndex");
+    private final OperationMetrics addUser = metrics.operation("db.addUser");
+    private final OperationMetrics updateUser = metrics.operation("db.updateUser");
+    private final OperationMetrics emailExists = metrics.operation("db.emailExists");
+    private final OperationMetrics getNextUserId = metrics.operation("db.getNextUserId");
+    private final OperationMetrics getAllTrains = metrics.operation("db.getAllTrains");
+    private final OperationMetrics findTrainById = metrics.operation("db.findTrainById");
+    private final OperationMetrics findTrainByNumber = metrics.operation("db.findTrainByNumber");
+    private final OperationMetrics addTrain = metrics.operation("db.addTrain");
+    private final OperationMetrics updateTrain = metrics.operation("db.updateTrain");
+    private final OperationMetrics removeTrain = metrics.operation("db.removeTrain");
+    private final OperationMetrics getNextTrainId = metrics.operation("db.getNextTrainId");
+    private final OperationMetrics getAllSchedules = metrics.operation("db.getAllSchedules");
+    private final OperationMetrics findScheduleByTrainNumber = metrics.operation("db.findScheduleByTrainNumber");
+    private final OperationMetrics addSchedule = metrics.operation("db.addSchedule");
+    private final OperationMetrics updateSchedule = metrics.operation("db.updateSchedule");
+    private final OperationMetrics removeSchedule = metrics.operation("db.removeSchedule");
+    private final OperationMetrics getNextScheduleId = metrics.operation("db.getNextScheduleId");
+    private final OperationMetrics getAllBookings = metrics.operation("db.getAllBookings");
+    private final OperationMetrics findBookingById = metrics.operation("db.findBookingById");
+    private final OperationMetrics addBooking = metrics.operation("db.addBooking");
+    private final OperationMetrics updateBooking = metrics.operation("db.updateBooking");
+    private final OperationMetrics getNextBookingId = metrics.operation("db.getNextBookingId");
+    private final OperationMetrics findPaymentByIdempotencyKey = metrics.operation("db.findPaymentByIdempotencyKey");
+    private final OperationMetrics claimIdempotencyKey = metrics.operation("db.claimIdempotencyKey");
+    private final OperationMetrics recordPaymentTransition = metrics.operation("db.recordPaymentTransition");
+    private final OperationMetrics getPaymentsForBooking = metrics.operation("db.getPaymentsForBooking");
+    private final OperationMetrics getNextPaymentId = metrics.operation("db.getNextPaymentId");
+    private final OperationMetrics getActiveBookingsForTrain = metrics.operation("db.getActiveBookingsForTrain");
+    private final OperationMetrics cancelBookings = metrics.operation("db.cancelBookings");
+    private final OperationMetrics recordRefund = metrics.operation("db.recordRefund");
+    private final OperationMetrics getRefundsForBooking = metrics.operation("db.getRefundsForBooking");
+    private final OperationMetrics getNextRefundId = metrics.operation("db.getNextRefundId");
+    private final OperationMetrics getSettings = metrics.operation("db.getSettings");
+    private final OperationMetrics saveSetting = metrics.operation("db.saveSetting");
+    private final OperationMetrics getActiveTravelDates = metrics.operation("db.getActiveTravelDates");
+    private final OperationMetrics getActiveBookingChunk = metrics.operation("db.getActiveBookingChunk");
+    private final OperationMetrics getSeatsBooked = metrics.operation("db.getSeatsBooked");
+    private final OperationMetrics getPendingRefunds = metrics.operation("db.getPendingRefunds");
+    private final OperationMetrics addDisruptionJobs = metrics.operation("db.addDisruptionJobs");
+    private final OperationMetrics getUnfinishedDisruptionJobs = metrics.operation("db.getUnfinishedDisruptionJobs");
+    private final OperationMetrics applyDisruptionChunk = metrics.operation("db.applyDisruptionChunk");
+    private final OperationMetrics getNextDisruptionJobId = metrics.operation("db.getNextDisruptionJobId");
+    private final OperationMetrics addNotifications = metrics.operation("db.addNotifications");
+    private final OperationMetrics getNotifications = metrics.operation("db.getNotifications");
+    private final OperationMetrics countUnreadNotifications = metrics.operation("db.countUnreadNotifications");
+    private final OperationMetrics markNotificationRead = metrics.operation("db.markNotificationRead");
+    private final OperationMetrics markAllNotificationsRead = metrics.operation("db.markAllNotificationsRead");
+    private final OperationMetrics getDueMessages = metrics.operation("db.getDueMessages");
+    private final OperationMetrics recordMessageAttempts = metrics.operation("db.recordMessageAttempts");
+    private final OperationMetrics getScheduleExceptions = metrics.operation("db.getScheduleExceptions");
+    private final OperationMetrics saveScheduleException = metrics.operation("db.saveScheduleException");
+    private final OperationMetrics removeScheduleException = metrics.operation("db.removeScheduleException");
+    private final OperationMetrics addBookingIfAvailable = metrics.operation("db.addBookingIfAvailable");
+    private final OperationMetrics addWaitlistEntry = metrics.operation("db.addWaitlistEntry");
+    private final OperationMetrics findWaitlistEntry = metrics.operation("db.findWaitlistEntry");
+    private final OperationMetrics getWaitlist = metrics.operation("db.getWaitlist");
+    private final OperationMetrics getWaitingEntries = metrics.operation("db.getWaitingEntries");
+    private final OperationMetrics getWaitlistForUser = metrics.operation("db.getWaitlistForUser");
+    private final OperationMetrics cancelWaitlistEntry = metrics.operation("db.cancelWaitlistEntry");
+    private final OperationMetrics promoteWaitlistEntry = metrics.operation("db.promoteWaitlistEntry");
+
+    InstrumentedDataStore(DataStore delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Optional<User> findUserByEmail(String email) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Optional<User> result = delegate.findUserByEmail(email);
+            findUserByEmail.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findUserByEmail.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<User> findUserById(String id) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Optional<User> result = delegate.findUserById(id);
+            findUserById.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findUserById.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<User> getAllUsers() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<User> result = delegate.getAllUsers();
+            getAllUsers.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getAllUsers.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Map<String, String> getUserEmailIndex() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Map<String, String> result = delegate.getUserEmailIndex();
+            getUserEmailIndex.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getUserEmailIndex.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public User addUser(User user) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            User result = delegate.addUser(user);
+            addUser.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            addUser.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean updateUser(User user) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.updateUser(user);
+            updateUser.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            updateUser.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean emailExists(String email, String excludeUserId) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.emailExists(email, excludeUserId);
+            emailExists.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            emailExists.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public String getNextUserId() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            String result = delegate.getNextUserId();
+            getNextUserId.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getNextUserId.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Train> getAllTrains() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Train> result = delegate.getAllTrains();
+            getAllTrains.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getAllTrains.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<Train> findTrainById(String id) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Optional<Train> result = delegate.findTrainById(id);
+            findTrainById.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findTrainById.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<Train> findTrainByNumber(String trainNumber) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Optional<Train> result = delegate.findTrainByNumber(trainNumber);
+            findTrainByNumber.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findTrainByNumber.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Train addTrain(Train train) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Train result = delegate.addTrain(train);
+            addTrain.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            addTrain.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean updateTrain(Train train) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.updateTrain(train);
+            updateTrain.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            updateTrain.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean removeTrain(String id) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.removeTrain(id);
+            removeTrain.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            removeTrain.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public String getNextTrainId() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            String result = delegate.getNextTrainId();
+            getNextTrainId.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getNextTrainId.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Schedule> getAllSchedules() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Schedule> result = delegate.getAllSchedules();
+            getAllSchedules.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getAllSchedules.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<Schedule> findScheduleByTrainNumber(String trainNumber) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Optional<Schedule> result = delegate.findScheduleByTrainNumber(trainNumber);
+            findScheduleByTrainNumber.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findScheduleByTrainNumber.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Schedule addSchedule(Schedule schedule) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Schedule result = delegate.addSchedule(schedule);
+            addSchedule.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            addSchedule.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean updateSchedule(Schedule schedule) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.updateSchedule(schedule);
+            updateSchedule.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            updateSchedule.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean removeSchedule(String id) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.removeSchedule(id);
+            removeSchedule.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            removeSchedule.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public String getNextScheduleId() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            String result = delegate.getNextScheduleId();
+            getNextScheduleId.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getNextScheduleId.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Booking> getAllBookings() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Booking> result = delegate.getAllBookings();
+            getAllBookings.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getAllBookings.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<Booking> findBookingById(String id) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Optional<Booking> result = delegate.findBookingById(id);
+            findBookingById.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findBookingById.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Booking addBooking(Booking booking) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Booking result = delegate.addBooking(booking);
+            addBooking.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            addBooking.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean updateBooking(Booking booking) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.updateBooking(booking);
+            updateBooking.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            updateBooking.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public String getNextBookingId() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            String result = delegate.getNextBookingId();
+            getNextBookingId.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getNextBookingId.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<Payment> findPaymentByIdempotencyKey(String idempotencyKey) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Optional<Payment> result = delegate.findPaymentByIdempotencyKey(idempotencyKey);
+            findPaymentByIdempotencyKey.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findPaymentByIdempotencyKey.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean claimIdempotencyKey(Payment pending) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.claimIdempotencyKey(pending);
+            claimIdempotencyKey.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            claimIdempotencyKey.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean recordPaymentTransition(Payment entry, Booking booking) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.recordPaymentTransition(entry, booking);
+            recordPaymentTransition.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            recordPaymentTransition.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Payment> getPaymentsForBooking(String bookingId) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Payment> result = delegate.getPaymentsForBooking(bookingId);
+            getPaymentsForBooking.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getPaymentsForBooking.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public String getNextPaymentId() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            String result = delegate.getNextPaymentId();
+            getNextPaymentId.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getNextPaymentId.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Booking> getActiveBookingsForTrain(String trainId, LocalDate fromDate) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Booking> result = delegate.getActiveBookingsForTrain(trainId, fromDate);
+            getActiveBookingsForTrain.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getActiveBookingsForTrain.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<String> cancelBookings(List<Cancellation> cancellations) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<String> result = delegate.cancelBookings(cancellations);
+            cancelBookings.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            cancelBookings.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean recordRefund(Refund entry, Payment paymentEntry, Booking booking) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.recordRefund(entry, paymentEntry, booking);
+            recordRefund.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            recordRefund.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Refund> getRefundsForBooking(String bookingId) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Refund> result = delegate.getRefundsForBooking(bookingId);
+            getRefundsForBooking.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getRefundsForBooking.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public String getNextRefundId() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            String result = delegate.getNextRefundId();
+            getNextRefundId.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getNextRefundId.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Map<String, String> getSettings() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Map<String, String> result = delegate.getSettings();
+            getSettings.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getSettings.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean saveSetting(String key, String value) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.saveSetting(key, value);
+            saveSetting.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            saveSetting.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<LocalDate> getActiveTravelDates(String trainId, LocalDate fromDate) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<LocalDate> result = delegate.getActiveTravelDates(trainId, fromDate);
+            getActiveTravelDates.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getActiveTravelDates.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public BookingChunk getActiveBookingChunk(String trainId, LocalDate travelDate, long afterCursor, int limit)
+            throws SQLException {
+        long start = System.nanoTime();
+        try {
+            BookingChunk result = delegate.getActiveBookingChunk(trainId, travelDate, afterCursor, limit);
+            getActiveBookingChunk.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getActiveBookingChunk.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public int getSeatsBooked(String trainId, LocalDate travelDate, String seatClass) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            int result = delegate.getSeatsBooked(trainId, travelDate, seatClass);
+            getSeatsBooked.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getSeatsBooked.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Refund> getPendingRefunds() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Refund> result = delegate.getPendingRefunds();
+            getPendingRefunds.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getPendingRefunds.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public void addDisruptionJobs(List<DisruptionJob> jobs) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            delegate.addDisruptionJobs(jobs);
+            addDisruptionJobs.recordSince(start);
+        } catch (SQLException | RuntimeException e) {
+            addDisruptionJobs.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<DisruptionJob> getUnfinishedDisruptionJobs() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<DisruptionJob> result = delegate.getUnfinishedDisruptionJobs();
+            getUnfinishedDisruptionJobs.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getUnfinishedDisruptionJobs.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<String> applyDisruptionChunk(DisruptionJob progress, List<Cancellation> cancellations,
+                                             List<Booking> transfers, int seatsPerClass,
+                                             List<Notification> notifications, List<OutboundMessage> messages)
+            throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<String> result = delegate.applyDisruptionChunk(progress, cancellations, transfers, seatsPerClass,
+                    notifications, messages);
+            applyDisruptionChunk.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            applyDisruptionChunk.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public String getNextDisruptionJobId() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            String result = delegate.getNextDisruptionJobId();
+            getNextDisruptionJobId.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getNextDisruptionJobId.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public void addNotifications(List<Notification> notifications, List<OutboundMessage> messages) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            delegate.addNotifications(notifications, messages);
+            addNotifications.recordSince(start);
+        } catch (SQLException | RuntimeException e) {
+            addNotifications.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Notification> getNotifications(String userId, Set<NotificationType> types, boolean unreadOnly,
+                                               long beforeId, int limit) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Notification> result = delegate.getNotifications(userId, types, unreadOnly, beforeId, limit);
+            getNotifications.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getNotifications.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public int countUnreadNotifications(String userId) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            int result = delegate.countUnreadNotifications(userId);
+            countUnreadNotifications.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            countUnreadNotifications.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean markNotificationRead(String userId, long notificationId) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.markNotificationRead(userId, notificationId);
+            markNotificationRead.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            markNotificationRead.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public int markAllNotificationsRead(String userId) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            int result = delegate.markAllNotificationsRead(userId);
+            markAllNotificationsRead.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            markAllNotificationsRead.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<OutboundMessage> getDueMessages(MessageChannel channel, LocalDateTime now, int limit) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<OutboundMessage> result = delegate.getDueMessages(channel, now, limit);
+            getDueMessages.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getDueMessages.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public void recordMessageAttempts(List<OutboundMessage> messages) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            delegate.recordMessageAttempts(messages);
+            recordMessageAttempts.recordSince(start);
+        } catch (SQLException | RuntimeException e) {
+            recordMessageAttempts.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<ScheduleException> getScheduleExceptions() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<ScheduleException> result = delegate.getScheduleExceptions();
+            getScheduleExceptions.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getScheduleExceptions.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean saveScheduleException(ScheduleException exception) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.saveScheduleException(exception);
+            saveScheduleException.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            saveScheduleException.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean removeScheduleException(String scheduleId, LocalDate date) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.removeScheduleException(scheduleId, date);
+            removeScheduleException.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            removeScheduleException.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean addBookingIfAvailable(Booking booking, int seatsPerClass) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.addBookingIfAvailable(booking, seatsPerClass);
+            addBookingIfAvailable.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            addBookingIfAvailable.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public WaitlistEntry addWaitlistEntry(WaitlistEntry entry) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            WaitlistEntry result = delegate.addWaitlistEntry(entry);
+            addWaitlistEntry.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            addWaitlistEntry.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<WaitlistEntry> findWaitlistEntry(long id) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Optional<WaitlistEntry> result = delegate.findWaitlistEntry(id);
+            findWaitlistEntry.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findWaitlistEntry.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<WaitlistEntry> getWaitlist(String trainId, LocalDate travelDate, String seatClass) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<WaitlistEntry> result = delegate.getWaitlist(trainId, travelDate, seatClass);
+            getWaitlist.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getWaitlist.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<WaitlistEntry> getWaitingEntries(LocalDate fromDate) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<WaitlistEntry> result = delegate.getWaitingEntries(fromDate);
+            getWaitingEntries.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getWaitingEntries.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<WaitlistEntry> getWaitlistForUser(String userId) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<WaitlistEntry> result = delegate.getWaitlistForUser(userId);
+            getWaitlistForUser.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getWaitlistForUser.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean cancelWaitlistEntry(long id) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.cancelWaitlistEntry(id);
+            cancelWaitlistEntry.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            cancelWaitlistEntry.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean promoteWaitlistEntry(WaitlistEntry entry, Booking booking, int seatsPerClass) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.promoteWaitlistEntry(entry, booking, seatsPerClass);
+            promoteWaitlistEntry.recordSince(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            promoteWaitlistEntry.recordFailureSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        delegate.close();
+    }
+}
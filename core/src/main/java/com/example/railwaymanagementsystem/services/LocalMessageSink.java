@@ -0,0 +1,111 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.metrics.Counter;
+import com.example.railwaymanagementsystem.metrics.MetricsRegistry;
+import com.example.railwaymanagementsystem.models.MessageChannel;
+import com.example.railwaymanagementsystem.models.OutboundMessage;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-process stand-in for an email or SMS provider, used when no real one is installed and
+ * for measuring dispatch throughput. Each call sleeps for a fixed time plus a little per
+ * message, fails at a configurable rate, and otherwise accepts every message with a
+ * recipient, appending it to a file when one is set:
+ * <ul>
+ *   <li>{@code railsafar.messages.sink.latencyMillis}: time per call (default 20)</li>
+ *   <li>{@code railsafar.messages.sink.perMessageMillis}: extra time per message (default 0.2)</li>
+ *   <li>{@code railsafar.messages.sink.errorRate}: fraction of calls that fail (default 0)</li>
+ *   <li>{@code railsafar.messages.sink.file}: file the accepted messages are appended to (default none)</li>
+ * </ul>
+ */
+public final class LocalMessageSink implements MessageProvider {
+    private final MessageChannel channel;
+    private final double latencyMillis;
+    private final double perMessageMillis;
+    private final double errorRate;
+    private final Path file;
+    private final Counter delivered = MetricsRegistry.getInstance().counter("messages.sink.delivered");
+
+    public LocalMessageSink(MessageChannel channel) {
+        this(channel,
+                Double.parseDouble(System.getProperty("railsafar.messages.sink.latencyMillis", "20")),
+                Double.parseDouble(System.getProperty("railsafar.messages.sink.perMessageMillis", "0.2")),
+                Double.parseDouble(System.getProperty("railsafar.messages.sink.errorRate", "0")),
+                System.getProperty("railsafar.messages.sink.file"));
+    }
+
+    public LocalMessageSink(MessageChannel channel, double latencyMillis, double perMessageMillis, double errorRate,
+                            String file) {
+        this.channel = channel;
+        this.latencyMillis = latencyMillis;
+        this.perMessageMillis = perMessageMillis;
+        this.errorRate = errorRate;
+        this.file = file == null || file.isBlank() ? null : Path.of(file);
+    }
+
+    @Override
+    public String getName() {
+        return "local-" + channel.name().toLowerCase() + "-sink";
+    }
+
+    @Override
+    public MessageChannel getChannel() {
+        return channel;
+    }
+
+    @Override
+    public int getMaxBatchSize() {
+        return channel == MessageChannel.EMAIL ? 50 : 100;
+    }
+
+    @Override
+    public List<DeliveryResult> send(List<OutboundMessage> messages) {
+        try {
+            Thread.sleep((long) (latencyMillis + perMessageMillis * messages.size()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessageProviderException("Local sink call interrupted");
+        }
+        if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+            throw new MessageProviderException("Simulated " + channel.getLabel() + " provider error");
+        }
+
+        List<DeliveryResult> results = new ArrayList<>(messages.size());
+        List<OutboundMessage> accepted = new ArrayList<>(messages.size());
+        for (OutboundMessage message : messages) {
+            if (message.recipient() == null || message.recipient().isBlank()) {
+                results.add(DeliveryResult.rejected("No recipient"));
+            } else {
+                results.add(DeliveryResult.accepted());
+                accepted.add(message);
+            }
+        }
+        if (file != null) {
+            append(accepted);
+        }
+        delivered.add(accepted.size());
+        return results;
+    }
+
+    private synchronized void append(List<OutboundMessage> messages) {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OutboundMessage message : messages) {
+                writer.write(message.channel() + "\t" + message.id() + "\t" + message.recipient() + "\t"
+                        + message.subject() + "\t" + message.body().replace('\n', ' '));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new MessageProviderException("Local sink could not write " + file, e);
+        }
+    }
+}
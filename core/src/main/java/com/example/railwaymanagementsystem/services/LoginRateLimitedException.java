@@ -0,0 +1,12 @@
+package com.example.railwaymanagementsystem.services;
+
+/**
+ * Thrown when a login attempt is rejected by the per-account or per-client rate limit.
+ */
+public class LoginRateLimitedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public LoginRateLimitedException(String message) {
+        super(message);
+    }
+}
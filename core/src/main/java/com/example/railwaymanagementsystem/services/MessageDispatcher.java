@@ -0,0 +1,246 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
+import com.example.railwaymanagementsystem.metrics.Counter;
+import com.example.railwaymanagementsystem.metrics.MetricsRegistry;
+import com.example.railwaymanagementsystem.metrics.OperationMetrics;
+import com.example.railwaymanagementsystem.models.MessageChannel;
+import com.example.railwaymanagementsystem.models.Notification;
+import com.example.railwaymanagementsystem.models.OutboundMessage;
+import com.example.railwaymanagementsystem.models.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the emails and SMS waiting in the outbox. Messages are written to the outbox in the
+ * same transaction as the notifications they carry, so none is lost if the process stops;
+ * one that was sent but not yet recorded is sent again on restart.
+ *
+ * Each provider has its own thread, which takes due messages in batches of up to the
+ * provider's batch size, within a per-provider rate limit. A message that fails is retried
+ * with exponential backoff and jitter until it runs out of attempts. Configure with system
+ * properties:
+ * <ul>
+ *   <li>{@code railsafar.messages.email.ratePerSecond}: emails sent per second (default 200)</li>
+ *   <li>{@code railsafar.messages.sms.ratePerSecond}: SMS sent per second (default 100)</li>
+ *   <li>{@code railsafar.messages.maxAttempts}: attempts before a message is failed (default 8)</li>
+ *   <li>{@code railsafar.messages.backoffMillis}: wait before the first retry, doubling each time (default 2000)</li>
+ *   <li>{@code railsafar.messages.maxBackoffMillis}: longest wait between retries (default 600000)</li>
+ *   <li>{@code railsafar.messages.pollMillis}: how often the outbox is checked when idle (default 1000)</li>
+ * </ul>
+ */
+final class MessageDispatcher {
+    private static final Logger LOG = Log.getLogger(MessageDispatcher.class);
+    private static final String SUBJECT_PREFIX = "Rail Safar: ";
+
+    private final BackendRepository repo;
+    private final AppSettings settings;
+    private final List<Lane> lanes = new ArrayList<>();
+    private final int maxAttempts = Integer.getInteger("railsafar.messages.maxAttempts", 8);
+    private final long backoffMillis = Long.getLong("railsafar.messages.backoffMillis", 2_000);
+    private final long maxBackoffMillis = Long.getLong("railsafar.messages.maxBackoffMillis", 600_000);
+    private final long pollMillis = Long.getLong("railsafar.messages.pollMillis", 1_000);
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private final Counter sent = metrics.counter("messages.sent");
+    private final Counter retried = metrics.counter("messages.retried");
+    private final Counter failed = metrics.counter("messages.failed");
+    private final Counter rateLimitWaits = metrics.counter("messages.rateLimitWaits");
+
+    MessageDispatcher(BackendRepository repo, AppSettings settings, List<MessageProvider> providers) {
+        this.repo = repo;
+        this.settings = settings;
+        for (MessageProvider provider : providers) {
+            Lane lane = new Lane(provider);
+            lanes.add(lane);
+            lane.start();
+        }
+    }
+
+    /**
+     * The outbox messages that carry these notifications on each channel switched on in
+     * {@link AppSettings}, for users with an address on that channel. Nothing is saved here.
+     */
+    List<OutboundMessage> compose(List<Notification> notifications) {
+        boolean email = settings.getBoolean(AppSettings.EMAIL_NOTIFICATIONS, true);
+        boolean sms = settings.getBoolean(AppSettings.SMS_NOTIFICATIONS, true);
+        if (notifications.isEmpty() || (!email && !sms)) {
+            return List.of();
+        }
+        Map<String, Optional<User>> users = new HashMap<>();
+        List<OutboundMessage> messages = new ArrayList<>();
+        for (Notification notification : notifications) {
+            Optional<User> user = users.computeIfAbsent(notification.userId(), repo::findUserById);
+            if (user.isEmpty()) {
+                continue;
+            }
+            if (email && hasText(user.get().getEmail())) {
+                messages.add(OutboundMessage.create(MessageChannel.EMAIL, user.get().getEmail(),
+                        SUBJECT_PREFIX + notification.title(), notification.message()));
+            }
+            if (sms && hasText(user.get().getPhone())) {
+                messages.add(OutboundMessage.create(MessageChannel.SMS, user.get().getPhone(), null,
+                        notification.title() + ": " + notification.message()));
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * Check the outbox now rather than at the next poll, after new messages are saved.
+     */
+    void wake() {
+        lanes.forEach(Lane::wake);
+    }
+
+    /**
+     * The wait before the next attempt of a message that has failed {@code attempts} times:
+     * the doubling backoff, capped, with its upper half randomised so retries of a batch
+     * that failed together spread out.
+     */
+    private long retryDelayMillis(int attempts) {
+        long delay = backoffMillis << Math.min(attempts - 1, 30);
+        delay = delay <= 0 ? maxBackoffMillis : Math.min(delay, maxBackoffMillis);
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    /** One provider's send loop. */
+    private final class Lane {
+        private final MessageProvider provider;
+        private final MessageChannel channel;
+        private final double ratePerSecond;
+        private final int batchSize;
+        private final TokenBucketLimiter limiter;
+        private final OperationMetrics sendMetrics;
+        private final Object signal = new Object();
+        private boolean woken;
+
+        private Lane(MessageProvider provider) {
+            this.provider = provider;
+            this.channel = provider.getChannel();
+            this.ratePerSecond = Double.parseDouble(System.getProperty(
+                    "railsafar.messages." + channel.name().toLowerCase(Locale.ROOT) + ".ratePerSecond",
+                    channel == MessageChannel.EMAIL ? "200" : "100"));
+            // A second's worth of messages at most, so a full batch can always be let through
+            this.batchSize = (int) Math.max(1, Math.min(provider.getMaxBatchSize(), ratePerSecond));
+            this.limiter = new TokenBucketLimiter(batchSize, ratePerSecond);
+            this.sendMetrics = metrics.operation("messages.send." + channel.name().toLowerCase(Locale.ROOT));
+        }
+
+        private void start() {
+            Thread thread = new Thread(this::run, "message-dispatch-" + channel.name().toLowerCase(Locale.ROOT));
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void wake() {
+            synchronized (signal) {
+                woken = true;
+                signal.notifyAll();
+            }
+        }
+
+        private void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    List<OutboundMessage> due = repo.getDueMessages(channel, LocalDateTime.now(), batchSize);
+                    if (due.isEmpty()) {
+                        awaitWork();
+                        continue;
+                    }
+                    awaitPermits(due.size());
+                    send(due);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    LOG.error("Message dispatch failed", e, "provider", provider.getName());
+                    sleepQuietly(pollMillis);
+                }
+            }
+        }
+
+        private void send(List<OutboundMessage> batch) {
+            long start = System.nanoTime();
+            List<DeliveryResult> results;
+            try {
+                results = provider.send(batch);
+                if (results.size() != batch.size()) {
+                    throw new MessageProviderException("Provider returned " + results.size() + " results for "
+                            + batch.size() + " messages");
+                }
+                sendMetrics.recordSince(start);
+            } catch (RuntimeException e) {
+                sendMetrics.recordFailureSince(start);
+                LOG.warn("Message provider call failed", "provider", provider.getName(), "messages", batch.size(),
+                        "reason", e.getMessage());
+                String reason = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+                results = batch.stream().map(message -> DeliveryResult.retry(reason)).toList();
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboundMessage> outcomes = new ArrayList<>(batch.size());
+            int delivered = 0;
+            int retrying = 0;
+            int exhausted = 0;
+            for (int i = 0; i < batch.size(); i++) {
+                OutboundMessage message = batch.get(i);
+                DeliveryResult result = results.get(i);
+                if (result.delivered()) {
+                    outcomes.add(message.sent());
+                    delivered++;
+                } else if (result.retryable() && message.attempts() + 1 < maxAttempts) {
+                    long delay = retryDelayMillis(message.attempts() + 1);
+                    outcomes.add(message.retryAt(now.plusNanos(TimeUnit.MILLISECONDS.toNanos(delay)), result.detail()));
+                    retrying++;
+                } else {
+                    outcomes.add(message.failed(result.detail()));
+                    exhausted++;
+                }
+            }
+            if (!repo.recordMessageAttempts(outcomes)) {
+                // Left pending as they were; the batch is picked up and sent again
+                sleepQuietly(pollMillis);
+                return;
+            }
+            sent.add(delivered);
+            retried.add(retrying);
+            failed.add(exhausted);
+        }
+
+        private void awaitPermits(int permits) throws InterruptedException {
+            while (!limiter.tryAcquire(provider.getName(), permits)) {
+                rateLimitWaits.increment();
+                TimeUnit.MILLISECONDS.sleep(Math.max(1, (long) (1000 / ratePerSecond)));
+            }
+        }
+
+        private void awaitWork() throws InterruptedException {
+            synchronized (signal) {
+                if (!woken) {
+                    signal.wait(pollMillis);
+                }
+                woken = false;
+            }
+        }
+
+        private void sleepQuietly(long millis) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
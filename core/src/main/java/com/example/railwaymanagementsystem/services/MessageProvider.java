@@ -0,0 +1,55 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.models.MessageChannel;
+import com.example.railwaymanagementsystem.models.OutboundMessage;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * Service interface for email and SMS providers. Calls block and are only ever made from
+ * the message dispatcher's own threads, one call at a time per provider.
+ *
+ * Return a result per message for what the provider accepted or refused; throw
+ * {@link MessageProviderException} only when the call as a whole failed, and every message
+ * in it is retried.
+ */
+public interface MessageProvider {
+
+    String getName();
+
+    MessageChannel getChannel();
+
+    /**
+     * The most messages the provider takes in one call.
+     */
+    int getMaxBatchSize();
+
+    /**
+     * Deliver a batch; the results are in the same order as {@code messages}.
+     */
+    List<DeliveryResult> send(List<OutboundMessage> messages);
+
+    /**
+     * The first provider on the module path (or class path) for each channel, with the
+     * local sink standing in for any channel that has none.
+     */
+    static List<MessageProvider> load() {
+        List<MessageProvider> providers = new ArrayList<>();
+        Set<MessageChannel> covered = EnumSet.noneOf(MessageChannel.class);
+        for (MessageProvider provider : ServiceLoader.load(MessageProvider.class)) {
+            if (covered.add(provider.getChannel())) {
+                providers.add(provider);
+            }
+        }
+        for (MessageChannel channel : MessageChannel.values()) {
+            if (!covered.contains(channel)) {
+                providers.add(new LocalMessageSink(channel));
+            }
+        }
+        return providers;
+    }
+}
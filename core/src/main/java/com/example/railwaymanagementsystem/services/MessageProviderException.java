@@ -0,0 +1,17 @@
+package com.example.railwaymanagementsystem.services;
+
+/**
+ * A message provider could not be reached or did not answer, so nothing in the call is
+ * known to have been delivered.
+ */
+public class MessageProviderException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public MessageProviderException(String message) {
+        super(message);
+    }
+
+    public MessageProviderException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.models.NotificationType;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The views of a user's notifications offered on the notifications screen.
+ */
+public enum NotificationFilter {
+    ALL(EnumSet.noneOf(NotificationType.class), false),
+    UNREAD(EnumSet.noneOf(NotificationType.class), true),
+    BOOKING(EnumSet.of(NotificationType.BOOKING, NotificationType.PAYMENT, NotificationType.REFUND), false),
+    TRAIN_STATUS(EnumSet.of(NotificationType.TRAIN_STATUS), false);
+
+    private final Set<NotificationType> types;
+    private final boolean unreadOnly;
+
+    NotificationFilter(Set<NotificationType> types, boolean unreadOnly) {
+        this.types = types;
+        this.unreadOnly = unreadOnly;
+    }
+
+    /**
+     * The types shown, empty for every type.
+     */
+    Set<NotificationType> types() {
+        return types;
+    }
+
+    boolean unreadOnly() {
+        return unreadOnly;
+    }
+}
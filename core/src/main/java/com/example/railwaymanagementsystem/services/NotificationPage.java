@@ -0,0 +1,16 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.models.Notification;
+
+import java.util.List;
+
+/**
+ * One page of a user's notifications, newest first. Pass {@code nextCursor} back to get
+ * the page after this one; it is 0 when this is the last page.
+ */
+public record NotificationPage(List<Notification> notifications, long nextCursor) {
+
+    public boolean hasMore() {
+        return nextCursor > 0;
+    }
+}
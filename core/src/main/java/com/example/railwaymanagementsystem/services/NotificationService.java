@@ -0,0 +1,203 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
+import com.example.railwaymanagementsystem.metrics.Counter;
+import com.example.railwaymanagementsystem.metrics.MetricsRegistry;
+import com.example.railwaymanagementsystem.models.Booking;
+import com.example.railwaymanagementsystem.models.Notification;
+import com.example.railwaymanagementsystem.models.NotificationType;
+import com.example.railwaymanagementsystem.models.OutboundMessage;
+import com.example.railwaymanagementsystem.models.Payment;
+import com.example.railwaymanagementsystem.models.PaymentStatus;
+import com.example.railwaymanagementsystem.models.Refund;
+import com.example.railwaymanagementsystem.models.RefundStatus;
+import com.example.railwaymanagementsystem.models.Train;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Turns domain events into passenger notifications and answers the notifications screen.
+ * Notifications are queued and written by one background thread in batches of up to
+ * {@value #BATCH_SIZE} per transaction, so neither the action that raised an event nor a
+ * fan-out to a whole train's passengers waits on the inserts. Each batch also queues the
+ * emails and SMS that carry it, through the {@link MessageDispatcher}.
+ *
+ * Cancelled and delayed trains are announced by {@link DisruptionProcessor} as it works
+ * through the bookings; this service announces a delayed train running on time again.
+ */
+final class NotificationService {
+    private static final Logger LOG = Log.getLogger(NotificationService.class);
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy");
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String ON_TIME = "On-time";
+
+    private final BackendRepository repo;
+    private final MessageDispatcher messages;
+    private final BlockingQueue<Notification> pending = new LinkedBlockingQueue<>();
+    private final Counter written = MetricsRegistry.getInstance().counter("notifications.written");
+    private final Counter dropped = MetricsRegistry.getInstance().counter("notifications.dropped");
+
+    NotificationService(BackendRepository repo, EventBus events, MessageDispatcher messages) {
+        this.repo = repo;
+        this.messages = messages;
+        events.subscribe(DomainEvent.BookingCreated.class, event -> bookingCreated(event.booking()));
+        events.subscribe(DomainEvent.PaymentSettled.class, event -> paymentSettled(event.payment()));
+        events.subscribe(DomainEvent.BookingCancelled.class, event -> bookingCancelled(event.booking(), event.refund()));
+        events.subscribe(DomainEvent.RefundSettled.class, event -> refundSettled(event.refund()));
+        events.subscribe(DomainEvent.TrainStatusChanged.class,
+                event -> trainStatusChanged(event.train(), event.previousStatus(), event.status()));
+        MetricsRegistry.getInstance().gauge("notifications.queued", pending::size);
+
+        Thread writer = new Thread(this::writeBatches, "notification-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * A page of the user's notifications, starting after {@code cursor} (0 for the newest).
+     */
+    NotificationPage page(String userId, NotificationFilter filter, long cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // One extra row tells whether another page follows
+        List<Notification> rows = repo.getNotifications(userId, filter.types(), filter.unreadOnly(),
+                cursor > 0 ? cursor : Long.MAX_VALUE, size + 1);
+        if (rows.size() <= size) {
+            return new NotificationPage(rows, 0);
+        }
+        List<Notification> notifications = rows.subList(0, size);
+        return new NotificationPage(List.copyOf(notifications), notifications.get(size - 1).id());
+    }
+
+    private void bookingCreated(Booking booking) {
+        enqueue(booking.getUserId(), NotificationType.BOOKING, "Booking Received",
+                "Booking " + booking.getId() + " for " + trainLabel(booking) + " on " + date(booking)
+                        + " is reserved. Pay PKR " + amount(booking.getTotalAmount()) + " to confirm it.");
+    }
+
+    private void paymentSettled(Payment payment) {
+        Optional<Booking> booking = repo.findBookingById(payment.bookingId());
+        if (booking.isEmpty()) {
+            return;
+        }
+        String userId = booking.get().getUserId();
+        if (payment.status() == PaymentStatus.FAILED) {
+            enqueue(userId, NotificationType.PAYMENT, "Payment Failed",
+                    "Payment for booking " + payment.bookingId() + " did not go through: " + payment.detail() + ".");
+        } else if (PaymentProcessor.CASH_ON_DELIVERY.equals(payment.method())) {
+            enqueue(userId, NotificationType.PAYMENT, "Booking Confirmed",
+                    "Booking " + payment.bookingId() + " is confirmed. Pay PKR " + amount(payment.amount())
+                            + " in cash when you board.");
+        } else {
+            enqueue(userId, NotificationType.PAYMENT, "Payment Successful",
+                    "Payment of PKR " + amount(payment.amount()) + " received for booking " + payment.bookingId()
+                            + ". Your ticket is confirmed.");
+        }
+    }
+
+    private void bookingCancelled(Booking booking, Refund refund) {
+        String message = "Booking " + booking.getId() + " for " + trainLabel(booking) + " on " + date(booking)
+                + " has been cancelled.";
+        if (refund == null) {
+            enqueue(booking.getUserId(), NotificationType.BOOKING, "Booking Cancelled", message);
+        } else if (refund.status() == RefundStatus.PENDING) {
+            enqueue(booking.getUserId(), NotificationType.REFUND, "Booking Cancelled",
+                    message + " A refund of PKR " + amount(refund.amount()) + " is on its way to your card.");
+        } else {
+            enqueue(booking.getUserId(), NotificationType.REFUND, "Booking Cancelled",
+                    message + " A refund of PKR " + amount(refund.amount()) + " can be collected at the booking counter.");
+        }
+    }
+
+    private void refundSettled(Refund refund) {
+        Optional<Booking> booking = repo.findBookingById(refund.bookingId());
+        if (booking.isEmpty()) {
+            return;
+        }
+        if (refund.status() == RefundStatus.COMPLETED) {
+            enqueue(booking.get().getUserId(), NotificationType.REFUND, "Refund Processed",
+                    "Refund of PKR " + amount(refund.amount()) + " for booking " + refund.bookingId()
+                            + " has been returned to your card.");
+        } else {
+            enqueue(booking.get().getUserId(), NotificationType.REFUND, "Refund Failed",
+                    "Refund of PKR " + amount(refund.amount()) + " for booking " + refund.bookingId()
+                            + " could not be returned to your card. Please contact the booking counter.");
+        }
+    }
+
+    /**
+     * Tell today's passengers when a delayed train is back on time, a chunk of bookings at a time.
+     */
+    private void trainStatusChanged(Train train, String previousStatus, String status) {
+        if (!ON_TIME.equals(status) || !DisruptionProcessor.DELAYED.equals(previousStatus)) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        String message = "Train " + train.getTrainNumber() + " (" + train.getTrainName() + ") on "
+                + today.format(DATE_FORMAT) + " is running on time again.";
+        long cursor = 0;
+        int notified = 0;
+        while (true) {
+            BookingChunk chunk = repo.getActiveBookingChunk(train.getId(), today, cursor, BATCH_SIZE);
+            if (chunk == null) {
+                break;
+            }
+            for (Booking booking : chunk.bookings()) {
+                enqueue(booking.getUserId(), NotificationType.TRAIN_STATUS, "Train Back On Time", message);
+            }
+            notified += chunk.bookings().size();
+            if (chunk.bookings().size() < BATCH_SIZE) {
+                break;
+            }
+            cursor = chunk.nextCursor();
+        }
+        LOG.info("Train status notifications queued", "train", train.getTrainNumber(), "passengers", notified);
+    }
+
+    private void enqueue(String userId, NotificationType type, String title, String message) {
+        pending.add(Notification.create(userId, type, title, message));
+    }
+
+    private void writeBatches() {
+        List<Notification> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            try {
+                batch.add(pending.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            pending.drainTo(batch, BATCH_SIZE - 1);
+            List<OutboundMessage> outbound = messages.compose(batch);
+            if (repo.addNotifications(batch, outbound)) {
+                written.add(batch.size());
+                if (!outbound.isEmpty()) {
+                    messages.wake();
+                }
+            } else {
+                // Notifications are informational; losing a batch must not stall the ones after it
+                dropped.add(batch.size());
+            }
+            batch.clear();
+        }
+    }
+
+    private static String trainLabel(Booking booking) {
+        return "Train " + booking.getTrainNumber() + " (" + booking.getTrainName() + ")";
+    }
+
+    private static String date(Booking booking) {
+        return booking.getTravelDate().format(DATE_FORMAT);
+    }
+
+    private static String amount(double value) {
+        return String.format("%,.0f", value);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.railwaymanagementsystem.services;
+
+import java.util.ServiceLoader;
+
+/**
+ * Service interface for card payment processors. Calls block and are only ever made from
+ * the payment gateway's worker pool, never the FX thread. A call that overruns its timeout
+ * is interrupted, so implementations should give up when interrupted.
+ *
+ * Declines are returned as a response; throw {@link PaymentGatewayException} only when the
+ * gateway could not be reached or gave no answer, which counts towards opening the circuit.
+ */
+public interface PaymentGateway {
+
+    String getName();
+
+    GatewayResponse authorize(GatewayRequest request);
+
+    /**
+     * Collect an authorized amount; {@code request.authorization()} is the reference authorize returned.
+     */
+    GatewayResponse capture(GatewayRequest request);
+
+    GatewayResponse refund(GatewayRequest request);
+
+    /**
+     * The first gateway on the module path (or class path), or the in-process simulator
+     * when none is installed.
+     */
+    static PaymentGateway load() {
+        return ServiceLoader.load(PaymentGateway.class)
+                .findFirst()
+                .orElseGet(SimulatedPaymentGateway::new);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.metrics.Counter;
+import com.example.railwaymanagementsystem.metrics.MetricsRegistry;
+import com.example.railwaymanagementsystem.metrics.OperationMetrics;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Calls a PaymentGateway off the caller's thread with bounded concurrency, a per-call
+ * timeout and a circuit breaker, so a slow or failing gateway costs callers a fast error
+ * rather than a blocked thread. Configure with system properties:
+ * <ul>
+ *   <li>{@code railsafar.gateway.concurrency}: calls in flight at once (default 16)</li>
+ *   <li>{@code railsafar.gateway.timeoutMillis}: per-call timeout (default 2000)</li>
+ *   <li>{@code railsafar.gateway.breaker.failures}: failures in a row that open the circuit (default 5)</li>
+ *   <li>{@code railsafar.gateway.breaker.openMillis}: how long it stays open (default 10000)</li>
+ * </ul>
+ */
+final class PaymentGatewayClient {
+    private static final int QUEUE_CAPACITY = 256;
+
+    /** The call was dropped before reaching the gateway, so it says nothing about the gateway's health. */
+    private static final class GatewayBusyException extends PaymentGatewayException {
+        private static final long serialVersionUID = 1L;
+
+        private GatewayBusyException() {
+            super("Payment gateway busy, try again shortly");
+        }
+    }
+
+    private final PaymentGateway gateway;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final CircuitBreaker breaker;
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private final OperationMetrics authorizeMetrics = metrics.operation("gateway.authorize");
+    private final OperationMetrics captureMetrics = metrics.operation("gateway.capture");
+    private final OperationMetrics refundMetrics = metrics.operation("gateway.refund");
+    private final Counter timeouts = metrics.counter("gateway.timeouts");
+    private final Counter rejected = metrics.counter("gateway.rejected");
+    private final Counter shortCircuited = metrics.counter("gateway.shortCircuited");
+
+    PaymentGatewayClient(PaymentGateway gateway, int concurrency, long timeoutMillis, CircuitBreaker breaker) {
+        this.gateway = gateway;
+        this.timeoutMillis = timeoutMillis;
+        this.breaker = breaker;
+        this.executor = createExecutor(concurrency);
+        metrics.gauge("gateway.inFlight", executor::getActiveCount);
+        metrics.gauge("gateway.queueDepth", () -> executor.getQueue().size());
+        metrics.gauge("gateway.circuitState", () -> breaker.getState().ordinal());
+    }
+
+    static PaymentGatewayClient fromSystemProperties(PaymentGateway gateway) {
+        return new PaymentGatewayClient(gateway,
+                Integer.getInteger("railsafar.gateway.concurrency", 16),
+                Long.getLong("railsafar.gateway.timeoutMillis", 2_000),
+                new CircuitBreaker(Integer.getInteger("railsafar.gateway.breaker.failures", 5),
+                        TimeUnit.MILLISECONDS.toNanos(Long.getLong("railsafar.gateway.breaker.openMillis", 10_000))));
+    }
+
+    CompletableFuture<GatewayResponse> authorize(GatewayRequest request) {
+        return call(authorizeMetrics, () -> gateway.authorize(request));
+    }
+
+    CompletableFuture<GatewayResponse> capture(GatewayRequest request) {
+        return call(captureMetrics, () -> gateway.capture(request));
+    }
+
+    CompletableFuture<GatewayResponse> refund(GatewayRequest request) {
+        return call(refundMetrics, () -> gateway.refund(request));
+    }
+
+    /**
+     * Fails with PaymentGatewayException, possibly wrapped in a CompletionException, when the
+     * circuit is open, the pool is saturated, the call times out or the gateway throws.
+     */
+    private CompletableFuture<GatewayResponse> call(OperationMetrics operation, Callable<GatewayResponse> call) {
+        if (!breaker.allowRequest()) {
+            shortCircuited.increment();
+            return CompletableFuture.failedFuture(new PaymentGatewayException("Payment gateway unavailable, try again shortly"));
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<GatewayResponse> result = new CompletableFuture<>();
+        AtomicReference<Future<?>> task = new AtomicReference<>();
+        try {
+            task.set(executor.submit(() -> {
+                if (System.nanoTime() - start > TimeUnit.MILLISECONDS.toNanos(timeoutMillis)) {
+                    // Waited out the whole timeout in the queue: our backlog, not the gateway's health
+                    breaker.recordSkipped();
+                    rejected.increment();
+                    result.completeExceptionally(new GatewayBusyException());
+                    return;
+                }
+                // The timeout covers the gateway call itself; cancelling interrupts the worker
+                CompletableFuture.delayedExecutor(timeoutMillis, TimeUnit.MILLISECONDS).execute(() -> {
+                    if (result.completeExceptionally(new TimeoutException())) {
+                        task.get().cancel(true);
+                    }
+                });
+                try {
+                    result.complete(call.call());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            breaker.recordSkipped();
+            rejected.increment();
+            return CompletableFuture.failedFuture(new GatewayBusyException());
+        }
+
+        return result.handle((response, error) -> {
+            if (error == null) {
+                operation.recordSince(start);
+                breaker.recordSuccess();
+                return response;
+            }
+            operation.recordFailureSince(start);
+            if (error instanceof GatewayBusyException busy) {
+                throw busy;
+            }
+            breaker.recordFailure();
+            if (error instanceof TimeoutException) {
+                timeouts.increment();
+                throw new PaymentGatewayException("Payment gateway timed out after " + timeoutMillis + " ms");
+            }
+            throw error instanceof PaymentGatewayException gatewayError ? gatewayError
+                    : new PaymentGatewayException("Payment gateway call failed", error);
+        });
+    }
+
+    private static ThreadPoolExecutor createExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "payment-gateway-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.railwaymanagementsystem.services;
+
+/**
+ * The payment gateway could not be reached, did not answer in time, or is being skipped
+ * while its circuit is open. Unlike a decline, the outcome of the call is unknown.
+ */
+public class PaymentGatewayException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public PaymentGatewayException(String message) {
+        super(message);
+    }
+
+    public PaymentGatewayException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,331 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
+import com.example.railwaymanagementsystem.metrics.Counter;
+import com.example.railwaymanagementsystem.metrics.MetricsRegistry;
+import com.example.railwaymanagementsystem.models.Booking;
+import com.example.railwaymanagementsystem.models.Payment;
+import com.example.railwaymanagementsystem.models.PaymentStatus;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs a payment through Pending, Authorized and Captured (or Failed), appending each step
+ * to the payments ledger. Every request carries an idempotency key: the first request with
+ * a key claims it and does the work, and any repeat gets the stored outcome back without
+ * charging again. Settled outcomes are also kept in memory so a double click is answered
+ * without touching the database.
+ *
+ * Card payments are authorized and captured through the PaymentGateway asynchronously;
+ * {@link #payAsync} returns as soon as the attempt is recorded as Pending. Gateway
+ * callbacks are settled on a single background thread, in order. Captured and failed
+ * payments are published on the {@link EventBus}.
+ *
+ * A booking cancelled while its payment is in flight is never brought back: an
+ * authorization is not captured once the booking is cancelled, and a capture that lands
+ * after the cancellation is refunded through the gateway and the attempt recorded Failed.
+ */
+final class PaymentProcessor {
+    private static final Logger LOG = Log.getLogger(PaymentProcessor.class);
+    static final String CASH_ON_DELIVERY = "Cash on Delivery";
+    private static final int SETTLED_CACHE_SIZE = 10_000;
+    private static final int LOCK_STRIPES = 64;
+    private static final String CANCELLED_BEFORE_CAPTURE = "Booking was cancelled before the payment was captured";
+
+    private record InFlight(String bookingId, CompletableFuture<PaymentResult> result) {}
+
+    private final BackendRepository repo;
+    private final PaymentGatewayClient gateway;
+    private final EventBus events;
+    private final ExecutorService settlement = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "payment-settlement");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Object[] bookingLocks = new Object[LOCK_STRIPES];
+    // Attempts started by this process and not yet settled, by idempotency key and by booking
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, String> activeKeyByBooking = new ConcurrentHashMap<>();
+    private final Counter replays = MetricsRegistry.getInstance().counter("payments.replayed");
+    private final Counter failures = MetricsRegistry.getInstance().counter("payments.failed");
+    private final Map<String, Payment> settled = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Payment> eldest) {
+            return size() > SETTLED_CACHE_SIZE;
+        }
+    };
+
+    PaymentProcessor(BackendRepository repo, PaymentGatewayClient gateway, EventBus events) {
+        this.repo = repo;
+        this.gateway = gateway;
+        this.events = events;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            bookingLocks[i] = new Object();
+        }
+        MetricsRegistry.getInstance().gauge("payments.inFlight", inFlight::size);
+    }
+
+    /**
+     * Pay and wait for the outcome. Only for callers that may block, such as request threads.
+     */
+    PaymentResult pay(Booking booking, String method, String idempotencyKey) {
+        return payAsync(booking, method, idempotencyKey).join();
+    }
+
+    CompletableFuture<PaymentResult> payAsync(Booking booking, String method, String idempotencyKey) {
+        CompletableFuture<PaymentResult> replay = replay(booking.getId(), idempotencyKey);
+        if (replay != null) {
+            return replay;
+        }
+
+        // One attempt per booking at a time, so two keys cannot both capture the same booking
+        synchronized (lockFor(booking.getId())) {
+            // A request with the same key may have started or finished while this one waited
+            replay = replay(booking.getId(), idempotencyKey);
+            if (replay != null) {
+                return replay;
+            }
+            Optional<Booking> current = repo.findBookingById(booking.getId());
+            if (current.isEmpty()) {
+                return rejected("Booking not found");
+            }
+            if ("Paid".equals(current.get().getPaymentStatus())) {
+                return rejected("Booking is already paid");
+            }
+            if ("Cancelled".equals(current.get().getStatus())) {
+                return rejected("Booking is cancelled");
+            }
+            if (activeKeyByBooking.containsKey(booking.getId())) {
+                return rejected("A payment for this booking is already in progress");
+            }
+            String paymentId = repo.nextPaymentId();
+            if (paymentId == null) {
+                return rejected("Payment could not be recorded");
+            }
+
+            Payment pending = new Payment(paymentId, booking.getId(), idempotencyKey, PaymentStatus.PENDING,
+                    current.get().getTotalAmount(), method, "", LocalDateTime.now());
+            CompletableFuture<PaymentResult> result = new CompletableFuture<>();
+            // Registered before the key is claimed, so a replay never sees a claimed key with no owner
+            inFlight.put(idempotencyKey, new InFlight(booking.getId(), result));
+            if (!repo.claimIdempotencyKey(pending)) {
+                inFlight.remove(idempotencyKey);
+                replay = replay(booking.getId(), idempotencyKey);
+                return replay != null ? replay : rejected("Payment could not be recorded");
+            }
+            activeKeyByBooking.put(booking.getId(), idempotencyKey);
+            authorize(pending).whenComplete((outcome, error) -> {
+                activeKeyByBooking.remove(booking.getId(), idempotencyKey);
+                inFlight.remove(idempotencyKey);
+                if (error != null) {
+                    LOG.error("Payment settlement failed", error, "paymentId", paymentId);
+                    result.complete(new PaymentResult(paymentId, PaymentStatus.PENDING, "Payment outcome unknown", false));
+                } else {
+                    result.complete(outcome);
+                }
+            });
+            return result;
+        }
+    }
+
+    /**
+     * Run {@code work} holding the booking's payment lock, so no payment for it starts
+     * meanwhile. Used by cancellations, which must not interleave with a payment.
+     */
+    <T> T withBookingLock(String bookingId, Supplier<T> work) {
+        synchronized (lockFor(bookingId)) {
+            return work.get();
+        }
+    }
+
+    /**
+     * Whether a payment this process started for the booking is still being authorized or
+     * captured.
+     */
+    boolean isInFlight(String bookingId) {
+        return activeKeyByBooking.containsKey(bookingId);
+    }
+
+    private Object lockFor(String bookingId) {
+        return bookingLocks[Math.floorMod(bookingId.hashCode(), LOCK_STRIPES)];
+    }
+
+    private CompletableFuture<PaymentResult> authorize(Payment pending) {
+        if (CASH_ON_DELIVERY.equals(pending.method())) {
+            // Nothing to collect up front; the fare is paid on boarding
+            return CompletableFuture.supplyAsync(() -> {
+                Payment authorized = pending.transitionTo(PaymentStatus.AUTHORIZED, "Cash on delivery");
+                if (!repo.recordPaymentTransition(authorized, null)) {
+                    return fail(pending, "Authorization could not be recorded");
+                }
+                return capture(authorized, "Cash on delivery");
+            }, settlement);
+        }
+        return gateway.authorize(request(pending, null)).handleAsync((response, error) -> {
+            if (error != null) {
+                return CompletableFuture.completedFuture(fail(pending, reason(error)));
+            }
+            if (!response.approved()) {
+                return CompletableFuture.completedFuture(fail(pending, response.message()));
+            }
+            Payment authorized = pending.transitionTo(PaymentStatus.AUTHORIZED, response.reference());
+            if (!repo.recordPaymentTransition(authorized, null)) {
+                return CompletableFuture.completedFuture(fail(pending, "Authorization could not be recorded"));
+            }
+            return captureAuthorized(authorized);
+        }, settlement).thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<PaymentResult> captureAuthorized(Payment authorized) {
+        if (isCancelled(authorized.bookingId())) {
+            // Left uncaptured, the authorization lapses at the gateway
+            return CompletableFuture.completedFuture(fail(authorized, CANCELLED_BEFORE_CAPTURE));
+        }
+        return gateway.capture(request(authorized, authorized.detail())).handleAsync((response, error) -> {
+            if (error != null) {
+                return CompletableFuture.completedFuture(fail(authorized, reason(error)));
+            }
+            if (!response.approved()) {
+                return CompletableFuture.completedFuture(fail(authorized, response.message()));
+            }
+            PaymentResult result = capture(authorized, response.reference());
+            if (result != null) {
+                return CompletableFuture.completedFuture(result);
+            }
+            return returnCapture(authorized, response.reference());
+        }, settlement).thenCompose(Function.identity());
+    }
+
+    /**
+     * Record the capture and mark the booking paid, in one transaction. Returns null, with
+     * nothing recorded, if the booking was cancelled meanwhile and a card capture must be
+     * returned.
+     */
+    private PaymentResult capture(Payment authorized, String reference) {
+        Optional<Booking> booking = repo.findBookingById(authorized.bookingId());
+        if (booking.isEmpty()) {
+            return fail(authorized, "Booking no longer exists");
+        }
+        booking.get().setPaymentMethod(authorized.method());
+        booking.get().setPaymentStatus("Paid");
+        booking.get().setStatus("Confirmed");
+        Payment captured = authorized.transitionTo(PaymentStatus.CAPTURED, reference);
+        if (!repo.recordPaymentTransition(captured, booking.get())) {
+            if (!isCancelled(authorized.bookingId())) {
+                return fail(authorized, "Capture could not be recorded");
+            }
+            // Nothing was collected for cash on delivery, so there is nothing to return
+            return CASH_ON_DELIVERY.equals(authorized.method()) ? fail(authorized, CANCELLED_BEFORE_CAPTURE) : null;
+        }
+        remember(captured);
+        events.publish(new DomainEvent.PaymentSettled(captured));
+        return new PaymentResult(captured.paymentId(), captured.status(), captured.detail(), false);
+    }
+
+    /**
+     * Refund a capture the gateway made for a booking cancelled meanwhile, and fail the attempt.
+     */
+    private CompletableFuture<PaymentResult> returnCapture(Payment authorized, String reference) {
+        LOG.warn("Capture landed on a cancelled booking; refunding", "paymentId", authorized.paymentId(),
+                "bookingId", authorized.bookingId());
+        return gateway.refund(request(authorized, reference)).handleAsync((response, error) -> {
+            if (error == null && response.approved()) {
+                return fail(authorized, CANCELLED_BEFORE_CAPTURE + "; capture " + reference + " refunded");
+            }
+            String failure = error != null ? reason(error) : response.message();
+            LOG.error("Refund of capture on a cancelled booking failed", "paymentId", authorized.paymentId(),
+                    "bookingId", authorized.bookingId(), "reference", reference, "reason", failure);
+            return fail(authorized, CANCELLED_BEFORE_CAPTURE + "; refund of capture " + reference + " failed: " + failure);
+        }, settlement);
+    }
+
+    private boolean isCancelled(String bookingId) {
+        return repo.findBookingById(bookingId).map(booking -> "Cancelled".equals(booking.getStatus())).orElse(false);
+    }
+
+    private PaymentResult fail(Payment current, String reason) {
+        failures.increment();
+        Payment failed = current.transitionTo(PaymentStatus.FAILED, reason);
+        if (repo.recordPaymentTransition(failed, null)) {
+            remember(failed);
+            events.publish(new DomainEvent.PaymentSettled(failed));
+        } else {
+            // The key stays at its last recorded state and is failed again on its next replay
+            LOG.warn("Payment left unsettled", "paymentId", current.paymentId(), "status", current.status());
+        }
+        return new PaymentResult(failed.paymentId(), failed.status(), reason, false);
+    }
+
+    /**
+     * The outcome already recorded for this key, or null if the key is new.
+     */
+    private CompletableFuture<PaymentResult> replay(String bookingId, String idempotencyKey) {
+        InFlight running = inFlight.get(idempotencyKey);
+        if (running != null) {
+            checkSameBooking(running.bookingId(), bookingId);
+            replays.increment();
+            return running.result().thenApply(PaymentProcessor::asReplay);
+        }
+
+        Payment payment;
+        synchronized (settled) {
+            payment = settled.get(idempotencyKey);
+        }
+        if (payment == null) {
+            payment = repo.findPaymentByIdempotencyKey(idempotencyKey).orElse(null);
+            if (payment == null) {
+                return null;
+            }
+        }
+        checkSameBooking(payment.bookingId(), bookingId);
+        replays.increment();
+        if (!payment.status().isSettled()) {
+            // Claimed but owned by no running attempt: the process stopped mid-payment
+            return CompletableFuture.completedFuture(asReplay(fail(payment, "Interrupted before settlement")));
+        }
+        remember(payment);
+        return CompletableFuture.completedFuture(
+                new PaymentResult(payment.paymentId(), payment.status(), payment.detail(), true));
+    }
+
+    private void remember(Payment payment) {
+        synchronized (settled) {
+            settled.put(payment.idempotencyKey(), payment);
+        }
+    }
+
+    private static void checkSameBooking(String claimedFor, String bookingId) {
+        if (!claimedFor.equals(bookingId)) {
+            throw new IllegalArgumentException("Idempotency key was already used for another booking");
+        }
+    }
+
+    private static GatewayRequest request(Payment payment, String authorization) {
+        return new GatewayRequest(payment.paymentId(), payment.bookingId(), payment.amount(), payment.method(),
+                authorization);
+    }
+
+    private static String reason(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof PaymentGatewayException ? cause.getMessage() : "Payment gateway error";
+    }
+
+    private static PaymentResult asReplay(PaymentResult result) {
+        return new PaymentResult(result.paymentId(), result.status(), result.detail(), true);
+    }
+
+    private static CompletableFuture<PaymentResult> rejected(String detail) {
+        return CompletableFuture.completedFuture(PaymentResult.rejected(detail));
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.models.PaymentStatus;
+
+/**
+ * Outcome of a payment request. {@code replayed} is true when the idempotency key had been
+ * seen before and the stored outcome was returned without charging again.
+ */
+public record PaymentResult(String paymentId, PaymentStatus status, String detail, boolean replayed) {
+
+    static PaymentResult rejected(String detail) {
+        return new PaymentResult(null, PaymentStatus.FAILED, detail, false);
+    }
+
+    public boolean succeeded() {
+        return status == PaymentStatus.CAPTURED;
+    }
+
+    /**
+     * True while another request with the same key is still being processed.
+     */
+    public boolean inProgress() {
+        return !status.isSettled();
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.railwaymanagementsystem.services;
+
+/**
+ * Thrown when a booking carries a fare quote token that has expired, was not issued here, or
+ * was issued for a different journey.
+ */
+public class QuoteRejectedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public QuoteRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
+import com.example.railwaymanagementsystem.metrics.Counter;
+import com.example.railwaymanagementsystem.metrics.MetricsRegistry;
+import com.example.railwaymanagementsystem.models.Train;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Issues fare quotes from the {@link FareEngine} with a signed token that holds the price
+ * for a while, and checks those tokens when a booking presents one. A token carries the
+ * journey, seats, fare and expiry, signed with HMAC-SHA256, so checking it needs no lookup
+ * and works in any process that shares the key.
+ *
+ * Quotes are cached per search (train, stations, date, class and seats) and handed out
+ * again while at least half their lifetime is left and the fare table they were priced from
+ * is still current, so repeated searches neither price nor sign until seats are booked or
+ * released, or the fare otherwise changes. A quote already handed out is still honoured
+ * when booked, since its token is.
+ *
+ * Configure with system properties:
+ * <ul>
+ *   <li>{@code railsafar.quotes.secret}: Base64 signing key shared by every process that
+ *       books; without one a random key is made, and tokens only work in this process</li>
+ *   <li>{@code railsafar.quotes.ttlSeconds}: how long a quoted price holds (default 600)</li>
+ *   <li>{@code railsafar.quotes.maxCached}: quotes cached before the cache is emptied (default 50000)</li>
+ * </ul>
+ */
+final class QuoteService {
+    private static final Logger LOG = Log.getLogger(QuoteService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String SEPARATOR = "|";
+    private static final int FIELDS = 8;
+
+    private record SearchKey(String trainId, String from, String to, LocalDate date, String seatClass, int seats) {}
+
+    private record CachedQuote(SignedQuote quote, long expiresAtSecond, long tableVersion) {}
+
+    private final FareEngine fares;
+    private final SecretKeySpec key = signingKey();
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+    private final long ttlSeconds = Long.getLong("railsafar.quotes.ttlSeconds", 600);
+    private final int maxCached = Integer.getInteger("railsafar.quotes.maxCached", 50_000);
+    private final Map<SearchKey, CachedQuote> cache = new ConcurrentHashMap<>();
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private final Counter issued = metrics.counter("quotes.issued");
+    private final Counter cacheHits = metrics.counter("quotes.cacheHits");
+    private final Counter rejected = metrics.counter("quotes.rejected");
+
+    QuoteService(FareEngine fares) {
+        this.fares = fares;
+        metrics.gauge("quotes.cached", cache::size);
+    }
+
+    SignedQuote quote(Train train, String from, String to, LocalDate date, String seatClass, int seats) {
+        SearchKey searchKey = new SearchKey(train.getId(), stationKey(from), stationKey(to), date,
+                seatClass == null ? "" : seatClass, seats);
+        long now = System.currentTimeMillis() / 1000;
+        long tableVersion = fares.tableVersion(train, date, seatClass);
+        CachedQuote cached = cache.get(searchKey);
+        if (cached != null && cached.tableVersion() == tableVersion && cached.expiresAtSecond() - now >= ttlSeconds / 2) {
+            cacheHits.increment();
+            return cached.quote();
+        }
+        SignedQuote signed = sign(fares.quote(train, from, to, date, seatClass, seats), searchKey, now + ttlSeconds);
+        if (cache.size() >= maxCached) {
+            cache.clear();
+        }
+        cache.put(searchKey, new CachedQuote(signed, now + ttlSeconds, tableVersion));
+        issued.increment();
+        return signed;
+    }
+
+    /**
+     * The per-seat fare a token holds, if it is genuine, unexpired and for this journey. The
+     * check is the token's own signature; nothing is looked up.
+     *
+     * @throws QuoteRejectedException otherwise
+     */
+    int redeem(String token, Train train, String from, String to, LocalDate date, String seatClass, int seats) {
+        String[] fields = verify(token);
+        if (!fields[0].equals(train.getTrainNumber()) || !fields[1].equals(stationKey(from))
+                || !fields[2].equals(stationKey(to)) || !fields[3].equals(date.toString())
+                || !fields[4].equals(seatClass == null ? "" : seatClass) || !fields[5].equals(Integer.toString(seats))) {
+            rejected.increment();
+            throw new QuoteRejectedException("The quoted fare is for a different journey");
+        }
+        if (Long.parseLong(fields[7]) < System.currentTimeMillis() / 1000) {
+            rejected.increment();
+            throw new QuoteRejectedException("The quoted fare has expired");
+        }
+        return Integer.parseInt(fields[6]);
+    }
+
+    /**
+     * Sign the quote for the journey as it was asked for, which is what a booking will repeat.
+     */
+    private SignedQuote sign(FareQuote quote, SearchKey asked, long expiresAtSecond) {
+        String payload = String.join(SEPARATOR, quote.trainNumber(), asked.from(), asked.to(),
+                quote.travelDate().toString(), asked.seatClass(), Integer.toString(quote.seats()),
+                Integer.toString(quote.farePerSeat()), Long.toString(expiresAtSecond));
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String token = encoder.encodeToString(bytes) + "." + encoder.encodeToString(macs.get().doFinal(bytes));
+        return new SignedQuote(quote, token,
+                LocalDateTime.ofInstant(Instant.ofEpochSecond(expiresAtSecond), ZoneId.systemDefault()));
+    }
+
+    private String[] verify(String token) {
+        int dot = token == null ? -1 : token.indexOf('.');
+        if (dot > 0) {
+            try {
+                Base64.Decoder decoder = Base64.getUrlDecoder();
+                byte[] payload = decoder.decode(token.substring(0, dot));
+                byte[] signature = decoder.decode(token.substring(dot + 1));
+                if (MessageDigest.isEqual(signature, macs.get().doFinal(payload))) {
+                    String[] fields = new String(payload, StandardCharsets.UTF_8).split("\\|", -1);
+                    if (fields.length == FIELDS) {
+                        return fields;
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                // Not Base64; rejected below
+            }
+        }
+        rejected.increment();
+        throw new QuoteRejectedException("The fare quote is not valid");
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private static SecretKeySpec signingKey() {
+        String secret = System.getProperty("railsafar.quotes.secret");
+        if (secret != null && !secret.isBlank()) {
+            return new SecretKeySpec(Base64.getDecoder().decode(secret.trim()), ALGORITHM);
+        }
+        LOG.info("No railsafar.quotes.secret set; fare quotes only hold in this process");
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        return new SecretKeySpec(bytes, ALGORITHM);
+    }
+
+    private static String stationKey(String station) {
+        return station == null ? "" : station.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.railwaymanagementsystem.services;
+
+import java.time.Duration;
+
+/**
+ * Share of a paid fare returned on cancellation, by time left before departure: cancelling
+ * at least {@code deadlineHours} ahead returns {@code earlyPercent}, and anything later, up
+ * to departure, returns {@code latePercent}.
+ */
+record RefundPolicy(int deadlineHours, int earlyPercent, int latePercent) {
+    static final int DEFAULT_DEADLINE_HOURS = 24;
+
+    static RefundPolicy withDeadline(int deadlineHours) {
+        return new RefundPolicy(deadlineHours, 80, 25);
+    }
+
+    int refundPercent(Duration untilDeparture) {
+        return untilDeparture.toHours() >= deadlineHours ? earlyPercent : latePercent;
+    }
+}
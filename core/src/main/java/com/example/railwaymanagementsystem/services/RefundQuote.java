@@ -0,0 +1,12 @@
+package com.example.railwaymanagementsystem.services;
+
+/**
+ * What cancelling a booking now would refund. When {@code allowed} is false the booking
+ * cannot be cancelled and {@code detail} says why.
+ */
+public record RefundQuote(boolean allowed, double amount, int percent, String detail) {
+
+    static RefundQuote notAllowed(String detail) {
+        return new RefundQuote(false, 0, 0, detail);
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.models.DayMask;
+import com.example.railwaymanagementsystem.models.MinuteOfDay;
+import com.example.railwaymanagementsystem.models.Schedule;
+import com.example.railwaymanagementsystem.models.ScheduleException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The active schedules compiled for date and time queries: departure minutes and day
+ * masks in arrays sorted by departure, and each schedule's exception dates as
+ * sorted epoch days. Finding the trains that leave on a date within a time window is a
+ * binary search for the first departure, then a mask test for each schedule in the window.
+ * Schedules whose times or days cannot be read are left out. A train may have several
+ * schedules, such as a weekday and a weekend timetable; it runs on a date if any does.
+ */
+final class ScheduleIndex {
+    private static final int[] NO_DAYS = new int[0];
+    private static final boolean[] NO_RUNS = new boolean[0];
+
+    private final Schedule[] schedules;
+    private final int[] departures;
+    private final int[] dayMasks;
+    private final int[][] exceptionDays;
+    private final boolean[][] exceptionRuns;
+    // Positions of each train's schedules in the arrays above
+    private final Map<String, int[]> byTrainNumber = new HashMap<>();
+
+    private ScheduleIndex(List<Schedule> sorted, Map<String, List<ScheduleException>> exceptions) {
+        int count = sorted.size();
+        schedules = sorted.toArray(Schedule[]::new);
+        departures = new int[count];
+        dayMasks = new int[count];
+        exceptionDays = new int[count][];
+        exceptionRuns = new boolean[count][];
+        Map<String, List<Integer>> positions = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            Schedule schedule = schedules[i];
+            departures[i] = schedule.getDepartureMinute();
+            dayMasks[i] = schedule.getDayMask();
+            positions.computeIfAbsent(key(schedule.getTrainNumber()), train -> new ArrayList<>()).add(i);
+
+            List<ScheduleException> dates = exceptions.getOrDefault(schedule.getId(), List.of()).stream()
+                    .sorted(Comparator.comparing(ScheduleException::date))
+                    .toList();
+            exceptionDays[i] = dates.isEmpty() ? NO_DAYS : new int[dates.size()];
+            exceptionRuns[i] = dates.isEmpty() ? NO_RUNS : new boolean[dates.size()];
+            for (int d = 0; d < dates.size(); d++) {
+                exceptionDays[i][d] = (int) dates.get(d).date().toEpochDay();
+                exceptionRuns[i][d] = dates.get(d).runs();
+            }
+        }
+        positions.forEach((train, indexes) ->
+                byTrainNumber.put(train, indexes.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    static ScheduleIndex compile(List<Schedule> schedules, List<ScheduleException> exceptions) {
+        List<Schedule> usable = new ArrayList<>();
+        for (Schedule schedule : schedules) {
+            if (schedule.isActive() && schedule.getDepartureMinute() != MinuteOfDay.UNKNOWN
+                    && schedule.getArrivalMinute() != MinuteOfDay.UNKNOWN) {
+                usable.add(schedule);
+            }
+        }
+        usable.sort(Comparator.comparingInt(Schedule::getDepartureMinute));
+        Map<String, List<ScheduleException>> byScheduleId = new HashMap<>();
+        for (ScheduleException exception : exceptions) {
+            byScheduleId.computeIfAbsent(exception.scheduleId(), id -> new ArrayList<>()).add(exception);
+        }
+        return new ScheduleIndex(usable, byScheduleId);
+    }
+
+    /**
+     * The schedules departing on the date at or after {@code fromMinute} and before
+     * {@code toMinute}, earliest first.
+     */
+    List<Schedule> departing(LocalDate date, int fromMinute, int toMinute) {
+        int dayBit = DayMask.of(date.getDayOfWeek());
+        int epochDay = (int) date.toEpochDay();
+        List<Schedule> running = new ArrayList<>();
+        for (int i = lowerBound(fromMinute); i < departures.length && departures[i] < toMinute; i++) {
+            if (runs(i, dayBit, epochDay)) {
+                running.add(schedules[i]);
+            }
+        }
+        return running;
+    }
+
+    /**
+     * The train's earliest schedule departing on the date, allowing for exception dates.
+     */
+    Optional<Schedule> scheduleOn(String trainNumber, LocalDate date) {
+        int[] indexes = byTrainNumber.get(key(trainNumber));
+        if (indexes == null) {
+            return Optional.empty();
+        }
+        int dayBit = DayMask.of(date.getDayOfWeek());
+        int epochDay = (int) date.toEpochDay();
+        // A train's schedules are held in departure order
+        for (int i : indexes) {
+            if (runs(i, dayBit, epochDay)) {
+                return Optional.of(schedules[i]);
+            }
+        }
+        return Optional.empty();
+    }
+
+    boolean hasSchedule(String trainNumber) {
+        return byTrainNumber.containsKey(key(trainNumber));
+    }
+
+    /**
+     * Whether any of the train's schedules departs on the date; false if it has no active
+     * schedule.
+     */
+    boolean runsOn(String trainNumber, LocalDate date) {
+        int[] indexes = byTrainNumber.get(key(trainNumber));
+        if (indexes == null) {
+            return false;
+        }
+        int dayBit = DayMask.of(date.getDayOfWeek());
+        int epochDay = (int) date.toEpochDay();
+        for (int i : indexes) {
+            if (runs(i, dayBit, epochDay)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean runs(int i, int dayBit, int epochDay) {
+        int exception = Arrays.binarySearch(exceptionDays[i], epochDay);
+        if (exception >= 0) {
+            return exceptionRuns[i][exception];
+        }
+        return (dayMasks[i] & dayBit) != 0;
+    }
+
+    private int lowerBound(int minute) {
+        int low = 0;
+        int high = departures.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (departures[middle] < minute) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static String key(String trainNumber) {
+        return trainNumber == null ? "" : trainNumber.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.models.User;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks every signed-in session in the JVM, keyed by an unguessable session id.
+ *
+ * Sessions expire after {@code railsafar.session.idleMinutes} (default 30) without
+ * access; a daemon sweeper removes them once a minute, and lookups also reject
+ * expired sessions so expiry is exact rather than sweep-bound.
+ */
+public final class SessionManager {
+    private static final SessionManager INSTANCE =
+            new SessionManager(Long.getLong("railsafar.session.idleMinutes", 30));
+    private static final int ID_BYTES = 24;
+
+    private final ConcurrentHashMap<String, UserSession> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final long idleNanos;
+
+    private SessionManager(long idleMinutes) {
+        this.idleNanos = TimeUnit.MINUTES.toNanos(idleMinutes);
+        ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweepExpired, 1, 1, TimeUnit.MINUTES);
+    }
+
+    public static SessionManager getInstance() {
+        return INSTANCE;
+    }
+
+    public UserSession create(User user) {
+        byte[] bytes = new byte[ID_BYTES];
+        random.nextBytes(bytes);
+        UserSession session = new UserSession(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes), user);
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * Resolve a live session and mark it as used.
+     */
+    public Optional<UserSession> find(String sessionId) {
+        if (sessionId == null) {
+            return Optional.empty();
+        }
+        UserSession session = sessions.get(sessionId);
+        if (session == null) {
+            return Optional.empty();
+        }
+        if (session.isIdleLongerThan(idleNanos, System.nanoTime())) {
+            sessions.remove(sessionId, session);
+            return Optional.empty();
+        }
+        session.touch();
+        return Optional.of(session);
+    }
+
+    /**
+     * Refresh the user held by every session of that user, e.g. after a profile edit.
+     */
+    public void updateUser(User user) {
+        for (UserSession session : sessions.values()) {
+            if (session.getUserId().equals(user.getId())) {
+                session.setUser(user);
+            }
+        }
+    }
+
+    public void invalidate(String sessionId) {
+        if (sessionId != null) {
+            sessions.remove(sessionId);
+        }
+    }
+
+    public int activeCount() {
+        return sessions.size();
+    }
+
+    void sweepExpired() {
+        long now = System.nanoTime();
+        sessions.values().removeIf(session -> session.isIdleLongerThan(idleNanos, now));
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.railwaymanagementsystem.services;
+
+import java.time.LocalDateTime;
+
+/**
+ * A fare quote with a token that holds its price until {@code expiresAt}. Booking with the
+ * token charges the quoted total.
+ */
+public record SignedQuote(FareQuote quote, String token, LocalDateTime expiresAt) {
+}
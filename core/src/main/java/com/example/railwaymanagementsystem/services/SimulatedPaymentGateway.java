@@ -0,0 +1,80 @@
+package com.example.railwaymanagementsystem.services;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process stand-in for a card processor, used when no real gateway is installed. Each
+ * call sleeps for an exponentially distributed time and then approves, declines, fails or
+ * hangs at configurable rates:
+ * <ul>
+ *   <li>{@code railsafar.gateway.latencyMillis}: mean latency (default 200)</li>
+ *   <li>{@code railsafar.gateway.declineRate}: fraction of authorizations declined (default 0.03)</li>
+ *   <li>{@code railsafar.gateway.errorRate}: fraction of calls that fail (default 0.01)</li>
+ *   <li>{@code railsafar.gateway.hangRate}: fraction of calls that never answer (default 0.005)</li>
+ * </ul>
+ */
+public final class SimulatedPaymentGateway implements PaymentGateway {
+    private static final long HANG_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final double meanLatencyMillis;
+    private final double declineRate;
+    private final double errorRate;
+    private final double hangRate;
+
+    public SimulatedPaymentGateway() {
+        this(Double.parseDouble(System.getProperty("railsafar.gateway.latencyMillis", "200")),
+                Double.parseDouble(System.getProperty("railsafar.gateway.declineRate", "0.03")),
+                Double.parseDouble(System.getProperty("railsafar.gateway.errorRate", "0.01")),
+                Double.parseDouble(System.getProperty("railsafar.gateway.hangRate", "0.005")));
+    }
+
+    public SimulatedPaymentGateway(double meanLatencyMillis, double declineRate, double errorRate, double hangRate) {
+        this.meanLatencyMillis = meanLatencyMillis;
+        this.declineRate = declineRate;
+        this.errorRate = errorRate;
+        this.hangRate = hangRate;
+    }
+
+    @Override
+    public String getName() {
+        return "simulator";
+    }
+
+    @Override
+    public GatewayResponse authorize(GatewayRequest request) {
+        respondAfterLatency();
+        if (ThreadLocalRandom.current().nextDouble() < declineRate) {
+            return GatewayResponse.declined("Card declined by issuer");
+        }
+        return GatewayResponse.approved("AUTH-" + UUID.randomUUID());
+    }
+
+    @Override
+    public GatewayResponse capture(GatewayRequest request) {
+        respondAfterLatency();
+        return GatewayResponse.approved(request.authorization());
+    }
+
+    @Override
+    public GatewayResponse refund(GatewayRequest request) {
+        respondAfterLatency();
+        return GatewayResponse.approved("REFUND-" + UUID.randomUUID());
+    }
+
+    private void respondAfterLatency() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double roll = random.nextDouble();
+        long millis = roll < hangRate ? HANG_MILLIS : (long) (-Math.log(1 - random.nextDouble()) * meanLatencyMillis);
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException("Simulated gateway call interrupted");
+        }
+        if (roll >= hangRate && roll < hangRate + errorRate) {
+            throw new PaymentGatewayException("Simulated gateway error");
+        }
+    }
+}
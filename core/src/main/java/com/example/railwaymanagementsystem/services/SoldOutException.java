@@ -0,0 +1,13 @@
+package com.example.railwaymanagementsystem.services;
+
+/**
+ * Thrown when a booking asks for more seats than its class has left that day, or when
+ * passengers are already waitlisted for it. The passenger can join the waitlist instead.
+ */
+public class SoldOutException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public SoldOutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.railwaymanagementsystem.services;
+
+/**
+ * A registered listener; close it to stop receiving updates.
+ */
+@FunctionalInterface
+public interface Subscription extends AutoCloseable {
+
+    @Override
+    void close();
+}
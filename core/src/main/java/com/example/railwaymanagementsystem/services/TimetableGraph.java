@@ -0,0 +1,321 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
+import com.example.railwaymanagementsystem.models.MinuteOfDay;
+import com.example.railwaymanagementsystem.models.Schedule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The timetable compiled into flat arrays, so propagating a delay touches only ints. Each
+ * schedule is a trip; each call of a trip at a station is a stop, numbered across all trips
+ * with a trip's stops consecutive. Times are minutes from the start of the day the trip
+ * departs, so stops after midnight run past 1440.
+ *
+ * Schedules hold only the first departure and the last arrival, so the calls in between
+ * are spaced evenly over the journey, each with a short dwell. A connection is a trip
+ * arriving at a station and another leaving it between the minimum transfer time and the
+ * longest wait after; both are indexed by stop, outgoing by the arriving stop and incoming
+ * by the departing one.
+ */
+final class TimetableGraph {
+    private static final Logger LOG = Log.getLogger(TimetableGraph.class);
+    private static final int DWELL_MINUTES = 2;
+
+    final String[] stations;
+    final String[] tripTrainNumbers;
+    /** First stop of each trip; a trip's stops end where the next trip's begin. */
+    final int[] tripFirstStop;
+    final int[] stopTrip;
+    final int[] stopStation;
+    final int[] stopArrival;
+    final int[] stopDeparture;
+    /** Connections: the arriving stop, the departing stop, and the minutes between them. */
+    final int[] connectionFrom;
+    final int[] connectionTo;
+    final int[] connectionSlack;
+    private final int[] outgoingStart;
+    private final int[] outgoing;
+    private final int[] incomingStart;
+    private final int[] incoming;
+    private final Map<String, Integer> tripByTrainNumber;
+    private final Map<String, Integer> stationIds;
+
+    private TimetableGraph(List<String> stations, Map<String, Integer> stationIds, List<String> trainNumbers,
+                           Map<String, Integer> tripByTrainNumber, int[] tripFirstStop, int[] stopTrip,
+                           int[] stopStation, int[] stopArrival, int[] stopDeparture,
+                           int minTransferMinutes, int maxWaitMinutes) {
+        this.stations = stations.toArray(String[]::new);
+        this.stationIds = stationIds;
+        this.tripTrainNumbers = trainNumbers.toArray(String[]::new);
+        this.tripByTrainNumber = tripByTrainNumber;
+        this.tripFirstStop = tripFirstStop;
+        this.stopTrip = stopTrip;
+        this.stopStation = stopStation;
+        this.stopArrival = stopArrival;
+        this.stopDeparture = stopDeparture;
+
+        int[][] connections = connect(minTransferMinutes, maxWaitMinutes);
+        this.connectionFrom = connections[0];
+        this.connectionTo = connections[1];
+        this.connectionSlack = connections[2];
+        this.outgoingStart = new int[stopCount() + 1];
+        this.outgoing = index(connectionFrom, outgoingStart);
+        this.incomingStart = new int[stopCount() + 1];
+        this.incoming = index(connectionTo, incomingStart);
+    }
+
+    /**
+     * Compile the active schedules, as those departing on one day; one that cannot be read is
+     * left out with a warning. Where a train has more than one schedule the first is used, so
+     * pass them earliest first.
+     */
+    static TimetableGraph compile(List<Schedule> schedules, int minTransferMinutes, int maxWaitMinutes) {
+        List<String> stations = new ArrayList<>();
+        Map<String, Integer> stationIds = new HashMap<>();
+        List<String> trainNumbers = new ArrayList<>();
+        Map<String, Integer> tripByTrainNumber = new HashMap<>();
+        List<Integer> firstStops = new ArrayList<>();
+        int[] stopTrip = new int[16];
+        int[] stopStation = new int[16];
+        int[] stopArrival = new int[16];
+        int[] stopDeparture = new int[16];
+        int stops = 0;
+
+        for (Schedule schedule : schedules) {
+            String key = key(schedule.getTrainNumber());
+            if (!schedule.isActive() || key.isEmpty() || tripByTrainNumber.containsKey(key)) {
+                continue;
+            }
+            String[] calls = schedule.getRoute() == null ? new String[0] : schedule.getRoute().trim().split("\\s*-\\s*");
+            int departure = schedule.getDepartureMinute();
+            int arrival = schedule.getArrivalMinute();
+            if (calls.length < 2 || departure < 0 || arrival < 0) {
+                LOG.warn("Schedule left out of the timetable", "scheduleId", schedule.getId(),
+                        "train", schedule.getTrainNumber());
+                continue;
+            }
+            int journey = arrival > departure ? arrival - departure : arrival + MinuteOfDay.MINUTES_PER_DAY - departure;
+
+            int trip = trainNumbers.size();
+            trainNumbers.add(schedule.getTrainNumber().trim());
+            tripByTrainNumber.put(key, trip);
+            firstStops.add(stops);
+            if (stops + calls.length > stopTrip.length) {
+                int capacity = Math.max(stopTrip.length * 2, stops + calls.length);
+                stopTrip = Arrays.copyOf(stopTrip, capacity);
+                stopStation = Arrays.copyOf(stopStation, capacity);
+                stopArrival = Arrays.copyOf(stopArrival, capacity);
+                stopDeparture = Arrays.copyOf(stopDeparture, capacity);
+            }
+            int last = calls.length - 1;
+            for (int i = 0; i <= last; i++) {
+                int passing = departure + Math.round((float) journey * i / last);
+                boolean intermediate = i > 0 && i < last;
+                stopTrip[stops] = trip;
+                String station = calls[i];
+                stopStation[stops] = stationIds.computeIfAbsent(key(station), name -> {
+                    stations.add(station);
+                    return stations.size() - 1;
+                });
+                stopArrival[stops] = intermediate ? passing - Math.min(DWELL_MINUTES, journey / last / 2) : passing;
+                stopDeparture[stops] = passing;
+                stops++;
+            }
+        }
+
+        int[] tripFirstStop = new int[trainNumbers.size() + 1];
+        for (int trip = 0; trip < trainNumbers.size(); trip++) {
+            tripFirstStop[trip] = firstStops.get(trip);
+        }
+        tripFirstStop[trainNumbers.size()] = stops;
+        return new TimetableGraph(stations, stationIds, trainNumbers, tripByTrainNumber, tripFirstStop,
+                Arrays.copyOf(stopTrip, stops), Arrays.copyOf(stopStation, stops),
+                Arrays.copyOf(stopArrival, stops), Arrays.copyOf(stopDeparture, stops),
+                minTransferMinutes, maxWaitMinutes);
+    }
+
+    int tripCount() {
+        return tripTrainNumbers.length;
+    }
+
+    int stopCount() {
+        return stopTrip.length;
+    }
+
+    int connectionCount() {
+        return connectionFrom.length;
+    }
+
+    /**
+     * @return the trip run by the train, or -1 if it has no schedule
+     */
+    int trip(String trainNumber) {
+        return tripByTrainNumber.getOrDefault(key(trainNumber), -1);
+    }
+
+    /**
+     * @return the trip's stop at the station, or -1 if the trip does not call there
+     */
+    int stopAt(int trip, String station) {
+        Integer id = stationIds.get(key(station));
+        if (id == null) {
+            return -1;
+        }
+        for (int stop = tripFirstStop[trip]; stop < tripFirstStop[trip + 1]; stop++) {
+            if (stopStation[stop] == id) {
+                return stop;
+            }
+        }
+        return -1;
+    }
+
+    boolean isFirstStop(int stop) {
+        return stop == tripFirstStop[stopTrip[stop]];
+    }
+
+    boolean isLastStop(int stop) {
+        return stop == tripFirstStop[stopTrip[stop] + 1] - 1;
+    }
+
+    int outgoingFrom(int stop) {
+        return outgoingStart[stop];
+    }
+
+    int outgoingTo(int stop) {
+        return outgoingStart[stop + 1];
+    }
+
+    int outgoing(int position) {
+        return outgoing[position];
+    }
+
+    int incomingFrom(int stop) {
+        return incomingStart[stop];
+    }
+
+    int incomingTo(int stop) {
+        return incomingStart[stop + 1];
+    }
+
+    int incoming(int position) {
+        return incoming[position];
+    }
+
+    /**
+     * Pair each stop a trip arrives at with the departures of other trips from the same
+     * station inside the transfer window, found by binary search over the station's
+     * departures sorted by time of day.
+     */
+    private int[][] connect(int minTransferMinutes, int maxWaitMinutes) {
+        int stopCount = stopCount();
+        // Departing stops grouped by station, each group sorted by time of day
+        int[] byStationStart = new int[stations.length + 1];
+        for (int stop = 0; stop < stopCount; stop++) {
+            if (!isLastStop(stop)) {
+                byStationStart[stopStation[stop] + 1]++;
+            }
+        }
+        for (int station = 0; station < stations.length; station++) {
+            byStationStart[station + 1] += byStationStart[station];
+        }
+        long[] departures = new long[byStationStart[stations.length]];
+        int[] fill = Arrays.copyOf(byStationStart, stations.length);
+        for (int stop = 0; stop < stopCount; stop++) {
+            if (!isLastStop(stop)) {
+                departures[fill[stopStation[stop]]++] = ((long) Math.floorMod(stopDeparture[stop], MinuteOfDay.MINUTES_PER_DAY) << 32) | stop;
+            }
+        }
+        for (int station = 0; station < stations.length; station++) {
+            Arrays.sort(departures, byStationStart[station], byStationStart[station + 1]);
+        }
+
+        int[] from = new int[16];
+        int[] to = new int[16];
+        int[] slack = new int[16];
+        int count = 0;
+        for (int stop = 0; stop < stopCount; stop++) {
+            if (isFirstStop(stop)) {
+                continue;
+            }
+            int station = stopStation[stop];
+            int start = byStationStart[station];
+            int end = byStationStart[station + 1];
+            if (start == end) {
+                continue;
+            }
+            int arrival = Math.floorMod(stopArrival[stop], MinuteOfDay.MINUTES_PER_DAY);
+            // The window may wrap past midnight, so walk round the day from its earliest departure
+            int position = lowerBound(departures, start, end, arrival + minTransferMinutes);
+            for (int seen = 0; seen < end - start; seen++, position++) {
+                if (position == end) {
+                    position = start;
+                }
+                int departing = (int) departures[position];
+                int wait = Math.floorMod((int) (departures[position] >>> 32) - arrival, MinuteOfDay.MINUTES_PER_DAY);
+                if (wait < minTransferMinutes) {
+                    continue;
+                }
+                if (wait > maxWaitMinutes) {
+                    break;
+                }
+                if (stopTrip[departing] == stopTrip[stop]) {
+                    continue;
+                }
+                if (count == from.length) {
+                    from = Arrays.copyOf(from, count * 2);
+                    to = Arrays.copyOf(to, count * 2);
+                    slack = Arrays.copyOf(slack, count * 2);
+                }
+                from[count] = stop;
+                to[count] = departing;
+                slack[count] = wait;
+                count++;
+            }
+        }
+        return new int[][] {Arrays.copyOf(from, count), Arrays.copyOf(to, count), Arrays.copyOf(slack, count)};
+    }
+
+    /**
+     * Connections grouped by the stop in {@code keys}, as offsets into the returned array.
+     */
+    private static int[] index(int[] keys, int[] start) {
+        for (int key : keys) {
+            start[key + 1]++;
+        }
+        for (int i = 1; i < start.length; i++) {
+            start[i] += start[i - 1];
+        }
+        int[] grouped = new int[keys.length];
+        int[] fill = Arrays.copyOf(start, start.length - 1);
+        for (int connection = 0; connection < keys.length; connection++) {
+            grouped[fill[keys[connection]]++] = connection;
+        }
+        return grouped;
+    }
+
+    private static int lowerBound(long[] departures, int start, int end, int minute) {
+        int low = start;
+        int high = end;
+        long target = (long) Math.floorMod(minute, MinuteOfDay.MINUTES_PER_DAY) << 32;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (departures[middle] < target) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low == end ? start : low;
+    }
+
+    private static String key(String name) {
+        return name == null ? "" : name.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.railwaymanagementsystem.services;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-key token bucket rate limiter. Each key starts with a full bucket of
+ * {@code capacity} tokens that refills continuously at {@code refillPerSecond}.
+ */
+public final class TokenBucketLimiter {
+    private static final int MAX_TRACKED_KEYS = 50_000;
+    private static final long EVICTION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextEviction = new AtomicLong(System.nanoTime());
+
+    public TokenBucketLimiter(int capacity, double refillPerSecond) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * Take one token for the key; false when the key is out of tokens.
+     */
+    public boolean tryAcquire(String key) {
+        return tryAcquire(key, 1);
+    }
+
+    /**
+     * Take {@code permits} tokens for the key at once, or none; false when it has fewer.
+     */
+    public boolean tryAcquire(String key, int permits) {
+        long now = System.nanoTime();
+        if (buckets.size() > MAX_TRACKED_KEYS) {
+            evictIdle(now);
+        }
+        return buckets.computeIfAbsent(key, k -> new Bucket(capacity, now)).tryTake(now, permits);
+    }
+
+    /**
+     * Full buckets carry no state worth keeping, so a flood of one-off keys cannot grow the map without bound.
+     * Sweeps run at most once a second; recently used buckets survive a sweep, and scanning them on every
+     * call would make each attempt cost a pass over the whole map.
+     */
+    private void evictIdle(long now) {
+        long due = nextEviction.get();
+        if (now - due < 0 || !nextEviction.compareAndSet(due, now + EVICTION_INTERVAL_NANOS)) {
+            return;
+        }
+        buckets.entrySet().removeIf(entry -> entry.getValue().isFull(now));
+    }
+
+    private final class Bucket {
+        private double tokens;
+        private long lastRefill;
+
+        private Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefill = now;
+        }
+
+        synchronized boolean tryTake(long now, int permits) {
+            refill(now);
+            if (tokens >= permits) {
+                tokens -= permits;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+        }
+    }
+}
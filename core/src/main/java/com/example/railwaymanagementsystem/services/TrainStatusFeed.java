@@ -0,0 +1,148 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
+import com.example.railwaymanagementsystem.metrics.Counter;
+import com.example.railwaymanagementsystem.metrics.MetricsRegistry;
+import com.example.railwaymanagementsystem.models.Train;
+import com.example.railwaymanagementsystem.models.TrainPosition;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * The latest status and position of every train, held in memory so reading it never
+ * touches the database. Reports come in through {@link #hold}; each accepted report is
+ * pushed to the train's subscribers on a single background thread, in order. Reports older
+ * than the one held are dropped, so a feed that delivers out of order cannot move a train
+ * backwards.
+ */
+final class TrainStatusFeed {
+    private static final Logger LOG = Log.getLogger(TrainStatusFeed.class);
+
+    private final BackendRepository repo;
+    private final Map<String, TrainPosition> latest = new ConcurrentHashMap<>();
+    private final Map<String, List<Consumer<TrainPosition>>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService delivery = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "train-status-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Counter accepted = MetricsRegistry.getInstance().counter("trainFeed.reports");
+    private final Counter stale = MetricsRegistry.getInstance().counter("trainFeed.staleReports");
+
+    TrainStatusFeed(BackendRepository repo, EventBus events) {
+        this.repo = repo;
+        for (Train train : repo.getTrains()) {
+            track(train);
+        }
+        events.subscribe(DomainEvent.TrainStatusChanged.class,
+                event -> statusChanged(event.train().getTrainNumber(), event.status()));
+        MetricsRegistry.getInstance().gauge("trainFeed.trains", latest::size);
+    }
+
+    Optional<TrainPosition> latest(String trainNumber) {
+        return Optional.ofNullable(latest.get(key(trainNumber)));
+    }
+
+    /**
+     * Hold a report as the train's latest state. Subscribers see it once it is
+     * {@link #publish published}, so anything derived from it can be brought up to date first.
+     *
+     * @return the state it replaced, or empty if the train is unknown or the report is stale
+     */
+    Optional<TrainPosition> hold(TrainPosition report) {
+        String key = key(report.trainNumber());
+        if (!latest.containsKey(key)) {
+            // Trains added by another process since this one started
+            repo.findTrainByNumber(report.trainNumber()).ifPresent(this::track);
+        }
+        TrainPosition[] replaced = new TrainPosition[1];
+        TrainPosition held = latest.computeIfPresent(key, (k, current) -> {
+            if (current.reportedAt() != null && report.reportedAt().isBefore(current.reportedAt())) {
+                return current;
+            }
+            replaced[0] = current;
+            return report;
+        });
+        if (held == null) {
+            return Optional.empty();
+        }
+        if (replaced[0] == null) {
+            stale.increment();
+            return Optional.empty();
+        }
+        accepted.increment();
+        return Optional.of(replaced[0]);
+    }
+
+    /**
+     * Receive every accepted report for the train, starting with its current state.
+     */
+    Subscription subscribe(String trainNumber, Consumer<TrainPosition> listener) {
+        String key = key(trainNumber);
+        List<Consumer<TrainPosition>> listeners = subscribers.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>());
+        listeners.add(listener);
+        TrainPosition current = latest.get(key);
+        if (current != null) {
+            delivery.execute(() -> deliver(listener, current));
+        }
+        return () -> listeners.remove(listener);
+    }
+
+    void track(Train train) {
+        latest.putIfAbsent(key(train.getTrainNumber()), TrainPosition.unreported(train));
+    }
+
+    void forget(Train train) {
+        latest.remove(key(train.getTrainNumber()));
+    }
+
+    /**
+     * Keep the held status in line with one saved by an administrator.
+     */
+    private void statusChanged(String trainNumber, String status) {
+        TrainPosition[] updated = new TrainPosition[1];
+        latest.computeIfPresent(key(trainNumber), (k, current) -> {
+            if (status.equals(current.status())) {
+                return current;
+            }
+            updated[0] = current.withStatus(status);
+            return updated[0];
+        });
+        if (updated[0] != null) {
+            publish(updated[0]);
+        }
+    }
+
+    void publish(TrainPosition position) {
+        if (latest.get(key(position.trainNumber())) != position) {
+            // Overtaken by a newer report, which is published in its place
+            return;
+        }
+        List<Consumer<TrainPosition>> listeners = subscribers.get(key(position.trainNumber()));
+        if (listeners == null || listeners.isEmpty()) {
+            return;
+        }
+        delivery.execute(() -> listeners.forEach(listener -> deliver(listener, position)));
+    }
+
+    private static void deliver(Consumer<TrainPosition> listener, TrainPosition position) {
+        try {
+            listener.accept(position);
+        } catch (RuntimeException e) {
+            LOG.error("Train status listener failed", e, "train", position.trainNumber());
+        }
+    }
+
+    private static String key(String trainNumber) {
+        return trainNumber.trim().toUpperCase(Locale.ROOT);
+    }
+}
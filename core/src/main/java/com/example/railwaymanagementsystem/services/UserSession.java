@@ -0,0 +1,55 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.models.User;
+
+import java.time.Instant;
+
+/**
+ * One signed-in user's session. Instances are created and expired by SessionManager
+ * and passed to BackendService operations that act on behalf of a user.
+ */
+public final class UserSession {
+    private final String id;
+    private final Instant createdAt;
+    private volatile User user;
+    private volatile long lastAccessNanos;
+
+    UserSession(String id, User user) {
+        this.id = id;
+        this.user = user;
+        this.createdAt = Instant.now();
+        this.lastAccessNanos = System.nanoTime();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public String getUserId() {
+        return user.getId();
+    }
+
+    public boolean isAdmin() {
+        return "admin".equalsIgnoreCase(user.getRole());
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    void setUser(User user) {
+        this.user = user;
+    }
+
+    void touch() {
+        lastAccessNanos = System.nanoTime();
+    }
+
+    boolean isIdleLongerThan(long idleNanos, long now) {
+        return now - lastAccessNanos > idleNanos;
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
+import com.example.railwaymanagementsystem.metrics.Counter;
+import com.example.railwaymanagementsystem.metrics.MetricsRegistry;
+import com.example.railwaymanagementsystem.models.Booking;
+import com.example.railwaymanagementsystem.models.SeatClasses;
+import com.example.railwaymanagementsystem.models.Train;
+import com.example.railwaymanagementsystem.models.WaitlistEntry;
+import com.example.railwaymanagementsystem.models.WaitlistStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Waitlists for sold-out train classes, and their promotion to bookings as seats come free.
+ * Each train's waitlists are worked by its own actor: a mailbox of the days and classes to
+ * look at, drained by one task at a time on a small shared pool. Promotions on one train
+ * therefore never run at once, and trains never wait on each other. The promoting
+ * transaction checks the seats again, so a booking made meanwhile is never oversold.
+ *
+ * Each queue is served in order. When the passenger at its head needs more seats than are
+ * free, everyone behind waits too, so nobody is overtaken by a smaller party. A promoted
+ * entry becomes a Pending booking at the current fare, awaiting payment, and its passenger
+ * is notified as for any booking. Promotion runs on every cancellation, and once for every
+ * waitlist on start, which picks up seats released by disruption processing or by other
+ * processes. Waitlists on cancelled trains are left alone.
+ *
+ * Configure with system properties:
+ * <ul>
+ *   <li>{@code railsafar.waitlist.threads}: threads shared by the train actors (default 2)</li>
+ * </ul>
+ */
+final class WaitlistService {
+    private static final Logger LOG = Log.getLogger(WaitlistService.class);
+
+    private record Slot(String trainId, LocalDate travelDate, String seatClass) {
+
+        static Slot of(WaitlistEntry entry) {
+            return new Slot(entry.trainId(), entry.travelDate(), entry.seatClass());
+        }
+
+        static Slot of(Booking booking) {
+            return new Slot(booking.getTrainId(), booking.getTravelDate(),
+                    booking.getSeatClass() == null ? "" : booking.getSeatClass());
+        }
+    }
+
+    private final BackendRepository repo;
+    private final FareEngine fares;
+    private final EventBus events;
+    private final int seatsPerClass = SeatClasses.seatsPerClass();
+    private final Map<String, TrainActor> actors = new ConcurrentHashMap<>();
+    private final ExecutorService executor = createExecutor(Integer.getInteger("railsafar.waitlist.threads", 2));
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private final Counter joined = metrics.counter("waitlist.joined");
+    private final Counter promoted = metrics.counter("waitlist.promoted");
+
+    WaitlistService(BackendRepository repo, FareEngine fares, EventBus events) {
+        this.repo = repo;
+        this.fares = fares;
+        this.events = events;
+        events.subscribe(DomainEvent.BookingCancelled.class, event -> seatsReleased(Slot.of(event.booking())));
+        metrics.gauge("waitlist.pendingSlots",
+                () -> actors.values().stream().mapToInt(actor -> actor.queued.size()).sum());
+    }
+
+    /**
+     * Look again at every waitlist still to travel, e.g. after a restart.
+     */
+    void resume() {
+        List<WaitlistEntry> waiting = repo.getWaitingEntries(LocalDate.now());
+        if (!waiting.isEmpty()) {
+            LOG.info("Resuming waitlists", "entries", waiting.size());
+        }
+        waiting.forEach(entry -> seatsReleased(Slot.of(entry)));
+    }
+
+    /**
+     * Put the passenger at the back of the queue for the train, day and class.
+     *
+     * @return the saved entry, or empty if it could not be saved
+     */
+    Optional<WaitlistEntry> join(WaitlistEntry entry) {
+        WaitlistEntry saved = repo.addWaitlistEntry(entry);
+        if (saved == null) {
+            return Optional.empty();
+        }
+        joined.increment();
+        // Seats may have come free since the booking was refused
+        seatsReleased(Slot.of(saved));
+        return Optional.of(saved);
+    }
+
+    boolean leave(WaitlistEntry entry) {
+        if (!repo.cancelWaitlistEntry(entry.id())) {
+            return false;
+        }
+        // The entry may have been holding up smaller parties behind it
+        seatsReleased(Slot.of(entry));
+        return true;
+    }
+
+    /**
+     * The entry's place in its queue, counting from 1, or 0 if it is no longer waiting.
+     */
+    int position(WaitlistEntry entry) {
+        if (entry.status() != WaitlistStatus.WAITING) {
+            return 0;
+        }
+        List<WaitlistEntry> queue = repo.getWaitlist(entry.trainId(), entry.travelDate(), entry.seatClass());
+        for (int i = 0; i < queue.size(); i++) {
+            if (queue.get(i).id() == entry.id()) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private void seatsReleased(Slot slot) {
+        actors.computeIfAbsent(slot.trainId(), trainId -> new TrainActor()).tell(slot);
+    }
+
+    /**
+     * Promote from the head of the slot's queue while the entries there fit in the free seats.
+     * Runs only on the train's actor.
+     */
+    private void promote(Slot slot) {
+        if (slot.travelDate().isBefore(LocalDate.now())) {
+            return;
+        }
+        Optional<Train> train = repo.findTrainById(slot.trainId());
+        if (train.isEmpty() || DisruptionProcessor.CANCELLED.equals(train.get().getStatus())) {
+            return;
+        }
+        int booked = repo.getSeatsBooked(slot.trainId(), slot.travelDate(), slot.seatClass());
+        if (booked < 0) {
+            return;
+        }
+        int free = seatsPerClass - booked;
+        for (WaitlistEntry entry : repo.getWaitlist(slot.trainId(), slot.travelDate(), slot.seatClass())) {
+            if (entry.seats() > free) {
+                return;
+            }
+            Booking booking = booking(entry, train.get());
+            if (booking == null || !repo.promoteWaitlistEntry(entry, booking, seatsPerClass)) {
+                // Taken by a booking since the seats were counted; the next release retries
+                return;
+            }
+            free -= entry.seats();
+            promoted.increment();
+            fares.seatsChanged(booking);
+            events.publish(new DomainEvent.BookingCreated(booking));
+            LOG.info("Waitlist entry promoted", "entryId", entry.id(), "bookingId", booking.getId(),
+                    "train", entry.trainNumber(), "date", entry.travelDate());
+        }
+    }
+
+    private Booking booking(WaitlistEntry entry, Train train) {
+        String bookingId = repo.nextBookingId();
+        if (bookingId == null) {
+            return null;
+        }
+        int total = fares.quote(train, entry.fromStation(), entry.toStation(), entry.travelDate(),
+                entry.seatClass(), entry.seats()).total();
+        return new Booking(bookingId, entry.userId(), train.getId(), train.getTrainNumber(), train.getTrainName(),
+                entry.fromStation(), entry.toStation(), entry.travelDate(), entry.seats(), entry.seatClass(),
+                total, "Pending", LocalDateTime.now(), "", "Pending");
+    }
+
+    /**
+     * One train's mailbox. A slot already waiting in it is not added again, and at most one
+     * task drains it at a time.
+     */
+    private final class TrainActor {
+        private final Queue<Slot> mailbox = new ConcurrentLinkedQueue<>();
+        private final Set<Slot> queued = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        void tell(Slot slot) {
+            if (queued.add(slot)) {
+                mailbox.add(slot);
+            }
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Slot slot;
+                while ((slot = mailbox.poll()) != null) {
+                    // Released before promoting, so a cancellation during it queues another pass
+                    queued.remove(slot);
+                    try {
+                        promote(slot);
+                    } catch (RuntimeException e) {
+                        LOG.error("Waitlist promotion failed", e, "trainId", slot.trainId(), "date", slot.travelDate());
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+            // A slot told between the last poll and clearing the flag found it still set
+            if (!mailbox.isEmpty() && draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+    }
+
+    private static ExecutorService createExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "waitlist-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
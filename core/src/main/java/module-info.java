@@ -0,0 +1,15 @@
+module com.example.railwaymanagementsystem.core {
+    requires transitive javafx.base;
+    requires transitive java.sql;
+    requires java.management;
+
+    exports com.example.railwaymanagementsystem.logging;
+    exports com.example.railwaymanagementsystem.metrics;
+    exports com.example.railwaymanagementsystem.models;
+    exports com.example.railwaymanagementsystem.services;
+    opens com.example.railwaymanagementsystem.models to javafx.base;
+
+    uses com.example.railwaymanagementsystem.services.DataStoreProvider;
+    uses com.example.railwaymanagementsystem.services.PaymentGateway;
+    uses com.example.railwaymanagementsystem.services.MessageProvider;
+}
@@ -0,0 +1,69 @@
+package com.example.railwaymanagementsystem.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void valuesBelow128HaveExactBuckets() {
+        for (long value = 0; value < 128; value++) {
+            int index = LatencyHistogram.indexOf(value);
+            assertEquals(value, index);
+            assertEquals(value, LatencyHistogram.highestEquivalentValue(index));
+        }
+    }
+
+    @Test
+    void bucketsAbove128HoldTwoThenFourValues() {
+        assertEquals(128, LatencyHistogram.indexOf(128));
+        assertEquals(128, LatencyHistogram.indexOf(129));
+        assertEquals(129, LatencyHistogram.indexOf(130));
+        assertEquals(129, LatencyHistogram.highestEquivalentValue(128));
+        assertEquals(191, LatencyHistogram.indexOf(255));
+        assertEquals(255, LatencyHistogram.highestEquivalentValue(191));
+        assertEquals(192, LatencyHistogram.indexOf(256));
+        assertEquals(192, LatencyHistogram.indexOf(259));
+        assertEquals(193, LatencyHistogram.indexOf(260));
+        assertEquals(259, LatencyHistogram.highestEquivalentValue(192));
+    }
+
+    @Test
+    void everyValueFallsInTheBucketEndingAtOrAboveIt() {
+        long[] boundaries = {127, 128, 255, 256, 1023, 1024, 1_000_000, (1L << 40) - 1, 1L << 40, Long.MAX_VALUE};
+        for (long value : boundaries) {
+            int index = LatencyHistogram.indexOf(value);
+            long highest = LatencyHistogram.highestEquivalentValue(index);
+            assertTrue(highest >= value, value + " above its bucket's " + highest);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.highestEquivalentValue(index - 1) < value, value + " belongs lower");
+            }
+            assertTrue(highest - value <= value / 64, value + " too far from " + highest);
+        }
+    }
+
+    @Test
+    void bucketsAreContiguous() {
+        for (int index = 1; index < LatencyHistogram.indexOf(Long.MAX_VALUE); index++) {
+            long lowest = LatencyHistogram.highestEquivalentValue(index - 1) + 1;
+            assertEquals(index, LatencyHistogram.indexOf(lowest));
+            assertEquals(index, LatencyHistogram.indexOf(LatencyHistogram.highestEquivalentValue(index)));
+        }
+    }
+
+    @Test
+    void percentilesNeverUnderstateOrPassTheMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+        assertEquals(1000, histogram.count());
+        assertEquals(1000, histogram.max());
+        assertEquals(1, histogram.percentile(0));
+        assertTrue(histogram.percentile(50) >= 500);
+        assertTrue(histogram.percentile(99) >= 990);
+        assertEquals(1000, histogram.percentile(100));
+    }
+}
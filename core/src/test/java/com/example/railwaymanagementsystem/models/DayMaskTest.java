@@ -0,0 +1,64 @@
+package com.example.railwaymanagementsystem.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DayMaskTest {
+
+    @Test
+    void namedPatternsRoundTrip() {
+        assertEquals(DayMask.DAILY, DayMask.parse("Daily"));
+        assertEquals(DayMask.WEEKDAYS, DayMask.parse("Mon-Fri"));
+        assertEquals(DayMask.WEEKENDS, DayMask.parse("Sat-Sun"));
+        assertEquals("Daily", DayMask.format(DayMask.DAILY));
+        assertEquals("Mon-Fri", DayMask.format(DayMask.WEEKDAYS));
+        assertEquals("Sat-Sun", DayMask.format(DayMask.WEEKENDS));
+    }
+
+    @Test
+    void parsesAliasesIgnoringCaseAndSpacing() {
+        assertEquals(DayMask.DAILY, DayMask.parse("  every DAY "));
+        assertEquals(DayMask.WEEKDAYS, DayMask.parse("weekdays"));
+        assertEquals(DayMask.WEEKDAYS, DayMask.parse("monday - friday"));
+        assertEquals(DayMask.WEEKENDS, DayMask.parse("Saturday,Sunday"));
+    }
+
+    @Test
+    void listsRoundTrip() {
+        int mask = DayMask.parse("Mon, Wed, Fri");
+        assertTrue(DayMask.runsOn(mask, DayOfWeek.MONDAY));
+        assertFalse(DayMask.runsOn(mask, DayOfWeek.TUESDAY));
+        assertEquals("Mon, Wed, Fri", DayMask.format(mask));
+        assertEquals(mask, DayMask.parse(DayMask.format(mask)));
+    }
+
+    @Test
+    void rangesWrapPastSunday() {
+        int mask = DayMask.parse("Fri-Mon");
+        assertEquals(DayMask.of(DayOfWeek.FRIDAY) | DayMask.WEEKENDS | DayMask.of(DayOfWeek.MONDAY), mask);
+        assertEquals("Mon, Fri, Sat, Sun", DayMask.format(mask));
+        assertEquals(mask, DayMask.parse(DayMask.format(mask)));
+        assertEquals(DayMask.DAILY, DayMask.parse("Tue-Mon"));
+    }
+
+    @Test
+    void everyMaskRoundTrips() {
+        for (int mask = DayMask.NONE; mask <= DayMask.DAILY; mask++) {
+            assertEquals(mask, DayMask.parse(DayMask.format(mask)), DayMask.format(mask));
+        }
+    }
+
+    @Test
+    void unreadableTextRunsOnNoDay() {
+        assertEquals(DayMask.NONE, DayMask.parse(null));
+        assertEquals(DayMask.NONE, DayMask.parse(""));
+        assertEquals(DayMask.NONE, DayMask.parse("Mo"));
+        assertEquals(DayMask.NONE, DayMask.parse("Mon-Wed-Fri"));
+        assertEquals(DayMask.NONE, DayMask.parse("Mon, Funday"));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.models.Booking;
+import com.example.railwaymanagementsystem.models.Payment;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A DataStore over maps holding just what payments and fares use: bookings, the payments
+ * ledger and its idempotency keys. Bookings are copied in and out, as a database would, and
+ * every other operation throws.
+ */
+final class InMemoryDataStore implements InvocationHandler {
+    private final Map<String, Booking> bookings = new HashMap<>();
+    private final Map<String, Payment> paymentsByKey = new HashMap<>();
+    private final List<Payment> ledger = new ArrayList<>();
+    private int lastPaymentId;
+
+    BackendRepository repository() {
+        return new BackendRepository((DataStore) Proxy.newProxyInstance(DataStore.class.getClassLoader(),
+                new Class<?>[] {DataStore.class}, this));
+    }
+
+    synchronized void save(Booking booking) {
+        bookings.put(booking.getId(), copy(booking));
+    }
+
+    synchronized Booking booking(String id) {
+        return copy(bookings.get(id));
+    }
+
+    synchronized List<Payment> ledger() {
+        return List.copyOf(ledger);
+    }
+
+    @Override
+    public synchronized Object invoke(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "findBookingById" -> Optional.ofNullable(bookings.get((String) args[0])).map(InMemoryDataStore::copy);
+            case "getSeatsBooked" -> 0;
+            case "getNextPaymentId" -> "PAY" + ++lastPaymentId;
+            case "findPaymentByIdempotencyKey" -> Optional.ofNullable(paymentsByKey.get((String) args[0]));
+            case "claimIdempotencyKey" -> claim((Payment) args[0]);
+            case "recordPaymentTransition" -> record((Payment) args[0], (Booking) args[1]);
+            default -> throw new UnsupportedOperationException(method.getName());
+        };
+    }
+
+    private boolean claim(Payment pending) {
+        if (paymentsByKey.putIfAbsent(pending.idempotencyKey(), pending) != null) {
+            return false;
+        }
+        ledger.add(pending);
+        return true;
+    }
+
+    private boolean record(Payment entry, Booking booking) {
+        if (booking != null) {
+            if ("Cancelled".equals(bookings.get(booking.getId()).getStatus())) {
+                return false;
+            }
+            bookings.put(booking.getId(), copy(booking));
+        }
+        paymentsByKey.put(entry.idempotencyKey(), entry);
+        ledger.add(entry);
+        return true;
+    }
+
+    private static Booking copy(Booking booking) {
+        return new Booking(booking.getId(), booking.getUserId(), booking.getTrainId(), booking.getTrainNumber(),
+                booking.getTrainName(), booking.getFromStation(), booking.getToStation(), booking.getTravelDate(),
+                booking.getNumberOfSeats(), booking.getSeatClass(), booking.getTotalAmount(), booking.getStatus(),
+                booking.getBookingDateTime(), booking.getPaymentMethod(), booking.getPaymentStatus());
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.models.Booking;
+import com.example.railwaymanagementsystem.models.PaymentStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PaymentProcessorTest {
+    private static final String CARD = "Credit Card";
+
+    private final InMemoryDataStore store = new InMemoryDataStore();
+    private final TestGateway gateway = new TestGateway();
+    private final PaymentProcessor payments = processor();
+
+    @Test
+    void repeatedKeyReturnsTheFirstOutcomeWithoutChargingAgain() {
+        store.save(booking("B1"));
+
+        PaymentResult first = payments.pay(store.booking("B1"), CARD, "key-1");
+        PaymentResult repeat = payments.pay(store.booking("B1"), CARD, "key-1");
+
+        assertEquals(PaymentStatus.CAPTURED, first.status());
+        assertFalse(first.replayed());
+        assertEquals(first.paymentId(), repeat.paymentId());
+        assertEquals(PaymentStatus.CAPTURED, repeat.status());
+        assertTrue(repeat.replayed());
+        assertEquals(1, gateway.captures.get());
+        assertEquals("Paid", store.booking("B1").getPaymentStatus());
+    }
+
+    @Test
+    void repeatedKeyIsAnsweredFromTheLedgerAfterARestart() {
+        store.save(booking("B1"));
+        PaymentResult first = payments.pay(store.booking("B1"), CARD, "key-1");
+
+        PaymentResult repeat = processor().pay(store.booking("B1"), CARD, "key-1");
+
+        assertEquals(first.paymentId(), repeat.paymentId());
+        assertEquals(PaymentStatus.CAPTURED, repeat.status());
+        assertTrue(repeat.replayed());
+        assertEquals(1, gateway.captures.get());
+    }
+
+    @Test
+    void repeatWhileInFlightWaitsForTheFirstAttempt() throws Exception {
+        store.save(booking("B1"));
+        gateway.holdCaptures();
+
+        CompletableFuture<PaymentResult> first = payments.payAsync(store.booking("B1"), CARD, "key-1");
+        gateway.awaitCapture();
+        CompletableFuture<PaymentResult> repeat = payments.payAsync(store.booking("B1"), CARD, "key-1");
+        assertFalse(repeat.isDone());
+        gateway.releaseCaptures();
+
+        assertEquals(PaymentStatus.CAPTURED, first.get(5, TimeUnit.SECONDS).status());
+        PaymentResult replayed = repeat.get(5, TimeUnit.SECONDS);
+        assertEquals(PaymentStatus.CAPTURED, replayed.status());
+        assertTrue(replayed.replayed());
+        assertEquals(1, gateway.captures.get());
+    }
+
+    @Test
+    void keyUsedForAnotherBookingIsRefused() {
+        store.save(booking("B1"));
+        store.save(booking("B2"));
+        payments.pay(store.booking("B1"), CARD, "key-1");
+
+        assertThrows(IllegalArgumentException.class, () -> payments.pay(store.booking("B2"), CARD, "key-1"));
+
+        assertEquals(1, gateway.authorizations.get());
+        assertEquals("Pending", store.booking("B2").getPaymentStatus());
+    }
+
+    @Test
+    void captureLandingAfterCancellationIsRefunded() throws Exception {
+        store.save(booking("B1"));
+        gateway.holdCaptures();
+
+        CompletableFuture<PaymentResult> result = payments.payAsync(store.booking("B1"), CARD, "key-1");
+        gateway.awaitCapture();
+        cancel("B1");
+        gateway.releaseCaptures();
+
+        PaymentResult outcome = result.get(5, TimeUnit.SECONDS);
+        assertEquals(PaymentStatus.FAILED, outcome.status());
+        assertTrue(outcome.detail().contains("refunded"), outcome.detail());
+        assertEquals(1, gateway.refunds.get());
+        assertEquals("Cancelled", store.booking("B1").getStatus());
+        assertEquals("Pending", store.booking("B1").getPaymentStatus());
+        assertEquals(PaymentStatus.FAILED, store.ledger().getLast().status());
+    }
+
+    @Test
+    void bookingCancelledBeforeCaptureIsNeverCaptured() throws Exception {
+        store.save(booking("B1"));
+        gateway.holdAuthorizations();
+
+        CompletableFuture<PaymentResult> result = payments.payAsync(store.booking("B1"), CARD, "key-1");
+        gateway.awaitAuthorization();
+        cancel("B1");
+        gateway.releaseAuthorizations();
+
+        assertEquals(PaymentStatus.FAILED, result.get(5, TimeUnit.SECONDS).status());
+        assertEquals(0, gateway.captures.get());
+        assertEquals(0, gateway.refunds.get());
+    }
+
+    @Test
+    void cancelledBookingIsNotCharged() {
+        store.save(booking("B1"));
+        cancel("B1");
+
+        PaymentResult result = payments.pay(store.booking("B1"), CARD, "key-1");
+
+        assertEquals(PaymentStatus.FAILED, result.status());
+        assertEquals(0, gateway.authorizations.get());
+        assertTrue(store.ledger().isEmpty());
+    }
+
+    private PaymentProcessor processor() {
+        PaymentGatewayClient client = new PaymentGatewayClient(gateway, 4, 5_000,
+                new CircuitBreaker(5, TimeUnit.SECONDS.toNanos(10)));
+        return new PaymentProcessor(store.repository(), client, new EventBus());
+    }
+
+    private void cancel(String bookingId) {
+        Booking booking = store.booking(bookingId);
+        booking.setStatus("Cancelled");
+        store.save(booking);
+    }
+
+    private static Booking booking(String id) {
+        return new Booking(id, "U1", "T1", "1UP", "Khyber Mail", "Karachi", "Lahore", LocalDate.now().plusDays(7),
+                1, "Economy", 1500.0, "Pending", LocalDateTime.now(), "", "Pending");
+    }
+
+    /**
+     * Approves everything, and can hold authorizations or captures until released.
+     */
+    private static final class TestGateway implements PaymentGateway {
+        final AtomicInteger authorizations = new AtomicInteger();
+        final AtomicInteger captures = new AtomicInteger();
+        final AtomicInteger refunds = new AtomicInteger();
+        private final CountDownLatch authorizationStarted = new CountDownLatch(1);
+        private final CountDownLatch captureStarted = new CountDownLatch(1);
+        private volatile CountDownLatch authorizationsHeld = new CountDownLatch(0);
+        private volatile CountDownLatch capturesHeld = new CountDownLatch(0);
+
+        @Override
+        public String getName() {
+            return "test";
+        }
+
+        @Override
+        public GatewayResponse authorize(GatewayRequest request) {
+            authorizations.incrementAndGet();
+            authorizationStarted.countDown();
+            await(authorizationsHeld);
+            return GatewayResponse.approved("AUTH-" + request.paymentId());
+        }
+
+        @Override
+        public GatewayResponse capture(GatewayRequest request) {
+            captures.incrementAndGet();
+            captureStarted.countDown();
+            await(capturesHeld);
+            return GatewayResponse.approved("CAP-" + request.paymentId());
+        }
+
+        @Override
+        public GatewayResponse refund(GatewayRequest request) {
+            refunds.incrementAndGet();
+            return GatewayResponse.approved("REF-" + request.paymentId());
+        }
+
+        void holdAuthorizations() {
+            authorizationsHeld = new CountDownLatch(1);
+        }
+
+        void awaitAuthorization() {
+            await(authorizationStarted);
+        }
+
+        void releaseAuthorizations() {
+            authorizationsHeld.countDown();
+        }
+
+        void holdCaptures() {
+            capturesHeld = new CountDownLatch(1);
+        }
+
+        void awaitCapture() {
+            await(captureStarted);
+        }
+
+        void releaseCaptures() {
+            capturesHeld.countDown();
+        }
+
+        private static void await(CountDownLatch latch) {
+            try {
+                if (!latch.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Timed out");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.railwaymanagementsystem.services;
+
+import com.example.railwaymanagementsystem.models.SeatClasses;
+import com.example.railwaymanagementsystem.models.Train;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QuoteServiceTest {
+    private static final Train TRAIN = new Train("T1", "1UP", "Khyber Mail", "Express",
+            "Karachi - Hyderabad - Multan - Lahore", "On-time");
+    private static final LocalDate DATE = LocalDate.now().plusDays(30);
+
+    private final FareEngine fares = new FareEngine(new InMemoryDataStore().repository(), new EventBus());
+    private final QuoteService quotes = new QuoteService(fares);
+
+    @Test
+    void redeemsItsOwnQuote() {
+        SignedQuote quote = quotes.quote(TRAIN, "Hyderabad", "Lahore", DATE, SeatClasses.ECONOMY, 2);
+
+        assertEquals(quote.quote().farePerSeat(),
+                quotes.redeem(quote.token(), TRAIN, " hyderabad ", "LAHORE", DATE, SeatClasses.ECONOMY, 2));
+    }
+
+    @Test
+    void rejectsATamperedToken() {
+        SignedQuote quote = quotes.quote(TRAIN, "Karachi", "Lahore", DATE, SeatClasses.ECONOMY, 1);
+        String[] parts = quote.token().split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[0]), StandardCharsets.UTF_8);
+        String cheaper = payload.replace("|" + quote.quote().farePerSeat() + "|", "|10|");
+        assertNotEquals(payload, cheaper);
+        String forged = Base64.getUrlEncoder().withoutPadding().encodeToString(cheaper.getBytes(StandardCharsets.UTF_8))
+                + "." + parts[1];
+
+        assertRejected("The fare quote is not valid", forged, "Karachi", "Lahore", DATE, 1);
+        assertRejected("The fare quote is not valid", quote.token() + "x", "Karachi", "Lahore", DATE, 1);
+        assertRejected("The fare quote is not valid", "not a token", "Karachi", "Lahore", DATE, 1);
+        assertRejected("The fare quote is not valid", null, "Karachi", "Lahore", DATE, 1);
+    }
+
+    @Test
+    void rejectsATokenSignedWithAnotherKey() {
+        SignedQuote quote = new QuoteService(fares).quote(TRAIN, "Karachi", "Lahore", DATE, SeatClasses.ECONOMY, 1);
+
+        assertRejected("The fare quote is not valid", quote.token(), "Karachi", "Lahore", DATE, 1);
+    }
+
+    @Test
+    void rejectsATokenForAnotherJourney() {
+        String token = quotes.quote(TRAIN, "Karachi", "Multan", DATE, SeatClasses.ECONOMY, 1).token();
+        String journey = "The quoted fare is for a different journey";
+
+        assertRejected(journey, token, "Karachi", "Lahore", DATE, 1);
+        assertRejected(journey, token, "Hyderabad", "Multan", DATE, 1);
+        assertRejected(journey, token, "Karachi", "Multan", DATE.plusDays(1), 1);
+        assertRejected(journey, token, "Karachi", "Multan", DATE, 4);
+        QuoteRejectedException otherClass = assertThrows(QuoteRejectedException.class, () ->
+                quotes.redeem(token, TRAIN, "Karachi", "Multan", DATE, SeatClasses.FIRST_CLASS, 1));
+        assertEquals(journey, otherClass.getMessage());
+        Train otherTrain = new Train("T2", "2UP", "Tezgam", "Express", TRAIN.getRoute(), "On-time");
+        QuoteRejectedException wrongTrain = assertThrows(QuoteRejectedException.class, () ->
+                quotes.redeem(token, otherTrain, "Karachi", "Multan", DATE, SeatClasses.ECONOMY, 1));
+        assertEquals(journey, wrongTrain.getMessage());
+    }
+
+    @Test
+    void rejectsAnExpiredToken() {
+        QuoteService expiring;
+        System.setProperty("railsafar.quotes.ttlSeconds", "-1");
+        try {
+            expiring = new QuoteService(fares);
+        } finally {
+            System.clearProperty("railsafar.quotes.ttlSeconds");
+        }
+        String token = expiring.quote(TRAIN, "Karachi", "Lahore", DATE, SeatClasses.ECONOMY, 1).token();
+
+        QuoteRejectedException e = assertThrows(QuoteRejectedException.class, () ->
+                expiring.redeem(token, TRAIN, "Karachi", "Lahore", DATE, SeatClasses.ECONOMY, 1));
+        assertEquals("The quoted fare has expired", e.getMessage());
+    }
+
+    private void assertRejected(String message, String token, String from, String to, LocalDate date, int seats) {
+        QuoteRejectedException e = assertThrows(QuoteRejectedException.class, () ->
+                quotes.redeem(token, TRAIN, from, to, date, SeatClasses.ECONOMY, seats));
+        assertEquals(message, e.getMessage());
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.railwaymanagementsystem;
 
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -11,6 +13,7 @@ import javafx.stage.Stage;
  * Railway Admin Panel - Dual Panel System
  */
 public class RailSafarApp extends Application {
+    private static final Logger LOG = Log.getLogger(RailSafarApp.class);
 
     private static Stage primaryStage;
     final static int WIDTH = 900;
@@ -24,8 +27,7 @@ public class RailSafarApp extends Application {
             showWelcomeScreen();
             primaryStage.show();
         } catch (Exception e) {
-            e.printStackTrace();
-            System.err.println("Error loading application: " + e.getMessage());
+            LOG.error("Error loading application", e);
         }
     }
 
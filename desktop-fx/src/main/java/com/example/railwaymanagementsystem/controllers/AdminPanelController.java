@@ -1,6 +1,8 @@
 package com.example.railwaymanagementsystem.controllers;
 
 import com.example.railwaymanagementsystem.RailSafarApp;
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
 import com.example.railwaymanagementsystem.services.AppSession;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -11,6 +13,7 @@ import javafx.scene.layout.StackPane;
  * Controller for the Admin Panel - Main container with sidebar
  */
 public class AdminPanelController {
+    private static final Logger LOG = Log.getLogger(AdminPanelController.class);
 
     @FXML private StackPane contentArea;
 
@@ -46,6 +49,11 @@ public class AdminPanelController {
         loadContent("UserManagement.fxml");
     }
 
+    @FXML
+    private void showPerformance() {
+        loadContent("Performance.fxml");
+    }
+
     @FXML
     private void showSettings() {
         loadContent("Settings.fxml");
@@ -59,8 +67,7 @@ public class AdminPanelController {
             session.clear();
             RailSafarApp.showWelcomeScreen();
         } catch (Exception e) {
-            e.printStackTrace();
-            System.err.println("Error logging out: " + e.getMessage());
+            LOG.error("Error logging out", e);
         }
     }
 
@@ -69,7 +76,7 @@ public class AdminPanelController {
      */
     private void loadContent(String fxmlFile) {
         try {
-            System.out.println("Loading: " + fxmlFile);
+            LOG.debug("Loading content", "fxml", fxmlFile);
 
             // Use RailSafarApp.class to load resources (same as showWelcomeScreen)
             java.net.URL resourceUrl = RailSafarApp.class.getResource(fxmlFile);
@@ -83,18 +90,17 @@ public class AdminPanelController {
                 throw new Exception("Cannot find FXML file: " + fxmlFile);
             }
 
-            System.out.println("Found resource at: " + resourceUrl);
+            LOG.debug("Found content resource", "url", resourceUrl);
 
             FXMLLoader loader = new FXMLLoader(resourceUrl);
             Parent content = loader.load();
             contentArea.getChildren().clear();
             contentArea.getChildren().add(content);
 
-            System.out.println("Successfully loaded: " + fxmlFile);
+            LOG.debug("Loaded content", "fxml", fxmlFile);
 
         } catch (Exception e) {
-            e.printStackTrace();
-            System.err.println("Error loading " + fxmlFile + ": " + e.getMessage());
+            LOG.error("Error loading content", e, "fxml", fxmlFile);
 
             javafx.scene.control.Label placeholder = new javafx.scene.control.Label(
                     "Error: Cannot load " + fxmlFile + "\n\n" + e.getMessage()
@@ -0,0 +1,344 @@
+package com.example.railwaymanagementsystem.controllers;
+
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
+import com.example.railwaymanagementsystem.models.Booking;
+import com.example.railwaymanagementsystem.models.Schedule;
+import com.example.railwaymanagementsystem.models.SeatClasses;
+import com.example.railwaymanagementsystem.models.Train;
+import com.example.railwaymanagementsystem.services.AppSession;
+import com.example.railwaymanagementsystem.services.BackendService;
+import com.example.railwaymanagementsystem.services.BookingFailedException;
+import com.example.railwaymanagementsystem.services.QuoteRejectedException;
+import com.example.railwaymanagementsystem.services.SignedQuote;
+import com.example.railwaymanagementsystem.services.SoldOutException;
+import com.example.railwaymanagementsystem.services.UserSession;
+import javafx.application.Platform;
+import javafx.fxml.FXML;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.*;
+import javafx.scene.layout.*;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller for Book Ticket Screen
+ */
+public class BookTicketController {
+    private static final Logger LOG = Log.getLogger(BookTicketController.class);
+
+    @FXML private ComboBox<String> fromStationCombo;
+    @FXML private ComboBox<String> toStationCombo;
+    @FXML private DatePicker journeyDatePicker;
+    @FXML private Spinner<Integer> passengersSpinner;
+    @FXML private VBox resultsContainer;
+    @FXML private ListView<Train> trainsList;
+
+    private final BackendService backend = BackendService.getInstance();
+    private final AppSession session = AppSession.getInstance();
+    private final Map<String, Schedule> schedulesByTrain = new HashMap<>();
+    private String searchFrom = "";
+    private String searchTo = "";
+    private LocalDate searchDate;
+    // Economy fare per seat by train id for the current search; priced off the FX thread
+    private Map<String, Integer> faresByTrain = Map.of();
+    private int searchCount;
+
+    @FXML
+    private void initialize() {
+        // Set default values
+        fromStationCombo.setValue("Karachi");
+        toStationCombo.setValue("Lahore");
+        journeyDatePicker.setValue(LocalDate.now().plusDays(1));
+
+        // Setup spinner
+        SpinnerValueFactory<Integer> valueFactory =
+                new SpinnerValueFactory.IntegerSpinnerValueFactory(1, 6, 1);
+        passengersSpinner.setValueFactory(valueFactory);
+        passengersSpinner.setEditable(true);
+
+        trainsList.setCellFactory(list -> new TrainCardCell());
+        trainsList.setPlaceholder(new Label("No trains to show"));
+    }
+
+    @FXML
+    private void handleSearchTrains() {
+        String from = fromStationCombo.getValue();
+        String to = toStationCombo.getValue();
+        LocalDate date = journeyDatePicker.getValue();
+
+        if (from == null || to == null || date == null) {
+            showError("Please fill in all fields");
+            return;
+        }
+
+        if (from.equals(to)) {
+            showError("From and To stations cannot be the same");
+            return;
+        }
+
+        if (date.isBefore(LocalDate.now())) {
+            showError("Journey date must be in the future");
+            return;
+        }
+
+        // Show results
+        displaySearchResults(from, to, date);
+    }
+
+    private void displaySearchResults(String from, String to, LocalDate date) {
+        resultsContainer.setVisible(true);
+
+        // Search also finds trains running from To to From, which cannot be booked this way
+        List<Train> trains = backend.searchTrains(from, to, date).stream()
+                .filter(train -> backend.servesJourney(train, from, to))
+                .toList();
+        if (trains.isEmpty()) {
+            trainsList.getItems().clear();
+            showError("No trains found between " + from + " and " + to + " on " + date);
+            return;
+        }
+
+        // Resolve each train's schedule for the date once instead of once per card
+        schedulesByTrain.clear();
+        for (Train train : trains) {
+            backend.getScheduleOn(train.getTrainNumber(), date)
+                    .ifPresent(schedule -> schedulesByTrain.put(train.getTrainNumber(), schedule));
+        }
+        searchFrom = from;
+        searchTo = to;
+        searchDate = date;
+        trainsList.getItems().setAll(trains);
+        trainsList.scrollTo(0);
+        priceTrains();
+    }
+
+    /**
+     * Price every train in the results once, off the FX thread, and show the fares when they
+     * arrive unless another search has started meanwhile.
+     */
+    private void priceTrains() {
+        int search = ++searchCount;
+        faresByTrain = Map.of();
+        trainsList.refresh();
+        backend.getFaresAsync(List.copyOf(trainsList.getItems()), searchFrom, searchTo, searchDate, SeatClasses.ECONOMY)
+                .whenComplete((fares, error) -> Platform.runLater(() -> {
+                    if (search != searchCount) {
+                        return;
+                    }
+                    if (error != null) {
+                        LOG.error("Pricing search results failed", error, "from", searchFrom, "to", searchTo);
+                        return;
+                    }
+                    faresByTrain = fares;
+                    trainsList.refresh();
+                }));
+    }
+
+    /**
+     * Recycled list cell rendering a train search result. The node tree is
+     * built once per cell; updateItem only swaps the text.
+     */
+    private final class TrainCardCell extends ListCell<Train> {
+        private final VBox card = new VBox(10);
+        private final Label trainNumber = new Label();
+        private final Label trainName = new Label();
+        private final Label seatClass = new Label();
+        private final Label fromValue = new Label();
+        private final Label toValue = new Label();
+        private final Label price = new Label();
+        private final Button bookButton = new Button("📝 Book Now");
+
+        private TrainCardCell() {
+            card.getStyleClass().add("train-card");
+            trainNumber.getStyleClass().add("card-heading");
+            trainName.getStyleClass().add("card-subheading");
+            seatClass.getStyleClass().add("card-chip");
+
+            // Header
+            Region spacer = new Region();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
+            HBox header = new HBox(10, trainNumber, trainName, spacer, seatClass);
+            header.setAlignment(Pos.CENTER_LEFT);
+
+            // Route and time
+            GridPane details = new GridPane();
+            details.setHgap(20);
+            details.setVgap(8);
+            Label fromLabel = new Label("From:");
+            fromLabel.getStyleClass().add("card-field-label");
+            Label toLabel = new Label("To:");
+            toLabel.getStyleClass().add("card-field-label");
+            fromValue.getStyleClass().add("card-field-value");
+            toValue.getStyleClass().add("card-field-value");
+            details.add(fromLabel, 0, 0);
+            details.add(fromValue, 1, 0);
+            details.add(toLabel, 0, 1);
+            details.add(toValue, 1, 1);
+
+            // Footer
+            price.getStyleClass().add("card-price");
+            Label perPerson = new Label("per person");
+            perPerson.getStyleClass().add("card-price-note");
+            Region footerSpacer = new Region();
+            HBox.setHgrow(footerSpacer, Priority.ALWAYS);
+            bookButton.getStyleClass().add("card-action-button");
+            bookButton.setOnAction(e -> {
+                Train train = getItem();
+                if (train != null) {
+                    handleBookTrain(train);
+                }
+            });
+            HBox footer = new HBox(15, price, perPerson, footerSpacer, bookButton);
+            footer.setAlignment(Pos.CENTER_LEFT);
+
+            card.getChildren().addAll(header, new Separator(), details, footer);
+            setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        }
+
+        @Override
+        protected void updateItem(Train train, boolean empty) {
+            super.updateItem(train, empty);
+            if (empty || train == null) {
+                setGraphic(null);
+                return;
+            }
+            Schedule schedule = schedulesByTrain.get(train.getTrainNumber());
+            String departure = schedule == null ? "08:00 AM" : schedule.getDepartureTime();
+            String arrival = schedule == null ? "08:00 PM" : schedule.getArrivalTime();
+
+            trainNumber.setText(train.getTrainNumber());
+            trainName.setText(train.getTrainName());
+            seatClass.setText(train.getType());
+            fromValue.setText(searchFrom + " • " + departure);
+            toValue.setText(searchTo + " • " + arrival);
+            boolean sellsSeats = !SeatClasses.soldOn(train).isEmpty();
+            Integer fare = faresByTrain.get(train.getId());
+            price.setText(!sellsSeats ? "No passenger seats" : fare == null ? "PKR …" : "PKR " + String.format("%,d", fare));
+            bookButton.setDisable(!sellsSeats);
+            setGraphic(card);
+        }
+    }
+
+    /**
+     * Book the train for the journey it was found for, whatever the search fields now hold.
+     */
+    private void handleBookTrain(Train train) {
+        int passengers = passengersSpinner.getValue();
+        String from = searchFrom;
+        String to = searchTo;
+        LocalDate date = searchDate;
+        // The confirmed booking is charged this price as long as the quote has not expired
+        SignedQuote quote;
+        try {
+            quote = backend.quoteFare(train, from, to, date, SeatClasses.ECONOMY, passengers);
+        } catch (IllegalArgumentException e) {
+            // The train's route has changed since the search
+            showError(e.getMessage() + ". Please search again.");
+            return;
+        }
+
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("Confirm Booking");
+        confirm.setHeaderText("Book ticket for " + train.getTrainNumber() + " - " + train.getTrainName());
+        confirm.setContentText(
+                "Train: " + train.getTrainNumber() + " - " + train.getTrainName() + "\n" +
+                        "Route: " + from + " → " + to + "\n" +
+                        "Date: " + date + "\n" +
+                        "Passengers: " + passengers + "\n" +
+                        "Class: " + SeatClasses.ECONOMY + "\n\n" +
+                        "Total Amount: PKR " + String.format("%,d", quote.quote().total())
+        );
+
+        confirm.showAndWait().ifPresent(response -> {
+            if (response == ButtonType.OK) {
+                session.getCurrentSession().ifPresentOrElse(userSession -> {
+                    Booking booking;
+                    try {
+                        booking = backend.bookTicket(userSession, train, from, to, date, passengers,
+                                SeatClasses.ECONOMY, quote.token());
+                    } catch (QuoteRejectedException e) {
+                        showError(e.getMessage() + ". Please book again to see the current fare.");
+                        priceTrains();
+                        return;
+                    } catch (SoldOutException e) {
+                        offerWaitlist(userSession, train, from, to, date, passengers);
+                        return;
+                    } catch (BookingFailedException e) {
+                        showError("Your booking could not be saved. Please try again.");
+                        return;
+                    }
+                    
+                    Alert success = new Alert(Alert.AlertType.INFORMATION);
+                    success.setTitle("Booking Successful");
+                    success.setHeaderText("Ticket booked successfully!");
+                    success.setContentText(
+                            "PNR: " + booking.getId() + "\n" +
+                            "Total Amount: PKR " + String.format("%,.0f", booking.getTotalAmount()) + "\n\n" +
+                            "Please proceed to payment to confirm your booking."
+                    );
+                    ButtonType proceedButton = new ButtonType("Proceed to Payment");
+                    ButtonType laterButton = new ButtonType("Pay Later");
+                    success.getButtonTypes().setAll(proceedButton, laterButton);
+                    
+                    success.showAndWait().ifPresent(buttonType -> {
+                        if (buttonType == proceedButton) {
+                            navigateToPayment();
+                        }
+                    });
+                }, () -> showError("You need to log in to book a ticket."));
+            }
+        });
+    }
+
+    private void offerWaitlist(UserSession userSession, Train train, String from, String to, LocalDate date,
+                               int passengers) {
+        Alert offer = new Alert(Alert.AlertType.CONFIRMATION);
+        offer.setTitle("Sold Out");
+        offer.setHeaderText(SeatClasses.ECONOMY + " class on " + train.getTrainNumber() + " is sold out");
+        offer.setContentText("Join the waitlist? If seats come free you will be booked automatically, "
+                + "at the fare then, and asked to pay.");
+        offer.showAndWait().filter(response -> response == ButtonType.OK).ifPresent(response ->
+                backend.joinWaitlist(userSession, train, from, to, date, passengers, SeatClasses.ECONOMY)
+                        .ifPresentOrElse(entry -> {
+                            int position = backend.getWaitlistPosition(entry);
+                            showSuccess(position > 0
+                                    ? "You are number " + position + " on the waitlist. We will notify you if you are booked."
+                                    : "Seats came free and you have been booked. Please check My Bookings to pay.");
+                        }, () -> showError("Could not join the waitlist. Please try again.")));
+    }
+
+    private void showError(String message) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Error");
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+
+    private void showSuccess(String message) {
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("Success");
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+
+    private void navigateToPayment() {
+        try {
+            // Use AppSession to store navigation intent, or directly access PassengerPanelController
+            // For now, show a message to navigate manually
+            Alert info = new Alert(Alert.AlertType.INFORMATION);
+            info.setTitle("Navigate to Payment");
+            info.setHeaderText("Please proceed to Payment");
+            info.setContentText("Click on the '💳 Payment' menu item in the sidebar to complete your payment.");
+            info.showAndWait();
+        } catch (Exception e) {
+            LOG.error("Error showing payment prompt", e);
+            showError("Please use the Payment menu to complete payment.");
+        }
+    }
+}
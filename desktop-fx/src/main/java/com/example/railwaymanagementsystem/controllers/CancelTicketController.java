@@ -0,0 +1,187 @@
+package com.example.railwaymanagementsystem.controllers;
+
+import com.example.railwaymanagementsystem.models.Booking;
+import com.example.railwaymanagementsystem.models.RefundStatus;
+import com.example.railwaymanagementsystem.services.AppSession;
+import com.example.railwaymanagementsystem.services.BackendService;
+import com.example.railwaymanagementsystem.services.CancellationResult;
+import com.example.railwaymanagementsystem.services.RefundQuote;
+import com.example.railwaymanagementsystem.services.UserSession;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXML;
+import javafx.geometry.Pos;
+import javafx.scene.control.*;
+import javafx.scene.layout.HBox;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.Optional;
+
+/**
+ * Controller for Cancel Ticket Screen
+ */
+public class CancelTicketController {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy");
+
+    @FXML private TextField pnrField;
+    @FXML private TableView<Booking> bookingsTable;
+    @FXML private TableColumn<Booking, String> pnrColumn;
+    @FXML private TableColumn<Booking, String> trainColumn;
+    @FXML private TableColumn<Booking, String> dateColumn;
+    @FXML private TableColumn<Booking, String> routeColumn;
+    @FXML private TableColumn<Booking, Integer> seatsColumn;
+    @FXML private TableColumn<Booking, String> amountColumn;
+    @FXML private TableColumn<Booking, Void> actionsColumn;
+
+    private final BackendService backend = BackendService.getInstance();
+    private final AppSession session = AppSession.getInstance();
+    private final ObservableList<Booking> bookingsData = FXCollections.observableArrayList();
+
+    @FXML
+    private void initialize() {
+        setupTable();
+        bookingsTable.setItems(bookingsData);
+        loadActiveBookings();
+    }
+
+    /**
+     * The user's bookings that can still be cancelled, soonest travel date first.
+     */
+    private void loadActiveBookings() {
+        Optional<UserSession> userSession = session.getCurrentSession();
+        if (userSession.isEmpty()) {
+            bookingsData.clear();
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        bookingsData.setAll(backend.getBookingsForUser(userSession.get()).stream()
+                .filter(booking -> !"Cancelled".equals(booking.getStatus()))
+                .filter(booking -> !booking.getTravelDate().isBefore(today))
+                .sorted(Comparator.comparing(Booking::getTravelDate))
+                .toList());
+    }
+
+    private void setupTable() {
+        pnrColumn.setCellValueFactory(cell -> new SimpleStringProperty(cell.getValue().getId()));
+        trainColumn.setCellValueFactory(cell -> new SimpleStringProperty(
+                cell.getValue().getTrainNumber() + " - " + cell.getValue().getTrainName()));
+        dateColumn.setCellValueFactory(cell -> new SimpleStringProperty(cell.getValue().getTravelDate().format(DATE_FORMAT)));
+        routeColumn.setCellValueFactory(cell -> new SimpleStringProperty(
+                cell.getValue().getFromStation() + " → " + cell.getValue().getToStation()));
+        seatsColumn.setCellValueFactory(cell -> new SimpleObjectProperty<>(cell.getValue().getNumberOfSeats()));
+        amountColumn.setCellValueFactory(cell -> new SimpleStringProperty(
+                "PKR " + String.format("%,.0f", cell.getValue().getTotalAmount())));
+
+        actionsColumn.setCellFactory(param -> new TableCell<>() {
+            private final Button cancelBtn = new Button("❌ Cancel");
+            private final HBox pane = new HBox(cancelBtn);
+
+            {
+                pane.setAlignment(Pos.CENTER);
+                cancelBtn.setStyle("-fx-background-color: #dc2626; -fx-text-fill: white; " +
+                        "-fx-padding: 6px 12px; -fx-cursor: hand; -fx-background-radius: 6px;");
+
+                cancelBtn.setOnAction(e -> {
+                    Booking booking = getTableView().getItems().get(getIndex());
+                    handleCancelBooking(booking);
+                });
+            }
+
+            @Override
+            protected void updateItem(Void item, boolean empty) {
+                super.updateItem(item, empty);
+                setGraphic(empty ? null : pane);
+            }
+        });
+    }
+
+    @FXML
+    private void handleSearchPNR() {
+        String pnr = pnrField.getText().trim();
+
+        if (pnr.isEmpty()) {
+            showError("Please enter a PNR");
+            return;
+        }
+
+        // Search in bookings
+        boolean found = false;
+        for (Booking booking : bookingsData) {
+            if (booking.getId().equalsIgnoreCase(pnr)) {
+                bookingsTable.getSelectionModel().select(booking);
+                bookingsTable.scrollTo(booking);
+                found = true;
+                break;
+            }
+        }
+
+        if (!found) {
+            showError("PNR not found among your active bookings");
+        }
+    }
+
+    private void handleCancelBooking(Booking booking) {
+        Optional<UserSession> userSession = session.getCurrentSession();
+        if (userSession.isEmpty()) {
+            showError("Your session has expired. Please log in again.");
+            return;
+        }
+
+        RefundQuote quote = backend.quoteCancellation(userSession.get(), booking.getId());
+        if (!quote.allowed()) {
+            showError("This booking cannot be cancelled: " + quote.detail());
+            return;
+        }
+
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("Cancel Booking");
+        confirm.setHeaderText("Cancel booking " + booking.getId() + "?");
+        confirm.setContentText(
+                "Train: " + booking.getTrainName() + "\n" +
+                        "Route: " + booking.getFromStation() + " → " + booking.getToStation() + "\n" +
+                        "Date: " + booking.getTravelDate().format(DATE_FORMAT) + "\n" +
+                        "Amount: PKR " + String.format("%,.0f", booking.getTotalAmount()) + "\n\n" +
+                        "Refund: PKR " + String.format("%,.0f", quote.amount()) + " (" + quote.detail() + ")\n\n" +
+                        "Are you sure you want to cancel?"
+        );
+
+        confirm.showAndWait().ifPresent(response -> {
+            if (response == ButtonType.OK) {
+                CancellationResult result = backend.cancelBooking(userSession.get(), booking.getId());
+                loadActiveBookings();
+                if (!result.cancelled()) {
+                    showError("Booking could not be cancelled: " + result.detail());
+                } else if (result.refundStatus() == null) {
+                    showSuccess("Booking cancelled successfully!");
+                } else if (result.refundStatus() == RefundStatus.PENDING) {
+                    showSuccess("Booking cancelled successfully!\n\n" +
+                            "Refund of PKR " + String.format("%,.0f", result.refundAmount()) +
+                            " will be returned to your card in 3-5 business days.");
+                } else {
+                    showSuccess("Booking cancelled successfully!\n\n" +
+                            "Refund of PKR " + String.format("%,.0f", result.refundAmount()) +
+                            " can be collected at the booking counter.");
+                }
+            }
+        });
+    }
+
+    private void showError(String message) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Error");
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+
+    private void showSuccess(String message) {
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("Success");
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+}
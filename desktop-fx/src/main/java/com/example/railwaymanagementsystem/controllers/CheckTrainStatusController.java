@@ -0,0 +1,258 @@
+package com.example.railwaymanagementsystem.controllers;
+
+import com.example.railwaymanagementsystem.models.Booking;
+import com.example.railwaymanagementsystem.models.Schedule;
+import com.example.railwaymanagementsystem.models.Train;
+import com.example.railwaymanagementsystem.models.TrainPosition;
+import com.example.railwaymanagementsystem.services.BackendService;
+import com.example.railwaymanagementsystem.services.DelayForecast;
+import com.example.railwaymanagementsystem.services.Subscription;
+import javafx.application.Platform;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.fxml.FXML;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.VBox;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Controller for Check Train Status Screen. The train and its schedule are read once per
+ * search; after that the status, location and arrival follow the live train status feed
+ * without reading the database.
+ */
+public class CheckTrainStatusController {
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("hh:mm a", Locale.ENGLISH);
+    private static final DateTimeFormatter UPDATED_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    @FXML private TextField searchField;
+    @FXML private VBox statusContainer;
+    @FXML private Label trainInfoLabel;
+    @FXML private Label routeLabel;
+    @FXML private Label scheduledTimeLabel;
+    @FXML private Label statusLabel;
+    @FXML private Label locationLabel;
+    @FXML private Label arrivalLabel;
+    @FXML private Label lastUpdatedLabel;
+
+    private final BackendService backend = BackendService.getInstance();
+    private final ObjectProperty<TrainPosition> position = new SimpleObjectProperty<>();
+    // Latest update not yet shown; a burst of updates costs one FX pulse
+    private final AtomicReference<TrainPosition> pendingPosition = new AtomicReference<>();
+    private Subscription subscription;
+    private Schedule schedule;
+
+    @FXML
+    private void initialize() {
+        // Hide status container initially
+        if (statusContainer != null) {
+            statusContainer.setVisible(false);
+            // Stop following the train once the screen is navigated away from
+            statusContainer.sceneProperty().addListener((obs, oldScene, newScene) -> {
+                if (newScene == null) {
+                    unsubscribe();
+                }
+            });
+        }
+        position.addListener((obs, oldPosition, newPosition) -> {
+            if (newPosition != null) {
+                showPosition(newPosition);
+            }
+        });
+    }
+
+    @FXML
+    private void handleCheckStatus() {
+        String search = searchField.getText().trim();
+
+        if (search.isEmpty()) {
+            showError("Please enter a train number or PNR");
+            return;
+        }
+
+        findTrainDetails(search.toUpperCase());
+    }
+
+    @FXML
+    private void checkTrain1UP() {
+        searchField.setText("1UP");
+        handleCheckStatus();
+    }
+
+    @FXML
+    private void checkTrain2DN() {
+        searchField.setText("2DN");
+        handleCheckStatus();
+    }
+
+    @FXML
+    private void checkTrain3UP() {
+        searchField.setText("3UP");
+        handleCheckStatus();
+    }
+
+    private void findTrainDetails(String query) {
+        Optional<Train> trainOpt = backend.getTrainByNumber(query);
+        Optional<Booking> bookingOpt = Optional.empty();
+
+        if (trainOpt.isEmpty()) {
+            bookingOpt = backend.getBookingById(query);
+            if (bookingOpt.isPresent()) {
+                trainOpt = backend.getTrainByNumber(bookingOpt.get().getTrainNumber());
+            }
+        }
+
+        if (trainOpt.isEmpty()) {
+            showError("No train or booking found for reference: " + query);
+            unsubscribe();
+            if (statusContainer != null) {
+                statusContainer.setVisible(false);
+            }
+            return;
+        }
+
+        Train train = trainOpt.get();
+        schedule = backend.getScheduleForTrain(train.getTrainNumber()).orElse(null);
+        displayTrain(train, bookingOpt.orElse(null));
+        follow(train);
+    }
+
+    /**
+     * Show the parts of the status that do not change while the train runs.
+     */
+    private void displayTrain(Train train, Booking booking) {
+        if (statusContainer != null) {
+            statusContainer.setVisible(true);
+        }
+
+        if (trainInfoLabel != null) {
+            trainInfoLabel.setText(train.getTrainNumber() + " - " + train.getTrainName());
+        }
+
+        String fallbackRoute = train.getRoute() == null ? "" : train.getRoute();
+
+        if (routeLabel != null) {
+            if (booking != null) {
+                routeLabel.setText(booking.getFromStation() + " → " + booking.getToStation());
+            } else if (schedule != null) {
+                routeLabel.setText(schedule.getRoute());
+            } else {
+                routeLabel.setText(fallbackRoute);
+            }
+        }
+
+        if (scheduledTimeLabel != null) {
+            if (schedule != null) {
+                scheduledTimeLabel.setText(schedule.getDepartureTime() + " - " + schedule.getArrivalTime());
+            } else {
+                scheduledTimeLabel.setText("Schedule not available");
+            }
+        }
+
+        showPosition(TrainPosition.unreported(train));
+    }
+
+    /**
+     * Switch the live part of the screen to the train's feed.
+     */
+    private void follow(Train train) {
+        unsubscribe();
+        position.set(null);
+        pendingPosition.set(null);
+        subscription = backend.subscribeTrainPosition(train.getTrainNumber(), update -> {
+            if (pendingPosition.getAndSet(update) == null) {
+                Platform.runLater(() -> {
+                    TrainPosition latest = pendingPosition.getAndSet(null);
+                    if (latest != null && latest.trainNumber().equalsIgnoreCase(train.getTrainNumber())) {
+                        position.set(latest);
+                    }
+                });
+            }
+        });
+    }
+
+    private void unsubscribe() {
+        if (subscription != null) {
+            subscription.close();
+            subscription = null;
+        }
+    }
+
+    private void showPosition(TrainPosition current) {
+        String status = current.status() == null ? "" : current.status();
+        boolean delayed = status.toLowerCase().contains("delay");
+        boolean cancelled = status.toLowerCase().contains("cancel");
+
+        if (statusLabel != null) {
+            statusLabel.setText(delayed && current.delayMinutes() > 0
+                    ? status + " (" + current.delayMinutes() + " min)" : status);
+            if (delayed) {
+                statusLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-text-fill: #d97706;");
+            } else if (cancelled) {
+                statusLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-text-fill: #dc2626;");
+            } else {
+                statusLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-text-fill: #16a34a;");
+            }
+        }
+
+        if (locationLabel != null) {
+            locationLabel.setText(cancelled ? "Train is not running today" : location(current));
+        }
+
+        if (arrivalLabel != null) {
+            if (cancelled) {
+                arrivalLabel.setText("-");
+            } else if (schedule != null) {
+                arrivalLabel.setText(backend.getDelayForecast(current.trainNumber())
+                        .map(CheckTrainStatusController::expectedArrival)
+                        .orElseGet(() -> schedule.getArrivalTime()));
+            } else {
+                arrivalLabel.setText("Arrival information not available");
+            }
+        }
+
+        if (lastUpdatedLabel != null) {
+            lastUpdatedLabel.setText(current.reportedAt() == null
+                    ? "No report received yet" : current.reportedAt().format(UPDATED_FORMAT));
+        }
+    }
+
+    private static String location(TrainPosition current) {
+        if (current.lastStation() != null && current.nextStation() != null) {
+            return "Departed " + current.lastStation() + ", next stop " + current.nextStation();
+        }
+        if (current.lastStation() != null) {
+            return "At " + current.lastStation();
+        }
+        if (current.nextStation() != null) {
+            return "Approaching " + current.nextStation();
+        }
+        return "Location not reported";
+    }
+
+    private static String expectedArrival(DelayForecast forecast) {
+        DelayForecast.StopEstimate terminus = forecast.stops().get(forecast.stops().size() - 1);
+        String arrival = terminus.expectedArrival().format(TIME_FORMAT);
+        if (!terminus.expectedArrival().equals(terminus.scheduledArrival())) {
+            arrival += " (scheduled " + terminus.scheduledArrival().format(TIME_FORMAT) + ")";
+        }
+        int missed = forecast.missedConnections().size();
+        if (missed > 0) {
+            arrival += " · " + missed + (missed == 1 ? " connection missed" : " connections missed");
+        }
+        return arrival;
+    }
+
+    private void showError(String message) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Error");
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+}
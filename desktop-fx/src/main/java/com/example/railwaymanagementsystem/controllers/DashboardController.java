@@ -1,5 +1,7 @@
 package com.example.railwaymanagementsystem.controllers;
 
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -9,6 +11,7 @@ import javafx.scene.control.*;
  * Controller for Dashboard Screen
  */
 public class DashboardController {
+    private static final Logger LOG = Log.getLogger(DashboardController.class);
 
     @FXML private Label totalTrainsLabel;
     @FXML private Label activeRoutesLabel;
@@ -35,21 +38,21 @@ public class DashboardController {
 
     @FXML
     private void handleViewReports() {
-        System.out.println("Navigate to Reports");
+        LOG.debug("Navigate", "target", "Reports");
     }
 
     @FXML
     private void handleManageTrains() {
-        System.out.println("Navigate to Train Management");
+        LOG.debug("Navigate", "target", "Train Management");
     }
 
     @FXML
     private void handleViewUsers() {
-        System.out.println("Navigate to User Management");
+        LOG.debug("Navigate", "target", "User Management");
     }
 
     @FXML
     private void handleSettings() {
-        System.out.println("Navigate to Settings");
+        LOG.debug("Navigate", "target", "Settings");
     }
 }
@@ -1,16 +1,24 @@
 package com.example.railwaymanagementsystem.controllers;
 
 import com.example.railwaymanagementsystem.RailSafarApp;
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
 import com.example.railwaymanagementsystem.models.User;
 import com.example.railwaymanagementsystem.services.AppSession;
 import com.example.railwaymanagementsystem.services.BackendService;
+import com.example.railwaymanagementsystem.services.LoginRateLimitedException;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * Controller for the Login Screen
  */
 public class LoginController {
+    private static final Logger LOG = Log.getLogger(LoginController.class);
 
     @FXML private TextField emailField;
     @FXML private PasswordField passwordField;
@@ -72,20 +80,41 @@ public class LoginController {
             return;
         }
 
-        backend.authenticate(email, password, currentRole)
-                .ifPresentOrElse(user -> {
-                    session.setCurrentUser(user);
-                    try {
-                        if ("admin".equals(currentRole)) {
-                            RailSafarApp.showAdminPanel();
+        // Password hashing is deliberately slow, so verify off the FX thread
+        passwordField.setDisable(true);
+        backend.authenticateAsync(email, password, currentRole)
+                .whenComplete((result, error) -> Platform.runLater(() -> {
+                    passwordField.setDisable(false);
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        if (cause instanceof LoginRateLimitedException) {
+                            showError(cause.getMessage() + ". Please wait a minute and try again.");
+                        } else if (cause instanceof RejectedExecutionException) {
+                            showError("Too many sign-in attempts right now. Please try again in a moment.");
                         } else {
-                            RailSafarApp.showPassengerPanel();
+                            LOG.error("Sign-in failed", cause, "role", currentRole);
+                            showError("Sign-in failed, please try again.");
                         }
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                        showError("Error loading panel: " + e.getMessage());
+                        return;
                     }
-                }, () -> showError("Invalid credentials for " + currentRole));
+                    result.ifPresentOrElse(this::openPanel,
+                            () -> showError("Invalid credentials for " + currentRole));
+                }));
+    }
+
+    private void openPanel(User user) {
+        session.setCurrentUser(user);
+        try {
+            if ("admin".equals(currentRole)) {
+                RailSafarApp.showAdminPanel();
+            } else {
+                RailSafarApp.showPassengerPanel();
+            }
+        } catch (Exception e) {
+            LOG.error("Error loading panel", e, "role", currentRole);
+            showError("Error loading panel: " + e.getMessage());
+        }
     }
 
     @FXML
@@ -93,7 +122,7 @@ public class LoginController {
         try {
             RailSafarApp.showSignUpScreen();
         } catch (Exception e) {
-            e.printStackTrace();
+            LOG.error("Error loading sign up", e);
             showError("Error loading sign up: " + e.getMessage());
         }
     }
@@ -103,7 +132,7 @@ public class LoginController {
         try {
             RailSafarApp.showWelcomeScreen();
         } catch (Exception e) {
-            e.printStackTrace();
+            LOG.error("Error going back", e);
             showError("Error going back: " + e.getMessage());
         }
     }
@@ -0,0 +1,221 @@
+package com.example.railwaymanagementsystem.controllers;
+
+import com.example.railwaymanagementsystem.models.Notification;
+import com.example.railwaymanagementsystem.models.NotificationType;
+import com.example.railwaymanagementsystem.services.AppSession;
+import com.example.railwaymanagementsystem.services.BackendService;
+import com.example.railwaymanagementsystem.services.NotificationFilter;
+import com.example.railwaymanagementsystem.services.NotificationPage;
+import com.example.railwaymanagementsystem.services.UserSession;
+import javafx.fxml.FXML;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.*;
+import javafx.scene.layout.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+
+/**
+ * Controller for Notifications Screen
+ */
+public class NotificationsController {
+    private static final int PAGE_SIZE = 20;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy");
+
+    @FXML private VBox notificationsList;
+    @FXML private Label unreadCountLabel;
+
+    private final BackendService backend = BackendService.getInstance();
+    private final AppSession session = AppSession.getInstance();
+    private NotificationFilter filter = NotificationFilter.ALL;
+    private final Button loadMoreButton = new Button("Load more");
+    private long nextCursor;
+
+    @FXML
+    private void initialize() {
+        loadMoreButton.getStyleClass().add("secondary-button");
+        loadMoreButton.setMaxWidth(Double.MAX_VALUE);
+        loadMoreButton.setOnAction(e -> loadPage());
+        loadNotifications();
+    }
+
+    /**
+     * Show the newest page for the current filter.
+     */
+    private void loadNotifications() {
+        notificationsList.getChildren().clear();
+        nextCursor = 0;
+        loadPage();
+    }
+
+    /**
+     * Append the page after the last one shown.
+     */
+    private void loadPage() {
+        notificationsList.getChildren().remove(loadMoreButton);
+        Optional<UserSession> userSession = session.getCurrentSession();
+        if (userSession.isEmpty()) {
+            unreadCountLabel.setText("");
+            return;
+        }
+
+        NotificationPage page = backend.getNotifications(userSession.get(), filter, nextCursor, PAGE_SIZE);
+        for (Notification notification : page.notifications()) {
+            addNotification(notification);
+        }
+        nextCursor = page.nextCursor();
+        if (page.hasMore()) {
+            notificationsList.getChildren().add(loadMoreButton);
+        }
+        if (notificationsList.getChildren().isEmpty()) {
+            Label empty = new Label("No notifications to show");
+            empty.setStyle("-fx-text-fill: #6b7280; -fx-font-size: 13px;");
+            notificationsList.getChildren().add(empty);
+        }
+        updateUnreadCount(userSession.get());
+    }
+
+    private void updateUnreadCount(UserSession userSession) {
+        int unread = backend.getUnreadNotificationCount(userSession);
+        unreadCountLabel.setText(unread == 0 ? "You're all caught up" : unread + " unread");
+    }
+
+    private void addNotification(Notification notification) {
+        boolean unread = !notification.read();
+        HBox row = new HBox(15);
+        row.setAlignment(Pos.TOP_LEFT);
+        row.setPadding(new Insets(15));
+        row.setStyle(
+                "-fx-background-color: " + (unread ? "#e8f5f0" : "white") + "; " +
+                        "-fx-border-color: #e5e7eb; -fx-border-width: 1px; " +
+                        "-fx-border-radius: 8px; -fx-background-radius: 8px;"
+        );
+
+        // Icon
+        Label iconLabel = new Label(iconFor(notification));
+        iconLabel.setStyle("-fx-font-size: 24px;");
+
+        // Content
+        VBox content = new VBox(5);
+        HBox.setHgrow(content, Priority.ALWAYS);
+
+        HBox header = new HBox(10);
+        header.setAlignment(Pos.CENTER_LEFT);
+
+        Label titleLabel = new Label(notification.title());
+        titleLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px;");
+
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+
+        Label timeLabel = new Label(timeAgo(notification.createdAt()));
+        timeLabel.setStyle("-fx-text-fill: #6b7280; -fx-font-size: 12px;");
+
+        header.getChildren().addAll(titleLabel, spacer, timeLabel);
+
+        Label messageLabel = new Label(notification.message());
+        messageLabel.setStyle("-fx-text-fill: #4b5563; -fx-font-size: 13px;");
+        messageLabel.setWrapText(true);
+
+        content.getChildren().addAll(header, messageLabel);
+
+        // Actions
+        VBox actions = new VBox(5);
+        actions.setAlignment(Pos.CENTER);
+
+        if (unread) {
+            Button markReadBtn = new Button("✓");
+            markReadBtn.setStyle("-fx-background-color: transparent; -fx-cursor: hand;");
+            markReadBtn.setTooltip(new Tooltip("Mark as read"));
+            markReadBtn.setOnAction(e -> {
+                Optional<UserSession> userSession = session.getCurrentSession();
+                if (userSession.isEmpty()) {
+                    return;
+                }
+                backend.markNotificationRead(userSession.get(), notification.id());
+                row.setStyle(row.getStyle().replace("#e8f5f0", "white"));
+                markReadBtn.setVisible(false);
+                updateUnreadCount(userSession.get());
+            });
+            actions.getChildren().add(markReadBtn);
+        }
+
+        row.getChildren().addAll(iconLabel, content, actions);
+        notificationsList.getChildren().add(row);
+    }
+
+    private static String iconFor(Notification notification) {
+        if (notification.type() == NotificationType.TRAIN_STATUS) {
+            return "⚠️";
+        }
+        if (notification.type() == NotificationType.REFUND) {
+            return "💰";
+        }
+        if (notification.type() == NotificationType.PAYMENT) {
+            return notification.title().contains("Failed") ? "❌" : "✅";
+        }
+        return "🎫";
+    }
+
+    private static String timeAgo(LocalDateTime createdAt) {
+        Duration age = Duration.between(createdAt, LocalDateTime.now());
+        if (age.toMinutes() < 1) {
+            return "Just now";
+        }
+        if (age.toHours() < 1) {
+            return age.toMinutes() + (age.toMinutes() == 1 ? " minute ago" : " minutes ago");
+        }
+        if (age.toDays() < 1) {
+            return age.toHours() + (age.toHours() == 1 ? " hour ago" : " hours ago");
+        }
+        if (age.toDays() < 7) {
+            return age.toDays() + (age.toDays() == 1 ? " day ago" : " days ago");
+        }
+        return createdAt.format(DATE_FORMAT);
+    }
+
+    @FXML
+    private void handleMarkAllRead() {
+        Optional<UserSession> userSession = session.getCurrentSession();
+        if (userSession.isEmpty()) {
+            return;
+        }
+        int marked = backend.markAllNotificationsRead(userSession.get());
+        loadNotifications();
+        showSuccess(marked == 0 ? "No unread notifications" : "All notifications marked as read");
+    }
+
+    @FXML
+    private void showAllNotifications() {
+        filter = NotificationFilter.ALL;
+        loadNotifications();
+    }
+
+    @FXML
+    private void showUnreadNotifications() {
+        filter = NotificationFilter.UNREAD;
+        loadNotifications();
+    }
+
+    @FXML
+    private void showBookingNotifications() {
+        filter = NotificationFilter.BOOKING;
+        loadNotifications();
+    }
+
+    @FXML
+    private void showStatusNotifications() {
+        filter = NotificationFilter.TRAIN_STATUS;
+        loadNotifications();
+    }
+
+    private void showSuccess(String message) {
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("Success");
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.railwaymanagementsystem.controllers;
 
 import com.example.railwaymanagementsystem.RailSafarApp;
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
 import com.example.railwaymanagementsystem.services.AppSession;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -13,6 +15,7 @@ import javafx.scene.layout.StackPane;
  * Controller for the Passenger Panel - Main container with sidebar
  */
 public class PassengerPanelController {
+    private static final Logger LOG = Log.getLogger(PassengerPanelController.class);
 
     @FXML private StackPane contentArea;
 
@@ -92,8 +95,7 @@ public class PassengerPanelController {
             session.clear();
             RailSafarApp.showWelcomeScreen();
         } catch (Exception e) {
-            e.printStackTrace();
-            System.err.println("Error logging out: " + e.getMessage());
+            LOG.error("Error logging out", e);
         }
     }
 
@@ -144,7 +146,7 @@ public class PassengerPanelController {
      */
     private void loadContent(String fxmlFile) {
         try {
-            System.out.println("Loading: " + fxmlFile);
+            LOG.debug("Loading content", "fxml", fxmlFile);
 
             // Use RailSafarApp.class to load resources (same as showWelcomeScreen)
             java.net.URL resourceUrl = RailSafarApp.class.getResource(fxmlFile);
@@ -158,18 +160,17 @@ public class PassengerPanelController {
                 throw new Exception("Cannot find FXML file: " + fxmlFile);
             }
 
-            System.out.println("Found resource at: " + resourceUrl);
+            LOG.debug("Found content resource", "url", resourceUrl);
 
             FXMLLoader loader = new FXMLLoader(resourceUrl);
             Parent content = loader.load();
             contentArea.getChildren().clear();
             contentArea.getChildren().add(content);
 
-            System.out.println("Successfully loaded: " + fxmlFile);
+            LOG.debug("Loaded content", "fxml", fxmlFile);
 
         } catch (Exception e) {
-            e.printStackTrace();
-            System.err.println("Error loading " + fxmlFile + ": " + e.getMessage());
+            LOG.error("Error loading content", e, "fxml", fxmlFile);
 
             javafx.scene.control.Label placeholder = new javafx.scene.control.Label(
                     "Error: Cannot load " + fxmlFile + "\n\n" + e.getMessage()
@@ -1,8 +1,13 @@
 package com.example.railwaymanagementsystem.controllers;
 
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
 import com.example.railwaymanagementsystem.models.Booking;
 import com.example.railwaymanagementsystem.services.AppSession;
 import com.example.railwaymanagementsystem.services.BackendService;
+import com.example.railwaymanagementsystem.services.PaymentResult;
+import com.example.railwaymanagementsystem.services.UserSession;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -13,14 +18,16 @@ import javafx.scene.layout.*;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Controller for Payment Screen
  */
 public class PaymentController {
+    private static final Logger LOG = Log.getLogger(PaymentController.class);
 
     @FXML private VBox bookingsListContainer;
-    @FXML private VBox bookingsContainer;
+    @FXML private ListView<Booking> bookingsList;
     @FXML private Label noBookingsLabel;
     @FXML private VBox paymentDetailsContainer;
     @FXML private Label bookingInfoLabel;
@@ -42,6 +49,8 @@ public class PaymentController {
     private final BackendService backend = BackendService.getInstance();
     private final AppSession session = AppSession.getInstance();
     private Booking selectedBooking;
+    // One key per payment attempt, so a double click cannot pay twice
+    private String paymentAttemptKey;
     private final ToggleGroup paymentMethodGroup = new ToggleGroup();
 
     @FXML
@@ -57,19 +66,28 @@ public class PaymentController {
         cardDetailsContainer.setVisible(false);
         cardDetailsContainer.setManaged(false);
 
+        bookingsList.setCellFactory(list -> new BookingCardCell());
+        bookingsList.getSelectionModel().selectedItemProperty().addListener((obs, old, booking) -> {
+            if (booking != null && booking != selectedBooking) {
+                selectBooking(booking);
+            }
+        });
+
         loadPendingBookings();
     }
 
     private void loadPendingBookings() {
-        Optional<String> userIdOpt = session.getCurrentUser().map(u -> u.getId());
-        if (userIdOpt.isEmpty()) {
+        Optional<UserSession> userSession = session.getCurrentSession();
+        if (userSession.isEmpty()) {
             showError("Please log in to view payments");
             return;
         }
 
-        List<Booking> pendingBookings = backend.getPendingPaymentsForUser(userIdOpt.get());
+        List<Booking> pendingBookings = backend.getPendingPaymentsForUser(userSession.get());
         
         if (pendingBookings.isEmpty()) {
+            selectedBooking = null;
+            bookingsList.getItems().clear();
             noBookingsLabel.setVisible(true);
             noBookingsLabel.setManaged(true);
             if (bookingsListContainer != null) {
@@ -87,73 +105,64 @@ public class PaymentController {
             bookingsListContainer.setVisible(true);
             bookingsListContainer.setManaged(true);
         }
-        bookingsContainer.getChildren().clear();
+        bookingsList.getItems().setAll(pendingBookings);
 
-        for (Booking booking : pendingBookings) {
-            VBox bookingCard = createBookingCard(booking);
-            bookingsContainer.getChildren().add(bookingCard);
-        }
-        
         // Auto-select first booking if available
         if (!pendingBookings.isEmpty()) {
             selectBooking(pendingBookings.get(0));
         }
     }
 
-    private VBox createBookingCard(Booking booking) {
-        VBox card = new VBox(10);
-        // Store booking reference in userData for easy retrieval
-        card.setUserData(booking);
-        updateCardStyle(card, booking);
-        
-        // Add hover effects
-        card.setOnMouseEntered(e -> {
-            if (selectedBooking == null || !selectedBooking.getId().equals(booking.getId())) {
-                card.setStyle("-fx-background-color: #f0fdf4; -fx-padding: 15px; " +
-                        "-fx-border-color: #1e6b47; -fx-border-width: 2px; " +
-                        "-fx-border-radius: 8px; -fx-background-radius: 8px; " +
-                        "-fx-cursor: hand;");
-            }
-        });
-        
-        card.setOnMouseExited(e -> {
-            updateCardStyle(card, booking);
-        });
-        
-        card.setOnMouseClicked(e -> {
-            e.consume();
-            selectBooking(booking);
-        });
-
-        HBox header = new HBox(10);
-        header.setAlignment(Pos.CENTER_LEFT);
-
-        Label pnrLabel = new Label("PNR: " + booking.getId());
-        pnrLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px;");
-
-        Label trainLabel = new Label(booking.getTrainNumber() + " - " + booking.getTrainName());
-        trainLabel.setStyle("-fx-text-fill: #6b7280; -fx-font-size: 13px;");
-
-        Region spacer = new Region();
-        HBox.setHgrow(spacer, Priority.ALWAYS);
-
-        Label amountLabel = new Label("PKR " + String.format("%,.0f", booking.getTotalAmount()));
-        amountLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 16px; -fx-text-fill: #1e6b47;");
-
-        header.getChildren().addAll(pnrLabel, trainLabel, spacer, amountLabel);
-
-        Label routeLabel = new Label(booking.getFromStation() + " → " + booking.getToStation());
-        routeLabel.setStyle("-fx-font-size: 12px;");
-
-        Label dateLabel = new Label("Travel Date: " + booking.getTravelDate().format(DateTimeFormatter.ofPattern("dd MMM yyyy")));
-        dateLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #6b7280;");
+    /**
+     * Recycled list cell rendering a pending booking. Selection and hover
+     * styling come from the list cell pseudo-classes in styles.css.
+     */
+    private static final class BookingCardCell extends ListCell<Booking> {
+        private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy");
+
+        private final VBox card = new VBox(10);
+        private final Label pnrLabel = new Label();
+        private final Label trainLabel = new Label();
+        private final Label amountLabel = new Label();
+        private final Label routeLabel = new Label();
+        private final Label dateLabel = new Label();
+
+        private BookingCardCell() {
+            card.getStyleClass().add("booking-card");
+            pnrLabel.getStyleClass().add("card-heading");
+            trainLabel.getStyleClass().add("card-subheading");
+            amountLabel.getStyleClass().add("card-price");
+            routeLabel.getStyleClass().add("card-field-value");
+            dateLabel.getStyleClass().addAll("card-field-value", "card-muted");
+
+            Region spacer = new Region();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
+            HBox header = new HBox(10, pnrLabel, trainLabel, spacer, amountLabel);
+            header.setAlignment(Pos.CENTER_LEFT);
+
+            card.getChildren().addAll(header, new Separator(), routeLabel, dateLabel);
+            setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        }
 
-        card.getChildren().addAll(header, new Separator(), routeLabel, dateLabel);
-        return card;
+        @Override
+        protected void updateItem(Booking booking, boolean empty) {
+            super.updateItem(booking, empty);
+            if (empty || booking == null) {
+                setGraphic(null);
+                return;
+            }
+            pnrLabel.setText("PNR: " + booking.getId());
+            trainLabel.setText(booking.getTrainNumber() + " - " + booking.getTrainName());
+            amountLabel.setText("PKR " + String.format("%,.0f", booking.getTotalAmount()));
+            routeLabel.setText(booking.getFromStation() + " → " + booking.getToStation());
+            dateLabel.setText("Travel Date: " + booking.getTravelDate().format(DATE_FORMAT));
+            setGraphic(card);
+        }
     }
 
     private void selectBooking(Booking booking) {
         selectedBooking = booking;
+        paymentAttemptKey = UUID.randomUUID().toString();
         paymentDetailsContainer.setVisible(true);
         paymentDetailsContainer.setManaged(true);
 
@@ -170,39 +179,12 @@ public class PaymentController {
         cardDetailsContainer.setManaged(false);
         clearCardFields();
         
-        // Update card styles to show selected
-        updateCardStyles();
-    }
-    
-    private void updateCardStyle(VBox card, Booking booking) {
-        boolean isSelected = selectedBooking != null && selectedBooking.getId().equals(booking.getId());
-        if (isSelected) {
-            card.setStyle("-fx-background-color: #e8f5f0; -fx-padding: 15px; " +
-                    "-fx-border-color: #1e6b47; -fx-border-width: 2px; " +
-                    "-fx-border-radius: 8px; -fx-background-radius: 8px; " +
-                    "-fx-cursor: hand;");
-        } else {
-            card.setStyle("-fx-background-color: white; -fx-padding: 15px; " +
-                    "-fx-border-color: #e5e7eb; -fx-border-width: 1px; " +
-                    "-fx-border-radius: 8px; -fx-background-radius: 8px; " +
-                    "-fx-cursor: hand;");
+        // Keep the list selection in sync with the booking shown
+        if (bookingsList.getSelectionModel().getSelectedItem() != booking) {
+            bookingsList.getSelectionModel().select(booking);
         }
     }
     
-    private void updateCardStyles() {
-        if (bookingsContainer == null) return;
-        
-        for (javafx.scene.Node node : bookingsContainer.getChildren()) {
-            if (node instanceof VBox) {
-                VBox card = (VBox) node;
-                Object userData = card.getUserData();
-                if (userData instanceof Booking) {
-                    updateCardStyle(card, (Booking) userData);
-                }
-            }
-        }
-    }
-
     @FXML
     private void handleClickToPay() {
         if (selectedBooking == null) {
@@ -224,16 +206,41 @@ public class PaymentController {
             }
         }
 
-        // Process payment directly
-        boolean success = backend.processPayment(selectedBooking.getId(), paymentMethod);
-        if (success) {
+        Optional<UserSession> userSession = session.getCurrentSession();
+        if (userSession.isEmpty()) {
+            showError("Your session has expired. Please log in again.");
+            return;
+        }
+
+        // Card authorization waits on the gateway; keep the FX thread free and the button locked meanwhile
+        Booking booking = selectedBooking;
+        String payButtonText = clickToPayButton.getText();
+        clickToPayButton.setDisable(true);
+        clickToPayButton.setText("Processing...");
+        backend.processPaymentAsync(userSession.get(), booking.getId(), paymentMethod, paymentAttemptKey)
+                .whenComplete((result, error) -> Platform.runLater(() -> {
+                    clickToPayButton.setDisable(false);
+                    clickToPayButton.setText(payButtonText);
+                    if (error != null) {
+                        LOG.error("Payment request failed", error, "bookingId", booking.getId());
+                        showError("Payment could not be completed. Please try again.");
+                    } else {
+                        showPaymentResult(booking, paymentMethod, result);
+                    }
+                }));
+    }
+
+    private void showPaymentResult(Booking booking, String paymentMethod, PaymentResult result) {
+        if (result.inProgress()) {
+            showError("This payment is already being processed.");
+        } else if (result.succeeded()) {
             Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
             successAlert.setTitle("Payment Successful");
             successAlert.setHeaderText("✅ Payment Successful!");
             successAlert.setContentText(
                     "Your payment has been processed successfully!\n\n" +
-                    "PNR: " + selectedBooking.getId() + "\n" +
-                    "Amount: PKR " + String.format("%,.0f", selectedBooking.getTotalAmount()) + "\n" +
+                    "PNR: " + booking.getId() + "\n" +
+                    "Amount: PKR " + String.format("%,.0f", booking.getTotalAmount()) + "\n" +
                     "Payment Method: " + paymentMethod + "\n\n" +
                     "Your ticket is now confirmed. You can view it in Payment History."
             );
@@ -242,7 +249,9 @@ public class PaymentController {
             clearCardFields();
             loadPendingBookings();
         } else {
-            showError("Payment failed. Please try again.");
+            // A retry is a new attempt with its own key
+            paymentAttemptKey = UUID.randomUUID().toString();
+            showError("Payment failed: " + result.detail() + ". Please try again.");
         }
     }
 
@@ -279,7 +288,7 @@ public class PaymentController {
         paymentDetailsContainer.setVisible(false);
         paymentDetailsContainer.setManaged(false);
         clearCardFields();
-        updateCardStyles();
+        bookingsList.getSelectionModel().clearSelection();
     }
 
     private void showError(String message) {
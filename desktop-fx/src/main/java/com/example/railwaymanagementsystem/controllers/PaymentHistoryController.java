@@ -1,5 +1,7 @@
 package com.example.railwaymanagementsystem.controllers;
 
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
 import com.example.railwaymanagementsystem.models.Booking;
 import com.example.railwaymanagementsystem.services.AppSession;
 import com.example.railwaymanagementsystem.services.BackendService;
@@ -17,6 +19,7 @@ import java.util.List;
  * Controller for Payment History Screen
  */
 public class PaymentHistoryController {
+    private static final Logger LOG = Log.getLogger(PaymentHistoryController.class);
 
     @FXML private Label totalSpentLabel;
     @FXML private Label thisMonthLabel;
@@ -49,17 +52,12 @@ public class PaymentHistoryController {
         ObservableList<PaymentRecord> payments = FXCollections.observableArrayList();
         
         try {
-            session.getCurrentUser().ifPresentOrElse(user -> {
-                List<Booking> bookings = backend.getBookingsForUser(user.getId());
-                System.out.println("Found " + bookings.size() + " bookings for user " + user.getId());
-                
+            session.getCurrentSession().ifPresentOrElse(userSession -> {
+                List<Booking> bookings = backend.getBookingsForUser(userSession);
+
                 // Only show paid bookings
                 List<PaymentRecord> paidBookings = bookings.stream()
-                        .filter(booking -> {
-                            String status = booking.getPaymentStatus();
-                            System.out.println("Booking " + booking.getId() + " payment status: " + status);
-                            return "Paid".equals(status);
-                        })
+                        .filter(booking -> "Paid".equals(booking.getPaymentStatus()))
                         .map(booking -> new PaymentRecord(
                                 booking.getBookingDateTime().format(DATE_FORMATTER),
                                 booking.getId(),
@@ -71,7 +69,8 @@ public class PaymentHistoryController {
                                 booking.getPaymentStatus()
                         )).toList();
                 
-                System.out.println("Found " + paidBookings.size() + " paid bookings");
+                LOG.debug("Loaded payment history", "userId", userSession.getUserId(),
+                        "bookings", bookings.size(), "paid", paidBookings.size());
                 payments.addAll(paidBookings);
 
                 // Calculate statistics from all bookings
@@ -92,19 +91,15 @@ public class PaymentHistoryController {
                                     b.getBookingDateTime().getYear() == LocalDate.now().getYear())
                         .count();
                 thisMonthLabel.setText(String.valueOf(thisMonth));
-            }, () -> {
-                System.out.println("No user session found");
-            });
+            }, () -> LOG.warn("No user session for payment history"));
         } catch (Exception e) {
-            System.err.println("Error loading payment history: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error loading payment history", e);
         }
 
         if (paymentTable != null) {
             paymentTable.setItems(payments);
-            System.out.println("Set " + payments.size() + " payment records to table");
         } else {
-            System.err.println("Payment table is null!");
+            LOG.warn("Payment table is not bound");
         }
     }
 
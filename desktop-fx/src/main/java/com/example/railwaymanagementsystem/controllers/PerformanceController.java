@@ -0,0 +1,117 @@
+package com.example.railwaymanagementsystem.controllers;
+
+import com.example.railwaymanagementsystem.metrics.MetricsRegistry;
+import com.example.railwaymanagementsystem.metrics.OperationSnapshot;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXML;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.util.Duration;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller for the admin Performance screen - live view of the MetricsRegistry
+ */
+public class PerformanceController {
+    private static final Duration REFRESH_INTERVAL = Duration.seconds(2);
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    @FXML private Label updatedLabel;
+    @FXML private TableView<OperationRow> operationsTable;
+    @FXML private TableColumn<OperationRow, String> nameColumn;
+    @FXML private TableColumn<OperationRow, Long> callsColumn;
+    @FXML private TableColumn<OperationRow, String> rateColumn;
+    @FXML private TableColumn<OperationRow, Long> errorsColumn;
+    @FXML private TableColumn<OperationRow, String> p50Column;
+    @FXML private TableColumn<OperationRow, String> p99Column;
+    @FXML private TableColumn<OperationRow, String> p999Column;
+    @FXML private TableColumn<OperationRow, String> maxColumn;
+    @FXML private TableView<ValueRow> valuesTable;
+    @FXML private TableColumn<ValueRow, String> valueNameColumn;
+    @FXML private TableColumn<ValueRow, String> valueKindColumn;
+    @FXML private TableColumn<ValueRow, Long> valueColumn;
+
+    private final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private final ObservableList<OperationRow> operations = FXCollections.observableArrayList();
+    private final ObservableList<ValueRow> values = FXCollections.observableArrayList();
+    // Call counts at the previous refresh, for the per-second rate
+    private final Map<String, Long> previousCalls = new HashMap<>();
+    private long previousRefreshNanos;
+    private Timeline refreshTimeline;
+
+    /** One operation with its call rate over the last refresh interval. */
+    private record OperationRow(OperationSnapshot snapshot, double ratePerSecond) {}
+
+    private record ValueRow(String name, String kind, long value) {}
+
+    @FXML
+    private void initialize() {
+        setupTables();
+        refresh();
+
+        refreshTimeline = new Timeline(new KeyFrame(REFRESH_INTERVAL, event -> refresh()));
+        refreshTimeline.setCycleCount(Timeline.INDEFINITE);
+        refreshTimeline.play();
+        // Stop polling once the admin navigates to another screen
+        operationsTable.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene == null) {
+                refreshTimeline.stop();
+            }
+        });
+    }
+
+    private void setupTables() {
+        nameColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().snapshot().name()));
+        callsColumn.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(cell.getValue().snapshot().calls()));
+        rateColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(
+                String.format("%.1f", cell.getValue().ratePerSecond())));
+        errorsColumn.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(cell.getValue().snapshot().errors()));
+        p50Column.setCellValueFactory(cell -> millis(cell.getValue().snapshot().p50Micros()));
+        p99Column.setCellValueFactory(cell -> millis(cell.getValue().snapshot().p99Micros()));
+        p999Column.setCellValueFactory(cell -> millis(cell.getValue().snapshot().p999Micros()));
+        maxColumn.setCellValueFactory(cell -> millis(cell.getValue().snapshot().maxMicros()));
+        operationsTable.setItems(operations);
+
+        valueNameColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().name()));
+        valueKindColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().kind()));
+        valueColumn.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(cell.getValue().value()));
+        valuesTable.setItems(values);
+    }
+
+    private void refresh() {
+        long now = System.nanoTime();
+        double elapsedSeconds = previousRefreshNanos == 0 ? 0 : (now - previousRefreshNanos) / 1e9;
+        previousRefreshNanos = now;
+
+        List<OperationRow> rows = new ArrayList<>();
+        for (OperationSnapshot snapshot : metrics.operationSnapshots()) {
+            Long before = previousCalls.put(snapshot.name(), snapshot.calls());
+            double rate = before == null || elapsedSeconds == 0 ? 0 : (snapshot.calls() - before) / elapsedSeconds;
+            rows.add(new OperationRow(snapshot, rate));
+        }
+        operations.setAll(rows);
+
+        List<ValueRow> valueRows = new ArrayList<>();
+        metrics.getCounters().forEach((name, value) -> valueRows.add(new ValueRow(name, "Counter", value)));
+        metrics.getGauges().forEach((name, value) -> valueRows.add(new ValueRow(name, "Gauge", value)));
+        values.setAll(valueRows);
+
+        updatedLabel.setText("Updated " + LocalTime.now().format(TIME_FORMAT));
+    }
+
+    private static ReadOnlyStringWrapper millis(long micros) {
+        return new ReadOnlyStringWrapper(String.format("%.2f", micros / 1000.0));
+    }
+}
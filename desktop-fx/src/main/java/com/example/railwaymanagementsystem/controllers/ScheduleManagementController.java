@@ -1,10 +1,12 @@
 package com.example.railwaymanagementsystem.controllers;
 
+import com.example.railwaymanagementsystem.filter.TableFilter;
+import com.example.railwaymanagementsystem.models.DayMask;
+import com.example.railwaymanagementsystem.models.MinuteOfDay;
 import com.example.railwaymanagementsystem.models.Schedule;
 import com.example.railwaymanagementsystem.services.BackendService;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.collections.transformation.FilteredList;
 import javafx.fxml.FXML;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
@@ -24,7 +26,7 @@ public class ScheduleManagementController {
 
     private final BackendService backend = BackendService.getInstance();
     private ObservableList<Schedule> scheduleData;
-    private FilteredList<Schedule> filteredData;
+    private TableFilter<Schedule> tableFilter;
 
     @FXML
     private void initialize() {
@@ -40,8 +42,10 @@ public class ScheduleManagementController {
 
     private void initializeData() {
         scheduleData = FXCollections.observableArrayList(backend.getSchedules());
-        filteredData = new FilteredList<>(scheduleData, p -> true);
-        scheduleTable.setItems(filteredData);
+        tableFilter = new TableFilter<>(scheduleData,
+                schedule -> schedule.getTrainNumber() + '\0' + schedule.getRoute());
+        tableFilter.setOnFiltered(this::updateCountLabel);
+        scheduleTable.setItems(tableFilter.getFilteredList());
         updateCountLabel();
     }
 
@@ -82,39 +86,31 @@ public class ScheduleManagementController {
     }
 
     private void setupFilters() {
-        searchField.textProperty().addListener((obs, old, newVal) -> applyFilters());
+        tableFilter.bindSearchText(searchField.textProperty());
         trainFilterCombo.valueProperty().addListener((obs, old, newVal) -> applyFilters());
         dayFilterCombo.valueProperty().addListener((obs, old, newVal) -> applyFilters());
         statusFilterCombo.valueProperty().addListener((obs, old, newVal) -> applyFilters());
     }
 
     private void applyFilters() {
-        filteredData.setPredicate(schedule -> {
-            String searchText = searchField.getText().toLowerCase();
-            boolean matchesSearch = searchText.isEmpty() ||
-                    schedule.getTrainNumber().toLowerCase().contains(searchText) ||
-                    schedule.getRoute().toLowerCase().contains(searchText);
-
-            String trainFilter = trainFilterCombo.getValue();
-            boolean matchesTrain = "All Trains".equals(trainFilter) ||
-                    schedule.getTrainName().equals(trainFilter);
-
-            String dayFilter = dayFilterCombo.getValue();
-            boolean matchesDay = "All Days".equals(dayFilter) ||
-                    schedule.getDays().contains(dayFilter.substring(0, 3));
+        String trainFilter = trainFilterCombo.getValue();
+        String dayFilter = dayFilterCombo.getValue();
+        String statusFilter = statusFilterCombo.getValue();
+        int dayBit = dayFilter == null ? DayMask.NONE : DayMask.parse(dayFilter);
 
-            String statusFilter = statusFilterCombo.getValue();
-            boolean matchesStatus = "All Status".equals(statusFilter) ||
+        tableFilter.setCriteria(schedule -> {
+            boolean matchesTrain = trainFilter == null || "All Trains".equals(trainFilter) ||
+                    schedule.getTrainName().equals(trainFilter);
+            boolean matchesDay = dayFilter == null || "All Days".equals(dayFilter) ||
+                    (schedule.getDayMask() & dayBit) != 0;
+            boolean matchesStatus = statusFilter == null || "All Status".equals(statusFilter) ||
                     schedule.getStatus().equals(statusFilter);
-
-            return matchesSearch && matchesTrain && matchesDay && matchesStatus;
+            return matchesTrain && matchesDay && matchesStatus;
         });
-
-        updateCountLabel();
     }
 
     private void updateCountLabel() {
-        countLabel.setText("Showing " + filteredData.size() + " schedules");
+        countLabel.setText("Showing " + tableFilter.getFilteredList().size() + " schedules");
     }
 
     @FXML
@@ -142,7 +138,17 @@ public class ScheduleManagementController {
         dialog.setContentText("Departure Time:");
 
         dialog.showAndWait().ifPresent(time -> {
-            schedule.setDepartureTime(time);
+            if (MinuteOfDay.parse(time) == MinuteOfDay.UNKNOWN) {
+                showError("Enter the time as hh:mm AM or PM, e.g. 08:30 AM");
+                return;
+            }
+            String previous = schedule.getDepartureTime();
+            schedule.setDepartureTime(MinuteOfDay.format(MinuteOfDay.parse(time)));
+            if (!backend.updateSchedule(schedule)) {
+                schedule.setDepartureTime(previous);
+                showError("Schedule could not be updated");
+                return;
+            }
             scheduleTable.refresh();
             showSuccess("Schedule updated successfully!");
         });
@@ -171,4 +177,12 @@ public class ScheduleManagementController {
         alert.setContentText(message);
         alert.showAndWait();
     }
+
+    private void showError(String message) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Error");
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
 }
@@ -1,5 +1,6 @@
 package com.example.railwaymanagementsystem.controllers;
 
+import com.example.railwaymanagementsystem.services.AppSettings;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 
@@ -24,6 +25,8 @@ public class SettingsController {
     @FXML private TextField dbPortField;
     @FXML private TextField dbNameField;
 
+    private final AppSettings settings = AppSettings.getInstance();
+
     @FXML
     private void initialize() {
         // Set default values
@@ -35,7 +38,10 @@ public class SettingsController {
         // Setup spinners
         setupSpinner(maxBookingDaysSpinner, 1, 365, 60);
         setupSpinner(maxSeatsSpinner, 1, 20, 6);
-        setupSpinner(cancellationDeadlineSpinner, 1, 72, 24);
+        setupSpinner(cancellationDeadlineSpinner, 1, 72,
+                settings.getInt(AppSettings.CANCELLATION_DEADLINE_HOURS, 24));
+        emailNotificationsCheck.setSelected(settings.getBoolean(AppSettings.EMAIL_NOTIFICATIONS, true));
+        smsNotificationsCheck.setSelected(settings.getBoolean(AppSettings.SMS_NOTIFICATIONS, true));
     }
 
     private void setupSpinner(Spinner<Integer> spinner, int min, int max, int initial) {
@@ -47,7 +53,19 @@ public class SettingsController {
 
     @FXML
     private void handleSaveSettings() {
-        // In production, save to database or configuration file
+        // Settings the backend reads: the cancellation deadline drives refunds, the
+        // notification toggles decide whether passengers are also emailed and texted
+        boolean saved = settings.setInt(AppSettings.CANCELLATION_DEADLINE_HOURS, cancellationDeadlineSpinner.getValue())
+                && settings.setBoolean(AppSettings.EMAIL_NOTIFICATIONS, emailNotificationsCheck.isSelected())
+                && settings.setBoolean(AppSettings.SMS_NOTIFICATIONS, smsNotificationsCheck.isSelected());
+        if (!saved) {
+            Alert error = new Alert(Alert.AlertType.ERROR);
+            error.setTitle("Error");
+            error.setHeaderText(null);
+            error.setContentText("Settings could not be saved. Please try again.");
+            error.showAndWait();
+            return;
+        }
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle("Settings Saved");
         alert.setHeaderText(null);
@@ -55,7 +73,9 @@ public class SettingsController {
                 "System Name: " + systemNameField.getText() + "\n" +
                 "Language: " + languageCombo.getValue() + "\n" +
                 "Max Booking Days: " + maxBookingDaysSpinner.getValue() + "\n" +
-                "Email Notifications: " + (emailNotificationsCheck.isSelected() ? "Enabled" : "Disabled"));
+                "Cancellation Deadline: " + cancellationDeadlineSpinner.getValue() + " hours\n" +
+                "Email Notifications: " + (emailNotificationsCheck.isSelected() ? "Enabled" : "Disabled") + "\n" +
+                "SMS Notifications: " + (smsNotificationsCheck.isSelected() ? "Enabled" : "Disabled"));
         alert.showAndWait();
     }
 
@@ -1,6 +1,8 @@
 package com.example.railwaymanagementsystem.controllers;
 
 import com.example.railwaymanagementsystem.RailSafarApp;
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
 import com.example.railwaymanagementsystem.models.User;
 import com.example.railwaymanagementsystem.services.AppSession;
 import com.example.railwaymanagementsystem.services.BackendService;
@@ -11,6 +13,7 @@ import javafx.scene.control.*;
  * Controller for the Sign Up Screen
  */
 public class SignUpController {
+    private static final Logger LOG = Log.getLogger(SignUpController.class);
 
     @FXML private TextField nameField;
     @FXML private TextField emailField;
@@ -59,7 +62,7 @@ public class SignUpController {
             try {
                 RailSafarApp.showPassengerPanel();
             } catch (Exception e) {
-                e.printStackTrace();
+                LOG.error("Error opening passenger panel", e);
                 showError("Error opening passenger panel: " + e.getMessage());
             }
         }, () -> showError("Email already registered"));
@@ -70,7 +73,7 @@ public class SignUpController {
         try {
             RailSafarApp.showLoginScreen("passenger");
         } catch (Exception e) {
-            e.printStackTrace();
+            LOG.error("Error navigating to login", e);
             showError("Error navigating to login: " + e.getMessage());
         }
     }
@@ -1,20 +1,25 @@
 package com.example.railwaymanagementsystem.controllers;
 
 import com.example.railwaymanagementsystem.RailSafarApp;
+import com.example.railwaymanagementsystem.filter.TableFilter;
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
+import com.example.railwaymanagementsystem.models.DisruptionJob;
 import com.example.railwaymanagementsystem.models.Train;
 import com.example.railwaymanagementsystem.services.BackendService;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.collections.transformation.FilteredList;
 import javafx.fxml.FXML;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.layout.HBox;
+import java.util.List;
 
 /**
  * Controller for Train Management Screen
  */
 public class TrainManagementController {
+    private static final Logger LOG = Log.getLogger(TrainManagementController.class);
 
     @FXML private TextField searchField;
     @FXML private ComboBox<String> statusFilterCombo;
@@ -26,7 +31,7 @@ public class TrainManagementController {
 
     private final BackendService backend = BackendService.getInstance();
     private ObservableList<Train> trainData;
-    private FilteredList<Train> filteredData;
+    private TableFilter<Train> tableFilter;
 
     @FXML
     private void initialize() {
@@ -51,8 +56,10 @@ public class TrainManagementController {
     private void initializeTrainData() {
         trainData = FXCollections.observableArrayList(backend.getTrains());
 
-        filteredData = new FilteredList<>(trainData, p -> true);
-        trainTable.setItems(filteredData);
+        tableFilter = new TableFilter<>(trainData,
+                train -> train.getTrainNumber() + '\0' + train.getTrainName() + '\0' + train.getRoute());
+        tableFilter.setOnFiltered(this::updateCountLabel);
+        trainTable.setItems(tableFilter.getFilteredList());
         updateCountLabel();
     }
 
@@ -63,12 +70,15 @@ public class TrainManagementController {
         // Use the actions column from FXML
         actionsColumn.setCellFactory(param -> new TableCell<>() {
             private final Button editBtn = new Button("✏️");
+            private final Button statusBtn = new Button("🚦");
             private final Button deleteBtn = new Button("🗑️");
-            private final HBox pane = new HBox(5, editBtn, deleteBtn);
+            private final HBox pane = new HBox(5, editBtn, statusBtn, deleteBtn);
 
             {
                 pane.setAlignment(Pos.CENTER);
                 editBtn.setStyle("-fx-background-color: transparent; -fx-cursor: hand;");
+                statusBtn.setStyle("-fx-background-color: transparent; -fx-cursor: hand;");
+                statusBtn.setTooltip(new Tooltip("Change status"));
                 deleteBtn.setStyle("-fx-background-color: transparent; -fx-cursor: hand; -fx-text-fill: #dc2626;");
 
                 editBtn.setOnAction(event -> {
@@ -76,6 +86,11 @@ public class TrainManagementController {
                     handleEditTrain(train);
                 });
 
+                statusBtn.setOnAction(event -> {
+                    Train train = getTableView().getItems().get(getIndex());
+                    handleChangeStatus(train);
+                });
+
                 deleteBtn.setOnAction(event -> {
                     Train train = getTableView().getItems().get(getIndex());
                     handleDeleteTrain(train);
@@ -94,58 +109,38 @@ public class TrainManagementController {
      * Setup filter listeners
      */
     private void setupFilters() {
-        // Search field listener
-        searchField.textProperty().addListener((observable, oldValue, newValue) -> {
-            applyFilters();
-        });
+        // Search text is debounced and served from the index
+        tableFilter.bindSearchText(searchField.textProperty());
 
-        // Status filter listener
+        // Combo filters are cheap per-row checks and apply immediately
         statusFilterCombo.valueProperty().addListener((observable, oldValue, newValue) -> {
             applyFilters();
         });
-
-        // Type filter listener
         typeFilterCombo.valueProperty().addListener((observable, oldValue, newValue) -> {
             applyFilters();
         });
-
-        // Route filter listener
         routeFilterCombo.valueProperty().addListener((observable, oldValue, newValue) -> {
             applyFilters();
         });
     }
 
     /**
-     * Apply all filters
+     * Apply the combo box filters
      */
     private void applyFilters() {
-        filteredData.setPredicate(train -> {
-            // Search filter
-            String searchText = searchField.getText().toLowerCase();
-            boolean matchesSearch = searchText.isEmpty() ||
-                    train.getTrainNumber().toLowerCase().contains(searchText) ||
-                    train.getTrainName().toLowerCase().contains(searchText) ||
-                    train.getRoute().toLowerCase().contains(searchText);
-
-            // Status filter
-            String statusFilter = statusFilterCombo.getValue();
-            boolean matchesStatus = "All Status".equals(statusFilter) ||
-                    train.getStatus().equals(statusFilter);
+        String statusFilter = statusFilterCombo.getValue();
+        String typeFilter = typeFilterCombo.getValue();
+        String routeFilter = routeFilterCombo.getValue();
 
-            // Type filter
-            String typeFilter = typeFilterCombo.getValue();
-            boolean matchesType = "All Types".equals(typeFilter) ||
+        tableFilter.setCriteria(train -> {
+            boolean matchesStatus = statusFilter == null || "All Status".equals(statusFilter) ||
+                    train.getStatus().equals(statusFilter);
+            boolean matchesType = typeFilter == null || "All Types".equals(typeFilter) ||
                     train.getType().equals(typeFilter);
-
-            // Route filter
-            String routeFilter = routeFilterCombo.getValue();
-            boolean matchesRoute = "All Routes".equals(routeFilter) ||
+            boolean matchesRoute = routeFilter == null || "All Routes".equals(routeFilter) ||
                     train.getRoute().contains(routeFilter);
-
-            return matchesSearch && matchesStatus && matchesType && matchesRoute;
+            return matchesStatus && matchesType && matchesRoute;
         });
-
-        updateCountLabel();
     }
 
     /**
@@ -153,7 +148,7 @@ public class TrainManagementController {
      */
     private void updateCountLabel() {
         countLabel.setText(String.format("Showing %d of %d trains",
-                filteredData.size(), trainData.size()));
+                tableFilter.getFilteredList().size(), trainData.size()));
     }
 
     @FXML
@@ -187,6 +182,7 @@ public class TrainManagementController {
 
         dialog.showAndWait().ifPresent(name -> {
             train.setTrainName(name);
+            tableFilter.invalidate();
             trainTable.refresh();
 
             Alert alert = new Alert(Alert.AlertType.INFORMATION);
@@ -197,6 +193,39 @@ public class TrainManagementController {
         });
     }
 
+    private void handleChangeStatus(Train train) {
+        ChoiceDialog<String> dialog = new ChoiceDialog<>(train.getStatus(), "On-time", "Delayed", "Cancelled");
+        dialog.setTitle("Change Train Status");
+        dialog.setHeaderText("Status of " + train.getTrainNumber() + " - " + train.getTrainName());
+        dialog.setContentText("Status:");
+
+        dialog.showAndWait().filter(status -> !status.equals(train.getStatus())).ifPresent(status -> {
+            List<DisruptionJob> jobs;
+            try {
+                jobs = backend.updateTrainStatus(train, status);
+            } catch (IllegalStateException e) {
+                LOG.error("Train status change failed", e, "train", train.getTrainNumber());
+                Alert error = new Alert(Alert.AlertType.ERROR);
+                error.setTitle("Error");
+                error.setHeaderText(null);
+                error.setContentText("Train status could not be saved. Please try again.");
+                error.showAndWait();
+                return;
+            }
+            tableFilter.invalidate();
+            trainTable.refresh();
+
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Success");
+            alert.setHeaderText(null);
+            alert.setContentText(jobs.isEmpty()
+                    ? "Train status updated to " + status + "."
+                    : "Train status updated to " + status + ".\n\nAffected bookings on " + jobs.size()
+                            + " travel date(s) are being rebooked, refunded and notified in the background.");
+            alert.showAndWait();
+        });
+    }
+
     private void handleDeleteTrain(Train train) {
         // Show confirmation dialog
         Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
@@ -1,9 +1,9 @@
 package com.example.railwaymanagementsystem.controllers;
 
+import com.example.railwaymanagementsystem.filter.TableFilter;
 import com.example.railwaymanagementsystem.models.User;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.collections.transformation.FilteredList;
 import javafx.fxml.FXML;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
@@ -21,7 +21,7 @@ public class UserManagementController {
     @FXML private Label countLabel;
 
     private ObservableList<User> userData;
-    private FilteredList<User> filteredData;
+    private TableFilter<User> tableFilter;
 
     @FXML
     private void initialize() {
@@ -47,8 +47,9 @@ public class UserManagementController {
                 createUser("10", "Sana Tariq", "sana.tariq@example.com", "+92 309 0123456", "Passenger")
         );
 
-        filteredData = new FilteredList<>(userData, p -> true);
-        userTable.setItems(filteredData);
+        tableFilter = new TableFilter<>(userData, user -> user.getName() + '\0' + user.getEmail());
+        tableFilter.setOnFiltered(this::updateCountLabel);
+        userTable.setItems(tableFilter.getFilteredList());
         updateCountLabel();
     }
 
@@ -107,30 +108,19 @@ public class UserManagementController {
     }
 
     private void setupFilters() {
-        searchField.textProperty().addListener((obs, old, newVal) -> applyFilters());
+        tableFilter.bindSearchText(searchField.textProperty());
         roleFilterCombo.valueProperty().addListener((obs, old, newVal) -> applyFilters());
         statusFilterCombo.valueProperty().addListener((obs, old, newVal) -> applyFilters());
     }
 
     private void applyFilters() {
-        filteredData.setPredicate(user -> {
-            String searchText = searchField.getText().toLowerCase();
-            boolean matchesSearch = searchText.isEmpty() ||
-                    user.getName().toLowerCase().contains(searchText) ||
-                    user.getEmail().toLowerCase().contains(searchText);
-
-            String roleFilter = roleFilterCombo.getValue();
-            boolean matchesRole = "All Roles".equals(roleFilter) ||
-                    user.getRole().equals(roleFilter);
-
-            return matchesSearch && matchesRole;
-        });
-
-        updateCountLabel();
+        String roleFilter = roleFilterCombo.getValue();
+        tableFilter.setCriteria(user -> roleFilter == null || "All Roles".equals(roleFilter) ||
+                user.getRole().equals(roleFilter));
     }
 
     private void updateCountLabel() {
-        countLabel.setText("Showing " + filteredData.size() + " users");
+        countLabel.setText("Showing " + tableFilter.getFilteredList().size() + " users");
     }
 
     @FXML
@@ -158,6 +148,7 @@ public class UserManagementController {
 
         dialog.showAndWait().ifPresent(name -> {
             user.setName(name);
+            tableFilter.invalidate();
             userTable.refresh();
             showSuccess("User updated successfully!");
         });
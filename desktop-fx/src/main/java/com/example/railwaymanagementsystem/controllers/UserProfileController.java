@@ -156,7 +156,7 @@ public class UserProfileController {
             return;
         }
 
-        if (!current.equals(currentUser.getPassword())) {
+        if (!backend.verifyPassword(currentUser, current)) {
             showError("Current password is incorrect");
             return;
         }
@@ -171,8 +171,10 @@ public class UserProfileController {
             return;
         }
 
-        currentUser.setPassword(newPass);
-        backend.updateUser(currentUser);
+        if (!backend.changePassword(currentUser, newPass)) {
+            showError("Could not change password. Please try again.");
+            return;
+        }
         currentPasswordField.clear();
         newPasswordField.clear();
         confirmPasswordField.clear();
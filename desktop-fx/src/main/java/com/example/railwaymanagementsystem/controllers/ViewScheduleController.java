@@ -1,10 +1,13 @@
 package com.example.railwaymanagementsystem.controllers;
 
+import com.example.railwaymanagementsystem.filter.RouteStations;
+import com.example.railwaymanagementsystem.filter.TableFilter;
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
 import com.example.railwaymanagementsystem.models.Schedule;
 import com.example.railwaymanagementsystem.services.BackendService;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.collections.transformation.FilteredList;
 import javafx.fxml.FXML;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
@@ -12,6 +15,8 @@ import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -19,6 +24,7 @@ import java.util.TreeSet;
  * Controller for View Schedule Screen
  */
 public class ViewScheduleController {
+    private static final Logger LOG = Log.getLogger(ViewScheduleController.class);
 
     @FXML private TextField searchField;
     @FXML private ComboBox<String> fromStationCombo;
@@ -28,7 +34,8 @@ public class ViewScheduleController {
 
     private final BackendService backend = BackendService.getInstance();
     private ObservableList<Schedule> scheduleData;
-    private FilteredList<Schedule> filteredData;
+    private TableFilter<Schedule> tableFilter;
+    private final Map<Schedule, RouteStations> stationsBySchedule = new IdentityHashMap<>();
 
     @FXML
     private void initialize() {
@@ -76,25 +83,26 @@ public class ViewScheduleController {
     private void initializeData() {
         try {
             scheduleData = FXCollections.observableArrayList(backend.getSchedules());
-            filteredData = new FilteredList<>(scheduleData, p -> true);
-            scheduleTable.setItems(filteredData);
-            updateCountLabel();
         } catch (Exception e) {
-            System.err.println("Error loading schedules: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error loading schedules", e);
             scheduleData = FXCollections.observableArrayList();
-            filteredData = new FilteredList<>(scheduleData, p -> true);
-            scheduleTable.setItems(filteredData);
         }
+        for (Schedule schedule : scheduleData) {
+            stationsBySchedule.put(schedule, RouteStations.parse(schedule.getRoute()));
+        }
+        tableFilter = new TableFilter<>(scheduleData,
+                schedule -> schedule.getTrainNumber() + '\0' + schedule.getTrainName() + '\0' + schedule.getRoute());
+        tableFilter.setOnFiltered(this::updateCountLabel);
+        scheduleTable.setItems(tableFilter.getFilteredList());
+        updateCountLabel();
     }
 
     private void populateStationFilters() {
         Set<String> stations = new TreeSet<>();
-        for (Schedule schedule : scheduleData) {
-            String[] parts = schedule.getRoute().split("-");
-            if (parts.length >= 2) {
-                stations.add(parts[0].trim());
-                stations.add(parts[parts.length - 1].trim());
+        for (RouteStations route : stationsBySchedule.values()) {
+            if (!route.origin().isEmpty() && !route.destination().isEmpty()) {
+                stations.add(route.origin());
+                stations.add(route.destination());
             }
         }
 
@@ -109,45 +117,29 @@ public class ViewScheduleController {
     }
 
     private void setupFilters() {
-        searchField.textProperty().addListener((obs, old, newVal) -> applyFilters());
+        tableFilter.bindSearchText(searchField.textProperty());
         fromStationCombo.valueProperty().addListener((obs, old, newVal) -> applyFilters());
         toStationCombo.valueProperty().addListener((obs, old, newVal) -> applyFilters());
     }
 
     private void applyFilters() {
-        filteredData.setPredicate(schedule -> {
-            String searchText = searchField.getText().toLowerCase();
-            boolean matchesSearch = searchText.isEmpty() ||
-                    schedule.getTrainNumber().toLowerCase().contains(searchText) ||
-                    schedule.getTrainName().toLowerCase().contains(searchText) ||
-                    schedule.getRoute().toLowerCase().contains(searchText);
+        String fromFilter = fromStationCombo.getValue();
+        String toFilter = toStationCombo.getValue();
 
-            String origin = extractStation(schedule.getRoute(), true);
-            String destination = extractStation(schedule.getRoute(), false);
+        tableFilter.setCriteria(schedule -> {
+            RouteStations route = stationsBySchedule.computeIfAbsent(schedule,
+                    s -> RouteStations.parse(s.getRoute()));
 
-            String fromFilter = fromStationCombo.getValue();
             boolean matchesFrom = fromFilter == null || "All Stations".equals(fromFilter) ||
-                    origin.equalsIgnoreCase(fromFilter);
-
-            String toFilter = toStationCombo.getValue();
+                    route.origin().equalsIgnoreCase(fromFilter);
             boolean matchesTo = toFilter == null || "All Stations".equals(toFilter) ||
-                    destination.equalsIgnoreCase(toFilter);
+                    route.destination().equalsIgnoreCase(toFilter);
 
-            return matchesSearch && matchesFrom && matchesTo;
+            return matchesFrom && matchesTo;
         });
-
-        updateCountLabel();
     }
 
     private void updateCountLabel() {
-        countLabel.setText("Showing " + filteredData.size() + " schedules");
-    }
-
-    private String extractStation(String route, boolean first) {
-        String[] parts = route.split("-");
-        if (parts.length == 0) {
-            return "";
-        }
-        return first ? parts[0].trim() : parts[parts.length - 1].trim();
+        countLabel.setText("Showing " + tableFilter.getFilteredList().size() + " schedules");
     }
 }
@@ -1,19 +1,21 @@
 package com.example.railwaymanagementsystem.controllers;
 import com.example.railwaymanagementsystem.RailSafarApp;
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
 import javafx.fxml.FXML;
 
 /**
  * Controller for the Welcome/Role Selection Screen
  */
 public class WelcomeController {
+    private static final Logger LOG = Log.getLogger(WelcomeController.class);
 
     @FXML
     private void handlePassengerLogin() {
         try {
             RailSafarApp.showLoginScreen("passenger");
         } catch (Exception e) {
-            e.printStackTrace();
-            System.err.println("Error navigating to login: " + e.getMessage());
+            LOG.error("Error navigating to login", e);
         }
     }
 
@@ -22,8 +24,7 @@ public class WelcomeController {
         try {
             RailSafarApp.showLoginScreen("admin");
         } catch (Exception e) {
-            e.printStackTrace();
-            System.err.println("Error navigating to login: " + e.getMessage());
+            LOG.error("Error navigating to login", e);
         }
     }
 }
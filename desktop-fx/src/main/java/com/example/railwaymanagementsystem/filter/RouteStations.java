@@ -0,0 +1,22 @@
+package com.example.railwaymanagementsystem.filter;
+
+/**
+ * Origin and destination parsed once from a "Origin - Destination" route string.
+ */
+public record RouteStations(String origin, String destination) {
+
+    public static RouteStations parse(String route) {
+        if (route == null) {
+            return new RouteStations("", "");
+        }
+        String[] parts = route.split("-");
+        if (parts.length == 0) {
+            return new RouteStations("", "");
+        }
+        return new RouteStations(parts[0].trim(), parts[parts.length - 1].trim());
+    }
+
+    public boolean isComplete() {
+        return !origin.isEmpty() && !destination.isEmpty() && !origin.equals(destination);
+    }
+}
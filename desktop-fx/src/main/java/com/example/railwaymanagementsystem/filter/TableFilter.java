@@ -0,0 +1,143 @@
+package com.example.railwaymanagementsystem.filter;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.util.Duration;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Debounced, indexed filtering for table screens.
+ *
+ * Free-text search runs against lowercase keys computed once per row and a
+ * trigram index, so a keystroke costs an index lookup rather than a lowercase
+ * of every field in every row. Cheap attribute filters (combo boxes) are
+ * applied immediately through {@link #setCriteria(Predicate)}.
+ */
+public final class TableFilter<T> {
+    public static final Duration DEFAULT_DEBOUNCE = Duration.millis(200);
+
+    private final ObservableList<T> source;
+    private final FilteredList<T> filtered;
+    private final Function<? super T, String> searchKey;
+    private final Map<T, Integer> rowIndex = new IdentityHashMap<>();
+    private final PauseTransition debounce;
+
+    private TrigramIndex index;
+    private boolean stale = true;
+    private boolean refreshQueued;
+    private String query = "";
+    private BitSet matches;
+    private Predicate<? super T> criteria = row -> true;
+    private Runnable onFiltered = () -> {};
+
+    /**
+     * @param searchKey the searchable text of a row; fields should be joined with a
+     *                  separator that cannot be typed, such as a NUL character
+     */
+    public TableFilter(ObservableList<T> source, Function<? super T, String> searchKey) {
+        this(source, searchKey, DEFAULT_DEBOUNCE);
+    }
+
+    public TableFilter(ObservableList<T> source, Function<? super T, String> searchKey, Duration debounceDelay) {
+        this.source = source;
+        this.searchKey = searchKey;
+        this.filtered = new FilteredList<>(source, row -> true);
+        this.debounce = new PauseTransition(debounceDelay);
+        source.addListener((ListChangeListener<T>) change -> invalidate());
+    }
+
+    public FilteredList<T> getFilteredList() {
+        return filtered;
+    }
+
+    /**
+     * Re-run the search whenever the text settles for the debounce delay.
+     */
+    public void bindSearchText(ObservableValue<String> text) {
+        text.addListener((obs, old, value) -> {
+            debounce.setOnFinished(e -> setQuery(value));
+            debounce.playFromStart();
+        });
+    }
+
+    public void setQuery(String text) {
+        query = text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+        refilter();
+    }
+
+    public void setCriteria(Predicate<? super T> criteria) {
+        this.criteria = criteria == null ? row -> true : criteria;
+        refilter();
+    }
+
+    public void setOnFiltered(Runnable onFiltered) {
+        this.onFiltered = onFiltered == null ? () -> {} : onFiltered;
+    }
+
+    /**
+     * Mark the index out of date, e.g. after a row was edited in place.
+     * The rebuild happens on the next pulse so a batch of changes rebuilds once.
+     */
+    public void invalidate() {
+        stale = true;
+        if (!refreshQueued) {
+            refreshQueued = true;
+            Platform.runLater(() -> {
+                refreshQueued = false;
+                if (stale) {
+                    refilter();
+                }
+            });
+        }
+    }
+
+    private void refilter() {
+        if (stale) {
+            rebuildIndex();
+        }
+        matches = query.isEmpty() ? null : index.search(query);
+        Predicate<? super T> activeCriteria = criteria;
+        filtered.setPredicate(row -> matchesQuery(row) && activeCriteria.test(row));
+        onFiltered.run();
+    }
+
+    private boolean matchesQuery(T row) {
+        if (matches == null) {
+            return true;
+        }
+        Integer position = rowIndex.get(row);
+        if (position == null) {
+            // Added since the last rebuild; check it directly until the index catches up
+            return normalizedKey(row).contains(query);
+        }
+        return matches.get(position);
+    }
+
+    private void rebuildIndex() {
+        rowIndex.clear();
+        List<String> keys = new ArrayList<>(source.size());
+        for (T row : source) {
+            rowIndex.put(row, keys.size());
+            keys.add(normalizedKey(row));
+        }
+        index = TrigramIndex.build(keys);
+        stale = false;
+    }
+
+    private String normalizedKey(T row) {
+        String key = searchKey.apply(row);
+        return key == null ? "" : key.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.railwaymanagementsystem.filter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trigram index over precomputed lowercase search keys for fast substring search.
+ */
+public final class TrigramIndex {
+    private static final int[] EMPTY = new int[0];
+
+    private final String[] keys;
+    private final Map<Long, int[]> postings;
+
+    private TrigramIndex(String[] keys, Map<Long, int[]> postings) {
+        this.keys = keys;
+        this.postings = postings;
+    }
+
+    /**
+     * Build an index where row i is searched through keys.get(i). Keys must already be lowercase.
+     */
+    public static TrigramIndex build(List<String> keys) {
+        String[] rows = keys.toArray(new String[0]);
+        Map<Long, IntBuffer> building = new HashMap<>();
+        for (int row = 0; row < rows.length; row++) {
+            String key = rows[row];
+            for (int i = 0; i + 3 <= key.length(); i++) {
+                IntBuffer buffer = building.computeIfAbsent(trigram(key, i), k -> new IntBuffer());
+                // Rows are visited in order, so a repeated trigram only needs a tail check
+                if (buffer.size == 0 || buffer.values[buffer.size - 1] != row) {
+                    buffer.add(row);
+                }
+            }
+        }
+
+        Map<Long, int[]> postings = new HashMap<>(building.size() * 2);
+        building.forEach((gram, buffer) -> postings.put(gram, buffer.toArray()));
+        return new TrigramIndex(rows, postings);
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Rows whose key contains the given lowercase query.
+     */
+    public BitSet search(String query) {
+        BitSet matches = new BitSet(keys.length);
+        if (query.isEmpty()) {
+            matches.set(0, keys.length);
+            return matches;
+        }
+
+        if (query.length() < 3) {
+            // Too short to use trigrams; the keys are already lowercased so a scan is cheap
+            for (int row = 0; row < keys.length; row++) {
+                if (keys[row].contains(query)) {
+                    matches.set(row);
+                }
+            }
+            return matches;
+        }
+
+        List<int[]> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= query.length(); i++) {
+            int[] list = postings.getOrDefault(trigram(query, i), EMPTY);
+            if (list.length == 0) {
+                return matches;
+            }
+            lists.add(list);
+        }
+        lists.sort((a, b) -> Integer.compare(a.length, b.length));
+
+        int[] candidates = lists.get(0);
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = intersect(candidates, lists.get(i));
+        }
+
+        // Trigram hits are necessary but not sufficient; confirm the actual substring
+        for (int row : candidates) {
+            if (keys[row].contains(query)) {
+                matches.set(row);
+            }
+        }
+        return matches;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static long trigram(String s, int offset) {
+        return ((long) s.charAt(offset) << 32) | ((long) s.charAt(offset + 1) << 16) | s.charAt(offset + 2);
+    }
+
+    private static final class IntBuffer {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
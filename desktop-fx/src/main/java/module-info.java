@@ -1,13 +1,12 @@
 module com.example.railwaymanagementsystem {
+    requires com.example.railwaymanagementsystem.core;
     requires javafx.controls;
     requires javafx.fxml;
-    requires java.sql;
 
 
     opens com.example.railwaymanagementsystem to javafx.fxml;
     exports com.example.railwaymanagementsystem;
     exports com.example.railwaymanagementsystem.controllers;
     opens com.example.railwaymanagementsystem.controllers to javafx.fxml;
-    exports com.example.railwaymanagementsystem.models;
-    opens com.example.railwaymanagementsystem.models to javafx.fxml;
-}
\ No newline at end of file
+    exports com.example.railwaymanagementsystem.filter;
+}
@@ -0,0 +1,2019 @@
+package com.example.railwaymanagementsystem.persistence;
+
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
+import com.example.railwaymanagementsystem.models.Booking;
+import com.example.railwaymanagementsystem.models.Cancellation;
+import com.example.railwaymanagementsystem.models.DayMask;
+import com.example.railwaymanagementsystem.models.DisruptionJob;
+import com.example.railwaymanagementsystem.models.MessageChannel;
+import com.example.railwaymanagementsystem.models.MessageStatus;
+import com.example.railwaymanagementsystem.models.MinuteOfDay;
+import com.example.railwaymanagementsystem.models.Notification;
+import com.example.railwaymanagementsystem.models.NotificationType;
+import com.example.railwaymanagementsystem.models.OutboundMessage;
+import com.example.railwaymanagementsystem.models.Payment;
+import com.example.railwaymanagementsystem.models.PaymentStatus;
+import com.example.railwaymanagementsystem.models.Refund;
+import com.example.railwaymanagementsystem.models.RefundStatus;
+import com.example.railwaymanagementsystem.models.Schedule;
+import com.example.railwaymanagementsystem.models.ScheduleException;
+import com.example.railwaymanagementsystem.models.Train;
+import com.example.railwaymanagementsystem.models.User;
+import com.example.railwaymanagementsystem.models.WaitlistEntry;
+import com.example.railwaymanagementsystem.models.WaitlistStatus;
+import com.example.railwaymanagementsystem.services.BookingChunk;
+import com.example.railwaymanagementsystem.services.DataStore;
+import com.example.railwaymanagementsystem.services.PasswordHasher;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Database service for persistent data storage using SQLite
+ */
+public class DatabaseService implements DataStore {
+    private static final Logger LOG = Log.getLogger(DatabaseService.class);
+    // Override with -Drailsafar.db.url=jdbc:sqlite:/path/to/file.db, e.g. for benchmark datasets;
+    // read when the singleton connects so it can be set after this class is loaded
+    private static final String DEFAULT_DB_URL = "jdbc:sqlite:railway_management.db";
+    private static DatabaseService instance;
+    private Connection connection;
+
+    private DatabaseService() {
+        initializeDatabase();
+    }
+
+    public static synchronized DatabaseService getInstance() {
+        if (instance == null) {
+            instance = new DatabaseService();
+        }
+        return instance;
+    }
+
+    private void initializeDatabase() {
+        try {
+            // The API server and desktop app may share the file: wait out each other's writes, and
+            // take the write lock when a transaction begins so two never deadlock upgrading to it
+            Properties properties = new Properties();
+            properties.setProperty("busy_timeout", "5000");
+            properties.setProperty("transaction_mode", "IMMEDIATE");
+            connection = QueryTracer.trace(DriverManager.getConnection(
+                    System.getProperty("railsafar.db.url", DEFAULT_DB_URL), properties));
+            createTables(connection);
+            seedInitialData();
+        } catch (SQLException e) {
+            LOG.error("Error initializing database", e);
+        }
+    }
+
+    /**
+     * Create the schema if it is missing. Shared with SyntheticDataGenerator, which fills
+     * databases outside the singleton connection.
+     */
+    static void createTables(Connection connection) throws SQLException {
+        // Users table
+        String createUsersTable = """
+            CREATE TABLE IF NOT EXISTS users (
+                id TEXT PRIMARY KEY,
+                name TEXT NOT NULL,
+                email TEXT UNIQUE NOT NULL,
+                phone TEXT,
+                role TEXT NOT NULL,
+                password TEXT NOT NULL,
+                cnic TEXT,
+                date_of_birth DATE,
+                gender TEXT,
+                address TEXT,
+                city TEXT,
+                postal_code TEXT
+            )
+        """;
+
+        // Trains table
+        String createTrainsTable = """
+            CREATE TABLE IF NOT EXISTS trains (
+                id TEXT PRIMARY KEY,
+                train_number TEXT UNIQUE NOT NULL,
+                train_name TEXT NOT NULL,
+                type TEXT,
+                route TEXT,
+                status TEXT
+            )
+        """;
+
+        // Schedules table
+        String createSchedulesTable = """
+            CREATE TABLE IF NOT EXISTS schedules (
+                id TEXT PRIMARY KEY,
+                train_number TEXT NOT NULL,
+                train_name TEXT NOT NULL,
+                departure_time TEXT,
+                arrival_time TEXT,
+                route TEXT,
+                days TEXT,
+                status TEXT,
+                departure_minute INTEGER,
+                arrival_minute INTEGER,
+                day_mask INTEGER,
+                FOREIGN KEY (train_number) REFERENCES trains(train_number)
+            )
+        """;
+
+        // Dates a schedule departs differently from its days of the week
+        String createScheduleExceptionsTable = """
+            CREATE TABLE IF NOT EXISTS schedule_exceptions (
+                schedule_id TEXT NOT NULL,
+                service_date DATE NOT NULL,
+                runs INTEGER NOT NULL,
+                PRIMARY KEY (schedule_id, service_date)
+            ) WITHOUT ROWID
+        """;
+
+        // Bookings table
+        String createBookingsTable = """
+            CREATE TABLE IF NOT EXISTS bookings (
+                id TEXT PRIMARY KEY,
+                user_id TEXT NOT NULL,
+                train_id TEXT NOT NULL,
+                train_number TEXT NOT NULL,
+                train_name TEXT NOT NULL,
+                from_station TEXT NOT NULL,
+                to_station TEXT NOT NULL,
+                travel_date DATE NOT NULL,
+                number_of_seats INTEGER NOT NULL,
+                seat_class TEXT,
+                total_amount REAL NOT NULL,
+                status TEXT NOT NULL,
+                booking_date_time TIMESTAMP NOT NULL,
+                payment_method TEXT,
+                payment_status TEXT,
+                FOREIGN KEY (user_id) REFERENCES users(id),
+                FOREIGN KEY (train_id) REFERENCES trains(id)
+            )
+        """;
+
+        // Payments ledger: one row per state a payment passes through, never updated or deleted
+        String createPaymentsTable = """
+            CREATE TABLE IF NOT EXISTS payments (
+                seq INTEGER PRIMARY KEY AUTOINCREMENT,
+                payment_id TEXT NOT NULL,
+                booking_id TEXT NOT NULL,
+                idempotency_key TEXT NOT NULL,
+                status TEXT NOT NULL,
+                amount REAL NOT NULL,
+                method TEXT,
+                detail TEXT,
+                created_at TIMESTAMP NOT NULL,
+                FOREIGN KEY (booking_id) REFERENCES bookings(id)
+            )
+        """;
+
+        // Latest state per idempotency key, so replays are a primary-key read
+        String createIdempotencyTable = """
+            CREATE TABLE IF NOT EXISTS payment_idempotency_keys (
+                idempotency_key TEXT PRIMARY KEY,
+                payment_id TEXT NOT NULL,
+                booking_id TEXT NOT NULL,
+                status TEXT NOT NULL,
+                amount REAL NOT NULL,
+                method TEXT,
+                detail TEXT,
+                updated_at TIMESTAMP NOT NULL
+            ) WITHOUT ROWID
+        """;
+
+        // Refunds ledger: one row per state a refund passes through, never updated or deleted
+        String createRefundsTable = """
+            CREATE TABLE IF NOT EXISTS refunds (
+                seq INTEGER PRIMARY KEY AUTOINCREMENT,
+                refund_id TEXT NOT NULL,
+                booking_id TEXT NOT NULL,
+                payment_id TEXT,
+                status TEXT NOT NULL,
+                amount REAL NOT NULL,
+                reason TEXT,
+                reference TEXT,
+                created_at TIMESTAMP NOT NULL,
+                FOREIGN KEY (booking_id) REFERENCES bookings(id)
+            )
+        """;
+
+        // Seats held per train, day and class. A row is counted from bookings the first time
+        // its slot is touched, then kept up to date by every booking and cancellation.
+        String createSeatInventoryTable = """
+            CREATE TABLE IF NOT EXISTS seat_inventory (
+                train_id TEXT NOT NULL,
+                travel_date DATE NOT NULL,
+                seat_class TEXT NOT NULL,
+                seats_booked INTEGER NOT NULL,
+                PRIMARY KEY (train_id, travel_date, seat_class)
+            ) WITHOUT ROWID
+        """;
+
+        String createNotificationsTable = """
+            CREATE TABLE IF NOT EXISTS notifications (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                user_id TEXT NOT NULL,
+                type TEXT NOT NULL,
+                title TEXT NOT NULL,
+                message TEXT NOT NULL,
+                created_at TIMESTAMP NOT NULL,
+                is_read INTEGER NOT NULL DEFAULT 0,
+                FOREIGN KEY (user_id) REFERENCES users(id)
+            )
+        """;
+
+        // One row per train and travel date being worked through after a disruption
+        String createDisruptionJobsTable = """
+            CREATE TABLE IF NOT EXISTS disruption_jobs (
+                job_id TEXT PRIMARY KEY,
+                train_id TEXT NOT NULL,
+                travel_date DATE NOT NULL,
+                train_status TEXT NOT NULL,
+                completed INTEGER NOT NULL,
+                cursor INTEGER NOT NULL,
+                bookings_processed INTEGER NOT NULL,
+                reaccommodated INTEGER NOT NULL,
+                cancelled INTEGER NOT NULL,
+                updated_at TIMESTAMP NOT NULL
+            )
+        """;
+
+        // Emails and SMS waiting to be sent, kept until sent or out of attempts
+        String createMessageOutboxTable = """
+            CREATE TABLE IF NOT EXISTS message_outbox (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                channel TEXT NOT NULL,
+                recipient TEXT NOT NULL,
+                subject TEXT,
+                body TEXT NOT NULL,
+                status TEXT NOT NULL,
+                attempts INTEGER NOT NULL,
+                next_attempt_at TIMESTAMP NOT NULL,
+                last_error TEXT,
+                created_at TIMESTAMP NOT NULL
+            )
+        """;
+
+        // Passengers waiting for seats on a sold-out train, day and class; the id orders each queue
+        String createWaitlistTable = """
+            CREATE TABLE IF NOT EXISTS waitlist (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                user_id TEXT NOT NULL,
+                train_id TEXT NOT NULL,
+                train_number TEXT NOT NULL,
+                train_name TEXT,
+                from_station TEXT NOT NULL,
+                to_station TEXT NOT NULL,
+                travel_date DATE NOT NULL,
+                seat_class TEXT NOT NULL,
+                seats INTEGER NOT NULL,
+                status TEXT NOT NULL,
+                booking_id TEXT,
+                created_at TIMESTAMP NOT NULL,
+                FOREIGN KEY (user_id) REFERENCES users(id)
+            )
+        """;
+
+        String createSettingsTable = """
+            CREATE TABLE IF NOT EXISTS app_settings (
+                key TEXT PRIMARY KEY,
+                value TEXT NOT NULL
+            ) WITHOUT ROWID
+        """;
+
+        // The last id handed out for each table, shared by every process using the file
+        String createIdSequencesTable = """
+            CREATE TABLE IF NOT EXISTS id_sequences (
+                name TEXT PRIMARY KEY,
+                last_id INTEGER NOT NULL
+            ) WITHOUT ROWID
+        """;
+
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(createUsersTable);
+            stmt.execute(createTrainsTable);
+            stmt.execute(createSchedulesTable);
+            stmt.execute(createScheduleExceptionsTable);
+            stmt.execute(createBookingsTable);
+            stmt.execute(createPaymentsTable);
+            stmt.execute(createIdempotencyTable);
+            stmt.execute(createRefundsTable);
+            stmt.execute(createSeatInventoryTable);
+            stmt.execute(createSettingsTable);
+            stmt.execute(createNotificationsTable);
+            stmt.execute(createDisruptionJobsTable);
+            stmt.execute(createMessageOutboxTable);
+            stmt.execute(createWaitlistTable);
+            stmt.execute(createIdSequencesTable);
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_payments_booking ON payments(booking_id, seq)");
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS payments_no_update BEFORE UPDATE ON payments "
+                    + "BEGIN SELECT RAISE(ABORT, 'payments ledger is append-only'); END");
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS payments_no_delete BEFORE DELETE ON payments "
+                    + "BEGIN SELECT RAISE(ABORT, 'payments ledger is append-only'); END");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_refunds_booking ON refunds(booking_id, seq)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_refunds_refund ON refunds(refund_id, seq)");
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS refunds_no_update BEFORE UPDATE ON refunds "
+                    + "BEGIN SELECT RAISE(ABORT, 'refunds ledger is append-only'); END");
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS refunds_no_delete BEFORE DELETE ON refunds "
+                    + "BEGIN SELECT RAISE(ABORT, 'refunds ledger is append-only'); END");
+            // Counting a train's seats for a day and cancelling a whole train both filter on these
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_bookings_train_date ON bookings(train_id, travel_date)");
+            // A user's notifications newest first, and the unread ones alone for the badge and filter
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_notifications_user ON notifications(user_id, id)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_notifications_unread ON notifications(user_id, id) WHERE is_read = 0");
+            // Only pending messages are polled, so sent ones drop out of the index
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_message_outbox_due ON message_outbox(channel, next_attempt_at) WHERE status = 'PENDING'");
+            // Each queue in order; entries leave the index once promoted or cancelled
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_waitlist_queue ON waitlist(train_id, travel_date, seat_class, id) WHERE status = 'WAITING'");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_waitlist_user ON waitlist(user_id, id)");
+        }
+        // Login looks users up case-insensitively; index the expression it filters on, and keep
+        // to one account per email whatever its case, even when processes register at once
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE UNIQUE INDEX IF NOT EXISTS idx_users_email_unique ON users(LOWER(email))");
+            stmt.execute("DROP INDEX IF EXISTS idx_users_email_lower");
+        } catch (SQLException e) {
+            LOG.warn("Some emails are registered more than once, differing only in case", "error", e.getMessage());
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("CREATE INDEX IF NOT EXISTS idx_users_email_lower ON users(LOWER(email))");
+            }
+        }
+        migrateSchedules(connection);
+    }
+
+    /**
+     * Add the typed time and day columns to a schedules table created before they existed,
+     * and fill them in for rows that have only the text. Rows whose text cannot be read keep
+     * {@link MinuteOfDay#UNKNOWN} and {@link DayMask#NONE}.
+     */
+    private static void migrateSchedules(Connection connection) throws SQLException {
+        Set<String> columns = new HashSet<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA table_info(schedules)")) {
+            while (rs.next()) {
+                columns.add(rs.getString("name"));
+            }
+        }
+        try (Statement stmt = connection.createStatement()) {
+            for (String column : List.of("departure_minute", "arrival_minute", "day_mask")) {
+                if (!columns.contains(column)) {
+                    stmt.execute("ALTER TABLE schedules ADD COLUMN " + column + " INTEGER");
+                }
+            }
+            // Trains running on a day after a given time: test the mask, range over the minute
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_schedules_departure ON schedules(departure_minute)");
+        }
+
+        List<Schedule> unconverted = new ArrayList<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM schedules WHERE day_mask IS NULL "
+                     + "OR departure_minute IS NULL OR arrival_minute IS NULL")) {
+            while (rs.next()) {
+                unconverted.add(mapSchedule(rs));
+            }
+        }
+        if (unconverted.isEmpty()) {
+            return;
+        }
+        String sql = "UPDATE schedules SET departure_minute = ?, arrival_minute = ?, day_mask = ? WHERE id = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            for (Schedule schedule : unconverted) {
+                pstmt.setInt(1, schedule.getDepartureMinute());
+                pstmt.setInt(2, schedule.getArrivalMinute());
+                pstmt.setInt(3, schedule.getDayMask());
+                pstmt.setString(4, schedule.getId());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+        LOG.info("Schedules migrated to typed times", "schedules", unconverted.size());
+    }
+
+    private void seedInitialData() throws SQLException {
+        // Check if data already exists
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM users")) {
+            if (rs.next() && rs.getInt(1) > 0) {
+                return; // Data already seeded
+            }
+        }
+
+        // Seed users
+        seedUsers();
+        seedTrains();
+        seedSchedules();
+        seedBookings();
+    }
+
+    private void seedUsers() throws SQLException {
+        String sql = "INSERT OR IGNORE INTO users (id, name, email, phone, role, password, cnic, date_of_birth, gender, address, city, postal_code) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        PasswordHasher hasher = PasswordHasher.getInstance();
+
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            // Admin user
+            pstmt.setString(1, "100");
+            pstmt.setString(2, "System Admin");
+            pstmt.setString(3, "admin@railsafar.com");
+            pstmt.setString(4, "0300-0000000");
+            pstmt.setString(5, "admin");
+            pstmt.setString(6, hasher.hash("admin123"));
+            pstmt.setString(7, "35202-1234567-1");
+            pstmt.setDate(8, Date.valueOf(LocalDate.of(1985, 5, 12)));
+            pstmt.setString(9, "Male");
+            pstmt.setString(10, "HQ, Rail Safar Building");
+            pstmt.setString(11, "Karachi");
+            pstmt.setString(12, "75500");
+            pstmt.executeUpdate();
+
+            // Sample passenger
+            pstmt.setString(1, "101");
+            pstmt.setString(2, "Sarah Khan");
+            pstmt.setString(3, "sarah.khan@example.com");
+            pstmt.setString(4, "0300-1111111");
+            pstmt.setString(5, "passenger");
+            pstmt.setString(6, hasher.hash("password1"));
+            pstmt.setString(7, "35201-9876543-2");
+            pstmt.setDate(8, Date.valueOf(LocalDate.of(1995, 8, 20)));
+            pstmt.setString(9, "Female");
+            pstmt.setString(10, "123 Main Street");
+            pstmt.setString(11, "Lahore");
+            pstmt.setString(12, "54000");
+            pstmt.executeUpdate();
+        }
+    }
+
+    private void seedTrains() throws SQLException {
+        String sql = "INSERT OR IGNORE INTO trains (id, train_number, train_name, type, route, status) VALUES (?, ?, ?, ?, ?, ?)";
+        
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            String[][] trains = {
+                {"1", "1UP", "Karachi Express", "Express", "Karachi - Lahore", "On-time"},
+                {"2", "2DN", "Lahore Express", "Express", "Lahore - Karachi", "Delayed"},
+                {"3", "3UP", "Green Line", "Passenger", "Islamabad - Multan", "On-time"},
+                {"4", "4DN", "Freight Express", "Freight", "Port Qasim - Faisalabad", "Cancelled"},
+                {"5", "5UP", "Business Express", "Express", "Rawalpindi - Quetta", "On-time"},
+                {"6", "6DN", "Peshawar Mail", "Passenger", "Peshawar - Karachi", "Delayed"}
+            };
+
+            for (String[] train : trains) {
+                pstmt.setString(1, train[0]);
+                pstmt.setString(2, train[1]);
+                pstmt.setString(3, train[2]);
+                pstmt.setString(4, train[3]);
+                pstmt.setString(5, train[4]);
+                pstmt.setString(6, train[5]);
+                pstmt.executeUpdate();
+            }
+        }
+    }
+
+    private void seedSchedules() throws SQLException {
+        String sql = "INSERT OR IGNORE INTO schedules (id, train_number, train_name, departure_time, arrival_time, route, days, status, departure_minute, arrival_minute, day_mask) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            String[][] schedules = {
+                {"1", "1UP", "Karachi Express", "08:00 AM", "08:00 PM", "Karachi - Lahore", "Daily", "Active"},
+                {"2", "2DN", "Lahore Express", "09:00 AM", "09:00 PM", "Lahore - Karachi", "Daily", "Active"},
+                {"3", "3UP", "Green Line", "10:30 AM", "06:30 PM", "Islamabad - Multan", "Mon-Fri", "Active"},
+                {"4", "5UP", "Business Express", "07:00 AM", "05:00 PM", "Rawalpindi - Quetta", "Daily", "Active"},
+                {"5", "6DN", "Peshawar Mail", "11:00 AM", "11:00 PM", "Peshawar - Karachi", "Daily", "Active"}
+            };
+
+            for (String[] schedule : schedules) {
+                pstmt.setString(1, schedule[0]);
+                pstmt.setString(2, schedule[1]);
+                pstmt.setString(3, schedule[2]);
+                pstmt.setString(4, schedule[3]);
+                pstmt.setString(5, schedule[4]);
+                pstmt.setString(6, schedule[5]);
+                pstmt.setString(7, schedule[6]);
+                pstmt.setString(8, schedule[7]);
+                pstmt.setInt(9, MinuteOfDay.parse(schedule[3]));
+                pstmt.setInt(10, MinuteOfDay.parse(schedule[4]));
+                pstmt.setInt(11, DayMask.parse(schedule[6]));
+                pstmt.executeUpdate();
+            }
+        }
+    }
+
+    private void seedBookings() throws SQLException {
+        // Only seed if no bookings exist
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM bookings")) {
+            if (rs.next() && rs.getInt(1) > 0) {
+                return;
+            }
+        }
+
+        String sql = "INSERT INTO bookings (id, user_id, train_id, train_number, train_name, from_station, to_station, travel_date, number_of_seats, seat_class, total_amount, status, booking_date_time, payment_method, payment_status) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            // Sample paid booking
+            pstmt.setString(1, "400");
+            pstmt.setString(2, "101");
+            pstmt.setString(3, "1");
+            pstmt.setString(4, "1UP");
+            pstmt.setString(5, "Karachi Express");
+            pstmt.setString(6, "Karachi");
+            pstmt.setString(7, "Lahore");
+            pstmt.setDate(8, Date.valueOf(LocalDate.now().plusDays(2)));
+            pstmt.setInt(9, 2);
+            pstmt.setString(10, "Economy");
+            pstmt.setDouble(11, 5000);
+            pstmt.setString(12, "Confirmed");
+            pstmt.setTimestamp(13, Timestamp.valueOf(LocalDateTime.now().minusDays(1)));
+            pstmt.setString(14, "Card");
+            pstmt.setString(15, "Paid");
+            pstmt.executeUpdate();
+        }
+    }
+
+    // User operations
+    @Override
+    public Optional<User> findUserByEmail(String email) throws SQLException {
+        String sql = "SELECT * FROM users WHERE LOWER(email) = LOWER(?)";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, email);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapUserFromResultSet(rs));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<User> findUserById(String id) throws SQLException {
+        String sql = "SELECT * FROM users WHERE id = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapUserFromResultSet(rs));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<User> getAllUsers() throws SQLException {
+        List<User> users = new ArrayList<>();
+        String sql = "SELECT * FROM users";
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                users.add(mapUserFromResultSet(rs));
+            }
+        }
+        return users;
+    }
+
+    @Override
+    public Map<String, String> getUserEmailIndex() throws SQLException {
+        Map<String, String> index = new HashMap<>();
+        String sql = "SELECT id, email FROM users";
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                index.put(rs.getString("email").trim().toLowerCase(Locale.ROOT), rs.getString("id"));
+            }
+        }
+        return index;
+    }
+
+    @Override
+    public synchronized User addUser(User user) throws SQLException {
+        String sql = "INSERT INTO users (id, name, email, phone, role, password, cnic, date_of_birth, gender, address, city, postal_code) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            setUserParameters(pstmt, user);
+            pstmt.executeUpdate();
+        }
+        return user;
+    }
+
+    @Override
+    public synchronized boolean updateUser(User user) throws SQLException {
+        // Column order matches setUserParameters, which binds the id first
+        String sql = "UPDATE users SET id = ?, name = ?, email = ?, phone = ?, role = ?, password = ?, cnic = ?, date_of_birth = ?, gender = ?, address = ?, city = ?, postal_code = ? WHERE id = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            setUserParameters(pstmt, user);
+            pstmt.setString(13, user.getId());
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+
+    @Override
+    public boolean emailExists(String email, String excludeUserId) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM users WHERE LOWER(email) = LOWER(?) AND id != ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, email);
+            pstmt.setString(2, excludeUserId != null ? excludeUserId : "");
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) > 0;
+            }
+        }
+    }
+
+    @Override
+    public String getNextUserId() throws SQLException {
+        return nextId("users");
+    }
+
+    // Train operations
+    @Override
+    public List<Train> getAllTrains() throws SQLException {
+        List<Train> trains = new ArrayList<>();
+        String sql = "SELECT * FROM trains";
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                trains.add(mapTrainFromResultSet(rs));
+            }
+        }
+        return trains;
+    }
+
+    @Override
+    public Optional<Train> findTrainById(String id) throws SQLException {
+        String sql = "SELECT * FROM trains WHERE id = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapTrainFromResultSet(rs));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Train> findTrainByNumber(String trainNumber) throws SQLException {
+        String sql = "SELECT * FROM trains WHERE train_number = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, trainNumber);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapTrainFromResultSet(rs));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public synchronized Train addTrain(Train train) throws SQLException {
+        String sql = "INSERT INTO trains (id, train_number, train_name, type, route, status) VALUES (?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, train.getId());
+            pstmt.setString(2, train.getTrainNumber());
+            pstmt.setString(3, train.getTrainName());
+            pstmt.setString(4, train.getType());
+            pstmt.setString(5, train.getRoute());
+            pstmt.setString(6, train.getStatus());
+            pstmt.executeUpdate();
+        }
+        return train;
+    }
+
+    @Override
+    public synchronized boolean updateTrain(Train train) throws SQLException {
+        String sql = "UPDATE trains SET train_number = ?, train_name = ?, type = ?, route = ?, status = ? WHERE id = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, train.getTrainNumber());
+            pstmt.setString(2, train.getTrainName());
+            pstmt.setString(3, train.getType());
+            pstmt.setString(4, train.getRoute());
+            pstmt.setString(5, train.getStatus());
+            pstmt.setString(6, train.getId());
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+
+    @Override
+    public synchronized boolean removeTrain(String id) throws SQLException {
+        String sql = "DELETE FROM trains WHERE id = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, id);
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+
+    @Override
+    public String getNextTrainId() throws SQLException {
+        return nextId("trains");
+    }
+
+    // Schedule operations
+    @Override
+    public List<Schedule> getAllSchedules() throws SQLException {
+        List<Schedule> schedules = new ArrayList<>();
+        String sql = "SELECT * FROM schedules";
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                schedules.add(mapScheduleFromResultSet(rs));
+            }
+        }
+        return schedules;
+    }
+
+    @Override
+    public Optional<Schedule> findScheduleByTrainNumber(String trainNumber) throws SQLException {
+        String sql = "SELECT * FROM schedules WHERE train_number = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, trainNumber);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapScheduleFromResultSet(rs));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public synchronized Schedule addSchedule(Schedule schedule) throws SQLException {
+        String sql = "INSERT INTO schedules (id, train_number, train_name, departure_time, arrival_time, route, days, status, departure_minute, arrival_minute, day_mask) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, schedule.getId());
+            pstmt.setString(2, schedule.getTrainNumber());
+            pstmt.setString(3, schedule.getTrainName());
+            pstmt.setString(4, schedule.getDepartureTime());
+            pstmt.setString(5, schedule.getArrivalTime());
+            pstmt.setString(6, schedule.getRoute());
+            pstmt.setString(7, schedule.getDays());
+            pstmt.setString(8, schedule.getStatus());
+            pstmt.setInt(9, schedule.getDepartureMinute());
+            pstmt.setInt(10, schedule.getArrivalMinute());
+            pstmt.setInt(11, schedule.getDayMask());
+            pstmt.executeUpdate();
+        }
+        return schedule;
+    }
+
+    @Override
+    public synchronized boolean updateSchedule(Schedule schedule) throws SQLException {
+        String sql = "UPDATE schedules SET train_number = ?, train_name = ?, departure_time = ?, arrival_time = ?, route = ?, days = ?, status = ?, departure_minute = ?, arrival_minute = ?, day_mask = ? WHERE id = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, schedule.getTrainNumber());
+            pstmt.setString(2, schedule.getTrainName());
+            pstmt.setString(3, schedule.getDepartureTime());
+            pstmt.setString(4, schedule.getArrivalTime());
+            pstmt.setString(5, schedule.getRoute());
+            pstmt.setString(6, schedule.getDays());
+            pstmt.setString(7, schedule.getStatus());
+            pstmt.setInt(8, schedule.getDepartureMinute());
+            pstmt.setInt(9, schedule.getArrivalMinute());
+            pstmt.setInt(10, schedule.getDayMask());
+            pstmt.setString(11, schedule.getId());
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+
+    @Override
+    public synchronized boolean removeSchedule(String id) throws SQLException {
+        return inTransaction(() -> {
+            try (PreparedStatement pstmt = connection.prepareStatement("DELETE FROM schedule_exceptions WHERE schedule_id = ?")) {
+                pstmt.setString(1, id);
+                pstmt.executeUpdate();
+            }
+            try (PreparedStatement pstmt = connection.prepareStatement("DELETE FROM schedules WHERE id = ?")) {
+                pstmt.setString(1, id);
+                return pstmt.executeUpdate() > 0;
+            }
+        });
+    }
+
+    @Override
+    public String getNextScheduleId() throws SQLException {
+        return nextId("schedules");
+    }
+
+    @Override
+    public List<ScheduleException> getScheduleExceptions() throws SQLException {
+        List<ScheduleException> exceptions = new ArrayList<>();
+        String sql = "SELECT schedule_id, service_date, runs FROM schedule_exceptions";
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                exceptions.add(new ScheduleException(rs.getString("schedule_id"),
+                        rs.getDate("service_date").toLocalDate(), rs.getInt("runs") != 0));
+            }
+        }
+        return exceptions;
+    }
+
+    @Override
+    public synchronized boolean saveScheduleException(ScheduleException exception) throws SQLException {
+        String sql = "INSERT OR REPLACE INTO schedule_exceptions (schedule_id, service_date, runs) VALUES (?, ?, ?)";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, exception.scheduleId());
+            pstmt.setDate(2, Date.valueOf(exception.date()));
+            pstmt.setInt(3, exception.runs() ? 1 : 0);
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+
+    @Override
+    public synchronized boolean removeScheduleException(String scheduleId, LocalDate date) throws SQLException {
+        String sql = "DELETE FROM schedule_exceptions WHERE schedule_id = ? AND service_date = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, scheduleId);
+            pstmt.setDate(2, Date.valueOf(date));
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+
+    // Booking operations
+    @Override
+    public List<Booking> getAllBookings() throws SQLException {
+        List<Booking> bookings = new ArrayList<>();
+        String sql = "SELECT * FROM bookings";
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                bookings.add(mapBookingFromResultSet(rs));
+            }
+        }
+        return bookings;
+    }
+
+    @Override
+    public Optional<Booking> findBookingById(String id) throws SQLException {
+        String sql = "SELECT * FROM bookings WHERE id = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapBookingFromResultSet(rs));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Insert the booking and hold its seats in one transaction.
+     */
+    @Override
+    public synchronized Booking addBooking(Booking booking) throws SQLException {
+        return inTransaction(() -> {
+            // Counted before the insert, so the new booking is only added once
+            ensureSeatInventory(SeatSlot.of(booking));
+            insertBooking(booking);
+            return booking;
+        });
+    }
+
+    @Override
+    public synchronized boolean addBookingIfAvailable(Booking booking, int seatsPerClass) throws SQLException {
+        String waiting = "SELECT 1 FROM waitlist WHERE train_id = ? AND travel_date = ? AND seat_class = ? AND status = 'WAITING' LIMIT 1";
+        return inTransaction(() -> {
+            SeatSlot slot = SeatSlot.of(booking);
+            ensureSeatInventory(slot);
+            if (seatsBooked(slot) + booking.getNumberOfSeats() > seatsPerClass) {
+                return false;
+            }
+            // Seats freed while others wait are theirs
+            try (PreparedStatement pstmt = connection.prepareStatement(waiting)) {
+                setSeatSlot(pstmt, 1, slot);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        return false;
+                    }
+                }
+            }
+            insertBooking(booking);
+            return true;
+        });
+    }
+
+    @Override
+    public synchronized boolean updateBooking(Booking booking) throws SQLException {
+        String sql = "UPDATE bookings SET user_id = ?, train_id = ?, train_number = ?, train_name = ?, from_station = ?, to_station = ?, travel_date = ?, number_of_seats = ?, seat_class = ?, total_amount = ?, status = ?, booking_date_time = ?, payment_method = ?, payment_status = ? WHERE id = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, booking.getUserId());
+            pstmt.setString(2, booking.getTrainId());
+            pstmt.setString(3, booking.getTrainNumber());
+            pstmt.setString(4, booking.getTrainName());
+            pstmt.setString(5, booking.getFromStation());
+            pstmt.setString(6, booking.getToStation());
+            pstmt.setDate(7, Date.valueOf(booking.getTravelDate()));
+            pstmt.setInt(8, booking.getNumberOfSeats());
+            pstmt.setString(9, booking.getSeatClass());
+            pstmt.setDouble(10, booking.getTotalAmount());
+            pstmt.setString(11, booking.getStatus());
+            pstmt.setTimestamp(12, Timestamp.valueOf(booking.getBookingDateTime()));
+            pstmt.setString(13, booking.getPaymentMethod());
+            pstmt.setString(14, booking.getPaymentStatus());
+            pstmt.setString(15, booking.getId());
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+
+    @Override
+    public String getNextBookingId() throws SQLException {
+        return nextId("bookings");
+    }
+
+    @Override
+    public List<Booking> getActiveBookingsForTrain(String trainId, LocalDate fromDate) throws SQLException {
+        List<Booking> bookings = new ArrayList<>();
+        String sql = "SELECT * FROM bookings WHERE train_id = ? AND travel_date >= ? AND status <> 'Cancelled'";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, trainId);
+            pstmt.setDate(2, Date.valueOf(fromDate));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    bookings.add(mapBookingFromResultSet(rs));
+                }
+            }
+        }
+        return bookings;
+    }
+
+    @Override
+    public List<LocalDate> getActiveTravelDates(String trainId, LocalDate fromDate) throws SQLException {
+        List<LocalDate> dates = new ArrayList<>();
+        String sql = "SELECT DISTINCT travel_date FROM bookings WHERE train_id = ? AND travel_date >= ? AND status <> 'Cancelled' ORDER BY travel_date";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, trainId);
+            pstmt.setDate(2, Date.valueOf(fromDate));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    dates.add(rs.getDate(1).toLocalDate());
+                }
+            }
+        }
+        return dates;
+    }
+
+    /**
+     * Pages by rowid, which idx_bookings_train_date already orders within a train and date,
+     * so each page is a range read of the index with no sort.
+     */
+    @Override
+    public BookingChunk getActiveBookingChunk(String trainId, LocalDate travelDate, long afterCursor, int limit)
+            throws SQLException {
+        List<Booking> bookings = new ArrayList<>();
+        long cursor = afterCursor;
+        String sql = "SELECT rowid AS booking_rowid, * FROM bookings WHERE train_id = ? AND travel_date = ? AND rowid > ? AND status <> 'Cancelled' ORDER BY rowid LIMIT ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, trainId);
+            pstmt.setDate(2, Date.valueOf(travelDate));
+            pstmt.setLong(3, afterCursor);
+            pstmt.setInt(4, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    bookings.add(mapBookingFromResultSet(rs));
+                    cursor = rs.getLong("booking_rowid");
+                }
+            }
+        }
+        return new BookingChunk(bookings, cursor);
+    }
+
+    @Override
+    public int getSeatsBooked(String trainId, LocalDate travelDate, String seatClass) throws SQLException {
+        SeatSlot slot = new SeatSlot(trainId, travelDate, seatClass == null ? "" : seatClass);
+        String sql = "SELECT seats_booked FROM seat_inventory WHERE train_id = ? AND travel_date = ? AND seat_class = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            setSeatSlot(pstmt, 1, slot);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+        }
+        // Not touched yet: count it without creating the row, which only writers do
+        try (PreparedStatement pstmt = connection.prepareStatement("SELECT COALESCE(SUM(number_of_seats), 0) FROM bookings "
+                + "WHERE train_id = ? AND travel_date = ? AND COALESCE(seat_class, '') = ? AND status <> 'Cancelled'")) {
+            setSeatSlot(pstmt, 1, slot);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    // Cancellation operations
+    @Override
+    public synchronized List<String> cancelBookings(List<Cancellation> cancellations) throws SQLException {
+        return inTransaction(() -> applyCancellations(cancellations));
+    }
+
+    @Override
+    public synchronized boolean recordRefund(Refund entry, Payment paymentEntry, Booking booking) throws SQLException {
+        return inTransaction(() -> {
+            appendRefunds(List.of(entry));
+            if (paymentEntry != null) {
+                applyPaymentTransition(paymentEntry);
+            }
+            if (booking != null && !updateBooking(booking)) {
+                throw new SQLException("Booking " + booking.getId() + " no longer exists");
+            }
+            return true;
+        });
+    }
+
+    @Override
+    public List<Refund> getPendingRefunds() throws SQLException {
+        List<Refund> refunds = new ArrayList<>();
+        String sql = "SELECT * FROM refunds r WHERE status = 'PENDING' "
+                + "AND NOT EXISTS (SELECT 1 FROM refunds later WHERE later.refund_id = r.refund_id AND later.seq > r.seq) "
+                + "ORDER BY seq";
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                refunds.add(mapRefundFromResultSet(rs));
+            }
+        }
+        return refunds;
+    }
+
+    @Override
+    public List<Refund> getRefundsForBooking(String bookingId) throws SQLException {
+        List<Refund> refunds = new ArrayList<>();
+        String sql = "SELECT * FROM refunds WHERE booking_id = ? ORDER BY seq";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, bookingId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    refunds.add(mapRefundFromResultSet(rs));
+                }
+            }
+        }
+        return refunds;
+    }
+
+    @Override
+    public String getNextRefundId() throws SQLException {
+        return nextId("refunds", "refund_id");
+    }
+
+    // Payment operations
+    @Override
+    public Optional<Payment> findPaymentByIdempotencyKey(String idempotencyKey) throws SQLException {
+        String sql = "SELECT * FROM payment_idempotency_keys WHERE idempotency_key = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, idempotencyKey);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(new Payment(
+                        rs.getString("payment_id"),
+                        rs.getString("booking_id"),
+                        rs.getString("idempotency_key"),
+                        PaymentStatus.valueOf(rs.getString("status")),
+                        rs.getDouble("amount"),
+                        rs.getString("method"),
+                        rs.getString("detail"),
+                        rs.getTimestamp("updated_at").toLocalDateTime()
+                    ));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public synchronized boolean claimIdempotencyKey(Payment pending) throws SQLException {
+        String sql = "INSERT OR IGNORE INTO payment_idempotency_keys (idempotency_key, payment_id, booking_id, status, amount, method, detail, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        return inTransaction(() -> {
+            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                pstmt.setString(1, pending.idempotencyKey());
+                pstmt.setString(2, pending.paymentId());
+                pstmt.setString(3, pending.bookingId());
+                pstmt.setString(4, pending.status().name());
+                pstmt.setDouble(5, pending.amount());
+                pstmt.setString(6, pending.method());
+                pstmt.setString(7, pending.detail());
+                pstmt.setTimestamp(8, Timestamp.valueOf(pending.createdAt()));
+                if (pstmt.executeUpdate() == 0) {
+                    return false;
+                }
+            }
+            appendPayment(pending);
+            return true;
+        });
+    }
+
+    @Override
+    public synchronized boolean recordPaymentTransition(Payment entry, Booking booking) throws SQLException {
+        // Only the payment fields, and never onto a cancelled booking: a cancellation may have landed since it was read
+        String sql = "UPDATE bookings SET status = ?, payment_method = ?, payment_status = ? WHERE id = ? AND status <> 'Cancelled'";
+        return inTransaction(() -> {
+            if (booking != null) {
+                try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                    pstmt.setString(1, booking.getStatus());
+                    pstmt.setString(2, booking.getPaymentMethod());
+                    pstmt.setString(3, booking.getPaymentStatus());
+                    pstmt.setString(4, booking.getId());
+                    if (pstmt.executeUpdate() == 0) {
+                        return false;
+                    }
+                }
+            }
+            applyPaymentTransition(entry);
+            return true;
+        });
+    }
+
+    @Override
+    public List<Payment> getPaymentsForBooking(String bookingId) throws SQLException {
+        List<Payment> payments = new ArrayList<>();
+        String sql = "SELECT * FROM payments WHERE booking_id = ? ORDER BY seq";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, bookingId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    payments.add(mapPaymentFromResultSet(rs));
+                }
+            }
+        }
+        return payments;
+    }
+
+    @Override
+    public String getNextPaymentId() throws SQLException {
+        return nextId("payments", "payment_id");
+    }
+
+    // Disruption operations
+    @Override
+    public synchronized void addDisruptionJobs(List<DisruptionJob> jobs) throws SQLException {
+        String sql = "INSERT INTO disruption_jobs (job_id, train_id, travel_date, train_status, completed, cursor, bookings_processed, reaccommodated, cancelled, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        inTransaction(() -> {
+            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                for (DisruptionJob job : jobs) {
+                    pstmt.setString(1, job.jobId());
+                    pstmt.setString(2, job.trainId());
+                    pstmt.setDate(3, Date.valueOf(job.travelDate()));
+                    pstmt.setString(4, job.trainStatus());
+                    pstmt.setBoolean(5, job.completed());
+                    pstmt.setLong(6, job.cursor());
+                    pstmt.setInt(7, job.bookingsProcessed());
+                    pstmt.setInt(8, job.reaccommodated());
+                    pstmt.setInt(9, job.cancelled());
+                    pstmt.setTimestamp(10, Timestamp.valueOf(job.updatedAt()));
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public List<DisruptionJob> getUnfinishedDisruptionJobs() throws SQLException {
+        List<DisruptionJob> jobs = new ArrayList<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM disruption_jobs WHERE completed = 0 ORDER BY travel_date")) {
+            while (rs.next()) {
+                jobs.add(new DisruptionJob(
+                    rs.getString("job_id"),
+                    rs.getString("train_id"),
+                    rs.getDate("travel_date").toLocalDate(),
+                    rs.getString("train_status"),
+                    rs.getBoolean("completed"),
+                    rs.getLong("cursor"),
+                    rs.getInt("bookings_processed"),
+                    rs.getInt("reaccommodated"),
+                    rs.getInt("cancelled"),
+                    rs.getTimestamp("updated_at").toLocalDateTime()
+                ));
+            }
+        }
+        return jobs;
+    }
+
+    @Override
+    public synchronized List<String> applyDisruptionChunk(DisruptionJob progress, List<Cancellation> cancellations,
+                                                          List<Booking> transfers, int seatsPerClass,
+                                                          List<Notification> notifications,
+                                                          List<OutboundMessage> messages) throws SQLException {
+        String progressSql = "UPDATE disruption_jobs SET completed = ?, cursor = ?, bookings_processed = ?, reaccommodated = ?, cancelled = ?, updated_at = ? WHERE job_id = ?";
+        return inTransaction(() -> {
+            // Counted here, not from the job's own tally, so bookings and other jobs since are seen
+            List<String> overCapacity = transfersOverCapacity(transfers, seatsPerClass);
+            if (!overCapacity.isEmpty()) {
+                return overCapacity;
+            }
+            applyCancellations(cancellations);
+            applyTransfers(progress.trainId(), transfers);
+            appendNotifications(notifications);
+            appendMessages(messages);
+            try (PreparedStatement pstmt = connection.prepareStatement(progressSql)) {
+                pstmt.setBoolean(1, progress.completed());
+                pstmt.setLong(2, progress.cursor());
+                pstmt.setInt(3, progress.bookingsProcessed());
+                pstmt.setInt(4, progress.reaccommodated());
+                pstmt.setInt(5, progress.cancelled());
+                pstmt.setTimestamp(6, Timestamp.valueOf(progress.updatedAt()));
+                pstmt.setString(7, progress.jobId());
+                if (pstmt.executeUpdate() == 0) {
+                    throw new SQLException("No disruption job " + progress.jobId());
+                }
+            }
+            return List.<String>of();
+        });
+    }
+
+    @Override
+    public String getNextDisruptionJobId() throws SQLException {
+        return nextId("disruption_jobs", "job_id");
+    }
+
+    // Waitlist operations
+    @Override
+    public synchronized WaitlistEntry addWaitlistEntry(WaitlistEntry entry) throws SQLException {
+        String sql = "INSERT INTO waitlist (user_id, train_id, train_number, train_name, from_station, to_station, travel_date, seat_class, seats, status, booking_id, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, entry.userId());
+            pstmt.setString(2, entry.trainId());
+            pstmt.setString(3, entry.trainNumber());
+            pstmt.setString(4, entry.trainName());
+            pstmt.setString(5, entry.fromStation());
+            pstmt.setString(6, entry.toStation());
+            pstmt.setDate(7, Date.valueOf(entry.travelDate()));
+            pstmt.setString(8, entry.seatClass());
+            pstmt.setInt(9, entry.seats());
+            pstmt.setString(10, entry.status().name());
+            pstmt.setString(11, entry.bookingId());
+            pstmt.setTimestamp(12, Timestamp.valueOf(entry.createdAt()));
+            pstmt.executeUpdate();
+        }
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
+            return entry.withId(rs.next() ? rs.getLong(1) : 0);
+        }
+    }
+
+    @Override
+    public Optional<WaitlistEntry> findWaitlistEntry(long id) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement("SELECT * FROM waitlist WHERE id = ?")) {
+            pstmt.setLong(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapWaitlistEntryFromResultSet(rs));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<WaitlistEntry> getWaitlist(String trainId, LocalDate travelDate, String seatClass) throws SQLException {
+        String sql = "SELECT * FROM waitlist WHERE train_id = ? AND travel_date = ? AND seat_class = ? AND status = 'WAITING' ORDER BY id";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            setSeatSlot(pstmt, 1, new SeatSlot(trainId, travelDate, seatClass == null ? "" : seatClass));
+            return queryWaitlist(pstmt);
+        }
+    }
+
+    @Override
+    public List<WaitlistEntry> getWaitingEntries(LocalDate fromDate) throws SQLException {
+        String sql = "SELECT * FROM waitlist WHERE status = 'WAITING' AND travel_date >= ? ORDER BY id";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setDate(1, Date.valueOf(fromDate));
+            return queryWaitlist(pstmt);
+        }
+    }
+
+    @Override
+    public List<WaitlistEntry> getWaitlistForUser(String userId) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement("SELECT * FROM waitlist WHERE user_id = ? ORDER BY id DESC")) {
+            pstmt.setString(1, userId);
+            return queryWaitlist(pstmt);
+        }
+    }
+
+    @Override
+    public synchronized boolean cancelWaitlistEntry(long id) throws SQLException {
+        String sql = "UPDATE waitlist SET status = 'CANCELLED' WHERE id = ? AND status = 'WAITING'";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setLong(1, id);
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+
+    @Override
+    public synchronized boolean promoteWaitlistEntry(WaitlistEntry entry, Booking booking, int seatsPerClass)
+            throws SQLException {
+        String sql = "UPDATE waitlist SET status = 'PROMOTED', booking_id = ? WHERE id = ? AND status = 'WAITING'";
+        return inTransaction(() -> {
+            SeatSlot slot = SeatSlot.of(booking);
+            ensureSeatInventory(slot);
+            if (seatsBooked(slot) + booking.getNumberOfSeats() > seatsPerClass) {
+                return false;
+            }
+            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                pstmt.setString(1, booking.getId());
+                pstmt.setLong(2, entry.id());
+                if (pstmt.executeUpdate() == 0) {
+                    return false;
+                }
+            }
+            insertBooking(booking);
+            return true;
+        });
+    }
+
+    // Notification operations
+    @Override
+    public synchronized void addNotifications(List<Notification> notifications, List<OutboundMessage> messages)
+            throws SQLException {
+        inTransaction(() -> {
+            appendNotifications(notifications);
+            appendMessages(messages);
+            return null;
+        });
+    }
+
+    @Override
+    public List<Notification> getNotifications(String userId, Set<NotificationType> types, boolean unreadOnly,
+                                               long beforeId, int limit) throws SQLException {
+        // Keyset paging on the id, newest first, so a page costs the same however far back it is
+        StringBuilder sql = new StringBuilder("SELECT * FROM notifications WHERE user_id = ? AND id < ?");
+        if (unreadOnly) {
+            sql.append(" AND is_read = 0");
+        }
+        if (!types.isEmpty()) {
+            sql.append(" AND type IN (").append(String.join(", ", Collections.nCopies(types.size(), "?"))).append(")");
+        }
+        sql.append(" ORDER BY id DESC LIMIT ?");
+
+        List<Notification> notifications = new ArrayList<>();
+        try (PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
+            int index = 1;
+            pstmt.setString(index++, userId);
+            pstmt.setLong(index++, beforeId);
+            for (NotificationType type : types) {
+                pstmt.setString(index++, type.name());
+            }
+            pstmt.setInt(index, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    notifications.add(mapNotificationFromResultSet(rs));
+                }
+            }
+        }
+        return notifications;
+    }
+
+    @Override
+    public int countUnreadNotifications(String userId) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM notifications WHERE user_id = ? AND is_read = 0";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, userId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    @Override
+    public synchronized boolean markNotificationRead(String userId, long notificationId) throws SQLException {
+        String sql = "UPDATE notifications SET is_read = 1 WHERE id = ? AND user_id = ? AND is_read = 0";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setLong(1, notificationId);
+            pstmt.setString(2, userId);
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+
+    @Override
+    public synchronized int markAllNotificationsRead(String userId) throws SQLException {
+        String sql = "UPDATE notifications SET is_read = 1 WHERE user_id = ? AND is_read = 0";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, userId);
+            return pstmt.executeUpdate();
+        }
+    }
+
+    // Outbox operations
+    @Override
+    public List<OutboundMessage> getDueMessages(MessageChannel channel, LocalDateTime now, int limit) throws SQLException {
+        List<OutboundMessage> messages = new ArrayList<>();
+        String sql = "SELECT * FROM message_outbox WHERE channel = ? AND status = 'PENDING' AND next_attempt_at <= ? ORDER BY next_attempt_at LIMIT ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, channel.name());
+            pstmt.setTimestamp(2, Timestamp.valueOf(now));
+            pstmt.setInt(3, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    messages.add(mapMessageFromResultSet(rs));
+                }
+            }
+        }
+        return messages;
+    }
+
+    @Override
+    public synchronized void recordMessageAttempts(List<OutboundMessage> messages) throws SQLException {
+        String sql = "UPDATE message_outbox SET status = ?, attempts = ?, next_attempt_at = ?, last_error = ? WHERE id = ?";
+        inTransaction(() -> {
+            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                for (OutboundMessage message : messages) {
+                    pstmt.setString(1, message.status().name());
+                    pstmt.setInt(2, message.attempts());
+                    pstmt.setTimestamp(3, Timestamp.valueOf(message.nextAttemptAt()));
+                    pstmt.setString(4, message.lastError());
+                    pstmt.setLong(5, message.id());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+            return null;
+        });
+    }
+
+    // Settings operations
+    @Override
+    public Map<String, String> getSettings() throws SQLException {
+        Map<String, String> settings = new HashMap<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT key, value FROM app_settings")) {
+            while (rs.next()) {
+                settings.put(rs.getString("key"), rs.getString("value"));
+            }
+        }
+        return settings;
+    }
+
+    @Override
+    public synchronized boolean saveSetting(String key, String value) throws SQLException {
+        String sql = "INSERT INTO app_settings (key, value) VALUES (?, ?) ON CONFLICT(key) DO UPDATE SET value = excluded.value";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, key);
+            pstmt.setString(2, value);
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+
+    // Helper methods
+    private User mapUserFromResultSet(ResultSet rs) throws SQLException {
+        User user = new User(
+            rs.getString("id"),
+            rs.getString("name"),
+            rs.getString("email"),
+            rs.getString("phone"),
+            rs.getString("role"),
+            rs.getString("password")
+        );
+        user.setCnic(rs.getString("cnic"));
+        Date dob = rs.getDate("date_of_birth");
+        if (dob != null) {
+            user.setDateOfBirth(dob.toLocalDate());
+        }
+        user.setGender(rs.getString("gender"));
+        user.setAddress(rs.getString("address"));
+        user.setCity(rs.getString("city"));
+        user.setPostalCode(rs.getString("postal_code"));
+        return user;
+    }
+
+    private void setUserParameters(PreparedStatement pstmt, User user) throws SQLException {
+        pstmt.setString(1, user.getId());
+        pstmt.setString(2, user.getName());
+        pstmt.setString(3, user.getEmail());
+        pstmt.setString(4, user.getPhone());
+        pstmt.setString(5, user.getRole());
+        pstmt.setString(6, user.getPassword());
+        pstmt.setString(7, user.getCnic());
+        if (user.getDateOfBirth() != null) {
+            pstmt.setDate(8, Date.valueOf(user.getDateOfBirth()));
+        } else {
+            pstmt.setNull(8, Types.DATE);
+        }
+        pstmt.setString(9, user.getGender());
+        pstmt.setString(10, user.getAddress());
+        pstmt.setString(11, user.getCity());
+        pstmt.setString(12, user.getPostalCode());
+    }
+
+    private Train mapTrainFromResultSet(ResultSet rs) throws SQLException {
+        return new Train(
+            rs.getString("id"),
+            rs.getString("train_number"),
+            rs.getString("train_name"),
+            rs.getString("type"),
+            rs.getString("route"),
+            rs.getString("status")
+        );
+    }
+
+    private Schedule mapScheduleFromResultSet(ResultSet rs) throws SQLException {
+        return mapSchedule(rs);
+    }
+
+    /**
+     * The schedule with its stored minutes and day mask, reading the text instead only for
+     * rows from before those columns were filled in.
+     */
+    private static Schedule mapSchedule(ResultSet rs) throws SQLException {
+        String departureTime = rs.getString("departure_time");
+        String arrivalTime = rs.getString("arrival_time");
+        String days = rs.getString("days");
+        Integer departureMinute = nullableInt(rs, "departure_minute");
+        Integer arrivalMinute = nullableInt(rs, "arrival_minute");
+        Integer dayMask = nullableInt(rs, "day_mask");
+        return new Schedule(
+            rs.getString("id"),
+            rs.getString("train_number"),
+            rs.getString("train_name"),
+            departureTime,
+            arrivalTime,
+            rs.getString("route"),
+            days,
+            rs.getString("status"),
+            departureMinute != null ? departureMinute : MinuteOfDay.parse(departureTime),
+            arrivalMinute != null ? arrivalMinute : MinuteOfDay.parse(arrivalTime),
+            dayMask != null ? dayMask : DayMask.parse(days)
+        );
+    }
+
+    private static Integer nullableInt(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private Booking mapBookingFromResultSet(ResultSet rs) throws SQLException {
+        Booking booking = new Booking(
+            rs.getString("id"),
+            rs.getString("user_id"),
+            rs.getString("train_id"),
+            rs.getString("train_number"),
+            rs.getString("train_name"),
+            rs.getString("from_station"),
+            rs.getString("to_station"),
+            rs.getDate("travel_date").toLocalDate(),
+            rs.getInt("number_of_seats"),
+            rs.getString("seat_class"),
+            rs.getDouble("total_amount"),
+            rs.getString("status"),
+            rs.getTimestamp("booking_date_time").toLocalDateTime(),
+            rs.getString("payment_method") != null ? rs.getString("payment_method") : "",
+            rs.getString("payment_status") != null ? rs.getString("payment_status") : "Pending"
+        );
+        return booking;
+    }
+
+    private Payment mapPaymentFromResultSet(ResultSet rs) throws SQLException {
+        return new Payment(
+            rs.getString("payment_id"),
+            rs.getString("booking_id"),
+            rs.getString("idempotency_key"),
+            PaymentStatus.valueOf(rs.getString("status")),
+            rs.getDouble("amount"),
+            rs.getString("method"),
+            rs.getString("detail"),
+            rs.getTimestamp("created_at").toLocalDateTime()
+        );
+    }
+
+    private void appendPayment(Payment payment) throws SQLException {
+        String sql = "INSERT INTO payments (payment_id, booking_id, idempotency_key, status, amount, method, detail, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, payment.paymentId());
+            pstmt.setString(2, payment.bookingId());
+            pstmt.setString(3, payment.idempotencyKey());
+            pstmt.setString(4, payment.status().name());
+            pstmt.setDouble(5, payment.amount());
+            pstmt.setString(6, payment.method());
+            pstmt.setString(7, payment.detail());
+            pstmt.setTimestamp(8, Timestamp.valueOf(payment.createdAt()));
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Append the entry and move its idempotency key to the entry's status. Callers run this
+     * inside a transaction.
+     */
+    private void applyPaymentTransition(Payment entry) throws SQLException {
+        appendPayment(entry);
+        String sql = "UPDATE payment_idempotency_keys SET status = ?, detail = ?, updated_at = ? WHERE idempotency_key = ? AND payment_id = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, entry.status().name());
+            pstmt.setString(2, entry.detail());
+            pstmt.setTimestamp(3, Timestamp.valueOf(entry.createdAt()));
+            pstmt.setString(4, entry.idempotencyKey());
+            pstmt.setString(5, entry.paymentId());
+            if (pstmt.executeUpdate() == 0) {
+                throw new SQLException("No idempotency key for payment " + entry.paymentId());
+            }
+        }
+    }
+
+    /**
+     * The body of {@link #cancelBookings}, for callers already inside a transaction.
+     */
+    private List<String> applyCancellations(List<Cancellation> cancellations) throws SQLException {
+        if (cancellations.isEmpty()) {
+            return List.of();
+        }
+        // Skipped when the payment status moved since the refund was worked out, e.g. a capture landed
+        String sql = "UPDATE bookings SET status = ?, payment_status = ? WHERE id = ? AND status <> 'Cancelled' "
+                + "AND COALESCE(payment_status, '') = COALESCE(?, '')";
+        // Every slot is counted while its bookings still hold their seats
+        Set<SeatSlot> slots = new HashSet<>();
+        for (Cancellation cancellation : cancellations) {
+            if (slots.add(SeatSlot.of(cancellation.booking()))) {
+                ensureSeatInventory(SeatSlot.of(cancellation.booking()));
+            }
+        }
+        int[] updated;
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            for (Cancellation cancellation : cancellations) {
+                pstmt.setString(1, cancellation.booking().getStatus());
+                pstmt.setString(2, cancellation.booking().getPaymentStatus());
+                pstmt.setString(3, cancellation.booking().getId());
+                pstmt.setString(4, cancellation.paymentStatusBefore());
+                pstmt.addBatch();
+            }
+            updated = pstmt.executeBatch();
+        }
+
+        List<String> cancelled = new ArrayList<>();
+        List<Refund> refunds = new ArrayList<>();
+        Map<SeatSlot, Integer> released = new LinkedHashMap<>();
+        for (int i = 0; i < cancellations.size(); i++) {
+            if (updated[i] == 0) {
+                continue;
+            }
+            Cancellation cancellation = cancellations.get(i);
+            cancelled.add(cancellation.booking().getId());
+            released.merge(SeatSlot.of(cancellation.booking()), -cancellation.booking().getNumberOfSeats(),
+                    Integer::sum);
+            if (cancellation.refund() != null) {
+                refunds.add(cancellation.refund());
+            }
+        }
+        adjustSeatInventory(released);
+        appendRefunds(refunds);
+        return cancelled;
+    }
+
+    /**
+     * The ids of the transfers moving into a class that has no room left for all of them.
+     */
+    private List<String> transfersOverCapacity(List<Booking> transfers, int seatsPerClass) throws SQLException {
+        Map<SeatSlot, List<Booking>> bySlot = new LinkedHashMap<>();
+        for (Booking booking : transfers) {
+            bySlot.computeIfAbsent(SeatSlot.of(booking), slot -> new ArrayList<>()).add(booking);
+        }
+        List<String> overCapacity = new ArrayList<>();
+        for (Map.Entry<SeatSlot, List<Booking>> slot : bySlot.entrySet()) {
+            ensureSeatInventory(slot.getKey());
+            int seats = slot.getValue().stream().mapToInt(Booking::getNumberOfSeats).sum();
+            if (seatsBooked(slot.getKey()) + seats > seatsPerClass) {
+                slot.getValue().forEach(booking -> overCapacity.add(booking.getId()));
+            }
+        }
+        return overCapacity;
+    }
+
+    /**
+     * Move bookings off {@code fromTrainId} onto the train each now carries, with their seats.
+     */
+    private void applyTransfers(String fromTrainId, List<Booking> transfers) throws SQLException {
+        if (transfers.isEmpty()) {
+            return;
+        }
+        Set<SeatSlot> slots = new HashSet<>();
+        for (Booking booking : transfers) {
+            SeatSlot from = new SeatSlot(fromTrainId, booking.getTravelDate(), SeatSlot.of(booking).seatClass());
+            for (SeatSlot slot : List.of(from, SeatSlot.of(booking))) {
+                if (slots.add(slot)) {
+                    ensureSeatInventory(slot);
+                }
+            }
+        }
+        String sql = "UPDATE bookings SET train_id = ?, train_number = ?, train_name = ? WHERE id = ? AND train_id = ? AND status <> 'Cancelled'";
+        int[] updated;
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            for (Booking booking : transfers) {
+                pstmt.setString(1, booking.getTrainId());
+                pstmt.setString(2, booking.getTrainNumber());
+                pstmt.setString(3, booking.getTrainName());
+                pstmt.setString(4, booking.getId());
+                pstmt.setString(5, fromTrainId);
+                pstmt.addBatch();
+            }
+            updated = pstmt.executeBatch();
+        }
+        Map<SeatSlot, Integer> moved = new LinkedHashMap<>();
+        for (int i = 0; i < transfers.size(); i++) {
+            if (updated[i] == 0) {
+                continue;
+            }
+            Booking booking = transfers.get(i);
+            SeatSlot to = SeatSlot.of(booking);
+            moved.merge(new SeatSlot(fromTrainId, to.travelDate(), to.seatClass()), -booking.getNumberOfSeats(),
+                    Integer::sum);
+            moved.merge(to, booking.getNumberOfSeats(), Integer::sum);
+        }
+        adjustSeatInventory(moved);
+    }
+
+    private void appendNotifications(List<Notification> notifications) throws SQLException {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO notifications (user_id, type, title, message, created_at, is_read) VALUES (?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            for (Notification notification : notifications) {
+                pstmt.setString(1, notification.userId());
+                pstmt.setString(2, notification.type().name());
+                pstmt.setString(3, notification.title());
+                pstmt.setString(4, notification.message());
+                pstmt.setTimestamp(5, Timestamp.valueOf(notification.createdAt()));
+                pstmt.setBoolean(6, notification.read());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    private void appendMessages(List<OutboundMessage> messages) throws SQLException {
+        if (messages.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO message_outbox (channel, recipient, subject, body, status, attempts, next_attempt_at, last_error, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            for (OutboundMessage message : messages) {
+                pstmt.setString(1, message.channel().name());
+                pstmt.setString(2, message.recipient());
+                pstmt.setString(3, message.subject());
+                pstmt.setString(4, message.body());
+                pstmt.setString(5, message.status().name());
+                pstmt.setInt(6, message.attempts());
+                pstmt.setTimestamp(7, Timestamp.valueOf(message.nextAttemptAt()));
+                pstmt.setString(8, message.lastError());
+                pstmt.setTimestamp(9, Timestamp.valueOf(message.createdAt()));
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    private List<WaitlistEntry> queryWaitlist(PreparedStatement pstmt) throws SQLException {
+        List<WaitlistEntry> entries = new ArrayList<>();
+        try (ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                entries.add(mapWaitlistEntryFromResultSet(rs));
+            }
+        }
+        return entries;
+    }
+
+    private WaitlistEntry mapWaitlistEntryFromResultSet(ResultSet rs) throws SQLException {
+        return new WaitlistEntry(
+            rs.getLong("id"),
+            rs.getString("user_id"),
+            rs.getString("train_id"),
+            rs.getString("train_number"),
+            rs.getString("train_name"),
+            rs.getString("from_station"),
+            rs.getString("to_station"),
+            rs.getDate("travel_date").toLocalDate(),
+            rs.getString("seat_class"),
+            rs.getInt("seats"),
+            WaitlistStatus.valueOf(rs.getString("status")),
+            rs.getString("booking_id"),
+            rs.getTimestamp("created_at").toLocalDateTime()
+        );
+    }
+
+    private OutboundMessage mapMessageFromResultSet(ResultSet rs) throws SQLException {
+        return new OutboundMessage(
+            rs.getLong("id"),
+            MessageChannel.valueOf(rs.getString("channel")),
+            rs.getString("recipient"),
+            rs.getString("subject"),
+            rs.getString("body"),
+            MessageStatus.valueOf(rs.getString("status")),
+            rs.getInt("attempts"),
+            rs.getTimestamp("next_attempt_at").toLocalDateTime(),
+            rs.getString("last_error"),
+            rs.getTimestamp("created_at").toLocalDateTime()
+        );
+    }
+
+    private Notification mapNotificationFromResultSet(ResultSet rs) throws SQLException {
+        return new Notification(
+            rs.getLong("id"),
+            rs.getString("user_id"),
+            NotificationType.valueOf(rs.getString("type")),
+            rs.getString("title"),
+            rs.getString("message"),
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            rs.getBoolean("is_read")
+        );
+    }
+
+    private Refund mapRefundFromResultSet(ResultSet rs) throws SQLException {
+        return new Refund(
+            rs.getString("refund_id"),
+            rs.getString("booking_id"),
+            rs.getString("payment_id"),
+            RefundStatus.valueOf(rs.getString("status")),
+            rs.getDouble("amount"),
+            rs.getString("reason"),
+            rs.getString("reference"),
+            rs.getTimestamp("created_at").toLocalDateTime()
+        );
+    }
+
+    private void appendRefunds(List<Refund> refunds) throws SQLException {
+        if (refunds.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO refunds (refund_id, booking_id, payment_id, status, amount, reason, reference, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            for (Refund refund : refunds) {
+                pstmt.setString(1, refund.refundId());
+                pstmt.setString(2, refund.bookingId());
+                pstmt.setString(3, refund.paymentId());
+                pstmt.setString(4, refund.status().name());
+                pstmt.setDouble(5, refund.amount());
+                pstmt.setString(6, refund.reason());
+                pstmt.setString(7, refund.reference());
+                pstmt.setTimestamp(8, Timestamp.valueOf(refund.createdAt()));
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    /** The inventory row a booking's seats are counted in. */
+    private record SeatSlot(String trainId, LocalDate travelDate, String seatClass) {
+        static SeatSlot of(Booking booking) {
+            return new SeatSlot(booking.getTrainId(), booking.getTravelDate(),
+                    booking.getSeatClass() == null ? "" : booking.getSeatClass());
+        }
+    }
+
+    /**
+     * Insert the booking and add its seats to its slot's inventory row, which the caller has
+     * made sure exists.
+     */
+    private void insertBooking(Booking booking) throws SQLException {
+        String sql = "INSERT INTO bookings (id, user_id, train_id, train_number, train_name, from_station, to_station, travel_date, number_of_seats, seat_class, total_amount, status, booking_date_time, payment_method, payment_status) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            setBookingParameters(pstmt, booking);
+            pstmt.executeUpdate();
+        }
+        adjustSeatInventory(Map.of(SeatSlot.of(booking), booking.getNumberOfSeats()));
+    }
+
+    private int seatsBooked(SeatSlot slot) throws SQLException {
+        String sql = "SELECT seats_booked FROM seat_inventory WHERE train_id = ? AND travel_date = ? AND seat_class = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            setSeatSlot(pstmt, 1, slot);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Create the slot's inventory row, if missing, from the seats its bookings hold.
+     */
+    private void ensureSeatInventory(SeatSlot slot) throws SQLException {
+        String exists = "SELECT 1 FROM seat_inventory WHERE train_id = ? AND travel_date = ? AND seat_class = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(exists)) {
+            setSeatSlot(pstmt, 1, slot);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return;
+                }
+            }
+        }
+        String sql = "INSERT INTO seat_inventory (train_id, travel_date, seat_class, seats_booked) "
+                + "SELECT ?, ?, ?, COALESCE(SUM(number_of_seats), 0) FROM bookings "
+                + "WHERE train_id = ? AND travel_date = ? AND COALESCE(seat_class, '') = ? AND status <> 'Cancelled'";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            setSeatSlot(pstmt, 1, slot);
+            setSeatSlot(pstmt, 4, slot);
+            pstmt.executeUpdate();
+        }
+    }
+
+    private void adjustSeatInventory(Map<SeatSlot, Integer> deltas) throws SQLException {
+        String sql = "UPDATE seat_inventory SET seats_booked = MAX(seats_booked + ?, 0) WHERE train_id = ? AND travel_date = ? AND seat_class = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            for (Map.Entry<SeatSlot, Integer> delta : deltas.entrySet()) {
+                pstmt.setInt(1, delta.getValue());
+                setSeatSlot(pstmt, 2, delta.getKey());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    private static void setSeatSlot(PreparedStatement pstmt, int firstIndex, SeatSlot slot) throws SQLException {
+        pstmt.setString(firstIndex, slot.trainId());
+        pstmt.setDate(firstIndex + 1, Date.valueOf(slot.travelDate()));
+        pstmt.setString(firstIndex + 2, slot.seatClass());
+    }
+
+    @FunctionalInterface
+    private interface SqlWork<T> {
+        T run() throws SQLException;
+    }
+
+    /**
+     * Run {@code work} as one transaction. Callers hold this object's monitor, as every
+     * write method does, so no other write can land inside the transaction on the shared
+     * connection.
+     */
+    private <T> T inTransaction(SqlWork<T> work) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            T result = work.run();
+            connection.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void setBookingParameters(PreparedStatement pstmt, Booking booking) throws SQLException {
+        pstmt.setString(1, booking.getId());
+        pstmt.setString(2, booking.getUserId());
+        pstmt.setString(3, booking.getTrainId());
+        pstmt.setString(4, booking.getTrainNumber());
+        pstmt.setString(5, booking.getTrainName());
+        pstmt.setString(6, booking.getFromStation());
+        pstmt.setString(7, booking.getToStation());
+        pstmt.setDate(8, Date.valueOf(booking.getTravelDate()));
+        pstmt.setInt(9, booking.getNumberOfSeats());
+        pstmt.setString(10, booking.getSeatClass());
+        pstmt.setDouble(11, booking.getTotalAmount());
+        pstmt.setString(12, booking.getStatus());
+        pstmt.setTimestamp(13, Timestamp.valueOf(booking.getBookingDateTime()));
+        pstmt.setString(14, booking.getPaymentMethod());
+        pstmt.setString(15, booking.getPaymentStatus());
+    }
+
+    /**
+     * Hand out ids from the table's row in id_sequences, bumped in a single statement so that
+     * no two callers, in this process or another sharing the file, get the same id. The row
+     * starts from the table's highest id the first time one is asked for.
+     */
+    private String nextId(String table) throws SQLException {
+        return nextId(table, "id");
+    }
+
+    private synchronized String nextId(String table, String idColumn) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "UPDATE id_sequences SET last_id = last_id + 1 WHERE name = ? RETURNING last_id")) {
+            pstmt.setString(1, table);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return String.valueOf(rs.getLong(1));
+                }
+            }
+        }
+        // First id for the table; another process may be starting it too, so bump theirs if so
+        String sql = "INSERT INTO id_sequences (name, last_id) "
+                + "SELECT ?, COALESCE(MAX(CAST(" + idColumn + " AS INTEGER)), 0) + 1 FROM " + table + " WHERE true "
+                + "ON CONFLICT(name) DO UPDATE SET last_id = last_id + 1 RETURNING last_id";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, table);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                return String.valueOf(rs.getLong(1));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (connection != null && !connection.isClosed()) {
+            connection.close();
+        }
+    }
+}
+
@@ -0,0 +1,216 @@
+package com.example.railwaymanagementsystem.persistence;
+
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
+import com.example.railwaymanagementsystem.metrics.Counter;
+import com.example.railwaymanagementsystem.metrics.MetricsRegistry;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Wraps a JDBC connection so every statement is timed. Statements slower than
+ * {@code -Drailsafar.db.slowQueryMillis} (default 100) are logged with parameter types
+ * instead of values, together with their {@code EXPLAIN QUERY PLAN}. Each distinct SQL
+ * string is also explained once on first use, and full scans of bookings or users are
+ * reported even when the query is still fast.
+ *
+ * A query's time runs from execution until its ResultSet is closed, so row fetching,
+ * which SQLite does lazily, is included.
+ */
+final class QueryTracer {
+    private static final Logger LOG = Log.getLogger(QueryTracer.class);
+    private static final Pattern FULL_SCAN = Pattern.compile("\\bSCAN (?:TABLE )?(bookings|users)\\b(?!.*USING (?:COVERING )?INDEX)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Connection connection;
+    private final long slowQueryNanos;
+    private final Map<String, QueryPlan> plans = new ConcurrentHashMap<>();
+    private final Counter slowQueries = MetricsRegistry.getInstance().counter("db.slowQueries");
+    private final Counter fullScanQueries = MetricsRegistry.getInstance().counter("db.fullScanQueries");
+
+    /** Plan text and the tables it scans end to end. */
+    record QueryPlan(String detail, List<String> fullScans) {}
+
+    private static final QueryPlan NOT_EXPLAINED = new QueryPlan("n/a", List.of());
+
+    private QueryTracer(Connection connection, long slowQueryMillis) {
+        this.connection = connection;
+        this.slowQueryNanos = slowQueryMillis * 1_000_000L;
+    }
+
+    static Connection trace(Connection connection) {
+        QueryTracer tracer = new QueryTracer(connection, Long.getLong("railsafar.db.slowQueryMillis", 100));
+        return proxy(Connection.class, connection, tracer.new ConnectionHandler());
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(connection, method, args);
+            if (result instanceof PreparedStatement statement && args != null && args[0] instanceof String sql) {
+                return proxy(PreparedStatement.class, statement, new StatementHandler(statement, sql));
+            }
+            if (result instanceof Statement statement && !(result instanceof PreparedStatement)) {
+                return proxy(Statement.class, statement, new StatementHandler(statement, null));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        // Only parameter types are ever logged
+        private final Map<Integer, String> parameterTypes = new TreeMap<>();
+
+        private StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameterTypes.put(index, name.equals("setNull") || args[1] == null ? "null" : args[1].getClass().getSimpleName());
+            } else if (name.equals("clearParameters")) {
+                parameterTypes.clear();
+            }
+            if (!name.startsWith("execute")) {
+                return invokeTarget(target, method, args);
+            }
+
+            String sql = preparedSql != null ? preparedSql : args != null && args[0] instanceof String s ? s : null;
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = invokeTarget(target, method, args);
+            } catch (Throwable e) {
+                finish(sql, start);
+                throw e;
+            }
+            if (result instanceof ResultSet resultSet) {
+                return proxy(ResultSet.class, resultSet,
+                        new ResultSetHandler(resultSet, sql, start, List.copyOf(parameterTypes.values())));
+            }
+            finish(sql, start);
+            return result;
+        }
+
+        private void finish(String sql, long start) {
+            record(sql, System.nanoTime() - start, List.copyOf(parameterTypes.values()));
+        }
+    }
+
+    private final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final String sql;
+        private final long start;
+        private final List<String> parameterTypes;
+        private boolean finished;
+
+        private ResultSetHandler(ResultSet target, String sql, long start, List<String> parameterTypes) {
+            this.target = target;
+            this.sql = sql;
+            this.start = start;
+            this.parameterTypes = parameterTypes;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("close") && !finished) {
+                finished = true;
+                Object result = invokeTarget(target, method, args);
+                record(sql, System.nanoTime() - start, parameterTypes);
+                return result;
+            }
+            return invokeTarget(target, method, args);
+        }
+    }
+
+    private void record(String sql, long elapsedNanos, List<String> parameterTypes) {
+        if (sql == null) {
+            return;
+        }
+        QueryPlan plan = planFor(sql);
+        if (elapsedNanos >= slowQueryNanos) {
+            slowQueries.increment();
+            LOG.warn("Slow query", "millis", String.format(Locale.ROOT, "%.1f", elapsedNanos / 1e6),
+                    "sql", compact(sql), "parameters", parameterTypes, "plan", plan.detail());
+        }
+    }
+
+    /**
+     * Explain each distinct statement once and warn when it scans a large table end to end.
+     */
+    private QueryPlan planFor(String sql) {
+        QueryPlan cached = plans.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String normalized = compact(sql);
+        String verb = normalized.split(" ", 2)[0].toUpperCase(Locale.ROOT);
+        boolean explainable = verb.equals("SELECT") || verb.equals("UPDATE") || verb.equals("DELETE") || verb.equals("WITH");
+        QueryPlan plan = explainable ? explain(normalized) : NOT_EXPLAINED;
+        if (plans.putIfAbsent(sql, plan) == null && !plan.fullScans().isEmpty()) {
+            fullScanQueries.increment();
+            LOG.warn("Full table scan", "tables", String.join(",", plan.fullScans()), "sql", normalized,
+                    "plan", plan.detail());
+        }
+        return plan;
+    }
+
+    private QueryPlan explain(String sql) {
+        List<String> steps = new ArrayList<>();
+        List<String> fullScans = new ArrayList<>();
+        // Unbound parameters explain as NULL, which does not change SQLite's choice of index
+        try (PreparedStatement pstmt = connection.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                String detail = rs.getString("detail");
+                steps.add(detail);
+                Matcher matcher = FULL_SCAN.matcher(detail);
+                if (matcher.find()) {
+                    fullScans.add(matcher.group(1).toLowerCase(Locale.ROOT));
+                }
+            }
+        } catch (SQLException e) {
+            return new QueryPlan("unavailable: " + e.getMessage(), List.of());
+        }
+        return new QueryPlan(String.join("; ", steps), List.copyOf(fullScans));
+    }
+
+    private static String compact(String sql) {
+        return WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
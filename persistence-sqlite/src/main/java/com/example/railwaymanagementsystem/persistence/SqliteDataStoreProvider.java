@@ -0,0 +1,15 @@
+package com.example.railwaymanagementsystem.persistence;
+
+import com.example.railwaymanagementsystem.services.DataStore;
+import com.example.railwaymanagementsystem.services.DataStoreProvider;
+
+/**
+ * Registers the SQLite-backed DatabaseService as the application's DataStore.
+ */
+public final class SqliteDataStoreProvider implements DataStoreProvider {
+
+    @Override
+    public DataStore open() {
+        return DatabaseService.getInstance();
+    }
+}
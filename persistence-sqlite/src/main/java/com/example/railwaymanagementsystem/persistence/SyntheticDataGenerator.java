@@ -0,0 +1,557 @@
+package com.example.railwaymanagementsystem.persistence;
+
+import com.example.railwaymanagementsystem.models.MinuteOfDay;
+import com.example.railwaymanagementsystem.services.PasswordHasher;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Fills an empty database with production-shaped data: a weighted station network, UP/DN
+ * train pairs with intermediate stops, schedules with day patterns, and skewed users and
+ * bookings. The same {@link Spec} always produces the same rows.
+ *
+ * Usage: {@code java ... SyntheticDataGenerator <jdbc-url> [bookings] [seed]}
+ */
+public final class SyntheticDataGenerator {
+    public static final String PASSENGER_PASSWORD = "passenger123";
+    public static final String ADMIN_EMAIL = "admin@railsafar.com";
+    public static final String ADMIN_PASSWORD = "admin123";
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final int ROWS_PER_TRANSACTION = 100_000;
+    private static final int FIRST_PASSENGER_ID = 1_000;
+    private static final int BOOKING_WINDOW_DAYS = 365;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("hh:mm a", Locale.US);
+
+    // Largest cities first; the rank sets how much traffic a station attracts
+    private static final Object[][] CITIES = {
+            {"Karachi", 24.86, 67.01}, {"Lahore", 31.55, 74.34}, {"Faisalabad", 31.42, 73.08},
+            {"Rawalpindi", 33.60, 73.04}, {"Islamabad", 33.68, 73.05}, {"Multan", 30.16, 71.52},
+            {"Hyderabad", 25.40, 68.37}, {"Gujranwala", 32.19, 74.19}, {"Peshawar", 34.01, 71.58},
+            {"Quetta", 30.18, 66.98}, {"Sialkot", 32.49, 74.52}, {"Bahawalpur", 29.40, 71.68},
+            {"Sargodha", 32.08, 72.67}, {"Sukkur", 27.70, 68.86}, {"Larkana", 27.56, 68.21},
+            {"Sheikhupura", 31.71, 73.99}, {"Rahim Yar Khan", 28.42, 70.30}, {"Jhang", 31.27, 72.32},
+            {"Dera Ghazi Khan", 30.05, 70.63}, {"Gujrat", 32.57, 74.08}, {"Sahiwal", 30.66, 73.11},
+            {"Wazirabad", 32.44, 74.12}, {"Nawabshah", 26.24, 68.41}, {"Jhelum", 32.93, 73.73},
+            {"Okara", 30.81, 73.45}, {"Khanewal", 30.30, 71.93}, {"Attock", 33.77, 72.36},
+            {"Kohat", 33.58, 71.44}, {"Mardan", 34.20, 72.05}, {"Sibi", 29.54, 67.88},
+            {"Jacobabad", 28.28, 68.44}, {"Khanpur", 28.65, 70.66}, {"Lodhran", 29.53, 71.63},
+            {"Rohri", 27.69, 68.90}, {"Kotri", 25.37, 68.31}, {"Mirpur Khas", 25.53, 69.01}
+    };
+    private static final String[] TRAIN_NAMES = {
+            "Karachi Express", "Tezgam", "Green Line", "Khyber Mail", "Business Express", "Awam Express",
+            "Jaffar Express", "Bolan Mail", "Millat Express", "Pakistan Express", "Allama Iqbal Express",
+            "Shalimar Express", "Karakoram Express", "Hazara Express", "Musa Pak Express", "Fareed Express",
+            "Thal Express", "Mehran Express", "Chenab Express", "Badar Express", "Rawal Express",
+            "Sir Syed Express", "Margalla Express", "Shah Hussain Express", "Rehman Baba Express"
+    };
+    private static final String[] MALE_NAMES = {
+            "Ahmed", "Ali", "Bilal", "Faisal", "Hamza", "Hassan", "Imran", "Kamran", "Omar", "Usman",
+            "Zain", "Saad", "Waqas", "Danish", "Junaid", "Adnan", "Tariq", "Asad", "Fahad", "Haris"
+    };
+    private static final String[] FEMALE_NAMES = {
+            "Ayesha", "Fatima", "Hira", "Maryam", "Sana", "Zainab", "Amna", "Mahnoor", "Iqra", "Noor",
+            "Saba", "Sarah", "Rabia", "Hina", "Komal", "Mehwish", "Anum", "Laiba", "Areeba", "Nida"
+    };
+    private static final String[] LAST_NAMES = {
+            "Khan", "Ahmed", "Ali", "Hussain", "Shah", "Malik", "Qureshi", "Butt", "Chaudhry", "Sheikh",
+            "Raza", "Iqbal", "Abbasi", "Siddiqui", "Mirza", "Javed", "Aslam", "Baig", "Haider", "Rizvi",
+            "Akhtar", "Zafar", "Naqvi", "Anwar", "Rehman", "Farooq", "Saleem", "Gillani", "Bhatti", "Awan"
+    };
+    private static final String[] SEAT_CLASSES = {"Economy", "Business", "First Class"};
+    private static final double[] SEAT_CLASS_WEIGHTS = {0.72, 0.21, 0.07};
+    private static final double[] SEAT_CLASS_MULTIPLIERS = {1.0, 1.6, 2.4};
+    private static final double[] SEAT_COUNT_WEIGHTS = {0.55, 0.25, 0.10, 0.06, 0.025, 0.015};
+    private static final String[] DAY_PATTERNS = {"Daily", "Mon-Fri", "Sat-Sun", "Mon, Wed, Fri", "Tue, Thu, Sat"};
+    private static final double[] DAY_PATTERN_WEIGHTS = {0.60, 0.15, 0.05, 0.10, 0.10};
+    // Bit 0 is Monday
+    private static final int[] DAY_PATTERN_MASKS = {0b1111111, 0b0011111, 0b1100000, 0b0010101, 0b0101010};
+
+    /**
+     * Dataset size and seed. Stations beyond the built-in city list become small halts.
+     */
+    public record Spec(long seed, int stations, int trainPairs, int users, int bookings) {
+        public static Spec forBookings(int bookings) {
+            return new Spec(42L, 60, 40, Math.max(1_000, bookings / 20), bookings);
+        }
+
+        public Spec withSeed(long newSeed) {
+            return new Spec(newSeed, stations, trainPairs, users, bookings);
+        }
+    }
+
+    private record Station(String name, double lat, double lon, double weight) {}
+
+    private record Route(String id, String number, String name, String type, String status,
+                         List<Station> stops, int dayMask, double weight) {}
+
+    private final Spec spec;
+    private final List<Station> stations;
+    private final List<Route> routes;
+    private final double[] cumulativeRouteWeights;
+
+    public SyntheticDataGenerator(Spec spec) {
+        if (spec.stations() < 2 || spec.trainPairs() < 1 || spec.users() < 1 || spec.bookings() < 0) {
+            throw new IllegalArgumentException("Dataset needs at least 2 stations, 1 train pair and 1 user: " + spec);
+        }
+        this.spec = spec;
+        this.stations = buildStations(new SplittableRandom(spec.seed() ^ 0x5157A7105L));
+        this.routes = buildRoutes(new SplittableRandom(spec.seed() ^ 0x7EA115L));
+        this.cumulativeRouteWeights = new double[routes.size()];
+        double total = 0;
+        for (int i = 0; i < routes.size(); i++) {
+            total += routes.get(i).weight();
+            cumulativeRouteWeights[i] = total;
+        }
+    }
+
+    public Spec getSpec() {
+        return spec;
+    }
+
+    /**
+     * Email of the passenger with the given index (0 to users - 1); every passenger signs in
+     * with {@link #PASSENGER_PASSWORD}.
+     */
+    public String passengerEmail(int index) {
+        long bits = mix(spec.seed() + index);
+        String first = firstName(bits);
+        String last = LAST_NAMES[(int) ((bits >>> 40) % LAST_NAMES.length)];
+        return (first + "." + last + index + "@example.com").toLowerCase(Locale.ROOT);
+    }
+
+    public String passengerId(int index) {
+        return String.valueOf(FIRST_PASSENGER_ID + index);
+    }
+
+    /**
+     * Booking ids run from 1 to the booking count.
+     */
+    public String bookingId(int index) {
+        return String.valueOf(index + 1);
+    }
+
+    /**
+     * Create the schema and write the dataset. The target must not contain users yet.
+     */
+    public void generate(Connection connection) throws SQLException {
+        DatabaseService.createTables(connection);
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM users")) {
+            if (rs.next() && rs.getInt(1) > 0) {
+                throw new IllegalStateException("Target database already contains users");
+            }
+        }
+
+        boolean autoCommit = connection.getAutoCommit();
+        try (Statement stmt = connection.createStatement()) {
+            // Bulk load: a crash mid-run just means generating again
+            stmt.execute("PRAGMA synchronous = OFF");
+            stmt.execute("PRAGMA journal_mode = MEMORY");
+            stmt.execute("PRAGMA temp_store = MEMORY");
+            stmt.execute("PRAGMA cache_size = -262144");
+        }
+        connection.setAutoCommit(false);
+        try {
+            insertTrainsAndSchedules(connection);
+            insertUsers(connection);
+            insertBookings(connection);
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private List<Station> buildStations(SplittableRandom random) {
+        List<Station> result = new ArrayList<>(spec.stations());
+        for (int i = 0; i < spec.stations(); i++) {
+            double weight = 1.0 / Math.pow(i + 1, 0.9);
+            if (i < CITIES.length) {
+                Object[] city = CITIES[i];
+                result.add(new Station((String) city[0], (double) city[1], (double) city[2], weight));
+            } else {
+                // Halts scattered across the same area as the cities
+                result.add(new Station("Halt " + (i - CITIES.length + 1),
+                        random.nextDouble(24.5, 34.5), random.nextDouble(66.5, 74.5), weight * 0.5));
+            }
+        }
+        return result;
+    }
+
+    private List<Route> buildRoutes(SplittableRandom random) {
+        double[] cumulativeStationWeights = new double[stations.size()];
+        double total = 0;
+        for (int i = 0; i < stations.size(); i++) {
+            total += stations.get(i).weight();
+            cumulativeStationWeights[i] = total;
+        }
+
+        List<Route> result = new ArrayList<>(spec.trainPairs() * 2);
+        for (int pair = 0; pair < spec.trainPairs(); pair++) {
+            Station origin;
+            Station destination;
+            if (pair == 0) {
+                // The trunk line between the two largest cities always exists
+                origin = stations.get(0);
+                destination = stations.get(1);
+            } else {
+                do {
+                    origin = stations.get(pickWeighted(cumulativeStationWeights, random));
+                    destination = stations.get(pickWeighted(cumulativeStationWeights, random));
+                } while (origin == destination || distanceKm(origin, destination) < 100 && stations.size() > 2);
+            }
+
+            List<Station> stops = stopsBetween(origin, destination);
+            String type = pair == 0 ? "Express" : pick(new String[]{"Express", "Passenger", "Freight"},
+                    new double[]{0.40, 0.45, 0.15}, random);
+            String name = "Freight".equals(type) ? "Freight " + (pair + 1)
+                    : pair < TRAIN_NAMES.length ? TRAIN_NAMES[pair]
+                    : origin.name() + " " + type;
+            int dayMask = DAY_PATTERN_MASKS[pickIndex(DAY_PATTERN_WEIGHTS, random)];
+            double weight = "Freight".equals(type) ? 0
+                    : stops.stream().mapToDouble(Station::weight).sum() * ("Express".equals(type) ? 1.5 : 1.0);
+
+            List<Station> reversed = new ArrayList<>(stops);
+            Collections.reverse(reversed);
+            result.add(new Route(String.valueOf(pair * 2 + 1), (pair + 1) + "UP", name, type,
+                    trainStatus(random), stops, dayMask, weight));
+            result.add(new Route(String.valueOf(pair * 2 + 2), (pair + 1) + "DN", name, type,
+                    trainStatus(random), List.copyOf(reversed), dayMask, weight));
+        }
+        return result;
+    }
+
+    /**
+     * Origin, up to four of the busiest stations lying roughly on the way, and destination.
+     */
+    private List<Station> stopsBetween(Station origin, Station destination) {
+        double direct = distanceKm(origin, destination);
+        List<Station> onTheWay = new ArrayList<>();
+        for (Station station : stations) {
+            if (station != origin && station != destination
+                    && distanceKm(origin, station) + distanceKm(station, destination) <= direct * 1.15) {
+                onTheWay.add(station);
+            }
+        }
+        onTheWay.sort(Comparator.comparingDouble(Station::weight).reversed());
+        List<Station> stops = new ArrayList<>(onTheWay.subList(0, Math.min(4, onTheWay.size())));
+        stops.sort(Comparator.comparingDouble(station -> distanceKm(origin, station)));
+        stops.add(0, origin);
+        stops.add(destination);
+        return List.copyOf(stops);
+    }
+
+    private String trainStatus(SplittableRandom random) {
+        return pick(new String[]{"On-time", "Delayed", "Cancelled"}, new double[]{0.80, 0.15, 0.05}, random);
+    }
+
+    private void insertTrainsAndSchedules(Connection connection) throws SQLException {
+        SplittableRandom random = new SplittableRandom(spec.seed() ^ 0x5C4ED01EL);
+        String trainSql = "INSERT INTO trains (id, train_number, train_name, type, route, status) VALUES (?, ?, ?, ?, ?, ?)";
+        String scheduleSql = "INSERT INTO schedules (id, train_number, train_name, departure_time, arrival_time, route, days, status, departure_minute, arrival_minute, day_mask) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement trains = connection.prepareStatement(trainSql);
+             PreparedStatement schedules = connection.prepareStatement(scheduleSql)) {
+            for (Route route : routes) {
+                String routeText = routeText(route);
+                trains.setString(1, route.id());
+                trains.setString(2, route.number());
+                trains.setString(3, route.name());
+                trains.setString(4, route.type());
+                trains.setString(5, routeText);
+                trains.setString(6, route.status());
+                trains.addBatch();
+
+                LocalTime departure = departureTime(random);
+                double speedKmh = switch (route.type()) {
+                    case "Express" -> 75;
+                    case "Passenger" -> 50;
+                    default -> 40;
+                };
+                long minutes = Math.round(routeLengthKm(route) / speedKmh * 60) + 10L * (route.stops().size() - 2);
+                schedules.setString(1, route.id());
+                schedules.setString(2, route.number());
+                schedules.setString(3, route.name());
+                schedules.setString(4, departure.format(TIME_FORMAT));
+                schedules.setString(5, departure.plusMinutes(minutes).format(TIME_FORMAT));
+                schedules.setString(6, routeText);
+                schedules.setString(7, DAY_PATTERNS[indexOfMask(route.dayMask())]);
+                schedules.setString(8, random.nextDouble() < 0.92 ? "Active" : "Inactive");
+                schedules.setInt(9, MinuteOfDay.of(departure));
+                schedules.setInt(10, MinuteOfDay.of(departure.plusMinutes(minutes)));
+                schedules.setInt(11, route.dayMask());
+                schedules.addBatch();
+            }
+            trains.executeBatch();
+            schedules.executeBatch();
+        }
+    }
+
+    private void insertUsers(Connection connection) throws SQLException {
+        SplittableRandom random = new SplittableRandom(spec.seed() ^ 0x05E125L);
+        PasswordHasher hasher = PasswordHasher.getInstance();
+        // Hashing millions of passwords at full strength would take hours, so passengers share one hash
+        String passengerHash = hasher.hash(PASSENGER_PASSWORD);
+        String sql = "INSERT INTO users (id, name, email, phone, role, password, cnic, date_of_birth, gender, address, city, postal_code) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, "100");
+            pstmt.setString(2, "System Admin");
+            pstmt.setString(3, ADMIN_EMAIL);
+            pstmt.setString(4, "0300-0000000");
+            pstmt.setString(5, "admin");
+            pstmt.setString(6, hasher.hash(ADMIN_PASSWORD));
+            pstmt.setString(7, "35202-1234567-1");
+            pstmt.setDate(8, Date.valueOf(LocalDate.of(1985, 5, 12)));
+            pstmt.setString(9, "Male");
+            pstmt.setString(10, "HQ, Rail Safar Building");
+            pstmt.setString(11, "Karachi");
+            pstmt.setString(12, "75500");
+            pstmt.addBatch();
+
+            int realCities = Math.min(CITIES.length, stations.size());
+            for (int i = 0; i < spec.users(); i++) {
+                long bits = mix(spec.seed() + i);
+                boolean female = (bits & 1) == 1;
+                Station city = stations.get(Math.min(realCities - 1, (int) (realCities * Math.pow(random.nextDouble(), 2))));
+                pstmt.setString(1, passengerId(i));
+                pstmt.setString(2, firstName(bits) + " " + LAST_NAMES[(int) ((bits >>> 40) % LAST_NAMES.length)]);
+                pstmt.setString(3, passengerEmail(i));
+                pstmt.setString(4, String.format("03%02d-%07d", random.nextInt(50), random.nextInt(10_000_000)));
+                pstmt.setString(5, "passenger");
+                pstmt.setString(6, passengerHash);
+                pstmt.setString(7, String.format("%05d-%07d-%d", 10_000 + random.nextInt(90_000),
+                        random.nextInt(10_000_000), female ? 2 * random.nextInt(5) : 2 * random.nextInt(5) + 1));
+                pstmt.setDate(8, Date.valueOf(LocalDate.of(1950, 1, 1).plusDays(random.nextInt(365 * 58))));
+                pstmt.setString(9, female ? "Female" : "Male");
+                pstmt.setString(10, "House " + (1 + random.nextInt(900)) + ", Street " + (1 + random.nextInt(60)));
+                pstmt.setString(11, city.name());
+                pstmt.setString(12, String.valueOf(10_000 + random.nextInt(89_999)));
+                pstmt.addBatch();
+                flushBatch(connection, pstmt, i + 1);
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    private void insertBookings(Connection connection) throws SQLException {
+        SplittableRandom random = new SplittableRandom(spec.seed() ^ 0xB00C1165L);
+        LocalDate today = LocalDate.now();
+        LocalDateTime windowStart = today.minusDays(BOOKING_WINDOW_DAYS).atStartOfDay();
+        String sql = "INSERT INTO bookings (id, user_id, train_id, train_number, train_name, from_station, to_station, travel_date, number_of_seats, seat_class, total_amount, status, booking_date_time, payment_method, payment_status) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            for (int i = 0; i < spec.bookings(); i++) {
+                // One in twenty passengers travels often and makes a fifth of all bookings
+                int frequentTravellers = Math.max(1, spec.users() / 20);
+                int user = random.nextDouble() < 0.2 ? random.nextInt(frequentTravellers) : random.nextInt(spec.users());
+                Route route = routes.get(pickWeighted(cumulativeRouteWeights, random));
+                int lastStop = route.stops().size() - 1;
+                int from = random.nextDouble() < 0.5 ? 0 : random.nextInt(lastStop);
+                int to = random.nextDouble() < 0.5 ? lastStop : from + 1 + random.nextInt(lastStop - from);
+
+                LocalDateTime bookedAt = bookingTime(windowStart, random);
+                long leadDays = Math.min(90, (long) (-9 * Math.log(1 - random.nextDouble())));
+                LocalDate travelDate = nextRunningDay(bookedAt.toLocalDate().plusDays(leadDays), route.dayMask());
+                int seats = 1 + pickIndex(SEAT_COUNT_WEIGHTS, random);
+                int seatClass = pickIndex(SEAT_CLASS_WEIGHTS, random);
+                double amount = Math.round(baseFare(route.type()) * SEAT_CLASS_MULTIPLIERS[seatClass] * seats / 10.0) * 10.0;
+
+                String status;
+                String paymentStatus;
+                double roll = random.nextDouble();
+                boolean travelled = travelDate.isBefore(today);
+                if (roll < 0.05) {
+                    status = "Cancelled";
+                    paymentStatus = random.nextBoolean() ? "Paid" : "Pending";
+                } else if (roll < (travelled ? 0.09 : 0.30)) {
+                    status = "Pending";
+                    paymentStatus = "Pending";
+                } else {
+                    status = "Confirmed";
+                    paymentStatus = "Paid";
+                }
+                String paymentMethod = "Paid".equals(paymentStatus)
+                        ? (random.nextDouble() < 0.7 ? "Card" : "Cash on Delivery") : "";
+
+                pstmt.setString(1, bookingId(i));
+                pstmt.setString(2, passengerId(user));
+                pstmt.setString(3, route.id());
+                pstmt.setString(4, route.number());
+                pstmt.setString(5, route.name());
+                pstmt.setString(6, route.stops().get(from).name());
+                pstmt.setString(7, route.stops().get(to).name());
+                pstmt.setDate(8, Date.valueOf(travelDate));
+                pstmt.setInt(9, seats);
+                pstmt.setString(10, SEAT_CLASSES[seatClass]);
+                pstmt.setDouble(11, amount);
+                pstmt.setString(12, status);
+                pstmt.setTimestamp(13, Timestamp.valueOf(bookedAt));
+                pstmt.setString(14, paymentMethod);
+                pstmt.setString(15, paymentStatus);
+                pstmt.addBatch();
+                flushBatch(connection, pstmt, i + 1);
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    private static void flushBatch(Connection connection, PreparedStatement pstmt, int rows) throws SQLException {
+        if (rows % BATCH_SIZE == 0) {
+            pstmt.executeBatch();
+        }
+        if (rows % ROWS_PER_TRANSACTION == 0) {
+            connection.commit();
+        }
+    }
+
+    /**
+     * Uniform over the window, thinned so weekend and Friday traffic runs heavier.
+     */
+    private static LocalDateTime bookingTime(LocalDateTime windowStart, SplittableRandom random) {
+        while (true) {
+            LocalDateTime candidate = windowStart.plusMinutes(random.nextLong(BOOKING_WINDOW_DAYS * 24L * 60));
+            DayOfWeek day = candidate.getDayOfWeek();
+            double keep = day == DayOfWeek.FRIDAY || day == DayOfWeek.SUNDAY ? 1.0
+                    : day == DayOfWeek.SATURDAY ? 0.85 : 0.7;
+            if (random.nextDouble() < keep) {
+                return candidate;
+            }
+        }
+    }
+
+    /**
+     * Morning and evening departures dominate.
+     */
+    private static LocalTime departureTime(SplittableRandom random) {
+        double roll = random.nextDouble();
+        int minute;
+        if (roll < 0.40) {
+            minute = 6 * 60 + random.nextInt(4 * 60);
+        } else if (roll < 0.75) {
+            minute = 16 * 60 + random.nextInt(6 * 60);
+        } else {
+            minute = random.nextInt(24 * 60);
+        }
+        return LocalTime.of(minute / 60, minute % 60 / 5 * 5);
+    }
+
+    private static LocalDate nextRunningDay(LocalDate date, int dayMask) {
+        LocalDate day = date;
+        while ((dayMask & (1 << (day.getDayOfWeek().getValue() - 1))) == 0) {
+            day = day.plusDays(1);
+        }
+        return day;
+    }
+
+    // Same end-to-end fares per type as the fare engine
+    private static int baseFare(String type) {
+        return switch (type) {
+            case "Express" -> 3500;
+            case "Passenger" -> 2200;
+            case "Freight" -> 1500;
+            default -> 2500;
+        };
+    }
+
+    private static String routeText(Route route) {
+        return String.join(" - ", route.stops().stream().map(Station::name).toList());
+    }
+
+    private static double routeLengthKm(Route route) {
+        double length = 0;
+        for (int i = 1; i < route.stops().size(); i++) {
+            length += distanceKm(route.stops().get(i - 1), route.stops().get(i));
+        }
+        return length;
+    }
+
+    private static double distanceKm(Station a, Station b) {
+        double dLat = Math.toRadians(b.lat() - a.lat());
+        double dLon = Math.toRadians(b.lon() - a.lon());
+        double h = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(a.lat())) * Math.cos(Math.toRadians(b.lat())) * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * 6371 * Math.asin(Math.sqrt(h));
+    }
+
+    private static int indexOfMask(int dayMask) {
+        for (int i = 0; i < DAY_PATTERN_MASKS.length; i++) {
+            if (DAY_PATTERN_MASKS[i] == dayMask) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static String firstName(long bits) {
+        String[] names = (bits & 1) == 1 ? FEMALE_NAMES : MALE_NAMES;
+        return names[(int) ((bits >>> 8) % names.length)];
+    }
+
+    private static String pick(String[] values, double[] weights, SplittableRandom random) {
+        return values[pickIndex(weights, random)];
+    }
+
+    private static int pickIndex(double[] weights, SplittableRandom random) {
+        double roll = random.nextDouble();
+        for (int i = 0; i < weights.length - 1; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static int pickWeighted(double[] cumulative, SplittableRandom random) {
+        double target = random.nextDouble(cumulative[cumulative.length - 1]);
+        int index = Arrays.binarySearch(cumulative, target);
+        return index >= 0 ? Math.min(index + 1, cumulative.length - 1) : -index - 1;
+    }
+
+    // SplitMix64 finaliser, so per-row values can be recomputed from the index alone
+    private static long mix(long value) {
+        long z = value * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (z ^ (z >>> 31)) & Long.MAX_VALUE;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        if (args.length < 1) {
+            System.err.println("Usage: SyntheticDataGenerator <jdbc-url> [bookings] [seed]");
+            System.exit(2);
+        }
+        int bookings = args.length > 1 ? Integer.parseInt(args[1].replace("_", "")) : 1_000_000;
+        Spec spec = Spec.forBookings(bookings);
+        if (args.length > 2) {
+            spec = spec.withSeed(Long.parseLong(args[2]));
+        }
+
+        long start = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection(args[0])) {
+            new SyntheticDataGenerator(spec).generate(connection);
+        }
+        System.out.printf("Generated %,d users and %,d bookings in %.1f s%n",
+                spec.users(), spec.bookings(), (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,9 @@
+module com.example.railwaymanagementsystem.persistence.sqlite {
+    requires com.example.railwaymanagementsystem.core;
+    requires java.sql;
+
+    exports com.example.railwaymanagementsystem.persistence;
+
+    provides com.example.railwaymanagementsystem.services.DataStoreProvider
+            with com.example.railwaymanagementsystem.persistence.SqliteDataStoreProvider;
+}
@@ -0,0 +1,52 @@
+package com.example.railwaymanagementsystem.bench;
+
+import com.example.railwaymanagementsystem.services.PasswordHasher;
+
+/**
+ * Calibrates the PBKDF2 iteration count against a per-login latency budget.
+ *
+ * Usage: {@code java ... PasswordHashBenchmark [budgetMillis]} (default 250 ms).
+ * The recommended count can be applied with {@code -Drailsafar.password.iterations=N}.
+ */
+public final class PasswordHashBenchmark {
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final int[] CANDIDATES = {50_000, 100_000, 210_000, 310_000, 600_000, 1_000_000};
+
+    private PasswordHashBenchmark() {}
+
+    public static void main(String[] args) {
+        double budgetMillis = args.length > 0 ? Double.parseDouble(args[0]) : 250.0;
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        System.out.printf("Latency budget: %.0f ms, verification threads: %d%n", budgetMillis, threads);
+        System.out.printf("%12s %12s %16s%n", "iterations", "ms/verify", "logins/sec/pool");
+
+        // Let the JIT compile the HMAC path before the first measured candidate
+        measure(new PasswordHasher(CANDIDATES[0]));
+
+        int recommended = CANDIDATES[0];
+        for (int iterations : CANDIDATES) {
+            double millis = measure(new PasswordHasher(iterations));
+            System.out.printf("%,12d %12.1f %16.1f%n", iterations, millis, threads * 1000.0 / millis);
+            if (millis <= budgetMillis) {
+                recommended = iterations;
+            }
+        }
+
+        System.out.printf("Recommended: -Drailsafar.password.iterations=%d (configured now: %d)%n",
+                recommended, PasswordHasher.getInstance().getIterations());
+    }
+
+    private static double measure(PasswordHasher hasher) {
+        String stored = hasher.hash("calibration-password");
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            hasher.verify("calibration-password", stored);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            hasher.verify("calibration-password", stored);
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ROUNDS;
+    }
+}
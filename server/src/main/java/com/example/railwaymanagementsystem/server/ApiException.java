@@ -0,0 +1,19 @@
+package com.example.railwaymanagementsystem.server;
+
+/**
+ * Request failure carrying the HTTP status to answer with.
+ */
+public class ApiException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    public ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,593 @@
+package com.example.railwaymanagementsystem.server;
+
+import com.example.railwaymanagementsystem.logging.Log;
+import com.example.railwaymanagementsystem.logging.Logger;
+import com.example.railwaymanagementsystem.models.Booking;
+import com.example.railwaymanagementsystem.models.Schedule;
+import com.example.railwaymanagementsystem.models.SeatClasses;
+import com.example.railwaymanagementsystem.models.Train;
+import com.example.railwaymanagementsystem.models.TrainPosition;
+import com.example.railwaymanagementsystem.models.User;
+import com.example.railwaymanagementsystem.models.WaitlistEntry;
+import com.example.railwaymanagementsystem.services.BackendService;
+import com.example.railwaymanagementsystem.services.BookingFailedException;
+import com.example.railwaymanagementsystem.services.CancellationResult;
+import com.example.railwaymanagementsystem.services.DelayForecast;
+import com.example.railwaymanagementsystem.services.FareQuote;
+import com.example.railwaymanagementsystem.services.LoginRateLimitedException;
+import com.example.railwaymanagementsystem.services.PaymentResult;
+import com.example.railwaymanagementsystem.services.QuoteRejectedException;
+import com.example.railwaymanagementsystem.services.SignedQuote;
+import com.example.railwaymanagementsystem.services.SoldOutException;
+import com.example.railwaymanagementsystem.services.UserSession;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Headless JSON API over BackendService, served by the JDK HTTP server with one
+ * virtual thread per request. Does not start the JavaFX toolkit.
+ *
+ * <pre>
+ * POST   /api/sessions                      {email, password, role}  sign in
+ * DELETE /api/sessions                                                sign out
+ * GET    /api/trains?from=..&amp;to=..[&amp;date=YYYY-MM-DD]              search trains
+ * GET    /api/trains/{number}/status                                 train status and expected times
+ * GET    /api/trains/{number}/fare?from=..&amp;to=..&amp;date=..[&amp;seatClass=..][&amp;seats=..]  fare quote and token
+ * POST   /api/trains/{number}/position  {status, delayMinutes, lastStation, nextStation}  report (admin)
+ * GET    /api/bookings                                               my bookings
+ * POST   /api/bookings                      {trainNumber, from, to, date, seats, seatClass, quoteToken}
+ * GET    /api/bookings/{id}
+ * POST   /api/bookings/{id}/payment         {paymentMethod}
+ * POST   /api/bookings/{id}/cancellation
+ * GET    /api/waitlist                                               my waitlist entries
+ * POST   /api/waitlist                      {trainNumber, from, to, date, seats, seatClass}
+ * DELETE /api/waitlist/{id}
+ * </pre>
+ *
+ * Authenticated calls send {@code Authorization: Bearer <sessionId>}. Payments accept an
+ * {@code Idempotency-Key} header; retrying with the same key returns the original outcome.
+ * A booking that sends the {@code quoteToken} from a fare quote is charged the quoted price,
+ * or refused with 409 once the quote has expired; one without is charged the current fare.
+ * {@code seatClass} is Economy, Business or First Class (default Economy); any other is
+ * refused with 400, as are classes on freight trains, which sell none. Fares, bookings and
+ * waitlist entries are refused with 400 unless the train calls at {@code from} and then
+ * {@code to}; search lists trains calling at both either way, with a fare only for those
+ * running from {@code from} to {@code to}.
+ * A booking for a sold-out class is refused with 409; the passenger can join its waitlist,
+ * which books them, awaiting payment, when seats come free. A booking that could not be
+ * saved, such as when the database is unavailable, gets 503 and can be retried.
+ * The port comes from the first argument or {@code railsafar.server.port} (default 8080).
+ */
+public final class BookingApiServer {
+    private static final Logger LOG = Log.getLogger(BookingApiServer.class);
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int MAX_SEATS = 6;
+
+    private final BackendService backend = BackendService.getInstance();
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public BookingApiServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 1024);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : Integer.getInteger("railsafar.server.port", 8080);
+        BookingApiServer api = new BookingApiServer(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(api::stop, "api-shutdown"));
+        api.start();
+        LOG.info("Rail Safar API listening", "port", api.getPort());
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(1);
+        executor.close();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Object body;
+            int status = 200;
+            try {
+                String method = exchange.getRequestMethod();
+                String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+                body = route(exchange, method, path);
+                if ("POST".equals(method) && path.length == 1) {
+                    status = 201;
+                }
+            } catch (ApiException e) {
+                status = e.getStatus();
+                body = error(e.getMessage());
+            } catch (LoginRateLimitedException e) {
+                status = 429;
+                body = error(e.getMessage());
+            } catch (IllegalArgumentException e) {
+                status = 400;
+                body = error(e.getMessage());
+            } catch (RuntimeException e) {
+                status = 500;
+                body = error("Internal error");
+                LOG.error("Request failed", e, "method", exchange.getRequestMethod(), "path", exchange.getRequestURI().getPath());
+            }
+            byte[] bytes = Json.write(body).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private Object route(HttpExchange exchange, String method, String[] path) throws IOException {
+        String resource = path[0];
+        switch (resource) {
+            case "sessions" -> {
+                if ("POST".equals(method) && path.length == 1) {
+                    return login(exchange);
+                }
+                if ("DELETE".equals(method) && path.length == 1) {
+                    backend.logout(requireSession(exchange).getId());
+                    return Map.of("signedOut", true);
+                }
+            }
+            case "trains" -> {
+                if ("GET".equals(method) && path.length == 1) {
+                    return searchTrains(exchange);
+                }
+                if ("GET".equals(method) && path.length == 3 && "status".equals(path[2])) {
+                    return trainStatus(path[1]);
+                }
+                if ("GET".equals(method) && path.length == 3 && "fare".equals(path[2])) {
+                    return fare(exchange, path[1]);
+                }
+                if ("POST".equals(method) && path.length == 3 && "position".equals(path[2])) {
+                    return reportPosition(requireSession(exchange), path[1], readBody(exchange));
+                }
+            }
+            case "bookings" -> {
+                UserSession session = requireSession(exchange);
+                if (path.length == 1 && "GET".equals(method)) {
+                    return backend.getBookingsForUser(session).stream().map(BookingApiServer::booking).toList();
+                }
+                if (path.length == 1 && "POST".equals(method)) {
+                    return book(session, readBody(exchange));
+                }
+                if (path.length == 2 && "GET".equals(method)) {
+                    return backend.getBookingById(session, path[1]).map(BookingApiServer::booking)
+                            .orElseThrow(() -> new ApiException(404, "Booking not found"));
+                }
+                if (path.length == 3 && "POST".equals(method) && "payment".equals(path[2])) {
+                    return pay(exchange, session, path[1], readBody(exchange));
+                }
+                if (path.length == 3 && "POST".equals(method) && "cancellation".equals(path[2])) {
+                    return cancel(session, path[1]);
+                }
+            }
+            case "waitlist" -> {
+                UserSession session = requireSession(exchange);
+                if (path.length == 1 && "GET".equals(method)) {
+                    return backend.getWaitlistForUser(session).stream()
+                            .map(entry -> waitlistEntry(entry, backend.getWaitlistPosition(entry))).toList();
+                }
+                if (path.length == 1 && "POST".equals(method)) {
+                    return joinWaitlist(session, readBody(exchange));
+                }
+                if (path.length == 2 && "DELETE".equals(method)) {
+                    return leaveWaitlist(session, path[1]);
+                }
+            }
+            default -> {
+            }
+        }
+        throw new ApiException(404, "No route for " + method + " /api/" + String.join("/", path));
+    }
+
+    private Object login(HttpExchange exchange) throws IOException {
+        Map<String, Object> request = readBody(exchange);
+        String clientKey = exchange.getRemoteAddress().getAddress().getHostAddress();
+        UserSession session = backend.login(requireString(request, "email"), requireString(request, "password"),
+                        optionalString(request, "role", "passenger"), clientKey)
+                .orElseThrow(() -> new ApiException(401, "Invalid credentials"));
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("sessionId", session.getId());
+        response.put("user", user(session.getUser()));
+        return response;
+    }
+
+    private Object searchTrains(HttpExchange exchange) {
+        Map<String, String> query = queryParameters(exchange);
+        String from = query.getOrDefault("from", "");
+        String to = query.getOrDefault("to", "");
+        if (from.isBlank() || to.isBlank()) {
+            throw new ApiException(400, "from and to are required");
+        }
+        LocalDate date = query.containsKey("date") ? date(query.get("date")) : null;
+        LocalDate fareDate = date == null ? LocalDate.now() : date;
+        List<Train> trains = date == null ? backend.searchTrains(from, to) : backend.searchTrains(from, to, date);
+        return trains.stream().map(train -> {
+            Map<String, Object> result = train(train);
+            // Without a date, a train not running today still shows one of its schedules
+            Schedule schedule = backend.getScheduleOn(train.getTrainNumber(), fareDate)
+                    .or(() -> backend.getScheduleForTrain(train.getTrainNumber()))
+                    .orElse(null);
+            result.put("departureTime", schedule == null ? null : schedule.getDepartureTime());
+            result.put("arrivalTime", schedule == null ? null : schedule.getArrivalTime());
+            // Trains that do not sell the class, such as freight, or that run the other way are
+            // listed without a fare
+            SeatClasses.find(train, query.getOrDefault("seatClass", SeatClasses.ECONOMY))
+                    .filter(seatClass -> backend.servesJourney(train, from, to))
+                    .ifPresent(seatClass -> result.put("fare",
+                            backend.quoteFare(train, from, to, fareDate, seatClass, 1).quote().farePerSeat()));
+            return result;
+        }).toList();
+    }
+
+    private Object trainStatus(String trainNumber) {
+        Train train = backend.getTrainByNumber(trainNumber)
+                .orElseThrow(() -> new ApiException(404, "Train not found"));
+        Map<String, Object> result = train(train);
+        backend.getScheduleForTrain(trainNumber).ifPresent(schedule -> {
+            result.put("departureTime", schedule.getDepartureTime());
+            result.put("arrivalTime", schedule.getArrivalTime());
+            result.put("days", schedule.getDays());
+        });
+        backend.getTrainPosition(trainNumber).ifPresent(position -> result.putAll(position(position)));
+        backend.getDelayForecast(trainNumber).ifPresent(forecast -> {
+            result.put("stops", forecast.stops().stream().map(BookingApiServer::stop).toList());
+            result.put("missedConnections", forecast.missedConnections().stream()
+                    .map(BookingApiServer::missedConnection).toList());
+        });
+        return result;
+    }
+
+    private Object fare(HttpExchange exchange, String trainNumber) {
+        Train train = backend.getTrainByNumber(trainNumber)
+                .orElseThrow(() -> new ApiException(404, "Train not found"));
+        Map<String, String> query = queryParameters(exchange);
+        String from = query.getOrDefault("from", "");
+        String to = query.getOrDefault("to", "");
+        if (from.isBlank() || to.isBlank() || !query.containsKey("date")) {
+            throw new ApiException(400, "from, to and date are required");
+        }
+        LocalDate date = date(query.get("date"));
+        if (date.isBefore(LocalDate.now())) {
+            throw new ApiException(400, "Journey date must be in the future");
+        }
+        int seats;
+        try {
+            seats = Integer.parseInt(query.getOrDefault("seats", "1"));
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "seats must be a number");
+        }
+        if (seats < 1 || seats > MAX_SEATS) {
+            throw new ApiException(400, "seats must be between 1 and " + MAX_SEATS);
+        }
+        SignedQuote signed = backend.quoteFare(train, from, to, date,
+                seatClass(train, query.getOrDefault("seatClass", SeatClasses.ECONOMY)), seats);
+        FareQuote quote = signed.quote();
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("trainNumber", quote.trainNumber());
+        response.put("from", quote.fromStation());
+        response.put("to", quote.toStation());
+        response.put("date", quote.travelDate().toString());
+        response.put("seatClass", quote.seatClass());
+        response.put("seats", quote.seats());
+        response.put("farePerSeat", quote.farePerSeat());
+        response.put("total", quote.total());
+        response.put("quoteToken", signed.token());
+        response.put("expiresAt", signed.expiresAt().toString());
+        return response;
+    }
+
+    private Object reportPosition(UserSession session, String trainNumber, Map<String, Object> request) {
+        if (!session.isAdmin()) {
+            throw new ApiException(403, "Only administrators can report train positions");
+        }
+        String status = requireString(request, "status");
+        int delayMinutes = request.get("delayMinutes") instanceof Number n ? n.intValue() : 0;
+        if (delayMinutes < 0) {
+            throw new ApiException(400, "delayMinutes cannot be negative");
+        }
+        TrainPosition report = new TrainPosition(trainNumber, status, delayMinutes,
+                optionalString(request, "lastStation", null), optionalString(request, "nextStation", null),
+                LocalDateTime.now());
+        boolean accepted;
+        try {
+            accepted = backend.reportTrainPosition(report);
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, e.getMessage());
+        }
+        if (!accepted && backend.getTrainPosition(trainNumber).isEmpty()) {
+            throw new ApiException(404, "Train not found");
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("accepted", accepted);
+        response.putAll(position(backend.getTrainPosition(trainNumber).orElse(report)));
+        return response;
+    }
+
+    /** The journey a booking or waitlist request asks for. */
+    private record Journey(Train train, String from, String to, LocalDate date, int seats, String seatClass) {}
+
+    private Journey journey(Map<String, Object> request) {
+        Train train = backend.getTrainByNumber(requireString(request, "trainNumber"))
+                .orElseThrow(() -> new ApiException(404, "Train not found"));
+        LocalDate date = date(requireString(request, "date"));
+        if (date.isBefore(LocalDate.now())) {
+            throw new ApiException(400, "Journey date must be in the future");
+        }
+        int seats = request.get("seats") instanceof Number n ? n.intValue() : 1;
+        if (seats < 1 || seats > MAX_SEATS) {
+            throw new ApiException(400, "seats must be between 1 and " + MAX_SEATS);
+        }
+        String from = requireString(request, "from");
+        String to = requireString(request, "to");
+        if (from.equalsIgnoreCase(to)) {
+            throw new ApiException(400, "From and To stations cannot be the same");
+        }
+        return new Journey(train, from, to, date, seats,
+                seatClass(train, optionalString(request, "seatClass", SeatClasses.ECONOMY)));
+    }
+
+    /**
+     * The class as the train sells it; each class has its own seats, so no other name is taken.
+     */
+    private static String seatClass(Train train, String requested) {
+        return SeatClasses.find(train, requested).orElseThrow(() -> new ApiException(400,
+                "seatClass must be one of " + SeatClasses.soldOn(train) + " on " + train.getTrainNumber()));
+    }
+
+    private Object book(UserSession session, Map<String, Object> request) {
+        Journey journey = journey(request);
+        String quoteToken = optionalString(request, "quoteToken", null);
+        Booking booking;
+        try {
+            booking = quoteToken == null
+                    ? backend.bookTicket(session, journey.train(), journey.from(), journey.to(), journey.date(),
+                            journey.seats(), journey.seatClass())
+                    : backend.bookTicket(session, journey.train(), journey.from(), journey.to(), journey.date(),
+                            journey.seats(), journey.seatClass(), quoteToken);
+        } catch (QuoteRejectedException | SoldOutException e) {
+            throw new ApiException(409, e.getMessage());
+        } catch (BookingFailedException e) {
+            throw new ApiException(503, e.getMessage() + ", please try again");
+        }
+        return booking(booking);
+    }
+
+    private Object joinWaitlist(UserSession session, Map<String, Object> request) {
+        Journey journey = journey(request);
+        WaitlistEntry entry = backend.joinWaitlist(session, journey.train(), journey.from(), journey.to(),
+                        journey.date(), journey.seats(), journey.seatClass())
+                .orElseThrow(() -> new ApiException(503, "Could not join the waitlist"));
+        return waitlistEntry(entry, backend.getWaitlistPosition(entry));
+    }
+
+    private Object leaveWaitlist(UserSession session, String entryId) {
+        long id;
+        try {
+            id = Long.parseLong(entryId);
+        } catch (NumberFormatException e) {
+            throw new ApiException(404, "Waitlist entry not found");
+        }
+        if (!backend.leaveWaitlist(session, id)) {
+            throw new ApiException(404, "Waitlist entry not found or no longer waiting");
+        }
+        return Map.of("left", true);
+    }
+
+    private Object pay(HttpExchange exchange, UserSession session, String bookingId, Map<String, Object> request) {
+        String method = optionalString(request, "paymentMethod", "Card");
+        // Clients that may retry send the same Idempotency-Key; without one every call is a new attempt
+        String key = exchange.getRequestHeaders().getFirst("Idempotency-Key");
+        if (key == null || key.isBlank()) {
+            key = UUID.randomUUID().toString();
+        } else if (key.length() > 255) {
+            throw new ApiException(400, "Idempotency-Key too long");
+        }
+        PaymentResult result = backend.processPayment(session, bookingId, method, key);
+        if (result.paymentId() == null) {
+            throw new ApiException("Booking not found".equals(result.detail()) ? 404 : 409, result.detail());
+        }
+        if (result.inProgress()) {
+            throw new ApiException(409, "Payment with this Idempotency-Key is still in progress");
+        }
+        if (!result.succeeded()) {
+            throw new ApiException(402, "Payment " + result.status().getLabel().toLowerCase() + ": " + result.detail());
+        }
+        Map<String, Object> payment = new LinkedHashMap<>();
+        payment.put("id", result.paymentId());
+        payment.put("status", result.status().getLabel());
+        payment.put("replayed", result.replayed());
+        Map<String, Object> response = backend.getBookingById(session, bookingId)
+                .map(BookingApiServer::booking).orElseGet(LinkedHashMap::new);
+        response.put("payment", payment);
+        return response;
+    }
+
+    private Object cancel(UserSession session, String bookingId) {
+        CancellationResult result = backend.cancelBooking(session, bookingId);
+        if (!result.cancelled()) {
+            throw new ApiException("Booking not found".equals(result.detail()) ? 404 : 409, result.detail());
+        }
+        Map<String, Object> refund = new LinkedHashMap<>();
+        refund.put("amount", result.refundAmount());
+        refund.put("status", result.refundStatus() == null ? null : result.refundStatus().getLabel());
+        refund.put("policy", result.detail());
+        Map<String, Object> response = backend.getBookingById(session, bookingId)
+                .map(BookingApiServer::booking).orElseGet(LinkedHashMap::new);
+        response.put("refund", refund);
+        return response;
+    }
+
+    private UserSession requireSession(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            throw new ApiException(401, "Missing bearer session");
+        }
+        return backend.resolveSession(header.substring("Bearer ".length()).trim())
+                .orElseThrow(() -> new ApiException(401, "Session expired"));
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) {
+                throw new ApiException(413, "Request body too large");
+            }
+            return Json.parseObject(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static Map<String, String> queryParameters(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static String requireString(Map<String, Object> request, String field) {
+        Object value = request.get(field);
+        if (!(value instanceof String s) || s.isBlank()) {
+            throw new ApiException(400, field + " is required");
+        }
+        return s.trim();
+    }
+
+    private static String optionalString(Map<String, Object> request, String field, String fallback) {
+        Object value = request.get(field);
+        return value instanceof String s && !s.isBlank() ? s.trim() : fallback;
+    }
+
+    private static LocalDate date(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ApiException(400, "date must be YYYY-MM-DD");
+        }
+    }
+
+    private static Map<String, Object> error(String message) {
+        return Map.of("error", message == null ? "Error" : message);
+    }
+
+    private static Map<String, Object> user(User user) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", user.getId());
+        json.put("name", user.getName());
+        json.put("email", user.getEmail());
+        json.put("role", user.getRole());
+        return json;
+    }
+
+    private static Map<String, Object> train(Train train) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", train.getId());
+        json.put("trainNumber", train.getTrainNumber());
+        json.put("trainName", train.getTrainName());
+        json.put("type", train.getType());
+        json.put("route", train.getRoute());
+        json.put("status", train.getStatus());
+        return json;
+    }
+
+    private static Map<String, Object> position(TrainPosition position) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("status", position.status());
+        json.put("delayMinutes", position.delayMinutes());
+        json.put("lastStation", position.lastStation());
+        json.put("nextStation", position.nextStation());
+        json.put("reportedAt", position.reportedAt() == null ? null : position.reportedAt().toString());
+        return json;
+    }
+
+    private static Map<String, Object> stop(DelayForecast.StopEstimate stop) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("station", stop.station());
+        json.put("scheduledArrival", stop.scheduledArrival().toString());
+        json.put("scheduledDeparture", stop.scheduledDeparture().toString());
+        json.put("expectedArrival", stop.expectedArrival().toString());
+        json.put("expectedDeparture", stop.expectedDeparture().toString());
+        return json;
+    }
+
+    private static Map<String, Object> missedConnection(DelayForecast.MissedConnection connection) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("station", connection.station());
+        json.put("arrivingTrain", connection.arrivingTrain());
+        json.put("departingTrain", connection.departingTrain());
+        json.put("expectedArrival", connection.expectedArrival().toString());
+        json.put("expectedDeparture", connection.expectedDeparture().toString());
+        return json;
+    }
+
+    private static Map<String, Object> waitlistEntry(WaitlistEntry entry, int position) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", entry.id());
+        json.put("trainNumber", entry.trainNumber());
+        json.put("from", entry.fromStation());
+        json.put("to", entry.toStation());
+        json.put("date", entry.travelDate().toString());
+        json.put("seats", entry.seats());
+        json.put("seatClass", entry.seatClass());
+        json.put("status", entry.status().getLabel());
+        json.put("position", position);
+        json.put("bookingId", entry.bookingId());
+        return json;
+    }
+
+    private static Map<String, Object> booking(Booking booking) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", booking.getId());
+        json.put("trainNumber", booking.getTrainNumber());
+        json.put("trainName", booking.getTrainName());
+        json.put("from", booking.getFromStation());
+        json.put("to", booking.getToStation());
+        json.put("date", booking.getTravelDate().toString());
+        json.put("seats", booking.getNumberOfSeats());
+        json.put("seatClass", booking.getSeatClass());
+        json.put("totalAmount", booking.getTotalAmount());
+        json.put("status", booking.getStatus());
+        json.put("paymentMethod", booking.getPaymentMethod());
+        json.put("paymentStatus", booking.getPaymentStatus());
+        json.put("bookedAt", booking.getBookingDateTime().toString());
+        return json;
+    }
+}
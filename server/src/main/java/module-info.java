@@ -0,0 +1,7 @@
+module com.example.railwaymanagementsystem.server {
+    requires com.example.railwaymanagementsystem.core;
+    requires jdk.httpserver;
+
+    exports com.example.railwaymanagementsystem.server;
+    exports com.example.railwaymanagementsystem.bench;
+}